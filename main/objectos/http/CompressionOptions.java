@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectos.http;
+
+import objectox.http.resp.ResponseCompressionBuilder;
+
+/// Configures the compression of response bodies.
+///
+/// The server negotiates the content coding, `gzip` or `deflate`, from the
+/// `Accept-Encoding` header of each request. Responses whose media type is
+/// eligible for compression carry a `Vary: Accept-Encoding` header, whether
+/// or not the body was compressed.
+///
+/// By default, the following media types are compressed: `text/*`,
+/// `application/json`, `application/javascript`, `application/xml`,
+/// `image/svg+xml` and any type with a `+json` or `+xml` suffix. Media type
+/// parameters, such as `charset`, are ignored.
+public sealed interface CompressionOptions permits ResponseCompressionBuilder {
+
+  /// Sets the compression level: from `1` (fastest) to `9` (smallest).
+  /// Defaults to `6`.
+  ///
+  /// @param value the compression level
+  void level(int value);
+
+  /// Enables or disables the compression of responses of the specified media
+  /// type, overriding the default policy.
+  ///
+  /// @param type the media type
+  /// @param compress `true` to compress responses of the media type; `false`
+  ///        otherwise
+  void mediaType(MediaType type, boolean compress);
+
+  /// Sets the minimum size in bytes of a response body to be compressed.
+  /// Smaller bodies are sent as they are. Bodies whose size is not known in
+  /// advance are always compressed. Defaults to `1024`.
+  ///
+  /// @param value the minimum size (in bytes) of a compressed body
+  void minLength(int value);
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectos.http;
+
+import objectox.http.media.StaticFilesFingerprints;
+
+/// Maps the paths of static files to their fingerprinted paths: paths that
+/// include a hash of the file contents, such as `/app.3f9a1c0b.js` for the
+/// `/app.js` file.
+///
+/// An instance is created empty and is populated when the server starts.
+/// Typical usage is:
+///
+/// ```java
+/// Fingerprints assets = Fingerprints.create();
+///
+/// Server.create(opts -> {
+///   opts.host(host -> {
+///     host.handler(new MyHandler(assets));
+///
+///     host.staticFiles(files -> {
+///       files.addDirectory(directory);
+///
+///       files.fingerprint(".css");
+///       files.fingerprint(".js");
+///
+///       files.fingerprints(assets);
+///     });
+///   });
+/// });
+/// ```
+///
+/// Templates may then refer to `assets.path("/app.js")`.
+public sealed interface Fingerprints permits StaticFilesFingerprints {
+
+  /// Creates a new, empty, instance.
+  ///
+  /// @return a newly created instance
+  static Fingerprints create() {
+    return new StaticFilesFingerprints();
+  }
+
+  /// Returns the fingerprinted path of the static file at the specified path,
+  /// or the specified path itself if the file has not been fingerprinted.
+  ///
+  /// @param path the path of the static file, such as `/app.js`
+  ///
+  /// @return the fingerprinted path or the specified path
+  String path(String path);
+
+}
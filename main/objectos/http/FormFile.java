@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectos.http;
+
+import java.nio.file.Path;
+import objectox.http.req.RequestBodyFile;
+
+/// A file uploaded in a `multipart/form-data` request body.
+///
+/// The uploaded bytes are stored in a file obtained from the configured
+/// [RequestBodyFiles] instance. The file is deleted after the response to the
+/// request has been sent: handlers wishing to keep it must move it elsewhere.
+public sealed interface FormFile permits RequestBodyFile {
+
+  /// Returns the name of the form field.
+  ///
+  /// @return the name of the form field
+  String name();
+
+  /// Returns the file name as sent by the client. The value is not sanitized
+  /// in any way and it may be empty.
+  ///
+  /// @return the file name as sent by the client
+  String filename();
+
+  /// Returns the value of the part's `Content-Type` header, or `text/plain` if
+  /// the client did not send one.
+  ///
+  /// @return the media type as sent by the client
+  String contentType();
+
+  /// Returns the local file holding the uploaded bytes.
+  ///
+  /// @return the local file holding the uploaded bytes
+  Path file();
+
+  /// Returns the number of uploaded bytes.
+  ///
+  /// @return the number of uploaded bytes
+  long size();
+
+}
@@ -35,18 +35,30 @@ public sealed interface HeaderName permits HeaderNamePojo {
   /// The `Accept-Encoding` header name.
   HeaderName ACCEPT_ENCODING = HeaderNamePojo.ACCEPT_ENCODING;
 
+  /// The `Accept-Ranges` header name.
+  HeaderName ACCEPT_RANGES = HeaderNamePojo.ACCEPT_RANGES;
+
   /// The `Allow` header name.
   HeaderName ALLOW = HeaderNamePojo.ALLOW;
 
+  /// The `Cache-Control` header name.
+  HeaderName CACHE_CONTROL = HeaderNamePojo.CACHE_CONTROL;
+
   /// The `Connection` header name.
   HeaderName CONNECTION = HeaderNamePojo.CONNECTION;
 
   /// The `Content-Disposition` header name.
   HeaderName CONTENT_DISPOSITION = HeaderNamePojo.CONTENT_DISPOSITION;
 
+  /// The `Content-Encoding` header name.
+  HeaderName CONTENT_ENCODING = HeaderNamePojo.CONTENT_ENCODING;
+
   /// The `Content-Length` header name.
   HeaderName CONTENT_LENGTH = HeaderNamePojo.CONTENT_LENGTH;
 
+  /// The `Content-Range` header name.
+  HeaderName CONTENT_RANGE = HeaderNamePojo.CONTENT_RANGE;
+
   /// The `Content-Type` header name.
   HeaderName CONTENT_TYPE = HeaderNamePojo.CONTENT_TYPE;
 
@@ -68,12 +80,21 @@ public sealed interface HeaderName permits HeaderNamePojo {
   /// The `If-None-Match` header name.
   HeaderName IF_NONE_MATCH = HeaderNamePojo.IF_NONE_MATCH;
 
+  /// The `If-Range` header name.
+  HeaderName IF_RANGE = HeaderNamePojo.IF_RANGE;
+
   /// The `Location` header name.
   HeaderName LOCATION = HeaderNamePojo.LOCATION;
 
+  /// The `Range` header name.
+  HeaderName RANGE = HeaderNamePojo.RANGE;
+
   /// The `Referer` header name.
   HeaderName REFERER = HeaderNamePojo.REFERER;
 
+  /// The `Retry-After` header name.
+  HeaderName RETRY_AFTER = HeaderNamePojo.RETRY_AFTER;
+
   /// The `Set-Cookie` header name.
   HeaderName SET_COOKIE = HeaderNamePojo.SET_COOKIE;
 
@@ -83,6 +104,9 @@ public sealed interface HeaderName permits HeaderNamePojo {
   /// The `User-Agent` header name.
   HeaderName USER_AGENT = HeaderNamePojo.USER_AGENT;
 
+  /// The `Vary` header name.
+  HeaderName VARY = HeaderNamePojo.VARY;
+
   /// The `Way-CSRF-Token` header name.
   HeaderName WAY_CSRF_TOKEN = HeaderNamePojo.WAY_CSRF_TOKEN;
 
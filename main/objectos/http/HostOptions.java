@@ -21,6 +21,12 @@ import objectox.http.host.HostStageBuilder;
 /// Configures a name-based web site to be served by a `Server` instance.
 public sealed interface HostOptions permits HostStageBuilder {
 
+  /// Enables the compression of the responses of this host with the specified
+  /// options. The options replace those set at the server level, if any.
+  ///
+  /// @param opts allows for setting the compression options
+  void compression(Consumer<? super CompressionOptions> opts);
+
   /// Sets the name of this host.
   ///
   /// @param value the host name
@@ -434,4 +434,21 @@ public sealed interface Request extends Result permits RequestPojo {
   /// @return an `LongStream` of the values associated to the field name
   LongStream formParamAllAsLong(String name, long defaultValue);
 
+  /// Returns the first file uploaded in the `multipart/form-data` field with
+  /// the specified name, or `null` if no such file is present.
+  ///
+  /// @param name the field name
+  ///
+  /// @return the first uploaded file or `null`
+  FormFile formFile(String name);
+
+  /// Returns a list containing all of the files uploaded in the
+  /// `multipart/form-data` field with the specified name. This method returns
+  /// an empty list if no such file is present.
+  ///
+  /// @param name the field name
+  ///
+  /// @return a list containing all of the uploaded files in encounter order
+  List<FormFile> formFileAll(String name);
+
 }
\ No newline at end of file
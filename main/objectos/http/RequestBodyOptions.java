@@ -25,17 +25,79 @@ public sealed interface RequestBodyOptions permits RequestBodyConfigBuilder {
   /// @param value the file provider
   void files(RequestBodyFiles value);
 
+  /// Defines whether the request body is read before or while the handler
+  /// runs.
+  ///
+  /// By default, the server reads the whole request body, storing it in memory
+  /// or in a file, before it invokes the handler. When set to `true`, the
+  /// server invokes the handler right after reading the request headers:
+  ///
+  /// - the body is read from the connection as the handler consumes the
+  ///   stream returned by [Request#bodyInputStream()]. The stream can be read
+  ///   only once;
+  /// - form parameters are parsed on the first access to them;
+  /// - after the handler returns, the server discards the unread bytes of the
+  ///   body, up to [memoryMax][#memoryMax(int)] bytes, so the connection can be
+  ///   reused. If more bytes remain, the server closes the connection instead.
+  ///
+  /// Handlers rejecting a request before reading its body therefore do not
+  /// pay for the upload to be stored.
+  ///
+  /// @param value `true` to read the request body lazily
+  void lazy(boolean value);
+
   /// Sets the maximum request body size in bytes that will be stored in memory.
   /// A request body larger than this limit is serialized to a local file.
   ///
   /// @param value the maximum size (in bytes) for a memory request body
   void memoryMax(int value);
 
+  /// Defines whether `multipart/form-data` request bodies are parsed as they
+  /// are read from the connection.
+  ///
+  /// By default, the server first stores a `multipart/form-data` request body,
+  /// in memory or in a file, like any other request body. It then parses the
+  /// parts from the stored body, so that both the form and the raw body, via
+  /// [Request#bodyInputStream()], are available to the handler.
+  ///
+  /// When set to `true`, the server parses the parts directly from the
+  /// connection, in a single pass, without storing the body first. In this
+  /// mode the raw body is not kept: [Request#bodyInputStream()] returns an
+  /// empty stream for `multipart/form-data` requests.
+  ///
+  /// The two-pass mode remains the default because it is the only one under
+  /// which existing handlers reading the raw body of a `multipart/form-data`
+  /// request keep working: the body of a request can only be read from the
+  /// connection once. The cost is that large bodies are written to disk
+  /// twice: once as the stored body, then once more as the part files.
+  /// Applications which only use the form should enable this option.
+  ///
+  /// This option has no effect when the body is read
+  /// [lazily][#lazy(boolean)]: the handler chooses between reading the raw
+  /// body or the form.
+  ///
+  /// @param value `true` to parse multipart bodies in a single pass
+  void multipartStream(boolean value);
+
+  /// Sets the maximum allowed size in bytes for a single file of a
+  /// `multipart/form-data` request body.
+  ///
+  /// File parts are written directly to files obtained from the
+  /// [file provider][#files(RequestBodyFiles)], while text fields are kept in
+  /// memory and are limited by [memoryMax][#memoryMax(int)] instead. A part
+  /// exceeding its limit causes the server to respond with a
+  /// `413 Content Too Large` message.
+  ///
+  /// @param value the maximum size (in bytes) of an uploaded file
+  void partMax(long value);
+
   /// Sets the maximum allowed size in bytes for the request body.
   ///
   /// If the server determines that the request body exceeds the limit, the
   /// request processing ends, the server responds with a `413 Content Too Large`
-  /// message, and the server closes the connection.
+  /// message, and the server closes the connection. For request bodies sent
+  /// using the `chunked` transfer coding, the limit is enforced as each chunk
+  /// arrives.
   ///
   /// @param value the maximum size (in bytes) of an allowed request body
   void sizeMax(long value);
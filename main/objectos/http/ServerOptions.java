@@ -16,6 +16,7 @@
 package objectos.http;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.function.Consumer;
 import objectos.lang.Stage;
 import objectos.way.Note;
@@ -24,22 +25,61 @@ import objectox.http.srv.ServerLoopBuilder;
 /// Configures the creation of an HTTP server.
 public sealed interface ServerOptions permits ServerLoopBuilder {
 
-  /// Sets the size in bytes of the exchange buffer.
+  /// Sets the maximum length of the queue of incoming connections, i.e.,
+  /// connections established by the operating system but not yet accepted by
+  /// the server.
   ///
-  /// The server will create a buffer of the specified size for each connection
-  /// it accepts. Then it will use it for all request messages coming from that
-  /// connection and all response messages sent to that connection.
+  /// @param value the maximum number of pending connections
+  void backlog(int value);
+
+  /// Sets the maximum amount of time the server waits for the body of a
+  /// request to arrive, counting from the first read of the body. When the
+  /// timeout expires, the server responds with a `408 Request Timeout` message
+  /// and closes the connection.
+  ///
+  /// The timeout applies to the body as a whole, not to the time between two
+  /// reads: a large upload sent at a steady rate also times out once the
+  /// duration elapses. Choose a value accommodating the largest body the
+  /// application accepts over the slowest connection it intends to serve.
+  ///
+  /// A zero duration disables the timeout. By default, the timeout is
+  /// disabled.
+  ///
+  /// @param value the maximum duration
+  void bodyTimeout(Duration value);
+
+  /// Sets the maximum number of idle exchange buffers the server retains for
+  /// reuse.
+  ///
+  /// Connections borrow their exchange buffers from a pool shared by the
+  /// server only while a request is being read or a response is being sent.
+  /// Buffers of idle connections are returned to the pool. A zero value
+  /// disables the retention of buffers. Defaults to 1024.
+  ///
+  /// @param value the maximum number of retained buffers
+  void bufferPoolMax(int value);
+
+  /// Sets the size in bytes of the exchange buffers.
+  ///
+  /// The server will use two buffers of the specified size for each active
+  /// connection. It will use one of them for the request messages coming from
+  /// that connection and the other for the response messages sent to that
+  /// connection.
   ///
-  /// For each request message, the server will use the buffer to store the
-  /// request line and request headers. It may also use it to store the request
-  /// body. As a result, the buffer size limits the maximum request size, minus
-  /// the request body, the server will accept.
+  /// For each request message, the server will use the request buffer to store
+  /// the request line and request headers. It may also use it to store the
+  /// request body. As a result, the buffer size limits the maximum request
+  /// size, minus the request body, the server will accept. Bytes of pipelined
+  /// requests read along with a previous request are kept in the buffer.
   ///
-  /// For each response message, the server will use the buffer to store the
-  /// status line and the response headers. As a result, the buffer size limits
-  /// the maximum response size, minus the response body, the server will emit.
+  /// For each response message, the server will use the response buffer to
+  /// assemble the status line, the response headers and, if it fits, the
+  /// response body. The assembled bytes are then sent using a single write
+  /// operation. Responses that do not fit in the buffer are sent using
+  /// additional write operations. Responses to pipelined requests are batched
+  /// in the buffer and written together.
   ///
-  /// @param value the size (in bytes) of the exchange buffer
+  /// @param value the size (in bytes) of each exchange buffer
   void bufferSize(int value);
 
   /// Sets the server's clock to the specified value.
@@ -47,11 +87,60 @@ public sealed interface ServerOptions permits ServerLoopBuilder {
   /// @param value a clock instance
   void clock(Clock value);
 
+  /// Enables the compression of the responses of all hosts with the specified
+  /// options. A host may replace them with its own options.
+  ///
+  /// By default, responses are not compressed.
+  ///
+  /// @param opts allows for setting the compression options
+  void compression(Consumer<? super CompressionOptions> opts);
+
+  /// Sets the maximum number of requests the server processes from a single
+  /// connection. The response to the last request instructs the client to
+  /// close the connection.
+  ///
+  /// By default, the number of requests per connection is not limited.
+  ///
+  /// @param value the maximum number of requests per connection
+  void connectionRequestsMax(int value);
+
+  /// Sets the maximum number of connections the server keeps open
+  /// concurrently.
+  ///
+  /// Once the limit is reached, the server stops accepting new connections
+  /// until an open connection is closed. Alternatively, if configured to
+  /// [shed load][#shedLoad(Duration)], the server immediately responds to
+  /// new connections with a `503 Service Unavailable` message and closes them.
+  ///
+  /// By default, the number of connections is not limited.
+  ///
+  /// @param value the maximum number of open connections
+  void connectionsMax(int value);
+
+  /// Sets the maximum amount of time the server waits for the request line and
+  /// the request headers to arrive, counting from the first byte of the
+  /// request. When the timeout expires, the server responds with a
+  /// `408 Request Timeout` message and closes the connection.
+  ///
+  /// A zero duration disables the timeout. Defaults to 30 seconds.
+  ///
+  /// @param value the maximum duration
+  void headTimeout(Duration value);
+
   /// Adds a host with the specified configuration to this server.
   ///
   /// @param opts allows for setting the host options
   void host(Consumer<? super HostOptions> opts);
 
+  /// Sets the maximum amount of time a connection may remain idle, i.e., the
+  /// time the server waits for the first byte of the next request. When the
+  /// timeout expires, the server closes the connection.
+  ///
+  /// A zero duration disables the timeout. Defaults to 60 seconds.
+  ///
+  /// @param value the maximum duration
+  void idleTimeout(Duration value);
+
   /// Sets the note sink to the specified value.
   ///
   /// @param value a note sink instance
@@ -67,8 +156,39 @@ public sealed interface ServerOptions permits ServerLoopBuilder {
   /// @param opts allows for setting the options
   void requestBody(Consumer<? super RequestBodyOptions> opts);
 
+  /// Sets the maximum number of requests the server processes concurrently.
+  ///
+  /// Once the limit is reached, the server waits for an in-flight request to
+  /// complete before processing a new one. Alternatively, if configured to
+  /// [shed load][#shedLoad(Duration)], the server responds to the request
+  /// with a `503 Service Unavailable` message and closes its connection.
+  ///
+  /// By default, the number of in-flight requests is not limited.
+  ///
+  /// @param value the maximum number of in-flight requests
+  void requestsMax(int value);
+
+  /// Instructs the server to shed load when either the
+  /// [connections][#connectionsMax(int)] or the
+  /// [in-flight requests][#requestsMax(int)] limit is reached.
+  ///
+  /// Shed connections and requests receive a pre-serialized
+  /// `503 Service Unavailable` response with a `Retry-After` header set to the
+  /// specified duration, rounded up to whole seconds with a minimum of one
+  /// second. At most 16 shed connections are responded to concurrently;
+  /// beyond that, shed connections are closed without a response.
+  ///
+  /// @param retryAfter the value of the `Retry-After` header
+  void shedLoad(Duration retryAfter);
+
   /// Sets the server's stage to the specified value.
   ///
+  /// In the production stage, a connection reuses the request objects across
+  /// its requests. In any other stage, each request gets new objects which are
+  /// retired once the response has been sent: a handler that retains a request
+  /// (e.g. by handing it to another thread) fails with an
+  /// `IllegalStateException` when it accesses the request afterwards.
+  ///
   /// @param value the stage
   void stage(Stage value);
 
@@ -15,14 +15,151 @@
  */
 package objectos.http;
 
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.InstantSource;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.random.RandomGenerator;
+import javax.crypto.SecretKey;
+import objectos.lang.Key;
+import objectos.way.App;
+import objectos.way.Note;
+import objectos.way.Sql;
+import objectox.http.session.SessionStoreOption;
 import objectox.http.session.SessionSupportBuilder;
 
 /// Configures the HTTP session related options of a `Server` instance.
 public sealed interface SessionOptions permits SessionSupportBuilder {
 
+  /// Converts the values of a session attribute to and from bytes, so they can
+  /// be stored outside of the server memory.
+  ///
+  /// @param <T> the type of the attribute values
+  interface Codec<T> {
+
+    /// Creates a new codec from the specified functions.
+    ///
+    /// @param <T> the type of the attribute values
+    /// @param encoder converts a value to bytes
+    /// @param decoder converts bytes back to a value
+    ///
+    /// @return a newly created codec
+    static <T> Codec<T> of(Function<? super T, byte[]> encoder, Function<byte[], ? extends T> decoder) {
+      Objects.requireNonNull(encoder, "encoder == null");
+      Objects.requireNonNull(decoder, "decoder == null");
+
+      return new Codec<T>() {
+        @Override
+        public final byte[] encode(T value) {
+          return encoder.apply(value);
+        }
+
+        @Override
+        public final T decode(byte[] bytes) {
+          return decoder.apply(bytes);
+        }
+      };
+    }
+
+    /// Returns the bytes representing the specified value.
+    ///
+    /// @param value the attribute value
+    ///
+    /// @return the bytes representing the value
+    byte[] encode(T value);
+
+    /// Returns the value represented by the specified bytes.
+    ///
+    /// @param bytes bytes previously returned by [#encode(Object)]
+    ///
+    /// @return the attribute value
+    T decode(byte[] bytes);
+
+  }
+
+  /// Defines where the server-side sessions are stored.
+  sealed interface Store permits SessionStoreOption {
+
+    /// Stores the sessions in the server memory. This is the default.
+    ///
+    /// @return an option for storing the sessions in memory
+    static Store memory() {
+      return new SessionStoreOption.Memory();
+    }
+
+    /// Stores the sessions in the specified database, so they can be shared
+    /// by all servers using the same database. The database must have the
+    /// following table:
+    ///
+    /// ```sql
+    /// create table WAY_SESSION (
+    ///   ID varchar(64) not null primary key,
+    ///   ACCESS_TIME bigint not null,
+    ///   DATA blob not null
+    /// )
+    /// ```
+    ///
+    /// Only attributes with a [registered][SessionOptions#codec(Key, Codec)]
+    /// codec can be stored. The sessions are also kept in memory: they are
+    /// loaded from the database on first access and checked against it again
+    /// at most once per `syncInterval`. Changes to the sessions, including
+    /// their access times, are written in batches at most once per
+    /// `syncInterval`. In other words, a change made by one server is
+    /// visible to the other servers within two sync intervals.
+    ///
+    /// There is no background thread: the batch is written by the request
+    /// which first observes that it is due, on its own thread. That request
+    /// is therefore delayed by the database round trips, while the other
+    /// requests proceed. A session which cannot be loaded from the database
+    /// is treated as absent, and a batch which cannot be written is retried
+    /// after the next `syncInterval`.
+    ///
+    /// As the writes are deferred, the changes made since the last batch are
+    /// only written to the database when the specified shutdown hook runs.
+    ///
+    /// @param database the database storing the sessions
+    /// @param syncInterval the maximum time between two synchronizations
+    ///        of a session with the database
+    /// @param shutdownHook the shutdown hook which writes the pending changes
+    ///
+    /// @return an option for storing the sessions in a database
+    static Store database(Sql.Database database, Duration syncInterval, App.ShutdownHook shutdownHook) {
+      Objects.requireNonNull(database, "database == null");
+      Objects.requireNonNull(syncInterval, "syncInterval == null");
+      Objects.requireNonNull(shutdownHook, "shutdownHook == null");
+
+      if (syncInterval.isZero()) {
+        throw new IllegalArgumentException("syncInterval must not be zero");
+      }
+
+      if (syncInterval.isNegative()) {
+        throw new IllegalArgumentException("syncInterval must not be negative");
+      }
+
+      return new SessionStoreOption.Database(database, shutdownHook, syncInterval);
+    }
+
+  }
+
+  /// Registers the codec for the session attribute associated to the name of
+  /// the specified class. The class name identifies the attribute in its
+  /// encoded form.
+  ///
+  /// @param <T> the type of the attribute values
+  /// @param key the class providing the name of the attribute
+  /// @param codec the codec for the attribute values
+  <T> void codec(Class<T> key, Codec<T> codec);
+
+  /// Registers the codec for the session attribute associated to the
+  /// specified key. The string representation of the unique object of the key
+  /// identifies the attribute in its encoded form.
+  ///
+  /// @param <T> the type of the attribute values
+  /// @param key the key of the attribute
+  /// @param codec the codec for the attribute values
+  <T> void codec(Key<T> key, Codec<T> codec);
+
   /// Sets the session cookie `Max-Age` attribute to the specified value.
   ///
   /// @param duration the session cookie `Max-Age` attribute value
@@ -49,14 +186,92 @@ public sealed interface SessionOptions permits SessionSupportBuilder {
   /// @param duration the duration value
   void emptyMaxAge(Duration duration);
 
+  /// Discards sessions, during a clean up operation, which have not been
+  /// accessed for longer than the specified duration. Defaults to 30 minutes.
+  ///
+  /// Clean up operations are performed by incoming requests, as time goes by
+  /// according to the configured `InstantSource`; they never run
+  /// concurrently.
+  ///
+  /// @param duration the duration value
+  void idleTimeout(Duration duration);
+
   /// Sets the `InstantSource` to use for setting session time related values.
   ///
   /// @param value the `InstantSource` instance to use
   void instantSource(InstantSource value);
 
+  /// Sets the note sink to the specified value. Clean up operations and
+  /// evictions report the number of discarded sessions along with the number
+  /// of remaining ones.
+  ///
+  /// @param value a note sink instance
+  void noteSink(Note.Sink value);
+
   /// Sets the `RandomGenerator` to use for generating session token values.
+  /// It is not used by [stateless][#stateless(SecretKey, SecretKey...)]
+  /// sessions, whose cookies are always encrypted with IVs drawn from a
+  /// `SecureRandom` instance.
   ///
   /// @param value the `RandomGenerator` instance to use
   void randomGenerator(RandomGenerator value);
 
+  /// Sets the maximum number of sessions kept by the server. Once the limit
+  /// is exceeded, the least recently accessed sessions are discarded.
+  ///
+  /// By default, the number of sessions is not limited.
+  ///
+  /// @param value the maximum number of sessions
+  void sessionsMax(int value);
+
+  /// Keeps the server-side sessions across restarts of the application.
+  ///
+  /// When the specified shutdown hook runs, the sessions held in memory are
+  /// written to the specified file; when the sessions are next created, they
+  /// are read back from it with their access times intact, and the file is
+  /// deleted. Sessions which expired in the meantime are discarded. Only
+  /// sessions whose attributes all have a [registered][#codec(Key, Codec)]
+  /// codec are written. Likewise, a session with an attribute which can no
+  /// longer be decoded, for example after its codec was removed, is not read
+  /// back.
+  ///
+  /// This option has no effect if the sessions are [stored][#store(Store)] in
+  /// a database, whose own shutdown hook writes the pending changes instead,
+  /// nor on [stateless][#stateless(SecretKey, SecretKey...)] sessions.
+  ///
+  /// @param file the snapshot file
+  /// @param shutdownHook the shutdown hook which writes the snapshot
+  void snapshot(Path file, App.ShutdownHook shutdownHook);
+
+  /// Defines where the server-side sessions are stored. Defaults to
+  /// [Store#memory()].
+  ///
+  /// @param value the sessions store
+  void store(Store value);
+
+  /// Stores the sessions in the clients instead of the server memory: the
+  /// session attributes are encrypted and authenticated with AES-GCM and sent
+  /// in the session cookie itself. No server-side state is kept, so requests
+  /// of the same client can be served by any node sharing the keys.
+  ///
+  /// Only attributes with a [registered][#codec(Key, Codec)] codec can be
+  /// stored, and the encoded cookie must not exceed 4096 bytes. A session
+  /// expires once it has not been accessed for longer than the
+  /// [idle timeout][#idleTimeout(Duration)]; its cookie is reissued as the
+  /// session is used.
+  ///
+  /// Cookies are encrypted with the `current` key. The `previous` keys are
+  /// only used for decrypting cookies issued before a key rotation; such
+  /// cookies are reissued with the current key. A cookie whose attributes
+  /// cannot be decoded is treated as absent.
+  ///
+  /// As no server-side state is kept, invalidating a session only instructs
+  /// the client to discard its cookie: a copy of the cookie captured before
+  /// the invalidation remains valid until it expires. Replacing the current
+  /// key, without keeping it as a previous one, revokes every issued cookie.
+  ///
+  /// @param current the AES key for encrypting and decrypting cookies
+  /// @param previous AES keys for decrypting cookies only
+  void stateless(SecretKey current, SecretKey... previous);
+
 }
@@ -47,6 +47,29 @@ public sealed interface StaticFilesOptions permits StaticFilesStageBuilder {
   /// @param directory the directory whose contents are to be served
   void addDirectory(Path directory);
 
+  /// Sets the maximum number of bytes held by the in-memory cache of static
+  /// files. A value of `0` disables the cache. Defaults to `0`.
+  ///
+  /// When enabled, the contents of small files, up to 64 KiB, are kept in
+  /// memory along with their response headers, so a request for a cached
+  /// file requires no file system access. When the cache is full, room for a
+  /// newly requested file is made by evicting files that were not requested
+  /// recently. Files served with a precompressed variant are not cached.
+  ///
+  /// Outside the `PROD` stage, the modification time of a cached file is
+  /// checked on each request, so modified files are served right away.
+  ///
+  /// @param value the maximum size (in bytes) of the cache
+  void cacheMaxBytes(long value);
+
+  /// Sets the maximum number of files held by the in-memory cache of static
+  /// files. Defaults to `256`.
+  ///
+  /// @param value the maximum number of cached files
+  ///
+  /// @see #cacheMaxBytes(long)
+  void cacheMaxEntries(int value);
+
   /// Map file extension names to content type (media type) values as defined by
   /// the specified properties string.
   ///
@@ -74,6 +97,80 @@ public sealed interface StaticFilesOptions permits StaticFilesStageBuilder {
   ///        mapping in each line
   void contentTypes(String propertiesString);
 
+  /// Fingerprints the files having the specified extension when the server
+  /// starts. The fingerprinted path of a file includes a hash of its contents
+  /// before its extension: `/app.js` may be fingerprinted as
+  /// `/app.3f9a1c0b.js`. Use a [Fingerprints] instance to obtain the
+  /// fingerprinted paths.
+  ///
+  /// A request for a fingerprinted path is served with the contents of the
+  /// original file. In the `PROD` stage, the response also carries a
+  /// `Cache-Control: public, max-age=31536000, immutable` header, so clients
+  /// do not revalidate it: a modified file has a different path.
+  ///
+  /// @param extension the file extension, including the leading `.`
+  ///        character, such as `.js`
+  ///
+  /// @see #fingerprints(Fingerprints)
+  void fingerprint(String extension);
+
+  /// Populates the specified instance with the fingerprinted paths of the
+  /// static files when the server starts.
+  ///
+  /// @param value the instance to be populated
+  ///
+  /// @see #fingerprint(String)
+  void fingerprints(Fingerprints value);
+
+  /// Serves the files directly from the added directories instead of from a
+  /// copy of them. Disabled by default.
+  ///
+  /// By default, the contents of the added directories are copied to a
+  /// temporary directory when the server starts, so startup time and disk
+  /// usage grow with the size of the files. When enabled, a request path is
+  /// resolved against each added directory, in the order they were added,
+  /// and the first existing file is served. The added directories are never
+  /// written to: the temporary directory only holds the files generated at
+  /// runtime and the files compressed at startup.
+  ///
+  /// Symbolic links are not followed: a file reached through a link, be it
+  /// the file itself or one of its parent directories, is not served.
+  /// Additionally, files are expected not to change while the application
+  /// runs in the `PROD` stage.
+  ///
+  /// @param value `true` to serve the directories in place; `false` to serve
+  ///        a copy of them
+  void inPlace(boolean value);
+
+  /// Compresses, with the `gzip` content coding, the files having the
+  /// specified extension when the server starts. Each compressed file is
+  /// stored alongside its original file with an additional `.gz` suffix, so
+  /// `app.js` is compressed to `app.js.gz`. When serving the directories in
+  /// place, compressed files are stored in the temporary directory instead.
+  /// Files already having a `.gz` sibling, such as one created by the build,
+  /// are left as they are; and compressed files not smaller than their
+  /// original are discarded.
+  ///
+  /// Invoking this method also enables the serving of precompressed files.
+  ///
+  /// @param extension the file extension, including the leading `.`
+  ///        character, such as `.js`
+  ///
+  /// @see #precompressed(boolean)
+  void precompress(String extension);
+
+  /// Enables or disables the serving of precompressed files. Disabled by
+  /// default.
+  ///
+  /// When enabled, a request for the file `app.js` may be served with the
+  /// contents of either the `app.js.br` file or the `app.js.gz` file, if they
+  /// exist and if the client accepts the `br` or the `gzip` content coding
+  /// respectively. Each variant is sent with a distinct `ETag` value and
+  /// with a `Vary: Accept-Encoding` header.
+  ///
+  /// @param value `true` to serve precompressed files; `false` otherwise
+  void precompressed(boolean value);
+
   /// Applies the default content type mappings to this configuration.
   default void withDefaultContentTypes() {
     contentTypes(DEFAULT_CONTENT_TYPES);
@@ -31,6 +31,9 @@ public sealed interface Status extends Result permits StatusEnum {
   /// The `204 No Content` status.
   Status NO_CONTENT = StatusEnum.NO_CONTENT;
 
+  /// The `206 Partial Content` status.
+  Status PARTIAL_CONTENT = StatusEnum.PARTIAL_CONTENT;
+
   // 3.x.x
 
   /// The `301 Moved Permanently` status.
@@ -59,6 +62,9 @@ public sealed interface Status extends Result permits StatusEnum {
   /// The `405 Method Not Allowed` status.
   Status METHOD_NOT_ALLOWED = StatusEnum.METHOD_NOT_ALLOWED;
 
+  /// The `408 Request Timeout` status.
+  Status REQUEST_TIMEOUT = StatusEnum.REQUEST_TIMEOUT;
+
   /// The `411 Length Required` status.
   Status LENGTH_REQUIRED = StatusEnum.LENGTH_REQUIRED;
 
@@ -71,6 +77,9 @@ public sealed interface Status extends Result permits StatusEnum {
   /// The `415 UNSUPPORTED MEDIA TYPE` status.
   Status UNSUPPORTED_MEDIA_TYPE = StatusEnum.UNSUPPORTED_MEDIA_TYPE;
 
+  /// The `416 Range Not Satisfiable` status.
+  Status RANGE_NOT_SATISFIABLE = StatusEnum.RANGE_NOT_SATISFIABLE;
+
   /// The `422 UNPROCESSABLE CONTENT` status.
   Status UNPROCESSABLE_CONTENT = StatusEnum.UNPROCESSABLE_CONTENT;
 
@@ -85,6 +94,9 @@ public sealed interface Status extends Result permits StatusEnum {
   /// The `501 NOT IMPLEMENTED` status.
   Status NOT_IMPLEMENTED = StatusEnum.NOT_IMPLEMENTED;
 
+  /// The `503 Service Unavailable` status.
+  Status SERVICE_UNAVAILABLE = StatusEnum.SERVICE_UNAVAILABLE;
+
   /// The `505 HTTP VERSION NOT SUPPORTED` status.
   Status HTTP_VERSION_NOT_SUPPORTED = StatusEnum.HTTP_VERSION_NOT_SUPPORTED;
 
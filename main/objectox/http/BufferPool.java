@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/// A pool of byte arrays shared by the connections of a server.
+///
+/// Arrays are grouped in size classes: each class holds arrays whose length
+/// is a power of two, from 128 bytes up to 1 MiB. A borrowed array may be
+/// larger than requested. Requests larger than the largest class are served
+/// by plain allocations which are not retained.
+///
+/// Each class retains at most `retainMax` arrays: excess arrays are left to
+/// the garbage collector.
+public final class BufferPool {
+
+  private static final int MIN_SHIFT = 7;
+
+  private static final int MAX_SHIFT = 20;
+
+  private final SizeClass[] classes;
+
+  private final int retainMax;
+
+  private static final class SizeClass {
+
+    final AtomicInteger count = new AtomicInteger();
+
+    final ConcurrentLinkedQueue<byte[]> queue = new ConcurrentLinkedQueue<>();
+
+    final int size;
+
+    SizeClass(int size) {
+      this.size = size;
+    }
+
+  }
+
+  public BufferPool(int retainMax) {
+    if (retainMax < 0) {
+      throw new IllegalArgumentException("Invalid retain max: value must not be negative but found " + retainMax);
+    }
+
+    final SizeClass[] array;
+    array = new SizeClass[MAX_SHIFT - MIN_SHIFT + 1];
+
+    for (int idx = 0; idx < array.length; idx++) {
+      array[idx] = new SizeClass(1 << (MIN_SHIFT + idx));
+    }
+
+    classes = array;
+
+    this.retainMax = retainMax;
+  }
+
+  /// Returns an array whose length is at least `size`.
+  public final byte[] borrow(int size) {
+    final int idx;
+    idx = classIndex(size);
+
+    if (idx >= classes.length) {
+      return new byte[size];
+    }
+
+    final SizeClass c;
+    c = classes[idx];
+
+    final byte[] pooled;
+    pooled = c.queue.poll();
+
+    if (pooled == null) {
+      return new byte[c.size];
+    }
+
+    c.count.decrementAndGet();
+
+    return pooled;
+  }
+
+  /// Returns the specified array to the pool. Callers must not use the array
+  /// after invoking this method.
+  public final void release(byte[] array) {
+    final int length;
+    length = array.length;
+
+    if (length < 1 << MIN_SHIFT || Integer.bitCount(length) != 1) {
+      // not one of ours
+      return;
+    }
+
+    final int idx;
+    idx = classIndex(length);
+
+    if (idx >= classes.length) {
+      return;
+    }
+
+    final SizeClass c;
+    c = classes[idx];
+
+    if (c.count.incrementAndGet() > retainMax) {
+      c.count.decrementAndGet();
+
+      return;
+    }
+
+    c.queue.offer(array);
+  }
+
+  /// Returns the number of arrays of the specified size class currently
+  /// retained by this pool.
+  public final int retained(int size) {
+    final int idx;
+    idx = classIndex(size);
+
+    return idx < classes.length ? classes[idx].count.get() : 0;
+  }
+
+  private int classIndex(int size) {
+    if (size <= 1 << MIN_SHIFT) {
+      return 0;
+    }
+
+    // ceil(log2(size))
+    final int shift;
+    shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+
+    return shift - MIN_SHIFT;
+  }
+
+}
@@ -29,10 +29,14 @@ public final class HeaderNamePojo implements HeaderName {
   private static Builder B = new Builder();
 
   public static final HeaderNamePojo ACCEPT_ENCODING = B.std("Accept-Encoding", HeaderType.REQUEST);
+  public static final HeaderNamePojo ACCEPT_RANGES = B.std("Accept-Ranges", HeaderType.RESPONSE);
   public static final HeaderNamePojo ALLOW = B.std("Allow", HeaderType.RESPONSE);
+  public static final HeaderNamePojo CACHE_CONTROL = B.std("Cache-Control", HeaderType.RESPONSE);
   public static final HeaderNamePojo CONNECTION = B.std("Connection", HeaderType.BOTH);
   public static final HeaderNamePojo CONTENT_DISPOSITION = B.std("Content-Disposition", HeaderType.RESPONSE);
+  public static final HeaderNamePojo CONTENT_ENCODING = B.std("Content-Encoding", HeaderType.BOTH);
   public static final HeaderNamePojo CONTENT_LENGTH = B.std("Content-Length", HeaderType.BOTH);
+  public static final HeaderNamePojo CONTENT_RANGE = B.std("Content-Range", HeaderType.RESPONSE);
   public static final HeaderNamePojo CONTENT_TYPE = B.std("Content-Type", HeaderType.BOTH);
   public static final HeaderNamePojo COOKIE = B.std("Cookie", HeaderType.REQUEST);
   public static final HeaderNamePojo DATE = B.std("Date", HeaderType.BOTH);
@@ -40,11 +44,15 @@ public final class HeaderNamePojo implements HeaderName {
   public static final HeaderNamePojo FROM = B.std("From", HeaderType.REQUEST);
   public static final HeaderNamePojo HOST = B.std("Host", HeaderType.REQUEST);
   public static final HeaderNamePojo IF_NONE_MATCH = B.std("If-None-Match", HeaderType.REQUEST);
+  public static final HeaderNamePojo IF_RANGE = B.std("If-Range", HeaderType.REQUEST);
   public static final HeaderNamePojo LOCATION = B.std("Location", HeaderType.RESPONSE);
+  public static final HeaderNamePojo RANGE = B.std("Range", HeaderType.REQUEST);
   public static final HeaderNamePojo REFERER = B.std("Referer", HeaderType.REQUEST);
+  public static final HeaderNamePojo RETRY_AFTER = B.std("Retry-After", HeaderType.RESPONSE);
   public static final HeaderNamePojo SET_COOKIE = B.std("Set-Cookie", HeaderType.RESPONSE);
   public static final HeaderNamePojo TRANSFER_ENCODING = B.std("Transfer-Encoding", HeaderType.BOTH);
   public static final HeaderNamePojo USER_AGENT = B.std("User-Agent", HeaderType.REQUEST);
+  public static final HeaderNamePojo VARY = B.std("Vary", HeaderType.RESPONSE);
   public static final HeaderNamePojo WAY_CSRF_TOKEN = B.std("Way-CSRF-Token", HeaderType.REQUEST);
   public static final HeaderNamePojo WAY_REQUEST = B.std("Way-Request", HeaderType.REQUEST);
 
@@ -78,6 +86,9 @@ public final class HeaderNamePojo implements HeaderName {
 
   private static final Map<String, HeaderNamePojo> BY_LOWER_CASE;
 
+  // open addressing, keyed by the hash code of the lower case name
+  private static final HeaderNamePojo[] BY_HASH;
+
   private static final byte[] TABLE;
 
   public static final byte INVALID = -1;
@@ -96,6 +107,22 @@ public final class HeaderNamePojo implements HeaderName {
 
     BY_LOWER_CASE = Util.toUnmodifiableMap(byLowerCase);
 
+    final HeaderNamePojo[] byHash;
+    byHash = new HeaderNamePojo[Integer.highestOneBit(VALUES.length) << 2];
+
+    for (HeaderNamePojo value : VALUES) {
+      int slot;
+      slot = value.lowerCase.hashCode() & (byHash.length - 1);
+
+      while (byHash[slot] != null) {
+        slot = (slot + 1) & (byHash.length - 1);
+      }
+
+      byHash[slot] = value;
+    }
+
+    BY_HASH = byHash;
+
     B = null;
 
     final String tokenChars;
@@ -145,6 +172,44 @@ public final class HeaderNamePojo implements HeaderName {
     return BY_LOWER_CASE.get(name);
   }
 
+  /// Returns the standard header name whose lower case name consists of the
+  /// first `length` bytes of the specified array, or `null` if there is no
+  /// such name. The specified hash must have been computed as
+  /// [String#hashCode()] would over those bytes.
+  public static HeaderNamePojo byLowerCase(byte[] bytes, int length, int hash) {
+    final int mask;
+    mask = BY_HASH.length - 1;
+
+    int slot;
+    slot = hash & mask;
+
+    HeaderNamePojo candidate;
+
+    while ((candidate = BY_HASH[slot]) != null) {
+      if (candidate.lowerCaseEquals(bytes, length)) {
+        return candidate;
+      }
+
+      slot = (slot + 1) & mask;
+    }
+
+    return null;
+  }
+
+  private boolean lowerCaseEquals(byte[] bytes, int length) {
+    if (lowerCase.length() != length) {
+      return false;
+    }
+
+    for (int idx = 0; idx < length; idx++) {
+      if (lowerCase.charAt(idx) != bytes[idx]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
   public static byte map(byte b) {
     if (b < 0) {
       return -1;
@@ -43,7 +43,13 @@ public final class HttpClientException extends IOException implements objectox.h
 
     INCOMPLETE_REQUEST_BODY(Status.BAD_REQUEST, "Incomplete request body.\n"),
 
-    INVALID_FORM(Status.BAD_REQUEST, "Invalid application/x-www-form-urlencoded content in request body.\n");
+    INVALID_CHUNKED_BODY(Status.BAD_REQUEST, "Invalid chunked request body.\n"),
+
+    INVALID_FORM(Status.BAD_REQUEST, "Invalid application/x-www-form-urlencoded content in request body.\n"),
+
+    INVALID_MULTIPART(Status.BAD_REQUEST, "Invalid multipart/form-data content in request body.\n"),
+
+    REQUEST_TIMEOUT(Status.REQUEST_TIMEOUT, "The server timed out waiting for the request.\n");
 
     private final Status status;
 
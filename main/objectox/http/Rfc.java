@@ -17,6 +17,7 @@ package objectox.http;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import objectos.internal.Ascii;
 import objectos.internal.Util;
@@ -56,6 +57,61 @@ public final class Rfc {
 
   private Rfc() {}
 
+  /// Returns the quality value the specified `Accept-Encoding` field value
+  /// assigns to the specified content coding, which must be in lower case.
+  /// The `x-gzip` alias is treated as `gzip`. If the coding is not listed, the
+  /// quality value of the `*` wildcard applies. Returns `0` if the coding is
+  /// not acceptable.
+  public static double acceptEncodingQuality(String acceptEncoding, String coding) {
+    if (acceptEncoding == null) {
+      return 0;
+    }
+
+    double listed;
+    listed = -1;
+
+    double any;
+    any = 0;
+
+    for (String item : acceptEncoding.split(",")) {
+      final int semicolon;
+      semicolon = item.indexOf(';');
+
+      final String name;
+      name = (semicolon < 0 ? item : item.substring(0, semicolon)).strip().toLowerCase(Locale.US);
+
+      final double q;
+      q = semicolon < 0 ? 1 : qvalue(item.substring(semicolon + 1));
+
+      if (name.equals(coding) || (coding.equals("gzip") && name.equals("x-gzip"))) {
+        listed = Math.max(listed, q);
+      }
+
+      else if (name.equals("*")) {
+        any = Math.max(any, q);
+      }
+    }
+
+    return listed >= 0 ? listed : any;
+  }
+
+  private static double qvalue(String params) {
+    for (String param : params.split(";")) {
+      final String p;
+      p = param.strip();
+
+      if (p.length() > 2 && (p.charAt(0) == 'q' || p.charAt(0) == 'Q') && p.charAt(1) == '=') {
+        try {
+          return Double.parseDouble(p.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+
+    return 1;
+  }
+
   @SuppressWarnings("unchecked")
   public static <K> void mapAdd(Map<K, Object> map, K key, String value) {
     Object oldValue;
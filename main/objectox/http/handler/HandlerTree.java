@@ -0,0 +1,596 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import objectos.http.Handler;
+import objectos.http.Request;
+import objectos.http.Result;
+import objectox.http.req.RequestPathParams;
+import objectox.http.req.RequestPojo;
+
+/// Dispatches a request to one of many routes by walking a prefix tree
+/// compiled from the routes' segments.
+///
+/// Each node of the tree corresponds to a segment shared by one or more
+/// routes. The exact and region children of a node are kept in hash tables
+/// keyed by the literal text of the segment; parameter children are kept in
+/// registration order.
+///
+/// Where the path expressions of two or more routes overlap, the route
+/// registered first is tried first. If its handler does not produce a result,
+/// the matching route registered next is tried, and so on, in the same way
+/// [HandlerList] would do.
+final class HandlerTree implements Handler {
+
+  /// A compiled route: its registration index, the names of its path
+  /// parameters in declaration order and its handler.
+  record Route(int index, String[] names, Handler handler) {}
+
+  private final int depth;
+
+  private final Node root;
+
+  private HandlerTree(int depth, Node root) {
+    this.depth = depth;
+
+    this.root = root;
+  }
+
+  /// Compiles the specified routes in the specified (registration) order.
+  static HandlerTree of(List<HandlerRoute> routes) {
+    final NodeBuilder root;
+    root = new NodeBuilder(null);
+
+    int depth;
+    depth = 0;
+
+    for (int index = 0, size = routes.size(); index < size; index++) {
+      final HandlerRoute route;
+      route = routes.get(index);
+
+      final List<String> names;
+      names = new ArrayList<>();
+
+      NodeBuilder node;
+      node = root;
+
+      for (Segment segment : route.segments()) {
+        switch (segment) {
+          case SegmentParam p -> names.add(p.paramName());
+
+          case SegmentParamLast p -> names.add(p.paramName());
+
+          default -> {}
+        }
+
+        node = node.child(segment);
+      }
+
+      final String[] array;
+      array = names.toArray(String[]::new);
+
+      node.routes.add(
+          new Route(index, array, route.handler())
+      );
+
+      depth = Math.max(depth, array.length);
+    }
+
+    return new HandlerTree(depth, root.build());
+  }
+
+  @Override
+  public final Result handle(Request request) {
+    final String path;
+    path = request.path();
+
+    final RequestPojo pojo;
+    pojo = (RequestPojo) request;
+
+    // the offsets are captured into a buffer reused by the connection
+    final RequestPathParams params;
+    params = pojo.pathParams();
+
+    params.capture(path, depth);
+
+    final Search search;
+    search = new Search(params, path);
+
+    while (true) {
+      search.best = null;
+
+      search.node(root, 0, 0);
+
+      final Route route;
+      route = search.best;
+
+      if (route == null) {
+        return request;
+      }
+
+      final String[] names;
+      names = route.names;
+
+      if (names.length > 0) {
+        // the names of the route are immutable: shared, not copied
+        params.captureNames(names);
+
+        request.attr(RequestPojo.PATH_PARAMS, params);
+      }
+
+      final Result result;
+      result = route.handler.handle(request);
+
+      if (result != request) {
+        return result;
+      }
+
+      search.floor = route.index;
+    }
+  }
+
+  /// Returns a textual representation of the compiled tree, one node per line.
+  /// Intended for diagnostic purposes only.
+  @Override
+  public final String toString() {
+    final StringBuilder out;
+    out = new StringBuilder();
+
+    out.append("HandlerTree");
+
+    root.dump(out, 1);
+
+    return out.toString();
+  }
+
+  // ##################################################################
+  // # BEGIN: Search
+  // ##################################################################
+
+  /// The state of a single dispatch. It finds the matching route with the
+  /// lowest registration index greater than `floor`. Parameter values are
+  /// recorded as (start, end) offsets into the path, indexed by depth, in the
+  /// arrays of the connection's [RequestPathParams].
+  private static final class Search {
+
+    Route best;
+
+    int floor = -1;
+
+    final int[] offsets;
+
+    final RequestPathParams params;
+
+    final String path;
+
+    Search(RequestPathParams params, String path) {
+      offsets = params.captureOffsets();
+
+      this.params = params;
+
+      this.path = path;
+    }
+
+    final void node(Node node, int index, int depth) {
+      if (node.max <= floor) {
+        return;
+      }
+
+      if (best != null && node.min >= best.index) {
+        return;
+      }
+
+      final int remaining;
+      remaining = path.length() - index;
+
+      // exact: the whole remaining of the path
+      final Node exact;
+      exact = node.exacts.get(path, index, remaining);
+
+      if (exact != null) {
+        terminal(exact, depth);
+      }
+
+      // regions: a prefix of the remaining of the path
+      final Literals regions;
+      regions = node.regions;
+
+      for (int idx = 0; idx < regions.lengths.length; idx++) {
+        final int length;
+        length = regions.lengths[idx];
+
+        if (length > remaining) {
+          continue;
+        }
+
+        final Node region;
+        region = regions.get(path, index, length);
+
+        if (region != null) {
+          node(region, index + length, depth);
+        }
+      }
+
+      // params: registration order
+      for (Node param : node.params) {
+        switch (param.segment) {
+          case SegmentParam p -> {
+            final int delimiterIndex;
+            delimiterIndex = path.indexOf(p.delimiter(), index);
+
+            if (delimiterIndex < 0) {
+              continue;
+            }
+
+            if (PathParamPredicates.test(p.condition(), path, index, delimiterIndex)) {
+              offsets[depth * 2] = index;
+
+              offsets[depth * 2 + 1] = delimiterIndex;
+
+              node(param, delimiterIndex + 1, depth + 1);
+            }
+          }
+
+          case SegmentParamLast p -> {
+            if (param.max <= floor || best != null && param.min >= best.index) {
+              continue;
+            }
+
+            if (PathParamPredicates.test(p.condition(), path, index, path.length())) {
+              offsets[depth * 2] = index;
+
+              offsets[depth * 2 + 1] = path.length();
+
+              terminal(param, depth + 1);
+            }
+          }
+
+          default -> throw new AssertionError("Unexpected param segment " + param.segment);
+        }
+      }
+    }
+
+    private void terminal(Node node, int depth) {
+      // routes are sorted by index
+      for (Route route : node.routes) {
+        if (route.index <= floor) {
+          continue;
+        }
+
+        if (best == null || route.index < best.index) {
+          best = route;
+
+          params.captureBest(depth);
+        }
+
+        return;
+      }
+    }
+
+  }
+
+  // ##################################################################
+  // # END: Search
+  // ##################################################################
+
+  // ##################################################################
+  // # BEGIN: Node
+  // ##################################################################
+
+  private static final class Node {
+
+    final Literals exacts;
+
+    /// The greatest registration index of the routes of this subtree.
+    final int max;
+
+    /// The least registration index of the routes of this subtree.
+    final int min;
+
+    final Node[] params;
+
+    final Literals regions;
+
+    final Route[] routes;
+
+    final Segment segment;
+
+    Node(Literals exacts, int max, int min, Node[] params, Literals regions, Route[] routes, Segment segment) {
+      this.exacts = exacts;
+
+      this.max = max;
+
+      this.min = min;
+
+      this.params = params;
+
+      this.regions = regions;
+
+      this.routes = routes;
+
+      this.segment = segment;
+    }
+
+    final String literal() {
+      return switch (segment) {
+        case SegmentExact s -> s.exact();
+
+        case SegmentRegion s -> s.value();
+
+        default -> throw new AssertionError("Not a literal segment " + segment);
+      };
+    }
+
+    final void dump(StringBuilder out, int level) {
+      for (Node child : exacts.nodes()) {
+        child.dump0(out, level);
+      }
+
+      for (Node child : regions.nodes()) {
+        child.dump0(out, level);
+      }
+
+      for (Node child : params) {
+        child.dump0(out, level);
+      }
+    }
+
+    private void dump0(StringBuilder out, int level) {
+      out.append('\n');
+
+      out.append("  ".repeat(level));
+
+      switch (segment) {
+        case SegmentExact s -> out.append("exact \"").append(s.exact()).append('"');
+
+        case SegmentRegion s -> out.append("region \"").append(s.value()).append('"');
+
+        case SegmentParam p -> {
+          out.append("param {").append(p.paramName()).append("} '").append(p.delimiter()).append('\'');
+
+          condition(out, p.condition());
+        }
+
+        case SegmentParamLast p -> {
+          out.append("last {").append(p.paramName()).append('}');
+
+          condition(out, p.condition());
+        }
+      }
+
+      if (routes.length > 0) {
+        out.append(" =>");
+
+        for (Route route : routes) {
+          out.append(" #").append(route.index);
+        }
+      }
+
+      dump(out, level + 1);
+    }
+
+    private void condition(StringBuilder out, Predicate<String> condition) {
+      if (condition != PathParamPredicates.TRUE) {
+        out.append(' ').append(condition);
+      }
+    }
+
+  }
+
+  private static final class NodeBuilder {
+
+    final Map<String, NodeBuilder> exacts = new LinkedHashMap<>();
+
+    final Map<Segment, NodeBuilder> params = new LinkedHashMap<>();
+
+    final Map<String, NodeBuilder> regions = new LinkedHashMap<>();
+
+    final List<Route> routes = new ArrayList<>();
+
+    final Segment segment;
+
+    NodeBuilder(Segment segment) {
+      this.segment = segment;
+    }
+
+    final NodeBuilder child(Segment segment) {
+      return switch (segment) {
+        case SegmentExact s -> exacts.computeIfAbsent(s.exact(), _ -> new NodeBuilder(s));
+
+        case SegmentRegion s -> regions.computeIfAbsent(s.value(), _ -> new NodeBuilder(s));
+
+        case SegmentParam s -> params.computeIfAbsent(s, NodeBuilder::new);
+
+        case SegmentParamLast s -> params.computeIfAbsent(s, NodeBuilder::new);
+      };
+    }
+
+    final Node build() {
+      final Literals exacts;
+      exacts = Literals.of(build(this.exacts.values()));
+
+      final Node[] params;
+      params = build(this.params.values());
+
+      final Literals regions;
+      regions = Literals.of(build(this.regions.values()));
+
+      final Route[] routes;
+      routes = this.routes.toArray(Route[]::new);
+
+      int max;
+      max = -1;
+
+      int min;
+      min = Integer.MAX_VALUE;
+
+      for (Route route : routes) {
+        max = Math.max(max, route.index);
+
+        min = Math.min(min, route.index);
+      }
+
+      for (Node[] children : List.of(exacts.nodes(), params, regions.nodes())) {
+        for (Node child : children) {
+          max = Math.max(max, child.max);
+
+          min = Math.min(min, child.min);
+        }
+      }
+
+      return new Node(exacts, max, min, params, regions, routes, segment);
+    }
+
+    private Node[] build(Iterable<NodeBuilder> builders) {
+      final List<Node> nodes;
+      nodes = new ArrayList<>();
+
+      for (NodeBuilder builder : builders) {
+        nodes.add(builder.build());
+      }
+
+      return nodes.toArray(Node[]::new);
+    }
+
+  }
+
+  // ##################################################################
+  // # END: Node
+  // ##################################################################
+
+  // ##################################################################
+  // # BEGIN: Literals
+  // ##################################################################
+
+  /// The literal children of a node, grouped by length. Each group is an
+  /// open-addressing hash table keyed by the literal text; a lookup hashes the
+  /// region of the request path in place, without creating a string.
+  private static final class Literals {
+
+    static final Literals EMPTY = new Literals(new int[0], new Node[0][], new Node[0]);
+
+    final int[] lengths;
+
+    final Node[][] tables;
+
+    private final Node[] nodes;
+
+    private Literals(int[] lengths, Node[][] tables, Node[] nodes) {
+      this.lengths = lengths;
+
+      this.tables = tables;
+
+      this.nodes = nodes;
+    }
+
+    static Literals of(Node[] nodes) {
+      if (nodes.length == 0) {
+        return EMPTY;
+      }
+
+      final int[] lengths;
+      lengths = Arrays.stream(nodes).mapToInt(n -> n.literal().length()).distinct().sorted().toArray();
+
+      final Node[][] tables;
+      tables = new Node[lengths.length][];
+
+      for (int idx = 0; idx < lengths.length; idx++) {
+        final int length;
+        length = lengths[idx];
+
+        final Node[] group;
+        group = Arrays.stream(nodes).filter(n -> n.literal().length() == length).toArray(Node[]::new);
+
+        // power of two, at most half full
+        final int size;
+        size = Integer.highestOneBit(group.length * 2 - 1) << 1;
+
+        final Node[] table;
+        table = new Node[size];
+
+        for (Node node : group) {
+          int slot;
+          slot = node.literal().hashCode() & (size - 1);
+
+          while (table[slot] != null) {
+            slot = (slot + 1) & (size - 1);
+          }
+
+          table[slot] = node;
+        }
+
+        tables[idx] = table;
+      }
+
+      return new Literals(lengths, tables, nodes);
+    }
+
+    /// Returns the node whose literal equals the specified region of the
+    /// specified path, or `null` if there is none.
+    final Node get(String path, int index, int length) {
+      final int group;
+      group = Arrays.binarySearch(lengths, length);
+
+      if (group < 0) {
+        return null;
+      }
+
+      final Node[] table;
+      table = tables[group];
+
+      int hash;
+      hash = 0;
+
+      for (int idx = index, end = index + length; idx < end; idx++) {
+        hash = 31 * hash + path.charAt(idx);
+      }
+
+      final int mask;
+      mask = table.length - 1;
+
+      int slot;
+      slot = hash & mask;
+
+      Node node;
+
+      while ((node = table[slot]) != null) {
+        if (path.regionMatches(index, node.literal(), 0, length)) {
+          return node;
+        }
+
+        slot = (slot + 1) & mask;
+      }
+
+      return null;
+    }
+
+    final Node[] nodes() {
+      return nodes;
+    }
+
+  }
+
+  // ##################################################################
+  // # END: Literals
+  // ##################################################################
+
+}
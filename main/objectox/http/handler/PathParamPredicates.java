@@ -37,16 +37,31 @@ public enum PathParamPredicates implements Predicate<String> {
     return switch (this) {
       case TRUE -> true;
 
-      case DIGITS -> testDigits(s);
+      case DIGITS -> testDigits(s, 0, s.length());
     };
   }
 
-  private boolean testDigits(String s) {
-    if (s.isEmpty()) {
+  /// Tests the specified range of the specified string without creating a
+  /// string for the range, unless the condition is not one of the constants of
+  /// this enum.
+  static boolean test(Predicate<String> condition, String s, int start, int end) {
+    return switch (condition) {
+      case PathParamPredicates p -> switch (p) {
+        case TRUE -> true;
+
+        case DIGITS -> testDigits(s, start, end);
+      };
+
+      default -> condition.test(s.substring(start, end));
+    };
+  }
+
+  private static boolean testDigits(String s, int start, int end) {
+    if (start == end) {
       return false;
     }
 
-    for (int idx = 0, len = s.length(); idx < len; idx++) {
+    for (int idx = start; idx < end; idx++) {
       final char c;
       c = s.charAt(idx);
 
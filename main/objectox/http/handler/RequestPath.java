@@ -17,8 +17,10 @@ package objectox.http.handler;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Predicate;
 import objectos.http.Request;
 import objectos.internal.VisibleForTesting;
+import objectox.http.req.RequestPathParams;
 import objectox.http.req.RequestPojo;
 
 final class RequestPath {
@@ -27,7 +29,7 @@ final class RequestPath {
 
   private int index;
 
-  private Map<String, String> params = Map.of();
+  private RequestPathParams params;
 
   RequestPath(String path) {
     this.path = path;
@@ -40,12 +42,6 @@ final class RequestPath {
     this.index = index;
   }
 
-  public final void clear() {
-    if (!params.isEmpty()) {
-      params.clear();
-    }
-  }
-
   public final int indexOf(char terminator) {
     return path.indexOf(terminator, index);
   }
@@ -70,48 +66,64 @@ final class RequestPath {
     }
   }
 
-  public final String substring() {
-    final String value;
-    value = path.substring(index);
+  /// Matches a path parameter whose value ends immediately before the
+  /// specified delimiter index; the delimiter is consumed.
+  public final boolean param(String name, Predicate<String> condition, int delimiterIndex) {
+    final int start;
+    start = index;
 
-    index = path.length();
+    // immediately after the delimiter
+    index = delimiterIndex + 1;
 
-    return value;
+    return param0(name, condition, start, delimiterIndex);
   }
 
-  public final String substring(int endIndex) {
-    final String value;
-    value = path.substring(index, endIndex);
+  /// Matches a path parameter whose value is the remaining of the path.
+  public final boolean paramLast(String name, Predicate<String> condition) {
+    final int start;
+    start = index;
 
-    // immediately after the terminator
-    index = endIndex + 1;
+    index = path.length();
 
-    return value;
+    return param0(name, condition, start, index);
   }
 
-  public final boolean param(String name, String value) {
-    if (params.isEmpty()) {
-      params = new HashMap<>();
+  private boolean param0(String name, Predicate<String> condition, int start, int end) {
+    if (!PathParamPredicates.test(condition, path, start, end)) {
+      return false;
+    }
+
+    if (params == null) {
+      params = new RequestPathParams(path, 4);
     }
 
-    params.put(name, value);
+    params.add(name, start, end);
 
     return true;
   }
 
   public final void paramsIfNecessary(Request request) {
-    if (params.isEmpty()) {
+    if (params == null) {
       return;
     }
 
-    final Map<String, String> unmodifiable;
-    unmodifiable = Map.copyOf(params);
-
-    request.attr(RequestPojo.PATH_PARAMS, unmodifiable);
+    request.attr(RequestPojo.PATH_PARAMS, params);
   }
 
+  @VisibleForTesting
   final Map<?, ?> params() {
-    return params;
+    if (params == null) {
+      return Map.of();
+    }
+
+    final Map<String, String> map;
+    map = new HashMap<>();
+
+    for (int idx = 0; idx < params.size(); idx++) {
+      map.put(params.name(idx), params.value(idx));
+    }
+
+    return map;
   }
 
 }
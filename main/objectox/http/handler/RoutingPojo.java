@@ -41,15 +41,33 @@ public final class RoutingPojo implements Routing {
   }
 
   private Handler build() {
-    return switch (handlers.size()) {
+    final List<Handler> list;
+    list = handlers.stream().filter(h -> h != HandlerNoop.INSTANCE).toList();
+
+    return switch (list.size()) {
       case 0 -> HandlerNoop.INSTANCE;
 
-      case 1 -> handlers.get(0);
+      case 1 -> list.get(0);
 
-      default -> HandlerList.copyOf(handlers);
+      default -> tree(list);
     };
   }
 
+  private Handler tree(List<Handler> list) {
+    final List<HandlerRoute> routes;
+    routes = new ArrayList<>(list.size());
+
+    for (Handler handler : list) {
+      if (!(handler instanceof HandlerRoute route)) {
+        return HandlerList.copyOf(list);
+      }
+
+      routes.add(route);
+    }
+
+    return HandlerTree.of(routes);
+  }
+
   @Override
   public final void at(String pathExpression, RoutingOption first, RoutingOption... rest) {
     Objects.requireNonNull(pathExpression, "pathExpression == null");
@@ -33,14 +33,7 @@ record SegmentParam(String paramName, char delimiter, Predicate<String> conditio
       return false;
     }
 
-    final String value;
-    value = path.substring(delimiterIndex);
-
-    if (!condition.test(value)) {
-      return false;
-    } else {
-      return path.param(paramName, value);
-    }
+    return path.param(paramName, condition, delimiterIndex);
   }
 
   public final SegmentParam with(Map<String, Predicate<String>> predicates) {
@@ -26,14 +26,7 @@ record SegmentParamLast(String paramName, Predicate<String> condition) implement
 
   @Override
   public final boolean matches(RequestPath path) {
-    final String value;
-    value = path.substring();
-
-    if (!condition.test(value)) {
-      return false;
-    } else {
-      return path.param(paramName, value);
-    }
+    return path.paramLast(paramName, condition);
   }
 
   public final SegmentParamLast with(Map<String, Predicate<String>> predicates) {
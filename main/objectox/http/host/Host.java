@@ -25,6 +25,8 @@ import objectos.http.Result;
 import objectox.http.resp.ResponsePojo;
 
 public record Host(
+    BiFunction<Request, ResponsePojo, ResponsePojo> compression,
+
     Handler handler,
 
     String name,
@@ -51,7 +53,7 @@ public record Host(
     res = resultProcessor.process(result);
 
     final ResponsePojo response;
-    response = (ResponsePojo) res;
+    response = compression.apply(request, (ResponsePojo) res);
 
     sessionResponse.accept(request, response);
 
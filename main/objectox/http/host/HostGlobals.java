@@ -16,9 +16,14 @@
 package objectox.http.host;
 
 import objectos.lang.Stage;
+import objectox.http.resp.ResponseCompression;
 
 public interface HostGlobals {
 
+  /// Returns the server-wide response compression, or `null` if compression
+  /// is not enabled.
+  ResponseCompression compression();
+
   int port();
 
   Stage stage();
@@ -18,9 +18,12 @@ package objectox.http.host;
 import java.io.IOException;
 import objectos.http.Handler;
 import objectox.http.media.StaticFilesStage;
+import objectox.http.resp.ResponseCompression;
 import objectox.http.session.SessionSupport;
 
 public record HostStage(
+    ResponseCompression compression,
+
     Handler handler,
 
     String name,
@@ -31,7 +34,14 @@ public record HostStage(
 ) {
 
   public final Host toHost(HostGlobals globals) throws IOException {
+    final ResponseCompression c;
+    c = compression != null ? compression : globals.compression();
+
     return new Host(
+        c != null
+            ? c::apply
+            : (_, response) -> response,
+
         handler,
 
         $name(globals),
@@ -17,6 +17,7 @@ package objectox.http.host;
 
 import java.util.Objects;
 import java.util.function.Consumer;
+import objectos.http.CompressionOptions;
 import objectos.http.Handler;
 import objectos.http.HostOptions;
 import objectos.http.SessionOptions;
@@ -24,11 +25,14 @@ import objectos.http.StaticFilesOptions;
 import objectox.http.handler.HandlerNoop;
 import objectox.http.media.StaticFilesStageBuilder;
 import objectox.http.media.StaticFilesStage;
+import objectox.http.resp.ResponseCompression;
 import objectox.http.session.SessionSupport;
 import objectox.http.session.SessionSupportBuilder;
 
 public final class HostStageBuilder implements HostOptions {
 
+  private ResponseCompression compression;
+
   private Handler handler = HandlerNoop.INSTANCE;
 
   private String name = "localhost";
@@ -39,6 +43,8 @@ public final class HostStageBuilder implements HostOptions {
 
   public final HostStage build() {
     return new HostStage(
+        compression,
+
         handler,
 
         name,
@@ -49,6 +55,11 @@ public final class HostStageBuilder implements HostOptions {
     );
   }
 
+  @Override
+  public final void compression(Consumer<? super CompressionOptions> opts) {
+    compression = ResponseCompression.create(opts);
+  }
+
   @Override
   public final void name(String value) {
     name = Objects.requireNonNull(value, "value == null");
@@ -30,6 +30,7 @@ import objectos.lang.Stage;
 import objectos.http.Request;
 import objectos.http.Response;
 import objectos.http.Result;
+import objectox.http.RequestMethodEnum;
 
 public final class StaticFiles implements BiFunction<Request, Result, Result>, Closeable {
 
@@ -38,38 +39,62 @@ public final class StaticFiles implements BiFunction<Request, Result, Result>, C
 
   private final StaticFilesAttributes staticFilesAttributes;
 
+  private final StaticFilesCache staticFilesCache;
+
   private final Function<BasicFileAttributes, String> staticFilesETag;
 
+  private final StaticFilesFingerprints staticFilesFingerprints;
+
   private final StaticFilesMethod staticFilesMethod;
 
+  private final StaticFilesRanges staticFilesRanges;
+
   private final StaticFilesResponses staticFilesResponses;
 
   private final StaticFilesRoot staticFilesRoot;
 
+  private final StaticFilesVariants staticFilesVariants;
+
   StaticFiles(
       Stage stage,
 
       StaticFilesAttributes staticFilesAttributes,
 
+      StaticFilesCache staticFilesCache,
+
       Function<BasicFileAttributes, String> staticFilesETag,
 
+      StaticFilesFingerprints staticFilesFingerprints,
+
       StaticFilesMethod staticFilesMethod,
 
+      StaticFilesRanges staticFilesRanges,
+
       StaticFilesResponses staticFilesResponses,
 
-      StaticFilesRoot staticFilesRoot
+      StaticFilesRoot staticFilesRoot,
+
+      StaticFilesVariants staticFilesVariants
   ) {
     this.stage = stage;
 
     this.staticFilesAttributes = staticFilesAttributes;
 
+    this.staticFilesCache = staticFilesCache;
+
     this.staticFilesETag = staticFilesETag;
 
+    this.staticFilesFingerprints = staticFilesFingerprints;
+
     this.staticFilesMethod = staticFilesMethod;
 
+    this.staticFilesRanges = staticFilesRanges;
+
     this.staticFilesResponses = staticFilesResponses;
 
     this.staticFilesRoot = staticFilesRoot;
+
+    this.staticFilesVariants = staticFilesVariants;
   }
 
   @Override
@@ -99,6 +124,28 @@ public final class StaticFiles implements BiFunction<Request, Result, Result>, C
     final String path;
     path = request.path();
 
+    final String original;
+    original = staticFilesFingerprints.original(path);
+
+    if (original == null) {
+      return handle(request, path, contents);
+    }
+
+    final Result result;
+    result = handle(request, original, contents);
+
+    // outside of PROD files may change while their fingerprints do not
+    return stage == Stage.PROD ? staticFilesResponses.immutable(result) : result;
+  }
+
+  private Result handle(Request request, String path, BinaryObject contents) {
+    final StaticFilesCache.Entry cached;
+    cached = staticFilesCache.get(path);
+
+    if (cached != null && request.header(HeaderName.RANGE) == null) {
+      return cached(request, cached);
+    }
+
     final Path file;
     file = staticFilesRoot.resolve(path);
 
@@ -117,19 +164,92 @@ public final class StaticFiles implements BiFunction<Request, Result, Result>, C
       return staticFilesResponses.methodNotAllowed();
     }
 
+    final StaticFilesVariants.Variant variant;
+    variant = staticFilesVariants.select(staticFilesRoot, file, request.header(HeaderName.ACCEPT_ENCODING));
+
+    final String fileETag;
+    fileETag = staticFilesETag.apply(attributes);
+
     final String etag;
-    etag = staticFilesETag.apply(attributes);
+    etag = variant != null ? variant.etag(staticFilesETag, fileETag) : fileETag;
 
     final String ifNoneMatch;
     ifNoneMatch = request.header(HeaderName.IF_NONE_MATCH);
 
     if (etag.equals(ifNoneMatch)) {
-      return staticFilesResponses.notModified(etag);
+      return staticFilesResponses.notModified(etag, variant);
     }
 
-    else {
-      return staticFilesResponses.ok(file, etag);
+    if (variant == null || variant.encoding() == null) {
+      final Response partial;
+      partial = ranges(request, file, attributes.size(), etag, variant);
+
+      if (partial != null) {
+        return partial;
+      }
     }
+
+    final StaticFilesCache.Entry entry;
+    entry = variant == null ? staticFilesCache.put(path, file, attributes, etag) : null;
+
+    if (entry != null) {
+      return entry.response();
+    }
+
+    return staticFilesResponses.ok(file, etag, variant);
+  }
+
+  // returns null if the whole file should be sent
+  private Response ranges(Request request, Path file, long size, String etag, StaticFilesVariants.Variant variant) {
+    if (request.method() != RequestMethodEnum.GET) {
+      return null;
+    }
+
+    final String range;
+    range = request.header(HeaderName.RANGE);
+
+    if (range == null) {
+      return null;
+    }
+
+    final String ifRange;
+    ifRange = request.header(HeaderName.IF_RANGE);
+
+    if (ifRange != null && !ifRange.equals(etag)) {
+      // the client's copy is stale (or is identified by a date)
+      return null;
+    }
+
+    final long[] ranges;
+    ranges = staticFilesRanges.parse(range, size);
+
+    if (ranges == null) {
+      return null;
+    }
+
+    if (ranges == StaticFilesRanges.UNSATISFIABLE) {
+      return staticFilesResponses.rangeNotSatisfiable(size);
+    }
+
+    return staticFilesResponses.partialContent(file, size, etag, ranges, variant);
+  }
+
+  private Result cached(Request request, StaticFilesCache.Entry cached) {
+    if (!staticFilesMethod.validate(request)) {
+      return staticFilesResponses.methodNotAllowed();
+    }
+
+    final String etag;
+    etag = cached.etag();
+
+    final String ifNoneMatch;
+    ifNoneMatch = request.header(HeaderName.IF_NONE_MATCH);
+
+    if (etag.equals(ifNoneMatch)) {
+      return staticFilesResponses.notModified(etag);
+    }
+
+    return cached.response();
   }
 
 }
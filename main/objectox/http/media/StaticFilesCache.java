@@ -0,0 +1,312 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import objectos.http.Response;
+import objectos.way.Note;
+import objectox.http.Header;
+import objectox.http.resp.ResponseEntity;
+import objectox.http.resp.ResponsePojo;
+import objectox.http.resp.StatusEnum;
+
+/// Holds, in memory, the `200 OK` responses of small static files.
+///
+/// Each entry holds the file contents, its `ETag` value and its serialized
+/// entity header fields. Entries are keyed by the request path so a cache hit
+/// requires neither resolving the path nor any file system access.
+///
+/// When the cache is full, room for a new entry is made by evicting older
+/// entries following the CLOCK (second-chance) policy: entries are visited in
+/// the order they were admitted, and an entry hit since the last visit is
+/// spared once. Files with precompressed siblings are never admitted, as their
+/// response depends on the `Accept-Encoding` header. In the `PROD` stage the
+/// served files do not change, so entries are never invalidated. In the other
+/// stages, the attributes of the file are read on each hit, and an entry is
+/// dropped once its file has been modified or has gained a precompressed
+/// sibling.
+final class StaticFilesCache {
+
+  private static final Note.Ref1<Throwable> THROW = Note.Ref1.create(StaticFilesCache.class, "THR", Note.ERROR);
+
+  /// Larger files are better served directly from the file system.
+  static final int FILE_MAX = 64 * 1024;
+
+  static final class Entry {
+    private final ResponseEntity.OfCached entity;
+
+    private final String etag;
+
+    private final Path file;
+
+    private final long lastModified;
+
+    private final String path;
+
+    // set on each hit, cleared by the eviction sweep
+    private volatile boolean referenced;
+
+    Entry(ResponseEntity.OfCached entity, String etag, Path file, long lastModified, String path) {
+      this.entity = entity;
+
+      this.etag = etag;
+
+      this.file = file;
+
+      this.lastModified = lastModified;
+
+      this.path = path;
+    }
+
+    final String etag() {
+      return etag;
+    }
+
+    final Path file() {
+      return file;
+    }
+
+    final long lastModified() {
+      return lastModified;
+    }
+
+    final Response response() {
+      final List<Header> headers;
+      headers = new ArrayList<>(2);
+
+      headers.add(Header.DATE);
+
+      return new ResponsePojo(StatusEnum.OK, headers, entity, false);
+    }
+
+    final long size() {
+      return entity.body().length;
+    }
+  }
+
+  private final AtomicLong bytes = new AtomicLong();
+
+  // entries in admission order: the hand of the clock is at its head
+  private final Queue<Entry> clock = new ConcurrentLinkedQueue<>();
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private final long maxBytes;
+
+  private final int maxEntries;
+
+  private final Note.Sink noteSink;
+
+  private final boolean revalidate;
+
+  private final StaticFilesAttributes staticFilesAttributes;
+
+  private final StaticFilesResponses staticFilesResponses;
+
+  private final StaticFilesRoot staticFilesRoot;
+
+  private final StaticFilesVariants staticFilesVariants;
+
+  StaticFilesCache(
+      long maxBytes,
+
+      int maxEntries,
+
+      Note.Sink noteSink,
+
+      boolean revalidate,
+
+      StaticFilesAttributes staticFilesAttributes,
+
+      StaticFilesResponses staticFilesResponses,
+
+      StaticFilesRoot staticFilesRoot,
+
+      StaticFilesVariants staticFilesVariants
+  ) {
+    this.maxBytes = maxBytes;
+
+    this.maxEntries = maxEntries;
+
+    this.noteSink = noteSink;
+
+    this.revalidate = revalidate;
+
+    this.staticFilesAttributes = staticFilesAttributes;
+
+    this.staticFilesResponses = staticFilesResponses;
+
+    this.staticFilesRoot = staticFilesRoot;
+
+    this.staticFilesVariants = staticFilesVariants;
+  }
+
+  /// Returns the entry of the specified request path or `null` if there is
+  /// no such entry or if it is stale.
+  public final Entry get(String path) {
+    if (maxBytes == 0) {
+      return null;
+    }
+
+    final Entry entry;
+    entry = entries.get(path);
+
+    if (entry == null) {
+      return null;
+    }
+
+    if (!entry.referenced) {
+      entry.referenced = true;
+    }
+
+    if (!revalidate) {
+      return entry;
+    }
+
+    final BasicFileAttributes attributes;
+    attributes = staticFilesAttributes.readOrCreate(entry.file(), null);
+
+    // only files without precompressed siblings are admitted: one that has
+    // since gained a sibling must go through variant selection
+    if (attributes != null
+        && attributes.lastModifiedTime().toMillis() == entry.lastModified()
+        && attributes.size() == entry.size()
+        && staticFilesVariants.select(staticFilesRoot, entry.file(), null) == null) {
+      return entry;
+    }
+
+    remove(entry);
+
+    // dev stages only: keep the clock from holding on to stale entries
+    clock.remove(entry);
+
+    return null;
+  }
+
+  /// Returns a new entry for the specified file, or `null` if the file could
+  /// not be admitted into the cache.
+  public final Entry put(String path, Path file, BasicFileAttributes attributes, String etag) {
+    if (maxBytes == 0) {
+      return null;
+    }
+
+    final long size;
+    size = attributes.size();
+
+    if (size > FILE_MAX || size > maxBytes) {
+      return null;
+    }
+
+    if (!reserve(size)) {
+      return null;
+    }
+
+    final byte[] body;
+
+    try {
+      body = Files.readAllBytes(file);
+    } catch (IOException e) {
+      bytes.addAndGet(-size);
+
+      noteSink.send(THROW, e);
+
+      return null;
+    }
+
+    if (body.length != size) {
+      // modified while we were reading it
+      bytes.addAndGet(-size);
+
+      return null;
+    }
+
+    final byte[] fields;
+    fields = staticFilesResponses.fields(file, etag, body.length);
+
+    final Entry entry;
+    entry = new Entry(new ResponseEntity.OfCached(fields, body), etag, file, attributes.lastModifiedTime().toMillis(), path);
+
+    final Entry existing;
+    existing = entries.putIfAbsent(path, entry);
+
+    if (existing != null) {
+      bytes.addAndGet(-size);
+
+      return existing;
+    }
+
+    clock.add(entry);
+
+    return entry;
+  }
+
+  // reserves room for an entry of the specified size, evicting entries if
+  // necessary. Returns false if no room could be made
+  private boolean reserve(long size) {
+    // each entry is spared at most once per sweep: two full sweeps suffice,
+    // unless entries are concurrently hit or admitted
+    int visits;
+    visits = 2 * (entries.size() + 1);
+
+    while (true) {
+      if (entries.size() < maxEntries) {
+        if (bytes.addAndGet(size) <= maxBytes) {
+          return true;
+        }
+
+        bytes.addAndGet(-size);
+      }
+
+      if (visits == 0) {
+        return false;
+      }
+
+      visits -= 1;
+
+      final Entry next;
+      next = clock.poll();
+
+      if (next == null) {
+        return false;
+      }
+
+      if (next.referenced) {
+        // second chance
+        next.referenced = false;
+
+        clock.add(next);
+      } else {
+        remove(next);
+      }
+    }
+  }
+
+  private void remove(Entry entry) {
+    if (entries.remove(entry.path, entry)) {
+      bytes.addAndGet(-entry.size());
+    }
+  }
+
+}
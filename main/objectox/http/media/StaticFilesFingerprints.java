@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import objectos.http.Fingerprints;
+
+public final class StaticFilesFingerprints implements Fingerprints {
+
+  /// The number of bytes of the SHA-256 hash included in a fingerprinted path.
+  private static final int HASH_LENGTH = 4;
+
+  // fingerprinted path -> path
+  private volatile Map<String, String> originals = Map.of();
+
+  // path -> fingerprinted path
+  private volatile Map<String, String> paths = Map.of();
+
+  public StaticFilesFingerprints() {}
+
+  @Override
+  public final String path(String path) {
+    return paths.getOrDefault(path, path);
+  }
+
+  /// Returns the path of the file whose fingerprinted path is the specified
+  /// path, or `null` if the specified path is not a fingerprinted one.
+  final String original(String fingerprinted) {
+    return originals.get(fingerprinted);
+  }
+
+  /// Hashes the files having one of the specified extensions. The directories
+  /// are searched in order: the first file of a given path wins.
+  final void init(List<Path> directories, Set<String> extensions) throws IOException {
+    if (extensions.isEmpty()) {
+      return;
+    }
+
+    final StaticFilesExtension extension;
+    extension = new StaticFilesExtension("");
+
+    final Map<String, String> newPaths;
+    newPaths = new HashMap<>();
+
+    final Map<String, String> newOriginals;
+    newOriginals = new HashMap<>();
+
+    for (Path directory : directories) {
+      final List<Path> files;
+
+      try (Stream<Path> walk = Files.walk(directory)) {
+        files = walk
+            .filter(Files::isRegularFile)
+            .filter(file -> extensions.contains(extension.get(file)))
+            .toList();
+      }
+
+      for (Path file : files) {
+        final String path;
+        path = toPath(directory.relativize(file));
+
+        if (newPaths.containsKey(path)) {
+          continue;
+        }
+
+        final String ext;
+        ext = extension.get(file);
+
+        final String fingerprinted;
+        fingerprinted = path.substring(0, path.length() - ext.length()) + "." + hash(file) + ext;
+
+        newPaths.put(path, fingerprinted);
+
+        newOriginals.put(fingerprinted, path);
+      }
+    }
+
+    paths = Map.copyOf(newPaths);
+
+    originals = Map.copyOf(newOriginals);
+  }
+
+  private String toPath(Path relative) {
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    for (Path name : relative) {
+      sb.append('/');
+
+      sb.append(name.toString());
+    }
+
+    return sb.toString();
+  }
+
+  private String hash(Path file) throws IOException {
+    final MessageDigest digest;
+
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new AssertionError("SHA-256 is required to be supported", e);
+    }
+
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    final byte[] hash;
+    hash = digest.digest();
+
+    final HexFormat hex;
+    hex = HexFormat.of();
+
+    return hex.formatHex(hash, 0, HASH_LENGTH);
+  }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+/// Parses the value of a `Range` request header.
+///
+/// Only the `bytes` range unit is supported. A header with an invalid syntax,
+/// with an unknown unit or with more ranges than allowed is ignored: the
+/// whole file is sent instead.
+///
+/// Overlapping or adjacent ranges are coalesced (RFC 9110 §14.2), so that a
+/// response never sends the same bytes more than once.
+final class StaticFilesRanges {
+
+  /// No satisfiable range: results in a `416` response.
+  static final long[] UNSATISFIABLE = new long[0];
+
+  private final int max;
+
+  StaticFilesRanges(int max) {
+    this.max = max;
+  }
+
+  /// Returns the first and last positions of each satisfiable range, or
+  /// [#UNSATISFIABLE] if none of them is satisfiable, or `null` if the header
+  /// should be ignored.
+  public final long[] parse(String value, long size) {
+    if (value == null || !value.startsWith("bytes=")) {
+      return null;
+    }
+
+    final String[] specs;
+    specs = value.substring(6).split(",");
+
+    if (specs.length > max) {
+      return null;
+    }
+
+    long[] result;
+    result = new long[specs.length * 2];
+
+    int index;
+    index = 0;
+
+    for (String s : specs) {
+      final String spec;
+      spec = s.strip();
+
+      final int dash;
+      dash = spec.indexOf('-');
+
+      if (dash < 0) {
+        return null;
+      }
+
+      final long first;
+
+      final long last;
+
+      if (dash == 0) {
+        // suffix range: the last N bytes
+        final long suffix;
+        suffix = parseLong(spec, 1, spec.length());
+
+        if (suffix < 0) {
+          return null;
+        }
+
+        if (suffix == 0 || size == 0) {
+          continue;
+        }
+
+        first = Math.max(0, size - suffix);
+
+        last = size - 1;
+      } else {
+        first = parseLong(spec, 0, dash);
+
+        if (first < 0) {
+          return null;
+        }
+
+        if (dash == spec.length() - 1) {
+          last = size - 1;
+        } else {
+          final long l;
+          l = parseLong(spec, dash + 1, spec.length());
+
+          if (l < first) {
+            return null;
+          }
+
+          last = Math.min(l, size - 1);
+        }
+
+        if (first >= size) {
+          continue;
+        }
+      }
+
+      result[index++] = first;
+
+      result[index++] = last;
+    }
+
+    if (index == 0) {
+      return UNSATISFIABLE;
+    }
+
+    if (index < result.length) {
+      final long[] copy;
+      copy = new long[index];
+
+      System.arraycopy(result, 0, copy, 0, index);
+
+      result = copy;
+    }
+
+    return coalesce(result);
+  }
+
+  // ranges are kept in the requested order unless some of them overlap or
+  // are adjacent: in that case they are sorted and merged
+  private long[] coalesce(long[] ranges) {
+    if (!overlaps(ranges)) {
+      return ranges;
+    }
+
+    final int count;
+    count = ranges.length / 2;
+
+    // insertion sort by first position; the number of ranges is small
+    for (int i = 1; i < count; i++) {
+      final long first;
+      first = ranges[i * 2];
+
+      final long last;
+      last = ranges[i * 2 + 1];
+
+      int j;
+      j = i - 1;
+
+      while (j >= 0 && ranges[j * 2] > first) {
+        ranges[(j + 1) * 2] = ranges[j * 2];
+
+        ranges[(j + 1) * 2 + 1] = ranges[j * 2 + 1];
+
+        j--;
+      }
+
+      ranges[(j + 1) * 2] = first;
+
+      ranges[(j + 1) * 2 + 1] = last;
+    }
+
+    int index;
+    index = 0;
+
+    for (int i = 2; i < ranges.length; i += 2) {
+      final long first;
+      first = ranges[i];
+
+      final long last;
+      last = ranges[i + 1];
+
+      if (first <= ranges[index + 1] + 1) {
+        ranges[index + 1] = Math.max(ranges[index + 1], last);
+      } else {
+        index += 2;
+
+        ranges[index] = first;
+
+        ranges[index + 1] = last;
+      }
+    }
+
+    final long[] result;
+    result = new long[index + 2];
+
+    System.arraycopy(ranges, 0, result, 0, index + 2);
+
+    return result;
+  }
+
+  private boolean overlaps(long[] ranges) {
+    for (int i = 0; i < ranges.length; i += 2) {
+      for (int j = i + 2; j < ranges.length; j += 2) {
+        if (ranges[i] <= ranges[j + 1] + 1 && ranges[j] <= ranges[i + 1] + 1) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  // returns -1 if not a valid (non-empty, digits only) number
+  private long parseLong(String s, int start, int end) {
+    if (start >= end || end - start > 18) {
+      return -1;
+    }
+
+    long result;
+    result = 0;
+
+    for (int idx = start; idx < end; idx++) {
+      final char c;
+      c = s.charAt(idx);
+
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+
+      result = result * 10 + (c - '0');
+    }
+
+    return result;
+  }
+
+}
@@ -15,10 +15,18 @@
  */
 package objectox.http.media;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import objectos.http.HeaderName;
 import objectos.http.Status;
 import objectos.http.Response;
+import objectos.http.Result;
+import objectox.http.Header;
+import objectox.http.resp.ResponseEntity;
+import objectox.http.resp.ResponsePojo;
+import objectox.http.resp.StatusEnum;
 
 final class StaticFilesResponses {
 
@@ -32,11 +40,17 @@ final class StaticFilesResponses {
     opts.header(HeaderName.ALLOW, "GET, HEAD");
   });
 
+  private static final Header IMMUTABLE = new Header(HeaderName.CACHE_CONTROL, "public, max-age=31536000, immutable");
+
+  private final String boundary;
+
   private final StaticFilesExtension staticFilesExtension;
 
   private final StaticFilesTypes staticFilesTypes;
 
-  StaticFilesResponses(StaticFilesExtension staticFilesExtension, StaticFilesTypes staticFilesTypes) {
+  StaticFilesResponses(String boundary, StaticFilesExtension staticFilesExtension, StaticFilesTypes staticFilesTypes) {
+    this.boundary = boundary;
+
     this.staticFilesExtension = staticFilesExtension;
 
     this.staticFilesTypes = staticFilesTypes;
@@ -47,6 +61,10 @@ final class StaticFilesResponses {
   }
 
   public final Response notModified(String etag) {
+    return notModified(etag, null);
+  }
+
+  public final Response notModified(String etag, StaticFilesVariants.Variant variant) {
     return Response.create(opts -> {
       opts.status(Status.NOT_MODIFIED);
 
@@ -54,11 +72,19 @@ final class StaticFilesResponses {
 
       opts.header(HeaderName.ETAG, etag);
 
+      if (variant != null) {
+        opts.header(HeaderName.VARY, "Accept-Encoding");
+      }
+
       opts.header(HeaderName.CONTENT_LENGTH, 0);
     });
   }
 
   public final Response ok(Path file, String etag) {
+    return ok(file, etag, null);
+  }
+
+  public final Response ok(Path file, String etag, StaticFilesVariants.Variant variant) {
     return Response.create(opts -> {
       opts.status(Status.OK);
 
@@ -66,16 +92,119 @@ final class StaticFilesResponses {
 
       opts.header(HeaderName.ETAG, etag);
 
-      final String extension;
-      extension = staticFilesExtension.get(file);
+      if (variant != null) {
+        opts.header(HeaderName.VARY, "Accept-Encoding");
+      }
+
+      final StaticFilesVariants.Encoding encoding;
+      encoding = variant != null ? variant.encoding() : null;
 
-      final String contentType;
-      contentType = staticFilesTypes.get(extension);
+      if (encoding != null) {
+        opts.header(HeaderName.CONTENT_ENCODING, encoding.value);
+      } else {
+        opts.header(HeaderName.ACCEPT_RANGES, "bytes");
+      }
 
-      opts.header(HeaderName.CONTENT_TYPE, contentType);
+      opts.header(HeaderName.CONTENT_TYPE, contentType(file));
 
-      opts.send(file);
+      opts.send(encoding != null ? variant.file() : file);
     });
   }
 
+  /// Returns a `206 Partial Content` response with the specified ranges of
+  /// the specified file. A non-null variant indicates the file has
+  /// precompressed siblings.
+  public final Response partialContent(Path file, long size, String etag, long[] ranges, StaticFilesVariants.Variant variant) {
+    final List<Header> headers;
+    headers = new ArrayList<>(6);
+
+    headers.add(Header.DATE);
+
+    headers.add(new Header(HeaderName.ETAG, etag));
+
+    if (variant != null) {
+      headers.add(new Header(HeaderName.VARY, "Accept-Encoding"));
+    }
+
+    headers.add(new Header(HeaderName.ACCEPT_RANGES, "bytes"));
+
+    final String contentType;
+    contentType = contentType(file);
+
+    if (ranges.length == 2) {
+      headers.add(new Header(HeaderName.CONTENT_RANGE, "bytes " + ranges[0] + "-" + ranges[1] + "/" + size));
+
+      headers.add(new Header(HeaderName.CONTENT_TYPE, contentType));
+    } else {
+      headers.add(new Header(HeaderName.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary));
+    }
+
+    final ResponseEntity entity;
+    entity = new ResponseEntity.OfFileRanges(file, size, ranges, contentType, boundary);
+
+    return new ResponsePojo(StatusEnum.PARTIAL_CONTENT, headers, entity, false);
+  }
+
+  /// Returns a `416 Range Not Satisfiable` response for a file of the
+  /// specified size.
+  public final Response rangeNotSatisfiable(long size) {
+    return Response.create(opts -> {
+      opts.status(Status.RANGE_NOT_SATISFIABLE);
+
+      opts.date();
+
+      opts.header(HeaderName.CONTENT_RANGE, "bytes */" + size);
+
+      opts.header(HeaderName.CONTENT_LENGTH, 0);
+    });
+  }
+
+  /// Returns a copy of the specified result which instructs clients to cache
+  /// it indefinitely. Only successful and `304` responses are copied.
+  public final Result immutable(Result result) {
+    if (!(result instanceof ResponsePojo pojo)) {
+      return result;
+    }
+
+    final StatusEnum status;
+    status = pojo.status();
+
+    if (status != StatusEnum.OK && status != StatusEnum.PARTIAL_CONTENT && status != StatusEnum.NOT_MODIFIED) {
+      return pojo;
+    }
+
+    final List<Header> headers;
+    headers = pojo.headers();
+
+    final List<Header> copy;
+    copy = new ArrayList<>(headers.size() + 1);
+
+    copy.addAll(headers);
+
+    // right after the Date header, if any
+    copy.add(!copy.isEmpty() && copy.get(0) == Header.DATE ? 1 : 0, IMMUTABLE);
+
+    return new ResponsePojo(status, copy, pojo.entity(), pojo.closeConnection());
+  }
+
+  /// Returns the serialized entity header fields of a `200 OK` response for
+  /// the specified file. Used by cached responses.
+  public final byte[] fields(Path file, String etag, int length) {
+    final String fields;
+    fields = "ETag: " + etag + "\r\n"
+        + "Accept-Ranges: bytes\r\n"
+        + "Content-Type: " + contentType(file) + "\r\n"
+        + "Content-Length: " + length + "\r\n"
+        + "\r\n";
+
+    return fields.getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private String contentType(Path file) {
+    final String extension;
+    extension = staticFilesExtension.get(file);
+
+    return staticFilesTypes.get(extension);
+  }
+
 }
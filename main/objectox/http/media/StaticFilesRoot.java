@@ -17,22 +17,43 @@ package objectox.http.media;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import objectos.way.Io;
 import objectos.way.Note;
 
+/// Resolves request paths to files.
+///
+/// Files are resolved against the overlay directories, in order, then
+/// against the (temporary) root directory. The first existing file wins.
+/// Paths not found anywhere are resolved against the root directory, where
+/// files generated at runtime are stored. The overlay directories are never
+/// written to nor deleted.
+///
+/// Symbolic links in the overlay directories are not followed: a file
+/// reached through a link, be it the file itself or one of its parent
+/// directories, is treated as missing.
 final class StaticFilesRoot implements Closeable {
 
+  private static final LinkOption[] LINK = {LinkOption.NOFOLLOW_LINKS};
+
   private static final Note.Ref1<String> TRAVERSAL = Note.Ref1.create(StaticFiles.class, "TRV", Note.ERROR);
 
   private final Path directory;
 
   private final Note.Sink noteSink;
 
-  StaticFilesRoot(Path directory, Note.Sink noteSink) {
+  private final List<Path> overlay;
+
+  StaticFilesRoot(Path directory, Note.Sink noteSink, List<Path> overlay) {
     this.directory = directory;
 
     this.noteSink = noteSink;
+
+    this.overlay = overlay;
   }
 
   @Override
@@ -40,17 +61,94 @@ final class StaticFilesRoot implements Closeable {
     Io.deleteRecursively(directory);
   }
 
+  /// Returns the directories searched by this root, in order.
+  public final List<Path> directories() {
+    if (overlay.isEmpty()) {
+      return List.of(directory);
+    }
+
+    final List<Path> list;
+    list = new ArrayList<>(overlay);
+
+    list.add(directory);
+
+    return list;
+  }
+
   public final Path resolve(String path) {
     final String relative;
     relative = path.substring(1);
 
+    for (Path dir : overlay) {
+      final Path file;
+      file = resolve(path, dir, relative);
+
+      if (file == null) {
+        return null;
+      }
+
+      if (Files.exists(file, LINK) && !linked(dir, file)) {
+        return file;
+      }
+    }
+
+    return resolve(path, directory, relative);
+  }
+
+  /// Returns the sibling of the specified file having the specified suffix,
+  /// or `null` if there is none. The sibling is resolved in the directory
+  /// of the file only, or, for a file of an overlay directory, in the root
+  /// directory, where the files compressed at startup are stored.
+  public final Path sibling(Path file, String suffix) {
+    final Path sibling;
+    sibling = file.resolveSibling(file.getFileName() + suffix);
+
+    if (Files.isRegularFile(sibling, LINK)) {
+      return sibling;
+    }
+
+    for (Path dir : overlay) {
+      if (file.startsWith(dir)) {
+        final Path relative;
+        relative = dir.relativize(sibling);
+
+        final Path compressed;
+        compressed = directory.resolve(relative);
+
+        return Files.isRegularFile(compressed, LINK) ? compressed : null;
+      }
+    }
+
+    return null;
+  }
+
+  private boolean linked(Path dir, Path file) {
+    if (file.equals(dir)) {
+      return false;
+    }
+
+    Path current;
+    current = dir;
+
+    for (Path name : dir.relativize(file)) {
+      current = current.resolve(name);
+
+      if (Files.isSymbolicLink(current)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private Path resolve(String path, Path dir, String relative) {
     final Path resolved;
-    resolved = directory.resolve(relative);
+    resolved = dir.resolve(relative);
 
     final Path file;
     file = resolved.normalize();
 
-    if (!file.startsWith(directory)) {
+    if (!file.startsWith(dir)) {
       noteSink.send(TRAVERSAL, path);
 
       return null;
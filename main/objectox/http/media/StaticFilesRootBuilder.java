@@ -16,14 +16,24 @@
 package objectox.http.media;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 import objectos.way.Io;
 import objectos.way.Note;
 
@@ -31,19 +41,58 @@ final class StaticFilesRootBuilder {
 
   private final Set<Path> directories;
 
+  private final boolean inPlace;
+
   private final Note.Sink noteSink;
 
-  StaticFilesRootBuilder(Set<Path> directories, Note.Sink noteSink) {
+  private final Set<String> precompress;
+
+  StaticFilesRootBuilder(Set<Path> directories, boolean inPlace, Note.Sink noteSink, Set<String> precompress) {
     this.directories = directories;
 
+    this.inPlace = inPlace;
+
     this.noteSink = noteSink;
+
+    this.precompress = precompress;
   }
 
   public final StaticFilesRoot build() throws IOException {
+    if (!inPlace) {
+      return new StaticFilesRoot(
+          create(),
+
+          noteSink,
+
+          List.of()
+      );
+    }
+
+    final List<Path> overlay;
+    overlay = directories.stream().map(dir -> dir.toAbsolutePath().normalize()).toList();
+
+    final Path root;
+    root = Files.createTempDirectory(null);
+
+    if (!precompress.isEmpty()) {
+      final Set<Path> seen;
+      seen = new HashSet<>();
+
+      try {
+        for (Path source : overlay) {
+          precompress(source, root, seen);
+        }
+      } catch (IOException e) {
+        throw delete(root, e);
+      }
+    }
+
     return new StaticFilesRoot(
-        create(),
+        root,
+
+        noteSink,
 
-        noteSink
+        overlay
     );
   }
 
@@ -58,19 +107,95 @@ final class StaticFilesRootBuilder {
       try {
         Files.walkFileTree(source, copy);
       } catch (IOException e) {
-        try {
-          Io.deleteRecursively(root);
-        } catch (IOException suppressed) {
-          e.addSuppressed(suppressed);
-        }
+        throw delete(root, e);
+      }
+    }
 
-        throw e;
+    if (!precompress.isEmpty()) {
+      try {
+        precompress(root, root, new HashSet<>());
+      } catch (IOException e) {
+        throw delete(root, e);
       }
     }
 
     return root;
   }
 
+  private IOException delete(Path root, IOException e) {
+    try {
+      Io.deleteRecursively(root);
+    } catch (IOException suppressed) {
+      e.addSuppressed(suppressed);
+    }
+
+    return e;
+  }
+
+  private static final OpenOption[] GZIP_OPEN = {StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE};
+
+  // compresses the files of the source directory into the target directory.
+  // files shadowed by a previous source directory are skipped, so a
+  // compressed file is always generated from the file it is served for
+  private void precompress(Path source, Path target, Set<Path> seen) throws IOException {
+    final StaticFilesExtension extension;
+    extension = new StaticFilesExtension("");
+
+    final List<Path> files;
+
+    // symbolic links are not followed: neither linked files nor the entries
+    // of linked directories, which Files.walk does not visit
+    try (Stream<Path> walk = Files.walk(source)) {
+      files = walk
+          .filter(file -> Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS))
+          .filter(file -> precompress.contains(extension.get(file)))
+          .toList();
+    }
+
+    for (Path file : files) {
+      if (!seen.add(source.relativize(file))) {
+        // shadowed by a previous overlay directory
+        continue;
+      }
+
+      final Path sibling;
+      sibling = file.resolveSibling(file.getFileName() + ".gz");
+
+      if (Files.exists(sibling, LinkOption.NOFOLLOW_LINKS)) {
+        // supplied by the build
+        continue;
+      }
+
+      final Path relative;
+      relative = source.relativize(sibling);
+
+      final Path gz;
+      gz = target.resolve(relative);
+
+      Files.createDirectories(gz.getParent());
+
+      try (InputStream in = Files.newInputStream(file); OutputStream out = new GzipOutputStream(Files.newOutputStream(gz, GZIP_OPEN))) {
+        in.transferTo(out);
+      }
+
+      if (Files.size(gz) >= Files.size(file)) {
+        // not worth it
+        Files.delete(gz);
+      }
+    }
+  }
+
+  private static final class GzipOutputStream extends GZIPOutputStream {
+
+    GzipOutputStream(OutputStream out) throws IOException {
+      super(out, 8192);
+
+      // done once at startup: favor size over speed
+      def.setLevel(Deflater.BEST_COMPRESSION);
+    }
+
+  }
+
   private class CopyDirectory extends SimpleFileVisitor<Path> {
 
     private final Path source;
@@ -24,38 +24,93 @@ import objectos.lang.Stage;
 import objectos.way.Note;
 
 public record StaticFilesStage(
+    long cacheMaxBytes,
+
+    int cacheMaxEntries,
+
     Set<Path> directories,
 
+    Set<String> fingerprint,
+
+    boolean inPlace,
+
     Note.Sink noteSink,
 
+    Set<String> precompress,
+
     StaticFilesAttributes staticFilesAttributes,
 
     Function<BasicFileAttributes, String> staticFilesETag,
 
+    StaticFilesFingerprints staticFilesFingerprints,
+
     StaticFilesMethod staticFilesMethod,
 
-    StaticFilesResponses staticFilesResponses
+    StaticFilesRanges staticFilesRanges,
+
+    StaticFilesResponses staticFilesResponses,
+
+    StaticFilesVariants staticFilesVariants
 ) {
 
   public final StaticFiles toStaticFiles(Stage stage) throws IOException {
     final StaticFilesRootBuilder staticFilesRootBuilder;
-    staticFilesRootBuilder = new StaticFilesRootBuilder(directories, noteSink);
+    staticFilesRootBuilder = new StaticFilesRootBuilder(directories, inPlace, noteSink, precompress);
 
     final StaticFilesRoot staticFilesRoot;
     staticFilesRoot = staticFilesRootBuilder.build();
 
+    try {
+      staticFilesFingerprints.init(staticFilesRoot.directories(), fingerprint);
+    } catch (IOException e) {
+      try {
+        staticFilesRoot.close();
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+
+      throw e;
+    }
+
+    final StaticFilesCache staticFilesCache;
+    staticFilesCache = new StaticFilesCache(
+        cacheMaxBytes,
+
+        cacheMaxEntries,
+
+        noteSink,
+
+        stage != Stage.PROD,
+
+        staticFilesAttributes,
+
+        staticFilesResponses,
+
+        staticFilesRoot,
+
+        staticFilesVariants
+    );
+
     return new StaticFiles(
         stage,
 
         staticFilesAttributes,
 
+        staticFilesCache,
+
         staticFilesETag,
 
+        staticFilesFingerprints,
+
         staticFilesMethod,
 
+        staticFilesRanges,
+
         staticFilesResponses,
 
-        staticFilesRoot
+        staticFilesRoot,
+
+        staticFilesVariants
     );
   }
 
@@ -19,11 +19,13 @@ import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import objectos.http.Fingerprints;
 import objectos.http.StaticFilesOptions;
 import objectos.internal.IOFunction;
 import objectos.internal.NoOpSinkSingleton;
@@ -33,14 +35,33 @@ public final class StaticFilesStageBuilder implements StaticFilesOptions {
 
   private static final LinkOption[] LINK = {LinkOption.NOFOLLOW_LINKS};
 
+  // more ranges than this are most likely abuse: the whole file is sent instead
+  private static final int RANGES_MAX = 16;
+
+  private long cacheMaxBytes;
+
+  private int cacheMaxEntries = 256;
+
   private Set<Path> directories = Set.of();
 
   private Function<BasicFileAttributes, String> etag;
 
   private long etagMask = ThreadLocalRandom.current().nextLong();
 
+  private Set<String> fingerprint = Set.of();
+
+  private StaticFilesFingerprints fingerprints;
+
+  private boolean inPlace;
+
   private final Note.Sink noteSink = NoOpSinkSingleton.INSTANCE;
 
+  private String rangeBoundary = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+  private Set<String> precompress = Set.of();
+
+  private boolean precompressed;
+
   private final StaticFilesTypesBuilder typesBuilder = new StaticFilesTypesBuilder("application/octet-stream");
 
   public final StaticFilesStage build() {
@@ -62,21 +83,43 @@ public final class StaticFilesStageBuilder implements StaticFilesOptions {
     final StaticFilesTypes staticFilesTypes;
     staticFilesTypes = typesBuilder.build();
 
+    final StaticFilesRanges staticFilesRanges;
+    staticFilesRanges = new StaticFilesRanges(RANGES_MAX);
+
     final StaticFilesResponses staticFilesResponses;
-    staticFilesResponses = new StaticFilesResponses(staticFilesExtension, staticFilesTypes);
+    staticFilesResponses = new StaticFilesResponses(rangeBoundary, staticFilesExtension, staticFilesTypes);
+
+    final StaticFilesVariants staticFilesVariants;
+    staticFilesVariants = new StaticFilesVariants(precompressed, staticFilesAttributes);
 
     return new StaticFilesStage(
+        cacheMaxBytes,
+
+        cacheMaxEntries,
+
         directories,
 
+        fingerprint,
+
+        inPlace,
+
         noteSink,
 
+        precompress,
+
         staticFilesAttributes,
 
         staticFilesETag,
 
+        fingerprints != null ? fingerprints : new StaticFilesFingerprints(),
+
         staticFilesMethod,
 
-        staticFilesResponses
+        staticFilesRanges,
+
+        staticFilesResponses,
+
+        staticFilesVariants
     );
   }
 
@@ -99,11 +142,81 @@ public final class StaticFilesStageBuilder implements StaticFilesOptions {
     directories.add(d);
   }
 
+  @Override
+  public final void cacheMaxBytes(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Invalid cache max bytes: value must not be negative but found " + value);
+    }
+
+    cacheMaxBytes = value;
+  }
+
+  @Override
+  public final void cacheMaxEntries(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid cache max entries: value must be positive but found " + value);
+    }
+
+    cacheMaxEntries = value;
+  }
+
   @Override
   public final void contentTypes(String propertiesString) {
     typesBuilder.contentTypes(propertiesString);
   }
 
+  @Override
+  public final void fingerprint(String extension) {
+    final String ext;
+    ext = extension(extension);
+
+    if (fingerprint.isEmpty()) {
+      fingerprint = new HashSet<>();
+    }
+
+    fingerprint.add(ext);
+  }
+
+  @Override
+  public final void fingerprints(Fingerprints value) {
+    fingerprints = (StaticFilesFingerprints) Objects.requireNonNull(value, "value == null");
+  }
+
+  @Override
+  public final void inPlace(boolean value) {
+    inPlace = value;
+  }
+
+  @Override
+  public final void precompress(String extension) {
+    final String ext;
+    ext = extension(extension);
+
+    if (precompress.isEmpty()) {
+      precompress = new HashSet<>();
+    }
+
+    precompress.add(ext);
+
+    precompressed = true;
+  }
+
+  @Override
+  public final void precompressed(boolean value) {
+    precompressed = value;
+  }
+
+  private String extension(String extension) {
+    final String ext;
+    ext = Objects.requireNonNull(extension, "extension == null");
+
+    if (ext.length() < 2 || ext.charAt(0) != '.') {
+      throw new IllegalArgumentException("Invalid extension: value must be a '.' followed by at least one character but found " + ext);
+    }
+
+    return ext;
+  }
+
   public final void etag(Function<BasicFileAttributes, String> value) {
     etag = value;
   }
@@ -112,4 +225,8 @@ public final class StaticFilesStageBuilder implements StaticFilesOptions {
     etagMask = value;
   }
 
+  public final void rangeBoundary(String value) {
+    rangeBoundary = value;
+  }
+
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.function.Function;
+import objectox.http.Rfc;
+
+/// Selects, among the precompressed siblings of a static file, the one to be
+/// sent for a given `Accept-Encoding` value.
+///
+/// A sibling is a file whose name is the name of the static file followed by
+/// the suffix of its content coding: `app.js.br` and `app.js.gz` are the
+/// siblings of `app.js`.
+final class StaticFilesVariants {
+
+  enum Encoding {
+    // in order of preference
+    BR("br", ".br"),
+
+    GZIP("gzip", ".gz");
+
+    final String suffix;
+
+    final String value;
+
+    private Encoding(String value, String suffix) {
+      this.suffix = suffix;
+
+      this.value = value;
+    }
+  }
+
+  /// The file to be sent. A `null` encoding indicates the static file itself
+  /// which, nevertheless, has precompressed siblings: the response varies
+  /// according to the `Accept-Encoding` header. The attributes are those of
+  /// the sibling, and are `null` for the static file itself.
+  record Variant(Encoding encoding, Path file, BasicFileAttributes attributes) {
+    /// Returns the entity tag of this variant. A sibling is tagged after its
+    /// own attributes, so that a rebuilt sibling is not mistaken for a stale
+    /// one.
+    final String etag(Function<BasicFileAttributes, String> function, String fileETag) {
+      return encoding != null ? function.apply(attributes) + "-" + encoding.value : fileETag;
+    }
+  }
+
+  private static final Encoding[] ENCODINGS = Encoding.values();
+
+  private final boolean enabled;
+
+  private final StaticFilesAttributes staticFilesAttributes;
+
+  StaticFilesVariants(boolean enabled, StaticFilesAttributes staticFilesAttributes) {
+    this.enabled = enabled;
+
+    this.staticFilesAttributes = staticFilesAttributes;
+  }
+
+  /// Returns the variant to be sent, or `null` if the static file does not
+  /// have precompressed siblings. Siblings are resolved by the specified root
+  /// as they may reside in a directory other than the file's.
+  public final Variant select(StaticFilesRoot root, Path file, String acceptEncoding) {
+    if (!enabled) {
+      return null;
+    }
+
+    Variant result;
+    result = null;
+
+    double best;
+    best = 0;
+
+    for (Encoding encoding : ENCODINGS) {
+      final Path sibling;
+      sibling = root.sibling(file, encoding.suffix);
+
+      if (sibling == null) {
+        continue;
+      }
+
+      final BasicFileAttributes attributes;
+      attributes = staticFilesAttributes.readOrCreate(sibling, null);
+
+      if (attributes == null) {
+        continue;
+      }
+
+      if (result == null) {
+        result = new Variant(null, file, null);
+      }
+
+      final double q;
+      q = Rfc.acceptEncodingQuality(acceptEncoding, encoding.value);
+
+      if (q > best) {
+        best = q;
+
+        result = new Variant(encoding, sibling, attributes);
+      }
+    }
+
+    return result;
+  }
+
+}
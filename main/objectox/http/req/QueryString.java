@@ -34,7 +34,7 @@ public final class QueryString {
     pojo = (RequestPojo) request;
 
     final Map<String, Object> original;
-    original = pojo.queryParams();
+    original = pojo.queryParams().map();
 
     final LinkedHashMap<String, Object> copy;
     copy = new LinkedHashMap<>(original);
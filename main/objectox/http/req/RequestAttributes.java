@@ -32,6 +32,14 @@ public final class RequestAttributes {
     this.map = map;
   }
 
+  /// Removes all of the values so this instance can be reused for the next
+  /// request of the connection.
+  final void clear() {
+    if (!map.isEmpty()) {
+      map.clear();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   public final <T> T get(Class<T> key) {
     final String name;
@@ -58,7 +66,7 @@ public final class RequestAttributes {
 
     Objects.requireNonNull(value, "value == null");
 
-    if (map.isEmpty()) {
+    if (!(map instanceof HashMap)) {
       map = new HashMap<>();
     }
 
@@ -69,7 +77,7 @@ public final class RequestAttributes {
     Objects.requireNonNull(key, "key == null");
     Objects.requireNonNull(value, "value == null");
 
-    if (map.isEmpty()) {
+    if (!(map instanceof HashMap)) {
       map = new HashMap<>();
     }
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/// Reads a request body sent with the `chunked` transfer coding.
+///
+/// The decoded bytes are kept in memory until they exceed the `memoryMax`
+/// limit; from then on they are written to a file. The `sizeMax` limit is
+/// enforced as the chunks arrive.
+final class RequestBodyChunkedParser {
+
+  private final RequestBodySupport bodySupport;
+
+  private Path file;
+
+  private OutputStream fileOutput;
+
+  private final RequestInputStream input;
+
+  private ByteArrayOutputStream memory;
+
+  private long size;
+
+  RequestBodyChunkedParser(RequestBodySupport bodySupport, RequestInputStream input) {
+    this.bodySupport = bodySupport;
+
+    this.input = input;
+  }
+
+  public final RequestBodyData parse() throws IOException {
+    try {
+      parse0();
+    } finally {
+      if (fileOutput != null) {
+        fileOutput.close();
+      }
+    }
+
+    if (file != null) {
+      return RequestBodyData.of(file);
+    }
+
+    if (memory != null) {
+      return RequestBodyData.of(memory.toByteArray());
+    }
+
+    return RequestBodyData.ofNull();
+  }
+
+  private void parse0() throws IOException {
+    final RequestBodyChunkedStream stream;
+    stream = new RequestBodyChunkedStream(input, bodySupport.sizeMax());
+
+    final byte[] bytes;
+    bytes = new byte[8192];
+
+    while (true) {
+      final int n;
+      n = stream.read(bytes, 0, bytes.length);
+
+      if (n == -1) {
+        break;
+      }
+
+      size += n;
+
+      final OutputStream output;
+      output = output();
+
+      output.write(bytes, 0, n);
+    }
+  }
+
+  private OutputStream output() throws IOException {
+    if (fileOutput != null) {
+      return fileOutput;
+    }
+
+    if (size <= bodySupport.memoryMax()) {
+      if (memory == null) {
+        memory = new ByteArrayOutputStream();
+      }
+
+      return memory;
+    }
+
+    // spill to file
+    file = bodySupport.file();
+
+    fileOutput = Files.newOutputStream(file, RequestBodyDataParser.FIXED_FILE);
+
+    if (memory != null) {
+      memory.writeTo(fileOutput);
+
+      memory = null;
+    }
+
+    return fileOutput;
+  }
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.IOException;
+import objectos.internal.Bytes;
+import objectox.http.HttpClientException;
+import objectox.http.HttpClientException.Kind;
+
+/// Decodes a request body sent with the `chunked` transfer coding as it is
+/// read. The `sizeMax` limit is enforced as each chunk header arrives.
+final class RequestBodyChunkedStream extends RequestBodyStream {
+
+  // chunk extensions and trailer fields are discarded:
+  // still, we bound the number of bytes we are willing to skip
+  private static final int SKIP_MAX = 8 * 1024;
+
+  private long chunkRemaining;
+
+  private boolean done;
+
+  private long size;
+
+  private final long sizeMax;
+
+  private int skipped;
+
+  private boolean started;
+
+  RequestBodyChunkedStream(RequestInputStream input, long sizeMax) {
+    super(input);
+
+    this.sizeMax = sizeMax;
+  }
+
+  @Override
+  final int read0(byte[] b, int off, int len) throws IOException {
+    if (done) {
+      return -1;
+    }
+
+    if (chunkRemaining == 0) {
+      if (started) {
+        crlf();
+      }
+
+      started = true;
+
+      final long chunkSize;
+      chunkSize = chunkSize();
+
+      if (chunkSize == 0) {
+        trailer();
+
+        done = true;
+
+        return -1;
+      }
+
+      final long nextSize;
+      nextSize = size + chunkSize;
+
+      if (nextSize > sizeMax) {
+        throw tooLarge();
+      }
+
+      size = nextSize;
+
+      chunkRemaining = chunkSize;
+    }
+
+    final int buffered;
+    buffered = input.readForBody();
+
+    final int n;
+    n = (int) Math.min(chunkRemaining, Math.min(len, buffered));
+
+    input.bufferTo(b, off, n);
+
+    chunkRemaining -= n;
+
+    return n;
+  }
+
+  private long chunkSize() throws IOException {
+    long value;
+    value = 0;
+
+    int digits;
+    digits = 0;
+
+    while (true) {
+      final byte b;
+      b = next();
+
+      final int digit;
+      digit = hexDigit(b);
+
+      if (digit >= 0) {
+        digits += 1;
+
+        if (digits > 15) {
+          throw tooLarge();
+        }
+
+        value = (value << 4) | digit;
+
+        continue;
+      }
+
+      if (digits == 0) {
+        throw invalid("chunk-size expected");
+      }
+
+      switch (b) {
+        case ';', Bytes.SP, Bytes.HTAB -> {
+          // chunk-ext
+          skipLine();
+
+          return value;
+        }
+
+        case Bytes.CR -> {
+          lf();
+
+          return value;
+        }
+
+        default -> throw invalid("unexpected byte 0x%02X in chunk-size".formatted(b));
+      }
+    }
+  }
+
+  private void trailer() throws IOException {
+    // trailer-section: skip each field line until the empty line
+    while (true) {
+      final byte b;
+      b = next();
+
+      if (b == Bytes.CR) {
+        lf();
+
+        return;
+      }
+
+      skipLine();
+    }
+  }
+
+  private void crlf() throws IOException {
+    if (next() != Bytes.CR) {
+      throw invalid("CRLF expected after chunk-data");
+    }
+
+    lf();
+  }
+
+  private void lf() throws IOException {
+    if (next() != Bytes.LF) {
+      throw invalid("CRLF sequence required as line terminator");
+    }
+  }
+
+  private void skipLine() throws IOException {
+    while (true) {
+      skipped += 1;
+
+      if (skipped > SKIP_MAX) {
+        throw invalid("chunk extensions or trailer fields are too large");
+      }
+
+      if (next() == Bytes.CR) {
+        lf();
+
+        return;
+      }
+    }
+  }
+
+  // unlike readByte, it never overflows the buffer:
+  // consumed bytes are discarded when the buffer is refilled
+  private byte next() throws IOException {
+    input.readForBody();
+
+    return input.readByte();
+  }
+
+  private int hexDigit(byte b) {
+    if (b >= '0' && b <= '9') {
+      return b - '0';
+    }
+
+    if (b >= 'a' && b <= 'f') {
+      return b - 'a' + 10;
+    }
+
+    if (b >= 'A' && b <= 'F') {
+      return b - 'A' + 10;
+    }
+
+    return -1;
+  }
+
+  private HttpClientException invalid(String detail) {
+    final String msg;
+    msg = "Invalid chunked request body: " + detail;
+
+    return new HttpClientException(msg, Kind.INVALID_CHUNKED_BODY);
+  }
+
+  private HttpClientException tooLarge() {
+    final String msg;
+    msg = "The request message body exceeds the server's maximum allowed limit: %d".formatted(sizeMax);
+
+    return new HttpClientException(msg, Kind.CONTENT_TOO_LARGE);
+  }
+
+}
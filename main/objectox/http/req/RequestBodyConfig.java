@@ -19,7 +19,11 @@ import java.util.function.Consumer;
 import objectos.http.RequestBodyFiles;
 import objectos.http.RequestBodyOptions;
 
-public record RequestBodyConfig(RequestBodyFiles files, int memoryMax, long sizeMax) {
+public record RequestBodyConfig(RequestBodyFiles files, boolean lazy, int memoryMax, boolean multipartStream, long partMax, long sizeMax) {
+
+  public RequestBodyConfig(RequestBodyFiles files, int memoryMax, long sizeMax) {
+    this(files, false, memoryMax, false, sizeMax, sizeMax);
+  }
 
   public static RequestBodyConfig create(Consumer<? super RequestBodyOptions> opts) {
     final RequestBodyConfigBuilder builder;
@@ -24,8 +24,14 @@ public final class RequestBodyConfigBuilder implements RequestBodyOptions {
 
   private RequestBodyFiles files = () -> Files.createTempFile("", "");
 
+  private boolean lazy;
+
   private int memoryMax = 32 * 1024;
 
+  private boolean multipartStream;
+
+  private long partMax = 10 * 1024 * 1024;
+
   private long sizeMax = 10 * 1024 * 1024;
 
   public static RequestBodyConfig standard() {
@@ -33,7 +39,7 @@ public final class RequestBodyConfigBuilder implements RequestBodyOptions {
   }
 
   public final RequestBodyConfig build() {
-    return new RequestBodyConfig(files, memoryMax, sizeMax);
+    return new RequestBodyConfig(files, lazy, memoryMax, multipartStream, partMax, sizeMax);
   }
 
   @Override
@@ -41,6 +47,11 @@ public final class RequestBodyConfigBuilder implements RequestBodyOptions {
     files = Objects.requireNonNull(value, "value == null");
   }
 
+  @Override
+  public final void lazy(boolean value) {
+    lazy = value;
+  }
+
   @Override
   public final void memoryMax(int value) {
     if (value < 0) {
@@ -50,6 +61,20 @@ public final class RequestBodyConfigBuilder implements RequestBodyOptions {
     memoryMax = value;
   }
 
+  @Override
+  public final void multipartStream(boolean value) {
+    multipartStream = value;
+  }
+
+  @Override
+  public final void partMax(long value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("partMax value must not be negative");
+    }
+
+    partMax = value;
+  }
+
   @Override
   public final void sizeMax(long value) {
     if (value < 0) {
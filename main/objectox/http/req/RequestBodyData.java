@@ -30,7 +30,9 @@ public final class RequestBodyData {
 
     BYTE_ARRAY,
 
-    PATH;
+    PATH,
+
+    STREAM;
   }
 
   private static final RequestBodyData NULL = new RequestBodyData(Kind.NULL, null);
@@ -53,6 +55,10 @@ public final class RequestBodyData {
     return new RequestBodyData(Kind.PATH, file);
   }
 
+  static RequestBodyData of(RequestBodyStream stream) {
+    return new RequestBodyData(Kind.STREAM, stream);
+  }
+
   public static RequestBodyData ofNull() {
     return NULL;
   }
@@ -77,7 +83,15 @@ public final class RequestBodyData {
       case BYTE_ARRAY -> new ByteArrayInputStream((byte[]) value);
 
       case PATH -> Files.newInputStream((Path) value);
+
+      case STREAM -> (RequestBodyStream) value;
     };
   }
 
+  /// Discards the unread bytes of a lazily read body. Returns `false` if the
+  /// connection cannot be reused.
+  final boolean discard(long max) {
+    return kind != Kind.STREAM || ((RequestBodyStream) value).discard(max);
+  }
+
 }
@@ -15,7 +15,6 @@
  */
 package objectox.http.req;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
@@ -56,6 +55,8 @@ final class RequestBodyDataParser {
     return switch (meta) {
       case RequestBodyMeta.DataKind.EMPTY -> RequestBodyData.ofNull();
 
+      case RequestBodyMeta.DataKind.CHUNKED -> parseChunked();
+
       case RequestBodyMeta.Fixed(long length) -> parseFixed(length);
     };
   }
@@ -80,10 +81,17 @@ final class RequestBodyDataParser {
     }
   }
 
-  private static final OpenOption[] FIXED_FILE = {
+  static final OpenOption[] FIXED_FILE = {
       StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING
   };
 
+  private RequestBodyData parseChunked() throws IOException {
+    final RequestBodyChunkedParser parser;
+    parser = new RequestBodyChunkedParser(bodySupport, input);
+
+    return parser.parse();
+  }
+
   private RequestBodyData parseFixedFile(long length) throws IOException {
     final Path file;
     file = bodySupport.file();
@@ -96,13 +104,24 @@ final class RequestBodyDataParser {
   }
 
   private RequestBodyData parseFixedMemory(long length) throws IOException {
-    final ByteArrayOutputStream output;
-    output = new ByteArrayOutputStream();
+    // length <= memoryMax: it fits in an int
+    final byte[] bytes;
+    bytes = new byte[(int) length];
 
-    copy(length, output);
+    int index;
+    index = 0;
 
-    final byte[] bytes;
-    bytes = output.toByteArray();
+    while (index < bytes.length) {
+      final int buffered;
+      buffered = input.readForBody();
+
+      final int len;
+      len = Math.min(bytes.length - index, buffered);
+
+      input.bufferTo(bytes, index, len);
+
+      index += len;
+    }
 
     return RequestBodyData.of(bytes);
   }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.IOException;
+
+/// A request body with a known `Content-Length`.
+final class RequestBodyFixedStream extends RequestBodyStream {
+
+  private long remaining;
+
+  RequestBodyFixedStream(RequestInputStream input, long length) {
+    super(input);
+
+    this.remaining = length;
+  }
+
+  @Override
+  final int read0(byte[] b, int off, int len) throws IOException {
+    if (remaining == 0) {
+      return -1;
+    }
+
+    final int buffered;
+    buffered = input.readForBody();
+
+    final int n;
+    n = (int) Math.min(remaining, Math.min(len, buffered));
+
+    input.bufferTo(b, off, n);
+
+    remaining -= n;
+
+    return n;
+  }
+
+}
@@ -15,24 +15,127 @@
  */
 package objectox.http.req;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import objectos.http.FormFile;
 import objectox.http.Rfc;
 
-public record RequestBodyForm(Map<String, Object> params) {
+public final class RequestBodyForm {
+
+  /// Parses the form on first access.
+  @FunctionalInterface
+  interface Loader {
+    RequestBodyForm load() throws IOException;
+  }
+
+  private List<RequestBodyFile> files;
+
+  private Loader loader;
+
+  private Map<String, Object> params;
+
+  public RequestBodyForm(Map<String, Object> params) {
+    this(params, List.of());
+  }
+
+  RequestBodyForm(Map<String, Object> params, List<RequestBodyFile> files) {
+    this.files = files;
+
+    this.params = params;
+  }
+
+  private RequestBodyForm(Loader loader) {
+    this.loader = loader;
+  }
+
+  /// Creates a form whose parameters are parsed from the specified
+  /// `application/x-www-form-urlencoded` body on first access.
+  static RequestBodyForm lazy(RequestBodyData source) {
+    return new RequestBodyForm(() -> {
+      try (InputStream in = source.open()) {
+        final RequestBodyFormParser parser;
+        parser = new RequestBodyFormParser(in);
+
+        return new RequestBodyForm(parser.parse());
+      }
+    });
+  }
+
+  /// Creates a form whose parameters and files are parsed from the specified
+  /// `multipart/form-data` body on first access.
+  static RequestBodyForm lazy(RequestBodySupport bodySupport, String boundary, RequestBodyData source) {
+    return new RequestBodyForm(() -> {
+      try (InputStream in = source.open()) {
+        final RequestBodyMultipartParser parser;
+        parser = new RequestBodyMultipartParser(bodySupport, boundary, in);
+
+        return parser.parse();
+      }
+    });
+  }
+
+  /// Returns the form parameters, parsing the body first if necessary.
+  ///
+  /// @throws UncheckedIOException if the body could not be read or if it is
+  ///         not a valid form content
+  public final Map<String, Object> params() {
+    load();
+
+    return params;
+  }
+
+  /// Returns the uploaded files, parsing the body first if necessary.
+  ///
+  /// @throws UncheckedIOException if the body could not be read or if it is
+  ///         not a valid form content
+  public final List<RequestBodyFile> files() {
+    load();
+
+    return files;
+  }
+
+  private void load() {
+    if (loader == null) {
+      return;
+    }
+
+    final Loader l;
+    l = loader;
+
+    loader = null;
+
+    params = Map.of();
+
+    files = List.of();
+
+    try {
+      final RequestBodyForm loaded;
+      loaded = l.load();
+
+      params = loaded.params;
+
+      files = loaded.files;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
 
   public final Set<String> formParamNames() {
-    return params.keySet();
+    return params().keySet();
   }
 
   public final String formParam(String name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGet(params, name);
+    return Rfc.queryParamsGet(params(), name);
   }
 
   public final int formParamAsInt(String name, int defaultValue) {
@@ -68,7 +171,7 @@ public record RequestBodyForm(Map<String, Object> params) {
   public final List<String> formParamAll(String name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGetAll(params, name);
+    return Rfc.queryParamsGetAll(params(), name);
   }
 
   public final IntStream formParamAllAsInt(String name, int defaultValue) {
@@ -91,4 +194,31 @@ public record RequestBodyForm(Map<String, Object> params) {
     });
   }
 
+  public final FormFile formFile(String name) {
+    Objects.requireNonNull(name, "name == null");
+
+    for (RequestBodyFile file : files()) {
+      if (file.name().equals(name)) {
+        return file;
+      }
+    }
+
+    return null;
+  }
+
+  public final List<FormFile> formFileAll(String name) {
+    Objects.requireNonNull(name, "name == null");
+
+    final List<FormFile> result;
+    result = new ArrayList<>();
+
+    for (RequestBodyFile file : files()) {
+      if (file.name().equals(name)) {
+        result.add(file);
+      }
+    }
+
+    return List.copyOf(result);
+  }
+
 }
@@ -20,7 +20,9 @@ record RequestBodyMeta(Data data, Type type) {
   sealed interface Data {}
 
   enum DataKind implements Data {
-    EMPTY;
+    EMPTY,
+
+    CHUNKED;
   }
 
   record Fixed(long length) implements Data {}
@@ -33,6 +35,8 @@ record RequestBodyMeta(Data data, Type type) {
     NONE;
   }
 
+  record Multipart(String boundary) implements Type {}
+
   private static final RequestBodyMeta EMPTY = new RequestBodyMeta(DataKind.EMPTY, TypeKind.NONE);
 
   public static RequestBodyMeta of(long length, Type type) {
@@ -42,6 +46,10 @@ record RequestBodyMeta(Data data, Type type) {
     return new RequestBodyMeta(fixed, type);
   }
 
+  public static RequestBodyMeta ofChunked(Type type) {
+    return new RequestBodyMeta(DataKind.CHUNKED, type);
+  }
+
   public static RequestBodyMeta ofEmpty() {
     return EMPTY;
   }
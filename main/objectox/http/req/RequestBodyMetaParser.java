@@ -16,12 +16,13 @@
 package objectox.http.req;
 
 import java.io.IOException;
+import java.util.List;
 import objectos.http.HeaderName;
 import objectos.internal.Ascii;
-import objectox.http.HttpClientException;
 import objectox.http.HeaderNamePojo;
-import objectox.http.HttpServerException;
+import objectox.http.HttpClientException;
 import objectox.http.HttpClientException.Kind;
+import objectox.http.HttpServerException;
 
 final class RequestBodyMetaParser {
 
@@ -33,13 +34,13 @@ final class RequestBodyMetaParser {
 
   public final RequestBodyMeta parse() throws IOException {
     final String contentLength;
-    contentLength = headers.header(HeaderName.CONTENT_LENGTH);
+    contentLength = contentLength();
 
     final String contentType;
     contentType = headers.header(HeaderNamePojo.CONTENT_TYPE);
 
     final String transferEncoding;
-    transferEncoding = headers.header(HeaderName.TRANSFER_ENCODING);
+    transferEncoding = transferEncoding();
 
     if (contentLength != null) {
 
@@ -64,6 +65,15 @@ final class RequestBodyMetaParser {
 
     }
 
+    if (transferEncoding != null) {
+      parseTransferEncoding(transferEncoding);
+
+      final RequestBodyMeta.Type type;
+      type = parseContentType(contentType);
+
+      return RequestBodyMeta.ofChunked(type);
+    }
+
     if (contentType != null) {
       final String msg;
       msg = "Invalid request headers: expected Content-Length";
@@ -71,11 +81,64 @@ final class RequestBodyMetaParser {
       throw new HttpClientException(msg, Kind.LENGTH_REQUIRED);
     }
 
-    if (transferEncoding != null) {
-      throw new HttpServerException(HttpServerException.Kind.TRANSFER_ENCODING);
+    return RequestBodyMeta.ofEmpty();
+  }
+
+  private String contentLength() throws HttpClientException {
+    final String first;
+    first = headers.header(HeaderName.CONTENT_LENGTH);
+
+    if (first == null) {
+      return null;
     }
 
-    return RequestBodyMeta.ofEmpty();
+    // a recipient that reads another of the field lines would frame the
+    // message differently: reject differing values (RFC 9112 Section 6.3)
+    for (String value : headers.headerAll(HeaderName.CONTENT_LENGTH)) {
+      if (!first.equals(value)) {
+        final String msg;
+        msg = "Invalid Content-Length: multiple field lines with differing values";
+
+        throw new HttpClientException(msg, Kind.INVALID_REQUEST_HEADERS);
+      }
+    }
+
+    return first;
+  }
+
+  private String transferEncoding() {
+    final String first;
+    first = headers.header(HeaderName.TRANSFER_ENCODING);
+
+    if (first == null) {
+      return null;
+    }
+
+    // the final transfer coding is the last one of the combined field lines
+    final List<String> all;
+    all = headers.headerAll(HeaderName.TRANSFER_ENCODING);
+
+    return all.size() == 1 ? first : String.join(",", all);
+  }
+
+  private void parseTransferEncoding(String transferEncoding) throws IOException {
+    final String[] codings;
+    codings = transferEncoding.split(",");
+
+    final String last;
+    last = codings[codings.length - 1].strip();
+
+    if (!"chunked".equalsIgnoreCase(last)) {
+      final String msg;
+      msg = "Invalid Transfer-Encoding: chunked must be the final transfer coding";
+
+      throw new HttpClientException(msg, Kind.INVALID_REQUEST_HEADERS);
+    }
+
+    if (codings.length > 1) {
+      // only the chunked transfer coding is supported
+      throw new HttpServerException(HttpServerException.Kind.TRANSFER_ENCODING);
+    }
   }
 
   private long parseContentLength(String contentLength) throws HttpClientException {
@@ -138,12 +201,92 @@ final class RequestBodyMetaParser {
     return length;
   }
 
-  private RequestBodyMeta.Type parseContentType(String contentType) {
+  private RequestBodyMeta.Type parseContentType(String contentType) throws HttpClientException {
     if ("application/x-www-form-urlencoded".equalsIgnoreCase(contentType)) {
       return RequestBodyMeta.TypeKind.APPLICATION_FORM_URLENCODED;
     }
 
+    if (contentType != null && contentType.regionMatches(true, 0, MULTIPART, 0, MULTIPART.length())) {
+      return parseMultipart(contentType);
+    }
+
     return RequestBodyMeta.TypeKind.NONE;
   }
 
+  private static final String MULTIPART = "multipart/form-data";
+
+  private RequestBodyMeta.Type parseMultipart(String contentType) throws HttpClientException {
+    final String rest;
+    rest = contentType.substring(MULTIPART.length()).strip();
+
+    if (!rest.isEmpty() && rest.charAt(0) != ';') {
+      // e.g. multipart/form-dataX
+      return RequestBodyMeta.TypeKind.NONE;
+    }
+
+    String boundary;
+    boundary = null;
+
+    for (String param : rest.split(";")) {
+      final int eq;
+      eq = param.indexOf('=');
+
+      if (eq < 0) {
+        continue;
+      }
+
+      final String name;
+      name = param.substring(0, eq).strip();
+
+      if (!"boundary".equalsIgnoreCase(name)) {
+        continue;
+      }
+
+      String value;
+      value = param.substring(eq + 1).strip();
+
+      if (value.length() > 1 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+        value = value.substring(1, value.length() - 1);
+      }
+
+      boundary = value;
+    }
+
+    if (boundary == null) {
+      final String msg;
+      msg = "Invalid Content-Type: multipart/form-data requires a boundary parameter";
+
+      throw new HttpClientException(msg, Kind.INVALID_REQUEST_HEADERS);
+    }
+
+    // RFC 2046: 1*70 bchars, must not end with a space
+    final int length;
+    length = boundary.length();
+
+    if (length == 0 || length > 70 || boundary.charAt(length - 1) == ' ') {
+      final String msg;
+      msg = "Invalid Content-Type: invalid multipart boundary";
+
+      throw new HttpClientException(msg, Kind.INVALID_REQUEST_HEADERS);
+    }
+
+    for (int idx = 0; idx < length; idx++) {
+      final char c;
+      c = boundary.charAt(idx);
+
+      if (!isBoundaryChar(c)) {
+        final String msg;
+        msg = "Invalid Content-Type: invalid multipart boundary";
+
+        throw new HttpClientException(msg, Kind.INVALID_REQUEST_HEADERS);
+      }
+    }
+
+    return new RequestBodyMeta.Multipart(boundary);
+  }
+
+  private boolean isBoundaryChar(char c) {
+    return Ascii.isLetterOrDigit(c) || "'()+_,-./:=? ".indexOf(c) >= 0;
+  }
+
 }
@@ -0,0 +1,453 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import objectos.internal.Bytes;
+import objectox.http.HttpClientException;
+import objectox.http.HttpClientException.Kind;
+import objectox.http.Rfc;
+
+/// Parses a `multipart/form-data` request body in a single pass as it is
+/// read.
+///
+/// Text fields are collected in memory, up to `memoryMax` bytes each, and
+/// become form parameters. File parts, i.e. parts whose `Content-Disposition`
+/// has a `filename` parameter, are written directly to files obtained from
+/// the `RequestBodyFiles` instance, up to `partMax` bytes each. The total size
+/// is bounded by the underlying body stream.
+final class RequestBodyMultipartParser {
+
+  // bounds the header section of a single part
+  private static final int HEADERS_MAX = 8 * 1024;
+
+  private static final int PARTS_MAX = 1000;
+
+  private final RequestBodySupport bodySupport;
+
+  private final byte[] buffer = new byte[8192];
+
+  private int bufferIndex;
+
+  private int bufferLimit;
+
+  // CRLF "--" boundary
+  private final byte[] delimiter;
+
+  private boolean eof;
+
+  private List<RequestBodyFile> files = List.of();
+
+  private final InputStream input;
+
+  private Map<String, Object> params = Map.of();
+
+  private int parts;
+
+  RequestBodyMultipartParser(RequestBodySupport bodySupport, String boundary, InputStream input) {
+    this.bodySupport = bodySupport;
+
+    delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+
+    this.input = input;
+  }
+
+  public final RequestBodyForm parse() throws IOException {
+    // the first delimiter is not preceded by a CRLF:
+    // act as if it were
+    buffer[0] = Bytes.CR;
+    buffer[1] = Bytes.LF;
+
+    bufferLimit = 2;
+
+    // preamble
+    content(OutputStream.nullOutputStream(), Long.MAX_VALUE);
+
+    while (delimiterEnd()) {
+      parts += 1;
+
+      if (parts > PARTS_MAX) {
+        throw invalid("too many parts");
+      }
+
+      part();
+    }
+
+    // epilogue
+    while (fill()) {
+      bufferIndex = bufferLimit;
+    }
+
+    return new RequestBodyForm(params, files);
+  }
+
+  private void part() throws IOException {
+    String disposition;
+    disposition = null;
+
+    String contentType;
+    contentType = "text/plain";
+
+    int headerBytes;
+    headerBytes = 0;
+
+    while (true) {
+      final String line;
+      line = line(HEADERS_MAX - headerBytes);
+
+      if (line.isEmpty()) {
+        break;
+      }
+
+      headerBytes += line.length() + 2;
+
+      final int colon;
+      colon = line.indexOf(':');
+
+      if (colon <= 0) {
+        throw invalid("invalid part header");
+      }
+
+      final String name;
+      name = line.substring(0, colon).strip();
+
+      final String value;
+      value = line.substring(colon + 1).strip();
+
+      if ("Content-Disposition".equalsIgnoreCase(name)) {
+        disposition = value;
+      }
+
+      else if ("Content-Type".equalsIgnoreCase(name)) {
+        contentType = value;
+      }
+    }
+
+    if (disposition == null) {
+      throw invalid("part without a Content-Disposition header");
+    }
+
+    final Map<String, String> dispositionParams;
+    dispositionParams = disposition(disposition);
+
+    final String name;
+    name = dispositionParams.get("name");
+
+    if (name == null) {
+      throw invalid("part without a name");
+    }
+
+    final String filename;
+    filename = dispositionParams.get("filename");
+
+    if (filename == null) {
+      field(name);
+    } else {
+      file(name, filename, contentType);
+    }
+  }
+
+  private void field(String name) throws IOException {
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream();
+
+    content(out, bodySupport.memoryMax());
+
+    final String value;
+    value = out.toString(StandardCharsets.UTF_8);
+
+    if (params.isEmpty()) {
+      params = new HashMap<>();
+    }
+
+    Rfc.queryParamsAdd(params, name, value);
+  }
+
+  private void file(String name, String filename, String contentType) throws IOException {
+    final Path file;
+    file = bodySupport.partFile();
+
+    final long size;
+
+    try (OutputStream out = Files.newOutputStream(file, RequestBodyDataParser.FIXED_FILE)) {
+      size = content(out, bodySupport.partMax());
+    }
+
+    if (files.isEmpty()) {
+      files = new ArrayList<>();
+    }
+
+    files.add(
+        new RequestBodyFile(name, filename, contentType, file, size)
+    );
+  }
+
+  // copies the bytes up to the next delimiter, which is consumed
+  private long content(OutputStream out, long max) throws IOException {
+    long size;
+    size = 0;
+
+    while (true) {
+      final int found;
+      found = find();
+
+      // bytes which cannot be the start of a delimiter
+      final int end;
+      end = found >= 0 ? found : Math.max(bufferIndex, bufferLimit - delimiter.length + 1);
+
+      final int len;
+      len = end - bufferIndex;
+
+      size += len;
+
+      if (size > max) {
+        final String msg;
+        msg = "The multipart/form-data part exceeds the server's maximum allowed limit: %d".formatted(max);
+
+        throw new HttpClientException(msg, Kind.CONTENT_TOO_LARGE);
+      }
+
+      out.write(buffer, bufferIndex, len);
+
+      bufferIndex = end;
+
+      if (found >= 0) {
+        bufferIndex += delimiter.length;
+
+        return size;
+      }
+
+      if (!fill()) {
+        throw invalid("closing delimiter not found");
+      }
+    }
+  }
+
+  private int find() {
+    final byte first;
+    first = delimiter[0];
+
+    final int last;
+    last = bufferLimit - delimiter.length;
+
+    outer: for (int idx = bufferIndex; idx <= last; idx++) {
+      if (buffer[idx] != first) {
+        continue;
+      }
+
+      for (int j = 1; j < delimiter.length; j++) {
+        if (buffer[idx + j] != delimiter[j]) {
+          continue outer;
+        }
+      }
+
+      return idx;
+    }
+
+    return -1;
+  }
+
+  // returns true if a part follows; false if this is the close delimiter
+  private boolean delimiterEnd() throws IOException {
+    final byte b0;
+    b0 = next();
+
+    if (b0 == '-') {
+      if (next() != '-') {
+        throw invalid("invalid close delimiter");
+      }
+
+      return false;
+    }
+
+    byte b;
+    b = b0;
+
+    // transport-padding
+    while (b == Bytes.SP || b == Bytes.HTAB) {
+      b = next();
+    }
+
+    if (b != Bytes.CR || next() != Bytes.LF) {
+      throw invalid("CRLF expected after delimiter");
+    }
+
+    return true;
+  }
+
+  private String line(int max) throws IOException {
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream();
+
+    while (true) {
+      final byte b;
+      b = next();
+
+      if (b == Bytes.CR) {
+        if (next() != Bytes.LF) {
+          throw invalid("CRLF sequence required as line terminator");
+        }
+
+        return out.toString(StandardCharsets.UTF_8);
+      }
+
+      if (out.size() >= max) {
+        throw invalid("part headers are too large");
+      }
+
+      out.write(b);
+    }
+  }
+
+  private Map<String, String> disposition(String value) throws IOException {
+    final Map<String, String> result;
+    result = new HashMap<>();
+
+    final int length;
+    length = value.length();
+
+    int idx;
+    idx = value.indexOf(';');
+
+    final String type;
+    type = (idx < 0 ? value : value.substring(0, idx)).strip();
+
+    if (!"form-data".equalsIgnoreCase(type)) {
+      throw invalid("Content-Disposition type must be form-data");
+    }
+
+    while (idx >= 0 && idx < length) {
+      // skip ';' and OWS
+      idx += 1;
+
+      while (idx < length && value.charAt(idx) == ' ') {
+        idx += 1;
+      }
+
+      final int eq;
+      eq = value.indexOf('=', idx);
+
+      if (eq < 0) {
+        break;
+      }
+
+      final String name;
+      name = value.substring(idx, eq).strip().toLowerCase();
+
+      idx = eq + 1;
+
+      final StringBuilder sb;
+      sb = new StringBuilder();
+
+      if (idx < length && value.charAt(idx) == '"') {
+        idx += 1;
+
+        while (true) {
+          if (idx >= length) {
+            throw invalid("unterminated quoted-string in Content-Disposition");
+          }
+
+          char c;
+          c = value.charAt(idx++);
+
+          if (c == '"') {
+            break;
+          }
+
+          if (c == '\\' && idx < length) {
+            c = value.charAt(idx++);
+          }
+
+          sb.append(c);
+        }
+
+        idx = value.indexOf(';', idx);
+      } else {
+        final int semicolon;
+        semicolon = value.indexOf(';', idx);
+
+        final int end;
+        end = semicolon < 0 ? length : semicolon;
+
+        sb.append(value, idx, end);
+
+        idx = semicolon;
+      }
+
+      result.putIfAbsent(name, sb.toString().strip());
+    }
+
+    return result;
+  }
+
+  private byte next() throws IOException {
+    if (bufferIndex == bufferLimit && !fill()) {
+      throw invalid("unexpected end of body");
+    }
+
+    return buffer[bufferIndex++];
+  }
+
+  // reads more bytes keeping the unconsumed ones;
+  // returns false if the body has no more bytes
+  private boolean fill() throws IOException {
+    if (eof) {
+      return false;
+    }
+
+    final int remaining;
+    remaining = bufferLimit - bufferIndex;
+
+    if (bufferIndex > 0) {
+      System.arraycopy(buffer, bufferIndex, buffer, 0, remaining);
+
+      bufferIndex = 0;
+
+      bufferLimit = remaining;
+    }
+
+    final int n;
+    n = input.read(buffer, bufferLimit, buffer.length - bufferLimit);
+
+    if (n < 0) {
+      eof = true;
+
+      return false;
+    }
+
+    bufferLimit += n;
+
+    return true;
+  }
+
+  private HttpClientException invalid(String detail) {
+    final String msg;
+    msg = "Invalid multipart/form-data request body: " + detail;
+
+    return new HttpClientException(msg, Kind.INVALID_MULTIPART);
+  }
+
+}
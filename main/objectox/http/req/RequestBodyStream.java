@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.IOException;
+import java.io.InputStream;
+import objectox.http.HttpClientException;
+import objectox.http.HttpClientException.Kind;
+
+/// A request body which is read directly from the connection as the handler
+/// consumes it.
+///
+/// Closing the stream does not close the connection.
+abstract sealed class RequestBodyStream extends InputStream permits RequestBodyChunkedStream, RequestBodyFixedStream {
+
+  final RequestInputStream input;
+
+  private boolean failed;
+
+  private byte[] single;
+
+  RequestBodyStream(RequestInputStream input) {
+    this.input = input;
+  }
+
+  @Override
+  public final int read() throws IOException {
+    if (single == null) {
+      single = new byte[1];
+    }
+
+    final int n;
+    n = read(single, 0, 1);
+
+    return n == -1 ? -1 : Byte.toUnsignedInt(single[0]);
+  }
+
+  @Override
+  public final int read(byte[] b, int off, int len) throws IOException {
+    if (failed) {
+      throw new IOException("Request body stream failed previously");
+    }
+
+    if (len == 0) {
+      return 0;
+    }
+
+    try {
+      return read0(b, off, len);
+    } catch (RequestInputStream.Eof e) {
+      failed = true;
+
+      final String msg;
+      msg = "EOF while reading request body";
+
+      throw new HttpClientException(msg, Kind.INCOMPLETE_REQUEST_BODY);
+    } catch (IOException e) {
+      failed = true;
+
+      throw e;
+    }
+  }
+
+  abstract int read0(byte[] b, int off, int len) throws IOException;
+
+  /// Reads and discards the remaining bytes of the body, at most `max` bytes.
+  /// Returns `true` if the body was fully consumed; returns `false` if the
+  /// body is larger than `max` or if reading from it failed. In the latter
+  /// case, the connection cannot be reused.
+  final boolean discard(long max) {
+    if (failed) {
+      return false;
+    }
+
+    final byte[] sink;
+    sink = new byte[1024];
+
+    long discarded;
+    discarded = 0;
+
+    try {
+      while (true) {
+        final int n;
+        n = read(sink, 0, sink.length);
+
+        if (n == -1) {
+          return true;
+        }
+
+        discarded += n;
+
+        if (discarded > max) {
+          return false;
+        }
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+}
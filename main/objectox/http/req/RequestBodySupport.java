@@ -19,6 +19,8 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import objectos.http.RequestBodyFiles;
 
 public final class RequestBodySupport implements Closeable {
@@ -27,12 +29,16 @@ public final class RequestBodySupport implements Closeable {
 
   private Path file;
 
+  private final List<Path> parts = new ArrayList<>();
+
   public RequestBodySupport(RequestBodyConfig config) {
     this.config = config;
   }
 
   @Override
   public final void close() throws IOException {
+    deleteParts();
+
     if (file != null) {
       final Path deleteMe;
       deleteMe = file;
@@ -43,6 +49,22 @@ public final class RequestBodySupport implements Closeable {
     }
   }
 
+  /// Deletes the files holding the parts of the last `multipart/form-data`
+  /// request body. Files moved away by the handler are left untouched.
+  public final void deleteParts() throws IOException {
+    if (parts.isEmpty()) {
+      return;
+    }
+
+    try {
+      for (Path part : parts) {
+        Files.deleteIfExists(part);
+      }
+    } finally {
+      parts.clear();
+    }
+  }
+
   public final Path file() throws IOException {
     if (file == null) {
       final RequestBodyFiles files;
@@ -64,10 +86,42 @@ public final class RequestBodySupport implements Closeable {
     return file;
   }
 
+  /// Returns a new file for a part of a `multipart/form-data` request body.
+  public final Path partFile() throws IOException {
+    final RequestBodyFiles files;
+    files = config.files();
+
+    final Path f;
+    f = files.get();
+
+    if (f == null) {
+      final String msg;
+      msg = "RequestBodyFiles provided a null file";
+
+      throw new NullPointerException(msg);
+    }
+
+    parts.add(f);
+
+    return f;
+  }
+
+  public final boolean lazy() {
+    return config.lazy();
+  }
+
   public final int memoryMax() {
     return config.memoryMax();
   }
 
+  public final boolean multipartStream() {
+    return config.multipartStream();
+  }
+
+  public final long partMax() {
+    return config.partMax();
+  }
+
   public final long sizeMax() {
     return config.sizeMax();
   }
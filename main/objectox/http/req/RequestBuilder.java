@@ -54,6 +54,10 @@ public final class RequestBuilder implements RequestOptions {
   private SessionPojo session;
 
   public final RequestPojo build() {
+    if (!pathParams.isEmpty()) {
+      attr(RequestPojo.PATH_PARAMS, RequestPathParams.of(pathParams));
+    }
+
     return new RequestPojo(
         attributes,
 
@@ -61,7 +65,7 @@ public final class RequestBuilder implements RequestOptions {
 
         path,
 
-        queryParams,
+        new RequestQueryParams(queryParams),
 
         version,
 
@@ -169,9 +173,7 @@ public final class RequestBuilder implements RequestOptions {
     Objects.requireNonNull(value, "value == null");
 
     if (pathParams.isEmpty()) {
-      pathParams = new HashMap<>();
-
-      attr(RequestPojo.PATH_PARAMS, pathParams);
+      pathParams = new LinkedHashMap<>();
     }
 
     final String existing;
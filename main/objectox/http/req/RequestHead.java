@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/// The bytes of a request head: the request line and the header fields.
+///
+/// While the request is being processed, an instance refers to the connection
+/// buffer itself: the buffer is pinned and the region holding the head is not
+/// overwritten. A connection owns a single instance which is retargeted to the
+/// buffer at the start of each request; if a large body must be read while the
+/// request is still being processed the instance is detached instead: it keeps
+/// a private copy of the region.
+///
+/// When the retention check is enabled, an instance is retired once the
+/// response to its request has been sent: any subsequent access fails.
+final class RequestHead {
+
+  private byte[] buffer;
+
+  private boolean detached;
+
+  RequestHead(byte[] buffer) {
+    this.buffer = buffer;
+  }
+
+  /// Retargets this instance to the specified connection buffer.
+  final void attach(byte[] buffer) {
+    this.buffer = buffer;
+
+    detached = false;
+  }
+
+  /// Copies the first `length` bytes of the buffer, so that this instance no
+  /// longer refers to the connection buffer.
+  final void detach(int length) {
+    if (!detached) {
+      buffer = Arrays.copyOf(buffer(), length);
+
+      detached = true;
+    }
+  }
+
+  /// Prevents any further access to the bytes of this instance.
+  final void retire() {
+    buffer = null;
+
+    detached = true;
+  }
+
+  final byte get(int index) {
+    return buffer()[index];
+  }
+
+  final String string(int start, int end) {
+    return new String(buffer(), start, end - start, StandardCharsets.US_ASCII);
+  }
+
+  private byte[] buffer() {
+    if (buffer == null) {
+      throw new IllegalStateException("Request accessed after its response was sent");
+    }
+
+    return buffer;
+  }
+
+}
@@ -15,17 +15,133 @@
  */
 package objectox.http.req;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import objectos.http.HeaderName;
+import objectox.http.HeaderNamePojo;
 import objectox.http.Rfc;
 
-public record RequestHeaders(Map<HeaderName, Object> headers) {
+/// The header fields of a request.
+///
+/// When parsed from a connection, field lines are recorded as offsets into
+/// the request head; a value is decoded into a string on first access. The
+/// first field line of each standard header name is indexed by the
+/// [HeaderNamePojo#index()] of the name.
+public final class RequestHeaders {
+
+  // (index, nameStart, nameEnd, valueStart, valueEnd) per field line
+  private static final int STRIDE = 5;
+
+  private int[] entries;
+
+  // entry + 1 of the first field line, by standard name index
+  private final int[] first;
+
+  private final RequestHead head;
+
+  // names of the field lines: only if not parsed from a connection
+  private final HeaderName[] names;
+
+  private int size;
+
+  // decoded values, by entry
+  private String[] values;
+
+  RequestHeaders(RequestHead head) {
+    entries = new int[16 * STRIDE];
+
+    first = new int[HeaderNamePojo.VALUES.length];
+
+    this.head = head;
+
+    names = null;
+  }
+
+  public RequestHeaders(Map<HeaderName, Object> headers) {
+    int count;
+    count = 0;
+
+    for (Object value : headers.values()) {
+      count += value instanceof List<?> list ? list.size() : 1;
+    }
+
+    entries = new int[count * STRIDE];
+
+    first = new int[HeaderNamePojo.VALUES.length];
+
+    head = null;
+
+    names = new HeaderName[count];
+
+    values = new String[count];
+
+    for (Map.Entry<HeaderName, Object> entry : headers.entrySet()) {
+      final HeaderNamePojo name;
+      name = (HeaderNamePojo) entry.getKey();
+
+      for (String value : Rfc.queryParamsGetAll(headers, name)) {
+        names[size] = name;
+
+        values[size] = value;
+
+        add(name.index(), 0, 0, 0, 0);
+      }
+    }
+  }
+
+  /// Discards all of the field lines so this instance can be reused for the
+  /// next request of the connection.
+  final void reset() {
+    for (int entry = 0; entry < size; entry++) {
+      final int index;
+      index = entries[entry * STRIDE];
+
+      if (index >= 0) {
+        first[index] = 0;
+      }
+    }
+
+    if (values != null) {
+      Arrays.fill(values, 0, size, null);
+    }
+
+    size = 0;
+  }
+
+  /// Records a field line. A negative index denotes a non-standard name.
+  final void add(int index, int nameStart, int nameEnd, int valueStart, int valueEnd) {
+    final int offset;
+    offset = size * STRIDE;
+
+    if (offset == entries.length) {
+      entries = Arrays.copyOf(entries, offset * 2);
+
+      // this instance may be reused: values must cover every entry
+      if (values != null) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+    }
+
+    entries[offset + 0] = index;
+    entries[offset + 1] = nameStart;
+    entries[offset + 2] = nameEnd;
+    entries[offset + 3] = valueStart;
+    entries[offset + 4] = valueEnd;
+
+    if (index >= 0 && first[index] == 0) {
+      first[index] = size + 1;
+    }
+
+    size++;
+  }
 
   public final boolean closeConnection() {
     final String connection;
-    connection = Rfc.queryParamsGet(headers, HeaderName.CONNECTION);
+    connection = header0(HeaderNamePojo.CONNECTION);
 
     return "close".equalsIgnoreCase(connection);
   }
@@ -33,13 +149,150 @@ public record RequestHeaders(Map<HeaderName, Object> headers) {
   public final String header(HeaderName name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGet(headers, name);
+    return header0((HeaderNamePojo) name);
+  }
+
+  private String header0(HeaderNamePojo name) {
+    final int index;
+    index = name.index();
+
+    if (index >= 0) {
+      final int entry;
+      entry = first[index] - 1;
+
+      return entry >= 0 ? value(entry) : null;
+    }
+
+    for (int entry = 0; entry < size; entry++) {
+      if (matches(entry, name)) {
+        return value(entry);
+      }
+    }
+
+    return null;
   }
 
   public final List<String> headerAll(HeaderName name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGetAll(headers, name);
+    final HeaderNamePojo pojo;
+    pojo = (HeaderNamePojo) name;
+
+    List<String> result;
+    result = List.of();
+
+    for (int entry = 0; entry < size; entry++) {
+      if (matches(entry, pojo)) {
+        if (result.isEmpty()) {
+          result = new ArrayList<>(2);
+        }
+
+        result.add(value(entry));
+      }
+    }
+
+    return result;
+  }
+
+  /// Returns all of the field lines as a map. Values are either a `String` or,
+  /// for repeated names, a `List<String>`.
+  public final Map<HeaderName, Object> headers() {
+    final Map<HeaderName, Object> map;
+    map = new LinkedHashMap<>();
+
+    for (int entry = 0; entry < size; entry++) {
+      Rfc.mapAdd(map, name(entry), value(entry));
+    }
+
+    return map;
+  }
+
+  private boolean matches(int entry, HeaderNamePojo name) {
+    final int offset;
+    offset = entry * STRIDE;
+
+    final int index;
+    index = entries[offset];
+
+    if (index >= 0 || name.index() >= 0) {
+      return index == name.index();
+    }
+
+    if (names != null) {
+      return names[entry].equals(name);
+    }
+
+    final int start;
+    start = entries[offset + 1];
+
+    final int end;
+    end = entries[offset + 2];
+
+    final String lowerCase;
+    lowerCase = name.lowerCase();
+
+    if (lowerCase.length() != end - start) {
+      return false;
+    }
+
+    for (int idx = start; idx < end; idx++) {
+      if (HeaderNamePojo.map(head.get(idx)) != lowerCase.charAt(idx - start)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private HeaderName name(int entry) {
+    if (names != null) {
+      return names[entry];
+    }
+
+    final int offset;
+    offset = entry * STRIDE;
+
+    final int index;
+    index = entries[offset];
+
+    if (index >= 0) {
+      return HeaderNamePojo.VALUES[index];
+    }
+
+    final int start;
+    start = entries[offset + 1];
+
+    final int end;
+    end = entries[offset + 2];
+
+    final char[] lowerCase;
+    lowerCase = new char[end - start];
+
+    for (int idx = start; idx < end; idx++) {
+      lowerCase[idx - start] = (char) HeaderNamePojo.map(head.get(idx));
+    }
+
+    return HeaderNamePojo.ofLowerCase(new String(lowerCase));
+  }
+
+  private String value(int entry) {
+    if (values == null) {
+      values = new String[Math.max(size, entries.length / STRIDE)];
+    }
+
+    String value;
+    value = values[entry];
+
+    if (value == null) {
+      final int offset;
+      offset = entry * STRIDE;
+
+      value = head.string(entries[offset + 3], entries[offset + 4]);
+
+      values[entry] = value;
+    }
+
+    return value;
   }
 
 }
@@ -16,26 +16,46 @@
 package objectox.http.req;
 
 import module java.base;
-import objectos.http.HeaderName;
 import objectos.internal.Bytes;
 import objectox.http.HttpClientException;
 import objectox.http.HeaderNamePojo;
-import objectox.http.Rfc;
 import objectox.http.HttpClientException.Kind;
 
 final class RequestHeadersParser {
 
+  private RequestHeaders headers;
+
   private final RequestInputStream input;
 
-  private Map<HeaderName, Object> map = Map.of();
+  // the lower case name of the current field line
+  private byte[] name = new byte[32];
+
+  private int nameEnd;
+
+  private int nameHash;
+
+  private int nameLength;
 
-  private final StringBuilder sb = new StringBuilder();
+  private int nameStart;
+
+  private int valueEnd;
+
+  private int valueStart;
 
   RequestHeadersParser(RequestInputStream input) {
     this.input = input;
   }
 
-  public final Map<HeaderName, Object> parse() throws IOException {
+  public final RequestHeaders parse() throws IOException {
+    return parse(new RequestHeaders(input.head()));
+  }
+
+  /// Parses the field lines of the current request into the specified (empty)
+  /// instance, so a single parser can be used for all of the requests of a
+  /// connection.
+  final RequestHeaders parse(RequestHeaders headers) throws IOException {
+    this.headers = headers;
+
     try {
       return parse0();
     } catch (RequestInputStream.Eof e) {
@@ -51,22 +71,24 @@ final class RequestHeadersParser {
     }
   }
 
-  private Map<HeaderName, Object> parse0() throws IOException {
+  private RequestHeaders parse0() throws IOException {
     while (true) {
       if (parseTerminator()) {
         break;
       }
 
-      final HeaderName name;
-      name = parseName();
+      final HeaderNamePojo standard;
+      standard = parseName();
+
+      parseValue();
 
-      final String value;
-      value = parseValue();
+      final int index;
+      index = standard != null ? standard.index() : -1;
 
-      put(name, value);
+      headers.add(index, nameStart, nameEnd, valueStart, valueEnd);
     }
 
-    return map;
+    return headers;
   }
 
   private boolean parseTerminator() throws IOException {
@@ -101,7 +123,15 @@ final class RequestHeadersParser {
     };
   }
 
-  private HeaderName parseName() throws IOException {
+  /// Returns the standard name of the field line, or `null` if the name is not
+  /// a standard one.
+  private HeaderNamePojo parseName() throws IOException {
+    nameStart = input.bufferIndex();
+
+    nameHash = 0;
+
+    nameLength = 0;
+
     while (true) {
       final byte b;
       b = input.readByte();
@@ -118,21 +148,13 @@ final class RequestHeadersParser {
         }
 
         case HeaderNamePojo.COLON -> {
-          final String lowerCase;
-          lowerCase = makeString();
+          nameEnd = input.bufferIndex() - 1;
 
-          final HeaderNamePojo standard;
-          standard = HeaderNamePojo.byLowerCase(lowerCase);
-
-          if (standard != null) {
-            return standard;
-          } else {
-            return HeaderNamePojo.ofLowerCase(lowerCase);
-          }
+          return HeaderNamePojo.byLowerCase(name, nameLength, nameHash);
         }
 
         default -> {
-          appendChar(mapped);
+          appendName(mapped);
         }
       }
     }
@@ -169,7 +191,7 @@ final class RequestHeadersParser {
     HEADER_VALUE_TABLE = table;
   }
 
-  private String parseValue() throws IOException {
+  private void parseValue() throws IOException {
     int startIndex;
 
     // skip OWS
@@ -195,7 +217,9 @@ final class RequestHeadersParser {
           final int endIndex;
           endIndex = input.bufferIndex();
 
-          return parseHeaderValueCR(startIndex, endIndex);
+          parseHeaderValueCR(startIndex, endIndex);
+
+          return;
         }
 
         case HEADER_VALUE_LF -> {
@@ -238,7 +262,9 @@ final class RequestHeadersParser {
           final int endIndex;
           endIndex = validIndex + 1;
 
-          return parseHeaderValueCR(startIndex, endIndex);
+          parseHeaderValueCR(startIndex, endIndex);
+
+          return;
         }
 
         case HEADER_VALUE_LF -> {
@@ -258,9 +284,11 @@ final class RequestHeadersParser {
     }
   }
 
-  private String parseHeaderValueCR(int startIndex, int endIndex) throws IOException {
-    final String value;
-    value = input.makeStr(startIndex, endIndex);
+  private void parseHeaderValueCR(int startIndex, int endIndex) throws IOException {
+    valueStart = startIndex;
+
+    // endIndex is one past the position following the value
+    valueEnd = endIndex - 1;
 
     final byte lf;
     lf = input.readByte();
@@ -271,29 +299,16 @@ final class RequestHeadersParser {
 
       throw new HttpClientException(msg, Kind.LINE_TERMINATOR);
     }
-
-    return value;
-  }
-
-  private void appendChar(byte b) {
-    sb.append((char) b);
-  }
-
-  private String makeString() {
-    final String res;
-    res = sb.toString();
-
-    sb.setLength(0);
-
-    return res;
   }
 
-  private void put(HeaderName name, String value) {
-    if (map.isEmpty()) {
-      map = new HashMap<>();
+  private void appendName(byte b) {
+    if (nameLength == name.length) {
+      name = Arrays.copyOf(name, nameLength * 2);
     }
 
-    Rfc.mapAdd(map, name, value);
+    name[nameLength++] = b;
+
+    nameHash = 31 * nameHash + b;
   }
 
 }
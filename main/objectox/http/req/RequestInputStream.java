@@ -16,6 +16,7 @@
 package objectox.http.req;
 
 import module java.base;
+import objectox.http.BufferPool;
 import objectox.http.HttpClientException;
 
 public final class RequestInputStream extends InputStream {
@@ -26,18 +27,82 @@ public final class RequestInputStream extends InputStream {
   @SuppressWarnings("serial")
   static final class Overflow extends IOException {}
 
-  private final byte[] buffer;
+  private static final Flushable NOOP = () -> {};
+
+  // how long a pooled buffer is held waiting for the next request
+  // before the connection is considered idle
+  private static final int POLL_MILLIS = 10;
+
+  private byte[] buffer;
 
   private int bufferIndex;
 
   private int bufferLimit;
 
+  private final int bufferSize;
+
+  private final Flushable beforeRead;
+
+  // the head of the current request: reused across requests unless retired
+  private RequestHead head;
+
+  // the length of the pinned head, once it has been fully read
+  private int headLength = -1;
+
   private final InputStream inputStream;
 
+  private final BufferPool pool;
+
+  private final byte[] single;
+
+  private final RequestTimeouts timeouts;
+
   public RequestInputStream(byte[] buffer, InputStream inputStream) {
+    this(buffer, NOOP, inputStream, RequestTimeouts.NONE);
+  }
+
+  public RequestInputStream(byte[] buffer, Flushable beforeRead, InputStream inputStream) {
+    this(buffer, beforeRead, inputStream, RequestTimeouts.NONE);
+  }
+
+  /// Creates a new instance which invokes `beforeRead` prior to each read
+  /// operation on the underlying input stream. It allows for deferred
+  /// (pipelined) responses to be written out before the connection blocks on
+  /// a read. Reads are bounded by the specified `timeouts`.
+  public RequestInputStream(byte[] buffer, Flushable beforeRead, InputStream inputStream, RequestTimeouts timeouts) {
     this.buffer = buffer;
 
+    this.bufferSize = buffer.length;
+
+    this.beforeRead = beforeRead;
+
     this.inputStream = inputStream;
+
+    this.pool = null;
+
+    this.single = null;
+
+    this.timeouts = timeouts;
+  }
+
+  /// Creates a new instance which borrows its buffer from the specified pool
+  /// only while a request is being read. The buffer is returned to the pool
+  /// while the connection is idle, provided the specified timeouts are bound
+  /// to the connection's socket.
+  public RequestInputStream(BufferPool pool, int bufferSize, Flushable beforeRead, InputStream inputStream, RequestTimeouts timeouts) {
+    this.buffer = null;
+
+    this.bufferSize = bufferSize;
+
+    this.beforeRead = beforeRead;
+
+    this.inputStream = inputStream;
+
+    this.pool = pool;
+
+    this.single = new byte[1];
+
+    this.timeouts = timeouts;
   }
 
   static RequestInputStream of(int bufferSize, Socket socket) throws IOException {
@@ -52,6 +117,14 @@ public final class RequestInputStream extends InputStream {
     return bufferIndex;
   }
 
+  /// Returns `true` if there are buffered bytes not yet consumed; `false`
+  /// otherwise. When this method is invoked after a request has been fully
+  /// consumed, a `true` value indicates that the client has pipelined the next
+  /// request.
+  public final boolean buffered() {
+    return bufferIndex < bufferLimit;
+  }
+
   public final void bufferTo(OutputStream out, int len) throws IOException {
     final int nextIndex;
     nextIndex = bufferIndex + len;
@@ -65,6 +138,50 @@ public final class RequestInputStream extends InputStream {
     bufferIndex = nextIndex;
   }
 
+  /// Copies `len` buffered bytes to the specified array.
+  public final void bufferTo(byte[] dst, int off, int len) {
+    final int nextIndex;
+    nextIndex = bufferIndex + len;
+
+    if (nextIndex > bufferLimit) {
+      throw new IllegalArgumentException("length will overflow bufferIndex");
+    }
+
+    System.arraycopy(buffer, bufferIndex, dst, off, len);
+
+    bufferIndex = nextIndex;
+  }
+
+  /// Returns the head of the current request. The buffer region holding it
+  /// remains pinned until [#unpin()] is invoked.
+  final RequestHead head() {
+    if (head == null) {
+      head = new RequestHead(buffer);
+    }
+
+    return head;
+  }
+
+  /// Releases the buffer region holding the head of the current request. The
+  /// bytes are not copied: the head instance is retargeted at the start of the
+  /// next request.
+  public final void unpin() {
+    headLength = -1;
+  }
+
+  /// Releases the buffer region holding the head of the current request and
+  /// retires the head instance: any subsequent access to it fails. The next
+  /// request gets a new head instance.
+  public final void retire() {
+    if (head != null) {
+      head.retire();
+
+      head = null;
+    }
+
+    headLength = -1;
+  }
+
   public final String makeStr(int startIndex) {
     return makeStr(startIndex, bufferIndex);
   }
@@ -138,16 +255,32 @@ public final class RequestInputStream extends InputStream {
     }
 
     if (buffered == 0) {
+      beforeRead.flush();
+
+      // do not overwrite the pinned head, unless it leaves too little room
+      int offset;
+      offset = head != null && headLength >= 0 ? headLength : 0;
+
+      if (offset > bufferSize / 2) {
+        head.detach(headLength);
+
+        headLength = -1;
+
+        offset = 0;
+      }
+
       final int read;
-      read = inputStream.read(buffer, 0, buffer.length);
+      read = timeouts.read(inputStream, buffer, offset, bufferSize - offset);
 
       if (read < 0) {
         throw new Eof();
       }
 
-      bufferIndex = 0;
+      bufferIndex = offset;
 
-      return bufferLimit = read;
+      bufferLimit = offset + read;
+
+      return read;
     }
 
     throw new IllegalStateException("buffered bytes < 0");
@@ -155,14 +288,16 @@ public final class RequestInputStream extends InputStream {
 
   public final int readToBuffer() throws IOException {
     final int writableLength;
-    writableLength = buffer.length - bufferLimit;
+    writableLength = bufferSize - bufferLimit;
 
     if (writableLength == 0) {
       throw new Overflow();
     }
 
+    beforeRead.flush();
+
     final int bytesRead;
-    bytesRead = inputStream.read(buffer, bufferLimit, writableLength);
+    bytesRead = timeouts.read(inputStream, buffer, bufferLimit, writableLength);
 
     assert bytesRead != 0 : "InputStream.read should not return 0 when writableLength != 0";
 
@@ -173,17 +308,127 @@ public final class RequestInputStream extends InputStream {
     return bytesRead;
   }
 
+  /// Signals that the request head has been consumed: subsequent reads are
+  /// bounded by the body timeout. The body deadline starts on the first read
+  /// of the body, so the time a handler takes before reading a lazy body does
+  /// not count against it.
+  public final void startBody() {
+    if (head != null) {
+      headLength = bufferIndex;
+    }
+
+    timeouts.startOnRead(RequestTimeouts.Phase.BODY);
+  }
+
   public final void skipByte() {
     bufferIndex += 1;
   }
 
   public final boolean start() throws IOException {
+    unpin();
+
+    final boolean started;
+    started = start0();
+
+    if (started && head != null) {
+      head.attach(buffer);
+    }
+
+    return started;
+  }
+
+  private boolean start0() throws IOException {
+    // bytes of a pipelined request may have been read along with the
+    // previous request: move them to the start of the buffer
+    final int leftover;
+    leftover = bufferLimit - bufferIndex;
+
+    if (leftover > 0) {
+      System.arraycopy(buffer, bufferIndex, buffer, 0, leftover);
+
+      bufferIndex = 0;
+
+      bufferLimit = leftover;
+
+      timeouts.start(RequestTimeouts.Phase.HEAD);
+
+      return true;
+    }
+
     bufferIndex = bufferLimit = 0;
 
+    timeouts.start(RequestTimeouts.Phase.IDLE);
+
+    if (pool != null) {
+      return startPooled();
+    }
+
     final int bytesRead;
     bytesRead = readToBuffer();
 
-    return bytesRead != -1;
+    if (bytesRead == -1) {
+      return false;
+    }
+
+    // the first bytes of the request have arrived
+    timeouts.start(RequestTimeouts.Phase.HEAD);
+
+    return true;
+  }
+
+  private boolean startPooled() throws IOException {
+    beforeRead.flush();
+
+    if (buffer == null) {
+      buffer = pool.borrow(bufferSize);
+    }
+
+    // on a busy connection the next request is usually already on its way:
+    // read it straight into the buffer
+    int bytesRead;
+    bytesRead = timeouts.poll(inputStream, buffer, 0, bufferSize, POLL_MILLIS);
+
+    if (bytesRead == 0) {
+      // the connection is idle and may remain so for a long time:
+      // wait for the first byte without holding a buffer
+      release();
+
+      bytesRead = timeouts.read(inputStream, single, 0, 1);
+
+      if (bytesRead == -1) {
+        return false;
+      }
+
+      buffer = pool.borrow(bufferSize);
+
+      buffer[0] = single[0];
+    }
+
+    if (bytesRead == -1) {
+      release();
+
+      return false;
+    }
+
+    bufferLimit = bytesRead;
+
+    timeouts.start(RequestTimeouts.Phase.HEAD);
+
+    return true;
+  }
+
+  /// Returns the buffer to the pool, if this instance was created with a pool.
+  /// Any buffered bytes are discarded.
+  public final void release() {
+    unpin();
+
+    if (pool != null && buffer != null) {
+      pool.release(buffer);
+
+      buffer = null;
+
+      bufferIndex = bufferLimit = 0;
+    }
   }
 
   private int ensureBuffer() throws IOException {
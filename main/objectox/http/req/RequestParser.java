@@ -25,16 +25,61 @@ import objectox.http.HttpServerException;
 import objectox.http.RequestMethodEnum;
 import objectox.http.Version0;
 
+/// Parses the requests of a single connection.
+///
+/// A connection owns one instance of each of the parsers; their state is reset
+/// before each request. The request object itself, along with its attributes,
+/// query parameters and headers, is also reused: handlers must not retain it
+/// after their response has been sent. When the retention check is enabled,
+/// new request objects are created for each request instead, and they are
+/// retired after the response is sent: a retained request fails on access.
 public final class RequestParser {
 
+  private final RequestHeadersParser headersParser;
+
+  private final RequestMethodParser methodParser;
+
+  private final RequestPathParser pathParser;
+
+  private final RequestQueryParser queryParser;
+
+  // the current (or last) request
+  private RequestPojo request;
+
   private final RequestBodySupport requestBodySupport;
 
   private final RequestInputStream requestInputStream;
 
+  private final boolean retentionCheck;
+
+  private final RequestVersionParser versionParser;
+
   public RequestParser(RequestBodySupport requestBodySupport, RequestInputStream requestInputStream) {
+    this(requestBodySupport, requestInputStream, false);
+  }
+
+  public RequestParser(RequestBodySupport requestBodySupport, RequestInputStream requestInputStream, boolean retentionCheck) {
+    headersParser = new RequestHeadersParser(requestInputStream);
+
+    methodParser = new RequestMethodParser(requestInputStream);
+
+    pathParser = new RequestPathParser(requestInputStream);
+
+    queryParser = new RequestQueryParser(requestInputStream);
+
     this.requestBodySupport = requestBodySupport;
 
     this.requestInputStream = requestInputStream;
+
+    this.retentionCheck = retentionCheck;
+
+    versionParser = new RequestVersionParser(requestInputStream);
+  }
+
+  /// Returns `true` if the bytes of a (pipelined) request are already
+  /// buffered; `false` otherwise.
+  public final boolean hasBuffered() {
+    return requestInputStream.buffered();
   }
 
   public final boolean hasNext() throws IOException {
@@ -43,46 +88,28 @@ public final class RequestParser {
 
   public final RequestPojo parse() throws IOException {
     // method
-    final RequestMethodParser methodParser;
-    methodParser = new RequestMethodParser(requestInputStream);
-
     final RequestMethodEnum method;
     method = methodParser.parse();
 
     validate(method);
 
     // path
-    final RequestPathParser pathParser;
-    pathParser = new RequestPathParser(requestInputStream);
-
     final String path;
     path = pathParser.parse();
 
     // query
-    final RequestQueryParser queryParser;
-    queryParser = new RequestQueryParser(requestInputStream);
-
-    final Map<String, Object> queryParams;
-    queryParams = queryParser.parse();
+    final RequestQueryParams queryParams;
+    queryParams = queryParser.parse(queryParams());
 
     // version
-    final RequestVersionParser versionParser;
-    versionParser = new RequestVersionParser(requestInputStream);
-
     final Version0 version;
     version = versionParser.parse();
 
     validate(version);
 
     // headers
-    final RequestHeadersParser headersParser;
-    headersParser = new RequestHeadersParser(requestInputStream);
-
-    final Map<HeaderName, Object> headersMap;
-    headersMap = headersParser.parse();
-
     final RequestHeaders headers;
-    headers = new RequestHeaders(headersMap);
+    headers = headersParser.parse(headers());
 
     validate(headers);
 
@@ -94,6 +121,16 @@ public final class RequestParser {
     bodyMeta = bodyMetaParser.parse();
 
     // body data
+    requestInputStream.startBody();
+
+    if (requestBodySupport.lazy()) {
+      return lazy(method, path, queryParams, version, headers, bodyMeta);
+    }
+
+    if (requestBodySupport.multipartStream() && bodyMeta.type() instanceof RequestBodyMeta.Multipart(String boundary)) {
+      return multipart(method, path, queryParams, version, headers, bodyMeta, boundary);
+    }
+
     final RequestBodyDataParser bodyDataParser;
     bodyDataParser = new RequestBodyDataParser(
         requestBodySupport,
@@ -107,41 +144,180 @@ public final class RequestParser {
     bodyData = bodyDataParser.parse();
 
     // body form
-    final Map<String, Object> formParams;
-    formParams = switch (bodyMeta.type()) {
+    final RequestBodyForm bodyForm;
+    bodyForm = switch (bodyMeta.type()) {
       case RequestBodyMeta.TypeKind.APPLICATION_FORM_URLENCODED -> {
         try (InputStream in = bodyData.open()) {
           final RequestBodyFormParser parser;
           parser = new RequestBodyFormParser(in);
 
+          yield new RequestBodyForm(parser.parse());
+        }
+      }
+
+      case RequestBodyMeta.Multipart(String boundary) -> {
+        try (InputStream in = bodyData.open()) {
+          final RequestBodyMultipartParser parser;
+          parser = new RequestBodyMultipartParser(requestBodySupport, boundary, in);
+
           yield parser.parse();
         }
       }
 
-      default -> Map.of();
+      default -> new RequestBodyForm(Map.of());
     };
 
+    // body final
+    return request(method, path, queryParams, version, headers, bodyData, bodyForm);
+  }
+
+  private RequestPojo lazy(
+      RequestMethodEnum method, String path, RequestQueryParams queryParams, Version0 version, RequestHeaders headers, RequestBodyMeta bodyMeta) throws IOException {
+    final RequestBodyStream stream;
+    stream = stream(bodyMeta.data());
+
+    final RequestBodyData bodyData;
+    bodyData = stream != null ? RequestBodyData.of(stream) : RequestBodyData.ofNull();
+
     final RequestBodyForm bodyForm;
-    bodyForm = new RequestBodyForm(formParams);
+    bodyForm = switch (bodyMeta.type()) {
+      case RequestBodyMeta.TypeKind.APPLICATION_FORM_URLENCODED -> RequestBodyForm.lazy(bodyData);
 
-    // body final
-    return new RequestPojo(
-        new RequestAttributes(),
+      case RequestBodyMeta.Multipart(String boundary) -> RequestBodyForm.lazy(requestBodySupport, boundary, bodyData);
+
+      default -> new RequestBodyForm(Map.of());
+    };
 
-        method,
+    return request(method, path, queryParams, version, headers, bodyData, bodyForm);
+  }
 
-        path,
+  // single pass: the parts are read directly from the connection,
+  // the body bytes themselves are not kept
+  private RequestPojo multipart(
+      RequestMethodEnum method, String path, RequestQueryParams queryParams, Version0 version, RequestHeaders headers, RequestBodyMeta bodyMeta,
+      String boundary) throws IOException {
+    final RequestBodyStream stream;
+    stream = stream(bodyMeta.data());
 
-        queryParams,
+    final RequestBodyForm bodyForm;
 
-        version,
+    if (stream == null) {
+      bodyForm = new RequestBodyForm(Map.of());
+    } else {
+      final RequestBodyMultipartParser parser;
+      parser = new RequestBodyMultipartParser(requestBodySupport, boundary, stream);
 
-        headers,
+      bodyForm = parser.parse();
+    }
 
-        bodyData,
+    return request(method, path, queryParams, version, headers, RequestBodyData.ofNull(), bodyForm);
+  }
 
-        bodyForm
-    );
+  private RequestQueryParams queryParams() {
+    if (request == null || retentionCheck) {
+      return new RequestQueryParams(requestInputStream.head());
+    }
+
+    final RequestQueryParams params;
+    params = request.queryParams();
+
+    params.reset();
+
+    return params;
+  }
+
+  private RequestHeaders headers() {
+    if (request == null || retentionCheck) {
+      return new RequestHeaders(requestInputStream.head());
+    }
+
+    final RequestHeaders headers;
+    headers = request.headers();
+
+    headers.reset();
+
+    return headers;
+  }
+
+  private RequestPojo request(
+      RequestMethodEnum method, String path, RequestQueryParams queryParams, Version0 version, RequestHeaders headers, RequestBodyData bodyData,
+      RequestBodyForm bodyForm) {
+    if (request == null || retentionCheck) {
+      request = new RequestPojo(
+          new RequestAttributes(),
+
+          method,
+
+          path,
+
+          queryParams,
+
+          version,
+
+          headers,
+
+          bodyData,
+
+          bodyForm
+      );
+    } else {
+      request.reset(method, path, queryParams, version, headers, bodyData, bodyForm);
+    }
+
+    return request;
+  }
+
+  private RequestBodyStream stream(RequestBodyMeta.Data data) throws IOException {
+    return switch (data) {
+      case RequestBodyMeta.DataKind.EMPTY -> null;
+
+      case RequestBodyMeta.DataKind.CHUNKED -> new RequestBodyChunkedStream(requestInputStream, requestBodySupport.sizeMax());
+
+      case RequestBodyMeta.Fixed(long length) -> {
+        final long sizeMax;
+        sizeMax = requestBodySupport.sizeMax();
+
+        if (length > sizeMax) {
+          final String msg;
+          msg = "The request message body exceeds the server's maximum allowed limit: %d > %d".formatted(length, sizeMax);
+
+          throw new HttpClientException(msg, HttpClientException.Kind.CONTENT_TOO_LARGE);
+        }
+
+        yield new RequestBodyFixedStream(requestInputStream, length);
+      }
+    };
+  }
+
+  /// Deletes the files of the `multipart/form-data` parts of the last
+  /// request, if any, and releases its head from the connection buffer. If the
+  /// retention check is enabled, the request is also retired. Invoked once its
+  /// response has been sent.
+  public final void release() throws IOException {
+    if (retentionCheck) {
+      if (request != null) {
+        request.retire();
+
+        request = null;
+      }
+
+      requestInputStream.retire();
+    } else {
+      requestInputStream.unpin();
+    }
+
+    requestBodySupport.deleteParts();
+  }
+
+  /// Completes the processing of the specified request after its handler has
+  /// returned. Returns `true` if the connection can be reused; returns `false`
+  /// if the connection must be closed, i.e., the handler did not consume a
+  /// large lazily read body.
+  public final boolean finish(RequestPojo request) {
+    final RequestBodyData bodyData;
+    bodyData = request.bodyData();
+
+    return bodyData.discard(requestBodySupport.memoryMax());
   }
 
   private void validate(RequestMethodEnum method) throws HttpServerException {
@@ -176,13 +352,6 @@ public final class RequestParser {
 
       throw new HttpClientException(msg, HttpClientException.Kind.HOST_HEADER);
     }
-
-    final String transferEncoding;
-    transferEncoding = headers.header(HeaderName.TRANSFER_ENCODING);
-
-    if (transferEncoding != null) {
-      throw new HttpServerException(HttpServerException.Kind.TRANSFER_ENCODING);
-    }
   }
 
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/// The path parameters of a request, recorded as offsets into the request
+/// path. The value of a parameter is only materialized as a string when it is
+/// first requested; [#getAsInt(String, int)] parses the value in place.
+///
+/// A connection reuses a single instance for capturing the parameters of all
+/// of its requests: see [#capture(String, int)].
+public final class RequestPathParams {
+
+  private static final int[] EMPTY = new int[0];
+
+  // (start, end) pairs written while matching a path
+  private int[] capture;
+
+  private String[] names;
+
+  // true if the names array belongs to a route and must not be written to
+  private boolean namesShared;
+
+  // (start, end) pairs, indexed by the index of the name
+  private int[] offsets;
+
+  private String path;
+
+  private int size;
+
+  private String[] values;
+
+  public RequestPathParams(String path, int capacity) {
+    capture = EMPTY;
+
+    names = new String[capacity];
+
+    this.path = path;
+
+    offsets = new int[capacity * 2];
+  }
+
+  /// Creates an instance holding the specified name-value pairs. The values
+  /// are laid out in a single string so they can be referenced by offsets.
+  public static RequestPathParams of(Map<String, String> params) {
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    for (String value : params.values()) {
+      sb.append(value);
+    }
+
+    final RequestPathParams result;
+    result = new RequestPathParams(sb.toString(), params.size());
+
+    int start;
+    start = 0;
+
+    for (Map.Entry<String, String> entry : params.entrySet()) {
+      final int end;
+      end = start + entry.getValue().length();
+
+      result.add(entry.getKey(), start, end);
+
+      start = end;
+    }
+
+    return result;
+  }
+
+  /// Discards the parameters of the previous request and prepares this
+  /// instance for capturing at most `depth` parameters of the specified path.
+  /// The offsets of a candidate match are written to the array returned by
+  /// [#captureOffsets()]; those of the best match so far are saved with
+  /// [#captureBest(int)]; the names of the parameters are set last with
+  /// [#captureNames(String[])].
+  public final void capture(String path, int depth) {
+    if (values != null) {
+      Arrays.fill(values, 0, Math.min(size, values.length), null);
+    }
+
+    this.path = path;
+
+    size = 0;
+
+    final int length;
+    length = depth * 2;
+
+    if (capture.length < length) {
+      capture = new int[length];
+    }
+
+    if (offsets.length < length) {
+      offsets = new int[length];
+    }
+  }
+
+  /// Saves the offsets of the first `count` parameters of the current
+  /// candidate match as the best match so far.
+  public final void captureBest(int count) {
+    System.arraycopy(capture, 0, offsets, 0, count * 2);
+  }
+
+  /// Sets the names of the parameters of the best match. The specified array
+  /// is shared, not copied: it must not be modified afterwards.
+  public final void captureNames(String[] names) {
+    this.names = names;
+
+    namesShared = true;
+
+    size = names.length;
+  }
+
+  /// Returns the array holding the (start, end) offsets of the current
+  /// candidate match, indexed by depth.
+  public final int[] captureOffsets() {
+    return capture;
+  }
+
+  /// Records the parameter of the specified name whose value spans the
+  /// specified range of the request path.
+  public final void add(String name, int start, int end) {
+    if (namesShared || size == names.length) {
+      final int capacity;
+      capacity = Math.max(4, size * 2);
+
+      names = Arrays.copyOf(names, capacity);
+
+      namesShared = false;
+
+      offsets = Arrays.copyOf(offsets, capacity * 2);
+    }
+
+    names[size] = name;
+
+    offsets[size * 2] = start;
+
+    offsets[size * 2 + 1] = end;
+
+    size++;
+  }
+
+  /// Returns the value of the parameter with the specified name, or `null` if
+  /// there is no such parameter.
+  public final String get(String name) {
+    final int index;
+    index = indexOf(name);
+
+    return index < 0 ? null : value(index);
+  }
+
+  /// Returns, as an `int`, the value of the parameter with the specified name,
+  /// or the specified default value if there is no such parameter or if its
+  /// value is not a valid `int`.
+  public final int getAsInt(String name, int defaultValue) {
+    final int index;
+    index = indexOf(name);
+
+    if (index < 0) {
+      return defaultValue;
+    }
+
+    try {
+      return Integer.parseInt(path, offsets[index * 2], offsets[index * 2 + 1], 10);
+    } catch (NumberFormatException expected) {
+      return defaultValue;
+    }
+  }
+
+  public final String name(int index) {
+    return names[index];
+  }
+
+  public final int size() {
+    return size;
+  }
+
+  public final String value(int index) {
+    // this instance may be reused: values must cover every parameter
+    if (values == null || values.length < size) {
+      values = new String[size];
+    }
+
+    String value;
+    value = values[index];
+
+    if (value == null) {
+      value = path.substring(offsets[index * 2], offsets[index * 2 + 1]);
+
+      values[index] = value;
+    }
+
+    return value;
+  }
+
+  @Override
+  public final String toString() {
+    final StringBuilder sb;
+    sb = new StringBuilder();
+
+    sb.append('{');
+
+    for (int idx = 0; idx < size; idx++) {
+      if (idx > 0) {
+        sb.append(", ");
+      }
+
+      sb.append(names[idx]);
+
+      sb.append('=');
+
+      sb.append(path, offsets[idx * 2], offsets[idx * 2 + 1]);
+    }
+
+    sb.append('}');
+
+    return sb.toString();
+  }
+
+  private int indexOf(String name) {
+    for (int idx = 0; idx < size; idx++) {
+      if (names[idx].equals(name)) {
+        return idx;
+      }
+    }
+
+    return -1;
+  }
+
+}
@@ -40,6 +40,13 @@ final class RequestPathParser {
   }
 
   public final String parse() throws IOException {
+    // a single instance parses all of the requests of a connection
+    done = false;
+
+    dot = solidus = 0;
+
+    path.setLength(0);
+
     try {
       return parse0();
     } catch (RequestInputStream.Eof e) {
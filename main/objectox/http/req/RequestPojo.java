@@ -16,37 +16,78 @@
 package objectox.http.req;
 
 import module java.base;
+import objectos.http.FormFile;
 import objectos.http.HeaderName;
 import objectos.http.Request;
 import objectos.http.RequestMethod;
 import objectos.lang.Key;
-import objectox.http.Rfc;
 import objectox.http.Version0;
 import objectox.http.session.Session;
 import objectox.http.session.SessionAbsent;
 
 /// Provides methods for inspecting the request message of an HTTP exchange.
-public record RequestPojo(
+///
+/// A connection reuses a single instance for all of its requests: it is reset
+/// before each request. When the retention check is enabled, a new instance is
+/// created for each request instead, and it is retired once its response has
+/// been sent: any subsequent access fails with an `IllegalStateException`.
+public final class RequestPojo implements Request {
 
-    RequestAttributes attributes,
+  public static final Key<RequestPathParams> PATH_PARAMS = Key.of("objectos.http.PathParams");
 
-    RequestMethod method,
+  private RequestAttributes attributes;
 
-    String path,
+  private RequestMethod method;
 
-    Map<String, Object> queryParams,
+  private String path;
 
-    Version0 version,
+  private RequestQueryParams queryParams;
 
-    RequestHeaders headers,
+  private Version0 version;
 
-    RequestBodyData bodyData,
+  private RequestHeaders headers;
 
-    RequestBodyForm bodyForm
+  private RequestBodyData bodyData;
 
-) implements Request {
+  private RequestBodyForm bodyForm;
 
-  public static final Key<Map<String, String>> PATH_PARAMS = Key.of("objectos.http.PathParams");
+  // reused by all of the requests of the connection
+  private RequestPathParams pathParams;
+
+  private boolean retired;
+
+  public RequestPojo(
+      RequestAttributes attributes,
+
+      RequestMethod method,
+
+      String path,
+
+      RequestQueryParams queryParams,
+
+      Version0 version,
+
+      RequestHeaders headers,
+
+      RequestBodyData bodyData,
+
+      RequestBodyForm bodyForm) {
+    this.attributes = attributes;
+
+    this.method = method;
+
+    this.path = path;
+
+    this.queryParams = queryParams;
+
+    this.version = version;
+
+    this.headers = headers;
+
+    this.bodyData = bodyData;
+
+    this.bodyForm = bodyForm;
+  }
 
   public static RequestPojo create0(Consumer<? super RequestBuilder> opts) {
     final RequestBuilder builder;
@@ -57,8 +98,114 @@ public record RequestPojo(
     return builder.build();
   }
 
+  /// Reuses this instance for the next request of the connection. The
+  /// attributes of the previous request are discarded.
+  final void reset(
+      RequestMethod method,
+
+      String path,
+
+      RequestQueryParams queryParams,
+
+      Version0 version,
+
+      RequestHeaders headers,
+
+      RequestBodyData bodyData,
+
+      RequestBodyForm bodyForm) {
+    attributes.clear();
+
+    this.method = method;
+
+    this.path = path;
+
+    this.queryParams = queryParams;
+
+    this.version = version;
+
+    this.headers = headers;
+
+    this.bodyData = bodyData;
+
+    this.bodyForm = bodyForm;
+  }
+
+  /// Prevents any further access to this instance.
+  final void retire() {
+    retired = true;
+  }
+
+  private void checkRetired() {
+    if (retired) {
+      throw new IllegalStateException("Request accessed after its response was sent: it must not be retained");
+    }
+  }
+
+  public final RequestAttributes attributes() {
+    checkRetired();
+
+    return attributes;
+  }
+
+  /// Returns the instance for capturing the path parameters of this request.
+  /// A connection reuses a single instance for all of its requests.
+  public final RequestPathParams pathParams() {
+    checkRetired();
+
+    if (pathParams == null) {
+      pathParams = new RequestPathParams(path, 0);
+    }
+
+    return pathParams;
+  }
+
+  @Override
+  public final RequestMethod method() {
+    checkRetired();
+
+    return method;
+  }
+
+  @Override
+  public final String path() {
+    checkRetired();
+
+    return path;
+  }
+
+  public final RequestQueryParams queryParams() {
+    checkRetired();
+
+    return queryParams;
+  }
+
+  public final Version0 version() {
+    checkRetired();
+
+    return version;
+  }
+
+  public final RequestHeaders headers() {
+    checkRetired();
+
+    return headers;
+  }
+
+  public final RequestBodyData bodyData() {
+    checkRetired();
+
+    return bodyData;
+  }
+
+  public final RequestBodyForm bodyForm() {
+    checkRetired();
+
+    return bodyForm;
+  }
+
   public final boolean closeConnection() {
-    return headers.closeConnection();
+    return headers().closeConnection();
   }
 
   @Override
@@ -68,22 +215,22 @@ public record RequestPojo(
 
   @Override
   public final <T> T attr(Class<T> name) {
-    return attributes.get(name);
+    return attributes().get(name);
   }
 
   @Override
   public final <T> T attr(Key<T> key) {
-    return attributes.get(key);
+    return attributes().get(key);
   }
 
   @Override
   public final <T> void attr(Class<T> name, T value) {
-    attributes.set(name, value);
+    attributes().set(name, value);
   }
 
   @Override
   public final <T> void attr(Key<T> key, T value) {
-    attributes.set(key, value);
+    attributes().set(key, value);
   }
 
   @Override
@@ -117,39 +264,39 @@ public record RequestPojo(
   }
 
   private Session session() {
-    return attributes.getOrDefault(Session.KEY, SessionAbsent.INSTANCE);
+    return attributes().getOrDefault(Session.KEY, SessionAbsent.INSTANCE);
   }
 
   @Override
   public final String queryParam(String name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGet(queryParams, name);
+    return queryParams().get(name);
   }
 
   @Override
   public final List<String> queryParamAll(String name) {
     Objects.requireNonNull(name, "name == null");
 
-    return Rfc.queryParamsGetAll(queryParams, name);
+    return queryParams().getAll(name);
   }
 
   @Override
   public final Set<String> queryParamNames() {
-    return queryParams.keySet();
+    return queryParams().map().keySet();
   }
 
   @Override
   public final String queryString() {
     final QueryString queryString;
-    queryString = new QueryString(queryParams);
+    queryString = new QueryString(queryParams().map());
 
     return queryString.toString();
   }
 
   @Override
   public final String pathParam(String name) {
-    final Map<String, String> pathParams;
+    final RequestPathParams pathParams;
     pathParams = attr(PATH_PARAMS);
 
     if (pathParams != null) {
@@ -161,67 +308,69 @@ public record RequestPojo(
 
   @Override
   public final int pathParamAsInt(String name, int defaultValue) {
-    final String value;
-    value = pathParam(name);
+    final RequestPathParams pathParams;
+    pathParams = attr(PATH_PARAMS);
 
-    return valueAsInt(value, defaultValue);
+    if (pathParams != null) {
+      return pathParams.getAsInt(name, defaultValue);
+    } else {
+      return defaultValue;
+    }
   }
 
   @Override
   public final String header(HeaderName name) {
-    return headers.header(name);
+    return headers().header(name);
   }
 
   @Override
   public final InputStream bodyInputStream() throws IOException {
-    return bodyData.open();
+    return bodyData().open();
   }
 
   @Override
   public final Set<String> formParamNames() {
-    return bodyForm.formParamNames();
+    return bodyForm().formParamNames();
   }
 
   @Override
   public final String formParam(String name) {
-    return bodyForm.formParam(name);
+    return bodyForm().formParam(name);
   }
 
   @Override
   public final int formParamAsInt(String name, int defaultValue) {
-    return bodyForm.formParamAsInt(name, defaultValue);
+    return bodyForm().formParamAsInt(name, defaultValue);
   }
 
   @Override
   public final long formParamAsLong(String name, long defaultValue) {
-    return bodyForm.formParamAsLong(name, defaultValue);
+    return bodyForm().formParamAsLong(name, defaultValue);
   }
 
   @Override
   public final List<String> formParamAll(String name) {
-    return bodyForm.formParamAll(name);
+    return bodyForm().formParamAll(name);
   }
 
   @Override
   public final IntStream formParamAllAsInt(String name, int defaultValue) {
-    return bodyForm.formParamAllAsInt(name, defaultValue);
+    return bodyForm().formParamAllAsInt(name, defaultValue);
   }
 
   @Override
   public final LongStream formParamAllAsLong(String name, long defaultValue) {
-    return bodyForm.formParamAllAsLong(name, defaultValue);
+    return bodyForm().formParamAllAsLong(name, defaultValue);
   }
 
-  private int valueAsInt(String value, int defaultValue) {
-    if (value == null) {
-      return defaultValue;
-    }
+  @Override
+  public final FormFile formFile(String name) {
+    return bodyForm().formFile(name);
+  }
 
-    try {
-      return Integer.parseInt(value);
-    } catch (NumberFormatException expected) {
-      return defaultValue;
-    }
+  @Override
+  public final List<FormFile> formFileAll(String name) {
+    return bodyForm().formFileAll(name);
   }
 
 }
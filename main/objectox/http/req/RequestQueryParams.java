@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import objectox.http.Rfc;
+
+/// The query parameters of a request.
+///
+/// When parsed from a connection, a name or value that does not require
+/// decoding is recorded as offsets into the request head; it is only
+/// materialized as a string when first accessed. Names or values with
+/// percent-encoded sequences or `+` characters are decoded while parsing.
+public final class RequestQueryParams {
+
+  // (nameStart, nameEnd, valueStart, valueEnd) per parameter
+  private static final int STRIDE = 4;
+
+  private int[] entries;
+
+  private final RequestHead head;
+
+  private Map<String, Object> map;
+
+  // decoded names, by entry
+  private String[] names;
+
+  private int size;
+
+  // decoded values, by entry
+  private String[] values;
+
+  RequestQueryParams(RequestHead head) {
+    entries = new int[0];
+
+    this.head = head;
+
+    names = new String[0];
+
+    values = new String[0];
+  }
+
+  public RequestQueryParams(Map<String, Object> map) {
+    head = null;
+
+    this.map = map;
+  }
+
+  /// Discards all of the parameters so this instance can be reused for the
+  /// next request of the connection.
+  final void reset() {
+    Arrays.fill(names, 0, size, null);
+
+    Arrays.fill(values, 0, size, null);
+
+    map = null;
+
+    size = 0;
+  }
+
+  /// Records a parameter. A `null` name (or value) indicates that it is
+  /// given by the specified offsets instead.
+  final void add(String name, int nameStart, int nameEnd, String value, int valueStart, int valueEnd) {
+    if (size == names.length) {
+      final int capacity;
+      capacity = Math.max(4, size * 2);
+
+      entries = Arrays.copyOf(entries, capacity * STRIDE);
+
+      names = Arrays.copyOf(names, capacity);
+
+      values = Arrays.copyOf(values, capacity);
+    }
+
+    final int offset;
+    offset = size * STRIDE;
+
+    entries[offset + 0] = nameStart;
+    entries[offset + 1] = nameEnd;
+    entries[offset + 2] = valueStart;
+    entries[offset + 3] = valueEnd;
+
+    names[size] = name;
+
+    values[size] = value;
+
+    size++;
+  }
+
+  public final String get(String name) {
+    if (map != null) {
+      return Rfc.queryParamsGet(map, name);
+    }
+
+    for (int entry = 0; entry < size; entry++) {
+      if (matches(entry, name)) {
+        return value(entry);
+      }
+    }
+
+    return null;
+  }
+
+  public final List<String> getAll(String name) {
+    if (map != null) {
+      return Rfc.queryParamsGetAll(map, name);
+    }
+
+    List<String> result;
+    result = List.of();
+
+    for (int entry = 0; entry < size; entry++) {
+      if (matches(entry, name)) {
+        if (result.isEmpty()) {
+          result = new ArrayList<>(2);
+        }
+
+        result.add(value(entry));
+      }
+    }
+
+    return result;
+  }
+
+  /// Returns all of the parameters as a map, in the order they were found.
+  /// Values are either a `String` or, for repeated names, a `List<String>`.
+  public final Map<String, Object> map() {
+    if (map == null) {
+      if (size == 0) {
+        map = Map.of();
+      } else {
+        final Map<String, Object> result;
+        result = new LinkedHashMap<>();
+
+        for (int entry = 0; entry < size; entry++) {
+          Rfc.queryParamsAdd(result, name(entry), value(entry));
+        }
+
+        map = result;
+      }
+    }
+
+    return map;
+  }
+
+  private boolean matches(int entry, String name) {
+    final String decoded;
+    decoded = names[entry];
+
+    if (decoded != null) {
+      return decoded.equals(name);
+    }
+
+    final int offset;
+    offset = entry * STRIDE;
+
+    final int start;
+    start = entries[offset + 0];
+
+    final int end;
+    end = entries[offset + 1];
+
+    if (name.length() != end - start) {
+      return false;
+    }
+
+    for (int idx = start; idx < end; idx++) {
+      if (head.get(idx) != name.charAt(idx - start)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private String name(int entry) {
+    String name;
+    name = names[entry];
+
+    if (name == null) {
+      final int offset;
+      offset = entry * STRIDE;
+
+      name = head.string(entries[offset + 0], entries[offset + 1]);
+
+      names[entry] = name;
+    }
+
+    return name;
+  }
+
+  private String value(int entry) {
+    String value;
+    value = values[entry];
+
+    if (value == null) {
+      final int offset;
+      offset = entry * STRIDE;
+
+      value = head.string(entries[offset + 2], entries[offset + 3]);
+
+      values[entry] = value;
+    }
+
+    return value;
+  }
+
+}
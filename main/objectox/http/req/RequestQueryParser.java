@@ -29,7 +29,12 @@ final class RequestQueryParser {
 
   private final RequestInputStream input;
 
-  private Map<String, Object> params = Map.of();
+  // offsets of the last name or value which did not require decoding
+  private int rangeEnd;
+
+  private int rangeStart;
+
+  private RequestQueryParams params;
 
   private RequestUrlDecoder urlDecoder;
 
@@ -37,7 +42,20 @@ final class RequestQueryParser {
     this.input = input;
   }
 
-  public final Map<String, Object> parse() throws IOException {
+  public final RequestQueryParams parse() throws IOException {
+    return parse(new RequestQueryParams(input.head()));
+  }
+
+  /// Parses the query of the current request into the specified (empty)
+  /// instance. The state of this parser is reset, so a single instance can be
+  /// used for all of the requests of a connection.
+  final RequestQueryParams parse(RequestQueryParams params) throws IOException {
+    this.params = params;
+
+    done = emptyValue = false;
+
+    rangeStart = rangeEnd = 0;
+
     try {
       return parse0();
     } catch (RequestInputStream.Eof e) {
@@ -53,7 +71,7 @@ final class RequestQueryParser {
     }
   }
 
-  private Map<String, Object> parse0() throws IOException {
+  private RequestQueryParams parse0() throws IOException {
     final byte prev;
     prev = input.peekPrev();
 
@@ -63,14 +81,22 @@ final class RequestQueryParser {
         final String name;
         name = parseName();
 
+        final int nameStart;
+        nameStart = rangeStart;
+
+        final int nameEnd;
+        nameEnd = rangeEnd;
+
         if (done) {
-          add(name);
+          if (name != null ? !name.isEmpty() : nameStart < nameEnd) {
+            params.add(name, nameStart, nameEnd, "", 0, 0);
+          }
 
           break;
         }
 
         if (emptyValue) {
-          add(name, "");
+          params.add(name, nameStart, nameEnd, "", 0, 0);
 
           emptyValue = false;
 
@@ -80,7 +106,7 @@ final class RequestQueryParser {
         final String value;
         value = parseValue();
 
-        add(name, value);
+        params.add(name, nameStart, nameEnd, value, rangeStart, rangeEnd);
 
         if (done) {
           break;
@@ -138,6 +164,8 @@ final class RequestQueryParser {
     QUERY_TABLE = table;
   }
 
+  /// Returns the decoded name or, if the name did not require decoding,
+  /// returns `null` and records its offsets.
   private String parseName() throws IOException {
     final int startIndex;
     startIndex = input.bufferIndex();
@@ -176,19 +204,19 @@ final class RequestQueryParser {
         }
 
         case QUERY_EQUALS -> {
-          return input.makeStr(startIndex);
+          return range(startIndex);
         }
 
         case QUERY_SPACE -> {
           done = true;
 
-          return input.makeStr(startIndex);
+          return range(startIndex);
         }
 
         case QUERY_AMPERSAND -> {
           emptyValue = true;
 
-          return input.makeStr(startIndex);
+          return range(startIndex);
         }
 
         default -> {
@@ -251,6 +279,8 @@ final class RequestQueryParser {
     }
   }
 
+  /// Returns the decoded value or, if the value did not require decoding,
+  /// returns `null` and records its offsets.
   private String parseValue() throws IOException {
     final int startIndex = input.bufferIndex();
 
@@ -288,13 +318,13 @@ final class RequestQueryParser {
         }
 
         case QUERY_AMPERSAND -> {
-          return input.makeStr(startIndex);
+          return range(startIndex);
         }
 
         case QUERY_SPACE -> {
           done = true;
 
-          return input.makeStr(startIndex);
+          return range(startIndex);
         }
 
         default -> {
@@ -351,18 +381,13 @@ final class RequestQueryParser {
     }
   }
 
-  private void add(String name) {
-    if (!name.isEmpty()) {
-      add(name, "");
-    }
-  }
+  private String range(int startIndex) {
+    rangeStart = startIndex;
 
-  private void add(String name, String value) {
-    if (params.isEmpty()) {
-      params = new LinkedHashMap<>();
-    }
+    // exclusive of the delimiter just read
+    rangeEnd = input.bufferIndex() - 1;
 
-    Rfc.queryParamsAdd(params, name, value);
+    return null;
   }
 
   private int decodePerc() throws IOException {
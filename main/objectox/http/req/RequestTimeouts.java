@@ -0,0 +1,200 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import objectox.http.HttpClientException;
+
+/// Bounds the time spent reading each part of a request message.
+///
+/// A deadline is computed when a phase starts: it applies to all of the reads
+/// of that phase. In other words, a client trickling bytes cannot extend the
+/// deadline.
+///
+/// - idle: waiting for the first byte of the next request of a connection;
+/// - head: reading the request line and the request headers;
+/// - body: reading the request body.
+public final class RequestTimeouts {
+
+  public enum Phase {
+    IDLE,
+
+    HEAD,
+
+    BODY;
+  }
+
+  /// Timeouts which never expire.
+  public static final RequestTimeouts NONE = new RequestTimeouts(null, 0, 0, 0);
+
+  private final long bodyNanos;
+
+  private long deadline;
+
+  private boolean expired;
+
+  private final long headNanos;
+
+  private final long idleNanos;
+
+  // the phase that starts on the next read operation
+  private Phase pending;
+
+  private Phase phase = Phase.IDLE;
+
+  private final Socket socket;
+
+  // the last value set on the socket: avoids redundant option calls
+  private int soTimeout = -1;
+
+  /// Creates a new instance. A duration of `0` (zero) disables the timeout of
+  /// the respective phase.
+  public RequestTimeouts(Socket socket, long idleMillis, long headMillis, long bodyMillis) {
+    this.bodyNanos = bodyMillis * 1_000_000L;
+
+    this.headNanos = headMillis * 1_000_000L;
+
+    this.idleNanos = idleMillis * 1_000_000L;
+
+    this.socket = socket;
+  }
+
+  /// Returns `true` if the deadline of the current phase has expired; `false`
+  /// otherwise.
+  public final boolean expired() {
+    return expired;
+  }
+
+  public final Phase phase() {
+    return phase;
+  }
+
+  final void start(Phase value) {
+    if (socket == null) {
+      // NONE is shared
+      return;
+    }
+
+    expired = false;
+
+    pending = null;
+
+    phase = value;
+
+    final long nanos;
+    nanos = switch (value) {
+      case IDLE -> idleNanos;
+
+      case HEAD -> headNanos;
+
+      case BODY -> bodyNanos;
+    };
+
+    deadline = nanos > 0 ? System.nanoTime() + nanos : 0;
+  }
+
+  /// Starts the specified phase on the next read operation. In other words,
+  /// the time elapsed until then does not count against the phase deadline.
+  final void startOnRead(Phase value) {
+    if (socket == null) {
+      // NONE is shared
+      return;
+    }
+
+    pending = value;
+  }
+
+  /// Reads from the specified input stream. Returns `-1` if the connection
+  /// was idle for too long; throws a `408 Request Timeout` client exception if
+  /// the request head or body took too long to arrive.
+  final int read(InputStream in, byte[] b, int off, int len) throws IOException {
+    if (socket == null) {
+      return in.read(b, off, len);
+    }
+
+    if (pending != null) {
+      start(pending);
+    }
+
+    int millis;
+    millis = 0;
+
+    if (deadline != 0) {
+      final long remaining;
+      remaining = deadline - System.nanoTime();
+
+      if (remaining <= 0) {
+        return expire();
+      }
+
+      // round up: a zero value means no timeout at all
+      millis = (int) Math.min(Integer.MAX_VALUE, (remaining + 999_999L) / 1_000_000L);
+    }
+
+    soTimeout(millis);
+
+    try {
+      return in.read(b, off, len);
+    } catch (SocketTimeoutException e) {
+      return expire();
+    }
+  }
+
+  /// Reads from the specified input stream waiting for at most `millis`
+  /// milliseconds before the deadline of the current phase applies. Returns
+  /// `0` if no bytes arrived in the meantime. The [#NONE] instance is not
+  /// bound to a socket and cannot poll: it blocks until bytes arrive.
+  final int poll(InputStream in, byte[] b, int off, int len, int millis) throws IOException {
+    if (socket == null) {
+      return in.read(b, off, len);
+    }
+
+    if (deadline != 0 && deadline - System.nanoTime() <= millis * 1_000_000L) {
+      // the deadline is closer
+      return read(in, b, off, len);
+    }
+
+    soTimeout(millis);
+
+    try {
+      return in.read(b, off, len);
+    } catch (SocketTimeoutException e) {
+      return 0;
+    }
+  }
+
+  private void soTimeout(int millis) throws IOException {
+    if (soTimeout != millis) {
+      socket.setSoTimeout(millis);
+
+      soTimeout = millis;
+    }
+  }
+
+  private int expire() throws IOException {
+    expired = true;
+
+    if (phase == Phase.IDLE) {
+      return -1;
+    }
+
+    throw new HttpClientException(phase.name() + " timeout", HttpClientException.Kind.REQUEST_TIMEOUT);
+  }
+
+}
@@ -34,6 +34,9 @@ final class RequestVersionParser {
   }
 
   public final Version0 parse() throws IOException {
+    // a single instance parses all of the requests of a connection
+    done = false;
+
     try {
       return parse0();
     } catch (RequestInputStream.Eof e) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.resp;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import objectos.http.CompressionOptions;
+import objectos.http.Content;
+import objectos.http.HeaderName;
+import objectos.http.MediaType;
+import objectos.http.Request;
+import objectos.lang.BinaryObject;
+import objectox.http.Header;
+import objectox.http.Rfc;
+import objectox.http.media.ContentBinaryObject;
+import objectox.http.media.ContentBytes;
+
+/// Compresses the body of response messages according to the content coding
+/// negotiated with the client.
+///
+/// Applied to responses produced by a host before they are handed over to
+/// the `ResponseSender`. Byte array contents are compressed right away, so
+/// their `Content-Length` remains known; streamed contents are compressed as
+/// they are written to the (chunked) response.
+public final class ResponseCompression {
+
+  enum Coding {
+    GZIP("gzip"),
+
+    DEFLATE("deflate");
+
+    final String value;
+
+    private Coding(String value) {
+      this.value = value;
+    }
+  }
+
+  private static final Header VARY = new Header(HeaderName.VARY, "Accept-Encoding");
+
+  private final int level;
+
+  private final Map<String, Boolean> mediaTypes;
+
+  private final int minLength;
+
+  ResponseCompression(int level, Map<String, Boolean> mediaTypes, int minLength) {
+    this.level = level;
+
+    this.mediaTypes = mediaTypes;
+
+    this.minLength = minLength;
+  }
+
+  public static ResponseCompression create(Consumer<? super CompressionOptions> opts) {
+    final ResponseCompressionBuilder builder;
+    builder = new ResponseCompressionBuilder();
+
+    opts.accept(builder);
+
+    return builder.build();
+  }
+
+  /// Returns the response to be sent for the specified request: either the
+  /// specified response itself or a compressed copy of it.
+  public final ResponsePojo apply(Request request, ResponsePojo response) {
+    if (!(response.entity() instanceof ResponseEntity.OfContent(Content content))) {
+      return response;
+    }
+
+    final List<Header> headers;
+    headers = response.headers();
+
+    for (Header header : headers) {
+      if (header.name() == HeaderName.CONTENT_ENCODING) {
+        // already encoded by the application
+        return response;
+      }
+    }
+
+    final boolean eligible;
+    eligible = switch (content) {
+      case ContentBytes(MediaType type, byte[] bytes) -> bytes.length >= minLength && compressible(type);
+
+      case ContentBinaryObject(MediaType type, BinaryObject contents) -> compressible(type);
+    };
+
+    if (!eligible) {
+      return response;
+    }
+
+    final Coding coding;
+    coding = negotiate(request.header(HeaderName.ACCEPT_ENCODING));
+
+    final Content encoded;
+    encoded = coding != null ? encode(content, coding) : null;
+
+    final List<Header> copy;
+    copy = new ArrayList<>(headers.size() + 2);
+
+    copy.addAll(headers);
+
+    copy.add(VARY);
+
+    if (encoded == null) {
+      return new ResponsePojo(response.status(), copy, response.entity(), response.closeConnection());
+    }
+
+    copy.add(new Header(HeaderName.CONTENT_ENCODING, coding.value));
+
+    final ResponseEntity entity;
+    entity = new ResponseEntity.OfContent(encoded);
+
+    return new ResponsePojo(response.status(), copy, entity, response.closeConnection());
+  }
+
+  final boolean compressible(MediaType type) {
+    final String essence;
+    essence = essence(type.fullType());
+
+    final Boolean explicit;
+    explicit = mediaTypes.get(essence);
+
+    if (explicit != null) {
+      return explicit;
+    }
+
+    return essence.startsWith("text/")
+        || essence.equals("application/json")
+        || essence.equals("application/javascript")
+        || essence.equals("application/xml")
+        || essence.equals("image/svg+xml")
+        || essence.endsWith("+json")
+        || essence.endsWith("+xml");
+  }
+
+  // returns null if the content should be sent as it is
+  private Content encode(Content content, Coding coding) {
+    return switch (content) {
+      case ContentBytes(MediaType type, byte[] bytes) -> {
+        final ByteArrayOutputStream out;
+        out = new ByteArrayOutputStream(bytes.length / 2);
+
+        try (ResponseDeflater deflater = ResponseDeflater.of(out, coding, level)) {
+          deflater.write(bytes);
+        } catch (IOException e) {
+          // writing to memory...
+          throw new UncheckedIOException(e);
+        }
+
+        final byte[] compressed;
+        compressed = out.toByteArray();
+
+        // not worth it
+        yield compressed.length < bytes.length ? new ContentBytes(type, compressed) : null;
+      }
+
+      case ContentBinaryObject(MediaType type, BinaryObject contents) -> {
+        final BinaryObject encoded;
+        encoded = out -> {
+          try (ResponseDeflater deflater = ResponseDeflater.of(out, coding, level)) {
+            contents.binaryTo(deflater);
+          }
+        };
+
+        yield new ContentBinaryObject(type, encoded);
+      }
+    };
+  }
+
+  /// Returns the preferred supported coding of the specified `Accept-Encoding`
+  /// value, or `null` if none is acceptable.
+  static Coding negotiate(String acceptEncoding) {
+    if (acceptEncoding == null || acceptEncoding.isBlank()) {
+      return null;
+    }
+
+    final double gzip;
+    gzip = Rfc.acceptEncodingQuality(acceptEncoding, Coding.GZIP.value);
+
+    final double deflate;
+    deflate = Rfc.acceptEncodingQuality(acceptEncoding, Coding.DEFLATE.value);
+
+    if (gzip <= 0 && deflate <= 0) {
+      return null;
+    }
+
+    return gzip >= deflate ? Coding.GZIP : Coding.DEFLATE;
+  }
+
+  static String essence(String fullType) {
+    final int semicolon;
+    semicolon = fullType.indexOf(';');
+
+    final String essence;
+    essence = semicolon < 0 ? fullType : fullType.substring(0, semicolon);
+
+    return essence.strip().toLowerCase(Locale.US);
+  }
+
+}
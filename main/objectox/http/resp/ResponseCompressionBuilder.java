@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.resp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import objectos.http.CompressionOptions;
+import objectos.http.MediaType;
+
+public final class ResponseCompressionBuilder implements CompressionOptions {
+
+  private int level = 6;
+
+  private final Map<String, Boolean> mediaTypes = new HashMap<>();
+
+  private int minLength = 1024;
+
+  public final ResponseCompression build() {
+    return new ResponseCompression(level, Map.copyOf(mediaTypes), minLength);
+  }
+
+  @Override
+  public final void level(int value) {
+    if (value < 1 || value > 9) {
+      throw new IllegalArgumentException("Invalid level: value must be between 1 and 9 but found " + value);
+    }
+
+    level = value;
+  }
+
+  @Override
+  public final void mediaType(MediaType type, boolean compress) {
+    Objects.requireNonNull(type, "type == null");
+
+    final String essence;
+    essence = ResponseCompression.essence(type.fullType());
+
+    mediaTypes.put(essence, compress);
+  }
+
+  @Override
+  public final void minLength(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Invalid min length: value must not be negative but found " + value);
+    }
+
+    minLength = value;
+  }
+
+}
@@ -15,7 +15,9 @@
  */
 package objectox.http.resp;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Clock;
+import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,6 +27,13 @@ import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+/// Provides the value of the `Date` response header.
+///
+/// The IMF-fixdate value is cached as ASCII bytes ready to be written to the
+/// connection. It is formatted at most once per second of the underlying
+/// clock. A single instance is shared by all of the connections of a server:
+/// the cached value is an immutable object published through a volatile field
+/// so no locking is required.
 public final class ResponseDate {
 
   private static final DateTimeFormatter IMF_FIXDATE;
@@ -93,17 +102,59 @@ public final class ResponseDate {
     IMF_FIXDATE = b.toFormatter(Locale.US);
   }
 
+  private static final ZoneId GMT = ZoneId.of("GMT");
+
+  private record Cached(long second, byte[] bytes) {}
+
+  private volatile Cached cached = new Cached(Long.MIN_VALUE, null);
+
   private final Clock clock;
 
   public ResponseDate(Clock clock) {
-    this.clock = clock.withZone(ZoneId.of("GMT"));
+    this.clock = clock;
+  }
+
+  /// Returns the current date as ASCII bytes. Callers must not modify the
+  /// returned array.
+  public final byte[] bytes() {
+    final long millis;
+    millis = clock.millis();
+
+    final long second;
+    second = Math.floorDiv(millis, 1000L);
+
+    Cached c;
+    c = cached;
+
+    if (c.second != second) {
+      // concurrent refreshes are benign:
+      // all of them compute the same value
+      c = new Cached(second, format(second));
+
+      cached = c;
+    }
+
+    return c.bytes;
   }
 
   public final String now() {
-    final ZonedDateTime now;
-    now = ZonedDateTime.now(clock);
+    final byte[] bytes;
+    bytes = bytes();
+
+    return new String(bytes, StandardCharsets.US_ASCII);
+  }
+
+  private byte[] format(long second) {
+    final Instant instant;
+    instant = Instant.ofEpochSecond(second);
+
+    final ZonedDateTime dateTime;
+    dateTime = ZonedDateTime.ofInstant(instant, GMT);
+
+    final String s;
+    s = IMF_FIXDATE.format(dateTime);
 
-    return IMF_FIXDATE.format(now);
+    return s.getBytes(StandardCharsets.US_ASCII);
   }
 
 }
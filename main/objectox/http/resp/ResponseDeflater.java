@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.resp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/// Compresses response bytes using either the `gzip` or the `deflate`
+/// (zlib) content coding.
+///
+/// Unlike `GZIPOutputStream`, it honors the configured compression level.
+/// Closing this stream finishes the compressed data and releases the deflater
+/// but it does not close the underlying stream.
+final class ResponseDeflater extends DeflaterOutputStream {
+
+  private static final byte[] GZIP_HEADER = {
+      (byte) 0x1f, (byte) 0x8b, // magic
+      Deflater.DEFLATED, // method
+      0, // flags
+      0, 0, 0, 0, // mtime
+      0, // xfl
+      (byte) 0xff // os: unknown
+  };
+
+  private boolean closed;
+
+  private final CRC32 crc;
+
+  private ResponseDeflater(OutputStream out, Deflater deflater, CRC32 crc) {
+    super(out, deflater, 8192);
+
+    this.crc = crc;
+  }
+
+  public static ResponseDeflater of(OutputStream out, ResponseCompression.Coding coding, int level) throws IOException {
+    return switch (coding) {
+      case GZIP -> {
+        out.write(GZIP_HEADER);
+
+        yield new ResponseDeflater(out, new Deflater(level, true), new CRC32());
+      }
+
+      case DEFLATE -> new ResponseDeflater(out, new Deflater(level, false), null);
+    };
+  }
+
+  @Override
+  public final void write(byte[] b, int off, int len) throws IOException {
+    super.write(b, off, len);
+
+    if (crc != null) {
+      crc.update(b, off, len);
+    }
+  }
+
+  @Override
+  public final void finish() throws IOException {
+    if (def.finished()) {
+      return;
+    }
+
+    super.finish();
+
+    if (crc != null) {
+      writeInt((int) crc.getValue());
+
+      writeInt((int) def.getBytesRead());
+    }
+  }
+
+  @Override
+  public final void close() throws IOException {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+
+    try {
+      finish();
+    } finally {
+      def.end();
+    }
+  }
+
+  private void writeInt(int value) throws IOException {
+    out.write(value & 0xff);
+    out.write((value >> 8) & 0xff);
+    out.write((value >> 16) & 0xff);
+    out.write((value >> 24) & 0xff);
+  }
+
+}
@@ -28,6 +28,15 @@ public sealed interface ResponseEntity extends Testable {
     }
   }
 
+  /// A body whose entity header fields, along with the empty line which ends
+  /// the header section, have already been serialized.
+  record OfCached(byte[] fields, byte[] body) implements ResponseEntity {
+    @Override
+    public final String toTestableText() {
+      return "cached[length=" + body.length + "]";
+    }
+  }
+
   record OfContent(Content content) implements ResponseEntity {
     @Override
     public final String toTestableText() {
@@ -54,4 +63,18 @@ public sealed interface ResponseEntity extends Testable {
     }
   }
 
+  /// One or more byte ranges of a file. The `ranges` array holds the first
+  /// and the last (inclusive) positions of each range. A single range is
+  /// sent as it is; multiple ranges are sent as the parts of a
+  /// `multipart/byteranges` body delimited by the specified boundary.
+  record OfFileRanges(Path file, long size, long[] ranges, String contentType, String boundary) implements ResponseEntity {
+    @Override
+    public final String toTestableText() {
+      final Path fileName;
+      fileName = file.getFileName();
+
+      return fileName.toString() + "[ranges=" + ranges.length / 2 + "]";
+    }
+  }
+
 }
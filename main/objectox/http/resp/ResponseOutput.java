@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.resp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+
+/// The sink of all response bytes of a single connection.
+///
+/// Every `write` method of this class results in (at least) one write
+/// operation on the underlying socket. It counts the operations so that the
+/// number of system calls used by each response can be reported.
+final class ResponseOutput extends OutputStream {
+
+  private long bytes;
+
+  private final GatheringByteChannel channel;
+
+  private final OutputStream outputStream;
+
+  private int writes;
+
+  private ResponseOutput(GatheringByteChannel channel, OutputStream outputStream) {
+    this.channel = channel;
+
+    this.outputStream = outputStream;
+  }
+
+  public static ResponseOutput of(OutputStream outputStream) {
+    return new ResponseOutput(null, outputStream);
+  }
+
+  public static ResponseOutput of(Socket socket) throws IOException {
+    final OutputStream outputStream;
+    outputStream = socket.getOutputStream();
+
+    // a socket obtained from a (blocking) server socket channel
+    // exposes its channel: we use it for gathering writes and file transfers
+    final SocketChannel channel;
+    channel = socket.getChannel();
+
+    if (channel != null && channel.isBlocking()) {
+      return new ResponseOutput(channel, outputStream);
+    } else {
+      return new ResponseOutput(null, outputStream);
+    }
+  }
+
+  public final long bytes() {
+    return bytes;
+  }
+
+  public final void reset() {
+    bytes = 0;
+
+    writes = 0;
+  }
+
+  public final int writes() {
+    return writes;
+  }
+
+  @Override
+  public final void close() throws IOException {
+    outputStream.close();
+  }
+
+  @Override
+  public final void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  @Override
+  public final void write(int b) throws IOException {
+    outputStream.write(b);
+
+    bytes += 1;
+
+    writes += 1;
+  }
+
+  @Override
+  public final void write(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return;
+    }
+
+    outputStream.write(b, off, len);
+
+    bytes += len;
+
+    writes += 1;
+  }
+
+  /// Writes the `head` bytes followed by the `body` bytes. It uses a single
+  /// gathering write if the connection allows for it.
+  public final void write(byte[] head, int headLength, byte[] body, int bodyOffset, int bodyLength) throws IOException {
+    if (channel == null) {
+      write(head, 0, headLength);
+
+      write(body, bodyOffset, bodyLength);
+
+      return;
+    }
+
+    final ByteBuffer[] srcs;
+    srcs = new ByteBuffer[] {
+        ByteBuffer.wrap(head, 0, headLength),
+
+        ByteBuffer.wrap(body, bodyOffset, bodyLength)
+    };
+
+    final ByteBuffer last;
+    last = srcs[1];
+
+    while (last.hasRemaining()) {
+      final long written;
+      written = channel.write(srcs);
+
+      bytes += written;
+
+      writes += 1;
+    }
+  }
+
+  /// Transfers `count` bytes of the specified file, starting at `position`,
+  /// to the connection.
+  ///
+  /// If the connection exposes its channel, the bytes are transferred by the
+  /// operating system (e.g. `sendfile`) without being copied to the Java heap.
+  public final void transferFrom(FileChannel file, long position, long count) throws IOException {
+    final WritableByteChannel target;
+
+    if (channel != null) {
+      target = channel;
+    } else {
+      // writes are counted by this stream
+      target = Channels.newChannel(this);
+    }
+
+    long pos;
+    pos = position;
+
+    long remaining;
+    remaining = count;
+
+    while (remaining > 0) {
+      final long transferred;
+      transferred = file.transferTo(pos, remaining, target);
+
+      if (transferred <= 0) {
+        throw new EOFException("File was truncated during transfer");
+      }
+
+      if (target == channel) {
+        bytes += transferred;
+
+        writes += 1;
+      }
+
+      pos += transferred;
+
+      remaining -= transferred;
+    }
+  }
+
+}
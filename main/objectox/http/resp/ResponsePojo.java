@@ -19,6 +19,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 import objectos.http.HeaderName;
@@ -47,6 +48,23 @@ public record ResponsePojo(
     return builder.build();
   }
 
+  /// Returns a copy of this response which instructs the client to close the
+  /// connection.
+  public final ResponsePojo closing() {
+    if (closeConnection) {
+      return this;
+    }
+
+    final List<Header> copy;
+    copy = new ArrayList<>(headers.size() + 1);
+
+    copy.addAll(headers);
+
+    copy.add(new Header(HeaderName.CONNECTION, "close"));
+
+    return new ResponsePojo(status, copy, entity, true);
+  }
+
   public final void setCookie(String value) {
     final HeaderName name;
     name = HeaderName.SET_COOKIE;
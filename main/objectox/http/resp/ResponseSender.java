@@ -15,12 +15,15 @@
  */
 package objectox.http.resp;
 
+import java.io.EOFException;
+import java.io.Flushable;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -29,37 +32,158 @@ import objectos.http.HeaderName;
 import objectos.http.MediaType;
 import objectos.internal.Bytes;
 import objectos.lang.BinaryObject;
+import objectox.http.BufferPool;
 import objectox.http.Header;
 import objectox.http.HeaderNamePojo;
 import objectox.http.Rfc;
 import objectox.http.media.ContentBinaryObject;
 import objectox.http.media.ContentBytes;
 
-public final class ResponseSender {
+/// Serializes response messages to a connection.
+///
+/// The status line, the headers and, if they fit, the body of a response are
+/// assembled in the exchange buffer so they can be sent using a single write
+/// operation. A body that does not fit in the buffer is sent along with the
+/// buffered bytes using a gathering write, if the connection allows for it.
+/// Likewise, a file that does not fit in the buffer is transferred directly
+/// from the file channel to the socket channel.
+public final class ResponseSender implements Flushable {
+
+  /// Determines when the bytes of a response are written to the connection.
+  public enum Flush {
+    /// All of the response bytes are written before the `send` method returns.
+    IMMEDIATE,
+
+    /// The response bytes which fit in the buffer are kept there so they can be
+    /// coalesced with the bytes of subsequent responses. The bytes are written
+    /// when the buffer fills up or when the `flush` method is invoked.
+    DEFERRED;
+  }
+
+  private byte[] buffer;
+
+  private int bufferIndex;
 
-  private final byte[] buffer;
+  // a pooled array may be larger than requested: only this many bytes are used
+  private final int bufferSize;
 
   private final ResponseDate date;
 
-  private final OutputStream outputStream;
+  private final ResponseOutput output;
 
-  public ResponseSender(byte[] buffer, ResponseDate date, OutputStream outputStream) {
+  private final BufferPool pool;
+
+  private ResponseSender(byte[] buffer, int bufferSize, ResponseDate date, ResponseOutput output, BufferPool pool) {
     this.buffer = buffer;
 
+    this.bufferSize = bufferSize;
+
     this.date = date;
 
-    this.outputStream = outputStream;
+    this.output = output;
+
+    this.pool = pool;
+  }
+
+  public ResponseSender(byte[] buffer, ResponseDate date, OutputStream outputStream) {
+    this(buffer, buffer.length, date, ResponseOutput.of(outputStream), null);
+  }
+
+  public static ResponseSender of(byte[] buffer, ResponseDate date, Socket socket) throws IOException {
+    final ResponseOutput output;
+    output = ResponseOutput.of(socket);
+
+    return new ResponseSender(buffer, buffer.length, date, output, null);
+  }
+
+  /// Creates a new instance which borrows its buffer from the specified pool
+  /// only while responses are being sent. The buffer is returned to the pool
+  /// when the [#release()] method is invoked.
+  public static ResponseSender of(BufferPool pool, int bufferSize, ResponseDate date, Socket socket) throws IOException {
+    final ResponseOutput output;
+    output = ResponseOutput.of(socket);
+
+    return new ResponseSender(null, bufferSize, date, output, pool);
+  }
+
+  /// Returns the number of bytes written to the connection since the last
+  /// response started.
+  public final long bytes() {
+    return output.bytes();
+  }
+
+  /// Writes any buffered bytes to the connection.
+  @Override
+  public final void flush() throws IOException {
+    if (bufferIndex > 0) {
+      final int length;
+      length = bufferIndex;
+
+      bufferIndex = 0;
+
+      output.write(buffer, 0, length);
+    }
+  }
+
+  /// Writes any buffered bytes to the connection then returns the buffer to
+  /// the pool, if this instance was created with a pool.
+  public final void release() throws IOException {
+    flush();
+
+    discard();
+  }
+
+  /// Returns the buffer to the pool, if this instance was created with a
+  /// pool, discarding any buffered bytes. Invoked when the connection is
+  /// closed.
+  public final void discard() {
+    bufferIndex = 0;
+
+    if (pool != null && buffer != null) {
+      pool.release(buffer);
+
+      buffer = null;
+    }
   }
 
   public final void head(ResponsePojo pojo) throws IOException {
-    send0(pojo, true);
+    send0(pojo, true, Flush.IMMEDIATE);
+  }
+
+  public final void head(ResponsePojo pojo, Flush flush) throws IOException {
+    send0(pojo, true, flush);
   }
 
   public final void send(ResponsePojo pojo) throws IOException {
-    send0(pojo, false);
+    send0(pojo, false, Flush.IMMEDIATE);
+  }
+
+  public final void send(ResponsePojo pojo, Flush flush) throws IOException {
+    send0(pojo, false, flush);
+  }
+
+  /// Sends the specified pre-serialized response message.
+  public final void send(byte[] message) throws IOException {
+    output.reset();
+
+    borrow();
+
+    write(message);
+
+    flush();
   }
 
-  private void send0(ResponsePojo pojo, boolean head) throws IOException {
+  /// Returns the number of write operations issued to the connection since
+  /// the last response started.
+  public final int writes() {
+    return output.writes();
+  }
+
+  private void send0(ResponsePojo pojo, boolean head, Flush flush) throws IOException {
+    output.reset();
+
+    borrow();
+
     final StatusEnum status;
     status = pojo.status();
 
@@ -69,27 +193,36 @@ public final class ResponseSender {
     headers = pojo.headers();
 
     for (Header header : headers) {
-      final HeaderName name;
-
-      final String value;
-
       if (header == Header.DATE) {
-        name = HeaderName.DATE;
+        final byte[] value;
+        value = date.bytes();
 
-        value = date.now();
+        header(HeaderName.DATE, value);
       } else {
+        final HeaderName name;
         name = header.name();
 
+        final String value;
         value = header.value();
-      }
 
-      header(name, value);
+        header(name, value);
+      }
     }
 
     final ResponseEntity entity;
     entity = pojo.entity();
 
     entity(entity, head);
+
+    if (flush == Flush.IMMEDIATE) {
+      flush();
+    }
+  }
+
+  private void borrow() {
+    if (buffer == null) {
+      buffer = pool.borrow(bufferSize);
+    }
   }
 
   private static final Map<StatusEnum, byte[]> STATUS_LINES = new EnumMap<>(StatusEnum.class);
@@ -113,11 +246,9 @@ public final class ResponseSender {
     final byte[] statusLine;
     statusLine = STATUS_LINES.get(status);
 
-    outputStream.write(statusLine);
+    write(statusLine);
   }
 
-  private static final byte[] COLONCRLF = ":\r\n".getBytes(StandardCharsets.US_ASCII);
-
   private void header(HeaderName name, String value) throws IOException {
     final HeaderNamePojo nameImpl;
     nameImpl = (HeaderNamePojo) name;
@@ -125,39 +256,75 @@ public final class ResponseSender {
     final byte[] nameBytes;
     nameBytes = nameImpl.headerCaseBytes();
 
-    outputStream.write(nameBytes);
+    write(nameBytes);
 
     if (value.isEmpty()) {
-      outputStream.write(COLONCRLF);
+      write(Bytes.COLON_BYTES);
     }
 
     else {
-      final byte[] valueBytes;
-      valueBytes = value.getBytes(StandardCharsets.US_ASCII);
+      write(Bytes.COLONSP);
+
+      writeAscii(value);
+    }
 
-      outputStream.write(Bytes.COLONSP);
+    write(Bytes.CRLF);
+  }
 
-      outputStream.write(valueBytes);
+  private void header(HeaderName name, byte[] value) throws IOException {
+    final HeaderNamePojo nameImpl;
+    nameImpl = (HeaderNamePojo) name;
 
-      outputStream.write(Bytes.CRLF);
-    }
+    final byte[] nameBytes;
+    nameBytes = nameImpl.headerCaseBytes();
+
+    write(nameBytes);
+
+    write(Bytes.COLONSP);
+
+    write(value);
+
+    write(Bytes.CRLF);
+  }
+
+  private void header(HeaderName name, long value) throws IOException {
+    final HeaderNamePojo nameImpl;
+    nameImpl = (HeaderNamePojo) name;
+
+    final byte[] nameBytes;
+    nameBytes = nameImpl.headerCaseBytes();
+
+    write(nameBytes);
+
+    write(Bytes.COLONSP);
+
+    writeDecimal(value);
+
+    write(Bytes.CRLF);
   }
 
   private void entity(ResponseEntity entity, boolean head) throws IOException {
     switch (entity) {
       case ResponseEntity.OfBytes(byte[] bytes) -> {
-        final String contentLength;
-        contentLength = Integer.toString(bytes.length);
+        header(HeaderName.CONTENT_LENGTH, bytes.length);
+
+        write(Bytes.CRLF);
 
-        header(HeaderName.CONTENT_LENGTH, contentLength);
+        if (head) {
+          return;
+        }
 
-        outputStream.write(Bytes.CRLF);
+        body(bytes);
+      }
+
+      case ResponseEntity.OfCached(byte[] fields, byte[] body) -> {
+        write(fields);
 
         if (head) {
           return;
         }
 
-        outputStream.write(bytes);
+        body(body);
       }
 
       case ResponseEntity.OfContent(Content content) -> {
@@ -167,13 +334,20 @@ public final class ResponseSender {
 
             header(HeaderName.TRANSFER_ENCODING, "chunked");
 
-            outputStream.write(Bytes.CRLF);
+            write(Bytes.CRLF);
 
             if (head) {
               return;
             }
 
-            try (OutputStream chunked = ResponseChunked.of(buffer, 0, outputStream)) {
+            // the chunked stream starts right after the buffered head
+            // and flushes everything when closed
+            final int index;
+            index = bufferIndex;
+
+            bufferIndex = 0;
+
+            try (OutputStream chunked = ResponseChunked.of(buffer, index, output)) {
               contents.binaryTo(chunked);
             }
           }
@@ -181,49 +355,244 @@ public final class ResponseSender {
           case ContentBytes(MediaType contentType, byte[] bytes) -> {
             header(HeaderName.CONTENT_TYPE, contentType.fullType());
 
-            final int length;
-            length = bytes.length;
-
-            final String contentLength;
-            contentLength = Integer.toString(length);
-
-            header(HeaderName.CONTENT_LENGTH, contentLength);
+            header(HeaderName.CONTENT_LENGTH, bytes.length);
 
-            outputStream.write(Bytes.CRLF);
+            write(Bytes.CRLF);
 
             if (head) {
               return;
             }
 
-            outputStream.write(bytes);
+            body(bytes);
           }
         }
       }
 
       case ResponseEntity.OfEmpty.INSTANCE -> {
-        outputStream.write(Bytes.CRLF);
+        write(Bytes.CRLF);
       }
 
       case ResponseEntity.OfFile(Path file) -> {
-        final long length;
-        length = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+          final long length;
+          length = channel.size();
 
-        final String contentLength;
-        contentLength = Long.toString(length);
+          header(HeaderName.CONTENT_LENGTH, length);
 
-        header(HeaderName.CONTENT_LENGTH, contentLength);
+          write(Bytes.CRLF);
 
-        outputStream.write(Bytes.CRLF);
+          if (head) {
+            return;
+          }
 
-        if (head) {
-          return;
+          file(channel, 0, length);
+        }
+      }
+
+      case ResponseEntity.OfFileRanges ranges -> {
+        try (FileChannel channel = FileChannel.open(ranges.file(), StandardOpenOption.READ)) {
+          ranges(channel, ranges, head);
         }
+      }
+    }
+  }
+
+  private void ranges(FileChannel channel, ResponseEntity.OfFileRanges entity, boolean head) throws IOException {
+    final long[] ranges;
+    ranges = entity.ranges();
+
+    if (ranges.length == 2) {
+      final long first;
+      first = ranges[0];
+
+      final long length;
+      length = ranges[1] - first + 1;
+
+      header(HeaderName.CONTENT_LENGTH, length);
+
+      write(Bytes.CRLF);
+
+      if (head) {
+        return;
+      }
+
+      file(channel, first, length);
+
+      return;
+    }
+
+    final byte[][] parts;
+    parts = new byte[ranges.length / 2][];
+
+    long length;
+    length = 0;
+
+    for (int idx = 0, part = 0; idx < ranges.length; idx += 2, part++) {
+      final long first;
+      first = ranges[idx];
+
+      final long last;
+      last = ranges[idx + 1];
+
+      final String partHead;
+      partHead = "\r\n--" + entity.boundary() + "\r\n"
+          + "Content-Type: " + entity.contentType() + "\r\n"
+          + "Content-Range: bytes " + first + "-" + last + "/" + entity.size() + "\r\n"
+          + "\r\n";
 
-        try (InputStream in = Files.newInputStream(file)) {
-          in.transferTo(outputStream);
+      parts[part] = Rfc.utf8(partHead);
+
+      length += parts[part].length + last - first + 1;
+    }
+
+    final byte[] close;
+    close = Rfc.utf8("\r\n--" + entity.boundary() + "--\r\n");
+
+    length += close.length;
+
+    header(HeaderName.CONTENT_LENGTH, length);
+
+    write(Bytes.CRLF);
+
+    if (head) {
+      return;
+    }
+
+    for (int idx = 0, part = 0; idx < ranges.length; idx += 2, part++) {
+      write(parts[part]);
+
+      final long first;
+      first = ranges[idx];
+
+      file(channel, first, ranges[idx + 1] - first + 1);
+    }
+
+    write(close);
+  }
+
+  private void file(FileChannel channel, long position, long length) throws IOException {
+    final int available;
+    available = bufferSize - bufferIndex;
+
+    if (length <= available) {
+      // small file: coalesce it with the head
+      final ByteBuffer target;
+      target = ByteBuffer.wrap(buffer, bufferIndex, (int) length);
+
+      while (target.hasRemaining()) {
+        if (channel.read(target, position + target.position() - bufferIndex) < 0) {
+          throw new EOFException("File was truncated during read");
         }
       }
+
+      bufferIndex += (int) length;
+    }
+
+    else {
+      // headers go out from the buffer,
+      // file bytes go out directly from the file
+      flush();
+
+      output.transferFrom(channel, position, length);
+    }
+  }
+
+  private void body(byte[] bytes) throws IOException {
+    final int length;
+    length = bytes.length;
+
+    final int available;
+    available = bufferSize - bufferIndex;
+
+    if (length <= available) {
+      System.arraycopy(bytes, 0, buffer, bufferIndex, length);
+
+      bufferIndex += length;
+    }
+
+    else if (bufferIndex > 0) {
+      final int headLength;
+      headLength = bufferIndex;
+
+      bufferIndex = 0;
+
+      output.write(buffer, headLength, bytes, 0, length);
+    }
+
+    else {
+      output.write(bytes, 0, length);
+    }
+  }
+
+  private void write(byte[] bytes) throws IOException {
+    final int length;
+    length = bytes.length;
+
+    if (length > bufferSize - bufferIndex) {
+      flush();
+
+      if (length > bufferSize) {
+        output.write(bytes, 0, length);
+
+        return;
+      }
+    }
+
+    System.arraycopy(bytes, 0, buffer, bufferIndex, length);
+
+    bufferIndex += length;
+  }
+
+  private void writeAscii(String value) throws IOException {
+    int index;
+    index = 0;
+
+    final int length;
+    length = value.length();
+
+    while (index < length) {
+      if (bufferIndex == bufferSize) {
+        flush();
+      }
+
+      final int count;
+      count = Math.min(length - index, bufferSize - bufferIndex);
+
+      for (int i = 0; i < count; i++) {
+        final char c;
+        c = value.charAt(index++);
+
+        // same as String::getBytes(US_ASCII)
+        buffer[bufferIndex++] = c < 0x80 ? (byte) c : Bytes.QUESTION_MARK;
+      }
+    }
+  }
+
+  private void writeDecimal(long value) throws IOException {
+    int digits;
+    digits = 1;
+
+    for (long v = value / 10; v > 0; v /= 10) {
+      digits++;
     }
+
+    if (digits > bufferSize - bufferIndex) {
+      flush();
+    }
+
+    long v;
+    v = value;
+
+    for (int i = bufferIndex + digits - 1; i >= bufferIndex; i--) {
+      final long digit;
+      digit = v % 10;
+
+      buffer[i] = (byte) (Bytes.DIGIT_0 + digit);
+
+      v /= 10;
+    }
+
+    bufferIndex += digits;
   }
 
 }
@@ -27,6 +27,8 @@ public enum StatusEnum implements Status {
 
   NO_CONTENT(204, "No Content"),
 
+  PARTIAL_CONTENT(206, "Partial Content"),
+
   // 3.x.x
 
   MOVED_PERMANENTLY(301, "Moved Permanently"),
@@ -47,6 +49,8 @@ public enum StatusEnum implements Status {
 
   METHOD_NOT_ALLOWED(405, "Method Not Allowed"),
 
+  REQUEST_TIMEOUT(408, "Request Timeout"),
+
   LENGTH_REQUIRED(411, "Length Required"),
 
   CONTENT_TOO_LARGE(413, "Content Too Large"),
@@ -55,6 +59,8 @@ public enum StatusEnum implements Status {
 
   UNSUPPORTED_MEDIA_TYPE(415, "Unsupported Media Type"),
 
+  RANGE_NOT_SATISFIABLE(416, "Range Not Satisfiable"),
+
   UNPROCESSABLE_CONTENT(422, "Unprocessable Content"),
 
   REQUEST_HEADER_FIELDS_TOO_LARGE(431, "Request Header Fields Too Large"),
@@ -65,6 +71,8 @@ public enum StatusEnum implements Status {
 
   NOT_IMPLEMENTED(501, "Not Implemented"),
 
+  SERVICE_UNAVAILABLE(503, "Service Unavailable"),
+
   HTTP_VERSION_NOT_SUPPORTED(505, "HTTP Version Not Supported");
 
   public final int code;
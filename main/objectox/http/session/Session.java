@@ -21,7 +21,8 @@ public sealed interface Session
     permits
     SessionAbsent,
     SessionPojo,
-    SessionLazy {
+    SessionLazy,
+    SessionStateless {
 
   static final Key<Session> KEY = Key.of("objectos.http.Session");
 
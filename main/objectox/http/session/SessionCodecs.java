@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import objectos.http.SessionOptions;
+
+/// The registered codecs of the session attributes. Each attribute is
+/// identified by a name in its encoded form: the class name for attributes
+/// associated to a class; the string representation of the unique object for
+/// attributes associated to a key.
+final class SessionCodecs {
+
+  record Entry(int index, Object key, String name, SessionOptions.Codec<Object> codec) {}
+
+  private final Map<Object, Entry> byKey = new HashMap<>();
+
+  private final Map<String, Entry> byName = new HashMap<>();
+
+  // in registration order
+  private final List<Entry> entries = new ArrayList<>();
+
+  @SuppressWarnings("unchecked")
+  final void add(Object key, String name, SessionOptions.Codec<?> codec) {
+    if (byName.containsKey(name)) {
+      throw new IllegalArgumentException("Invalid codec: a codec for the name '" + name + "' has already been registered");
+    }
+
+    final Entry entry;
+    entry = new Entry(entries.size(), key, name, (SessionOptions.Codec<Object>) codec);
+
+    byKey.put(key, entry);
+
+    byName.put(name, entry);
+
+    entries.add(entry);
+  }
+
+  /// Returns all of the registered codecs: the index of each entry is its
+  /// position in the returned list.
+  final List<Entry> entries() {
+    return entries;
+  }
+
+  /// Returns the codec of the attribute associated to the specified (map) key,
+  /// or `null` if no codec has been registered.
+  final Entry byKey(Object key) {
+    return byKey.get(key);
+  }
+
+  /// Returns the codec of the attribute identified by the specified name, or
+  /// `null` if no codec has been registered.
+  final Entry byName(String name) {
+    return byName.get(name);
+  }
+
+  /// Reads attributes previously written by [#write(DataOutputStream, Map)].
+  /// Attributes whose codec is no longer registered are skipped.
+  final Map<Object, Object> read(DataInputStream in) throws IOException {
+    final int count;
+    count = in.readUnsignedShort();
+
+    final Map<Object, Object> attributes;
+    attributes = count > 0 ? new HashMap<>() : Map.of();
+
+    for (int idx = 0; idx < count; idx++) {
+      final String name;
+      name = in.readUTF();
+
+      final byte[] bytes;
+      bytes = new byte[in.readInt()];
+
+      in.readFully(bytes);
+
+      final Entry entry;
+      entry = byName(name);
+
+      if (entry != null) {
+        attributes.put(entry.key(), entry.codec().decode(bytes));
+      }
+    }
+
+    return attributes;
+  }
+
+  /// Writes the specified attributes: the number of attributes followed by the
+  /// name, length and bytes of each one. Attributes with `null` values are
+  /// skipped.
+  ///
+  /// @throws IllegalStateException if an attribute has no registered codec
+  final void write(DataOutputStream out, Map<Object, Object> attributes) throws IOException {
+    int count;
+    count = 0;
+
+    for (Object value : attributes.values()) {
+      if (value != null) {
+        count++;
+      }
+    }
+
+    out.writeShort(count);
+
+    for (Map.Entry<Object, Object> attribute : attributes.entrySet()) {
+      final Object value;
+      value = attribute.getValue();
+
+      if (value == null) {
+        continue;
+      }
+
+      final Object key;
+      key = attribute.getKey();
+
+      final Entry entry;
+      entry = byKey(key);
+
+      if (entry == null) {
+        throw new IllegalStateException("No codec registered for the session attribute " + key);
+      }
+
+      final byte[] encoded;
+      encoded = entry.codec().encode(value);
+
+      out.writeUTF(entry.name());
+
+      out.writeInt(encoded.length);
+
+      out.write(encoded);
+    }
+  }
+
+}
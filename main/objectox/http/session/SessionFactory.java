@@ -26,9 +26,9 @@ final class SessionFactory {
 
   private final RandomGenerator randomGenerator;
 
-  private final Map<HttpToken, SessionPojo> sessions;
+  private final SessionStore sessions;
 
-  SessionFactory(InstantSource instantSource, RandomGenerator randomGenerator, Map<HttpToken, SessionPojo> sessions) {
+  SessionFactory(InstantSource instantSource, RandomGenerator randomGenerator, SessionStore sessions) {
     this.instantSource = instantSource;
 
     this.randomGenerator = randomGenerator;
@@ -49,11 +49,11 @@ final class SessionFactory {
 
       pojo = new SessionPojo(attributes);
 
+      pojo.touch(instantSource);
+
       existing = sessions.putIfAbsent(id, pojo);
     } while (existing != null);
 
-    pojo.touch(instantSource);
-
     return id;
   }
 
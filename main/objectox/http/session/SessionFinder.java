@@ -16,7 +16,6 @@
 package objectox.http.session;
 
 import java.time.InstantSource;
-import java.util.Map;
 import objectox.http.HttpToken;
 import objectox.http.HttpToken.ParseException;
 
@@ -24,9 +23,9 @@ final class SessionFinder {
 
   private final InstantSource instantSource;
 
-  private final Map<HttpToken, SessionPojo> sessions;
+  private final SessionStore sessions;
 
-  SessionFinder(InstantSource instantSource, Map<HttpToken, SessionPojo> sessions) {
+  SessionFinder(InstantSource instantSource, SessionStore sessions) {
     this.instantSource = instantSource;
 
     this.sessions = sessions;
@@ -0,0 +1,286 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.time.InstantSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import objectos.internal.NoOpSinkSingleton;
+import objectos.way.Note;
+import objectox.http.HttpToken;
+
+/// The in-memory sessions of a host; also the near-cache of the
+/// [SessionStoreJdbc].
+///
+/// Expired sessions are evicted by a timing wheel: each session is scheduled
+/// in the slot of its expiration time. A session is not moved when it is
+/// accessed; instead, once its slot is due, its actual expiration time is
+/// checked and it is either evicted or scheduled again. As the expiration
+/// times are bounded by the configured timeouts, a single level wheel covers
+/// all of them.
+///
+/// The wheel is driven by the `InstantSource` of the sessions: the due slots
+/// are swept by the request which first observes that they are due. There is
+/// no background thread.
+final class SessionMap implements SessionStore {
+
+  private static final Note.Int2 EVICTED;
+  private static final Note.Int2 SWEPT;
+
+  static {
+    final Class<?> s;
+    s = SessionMap.class;
+
+    EVICTED = Note.Int2.create(s, "EVI", Note.INFO);
+    SWEPT = Note.Int2.create(s, "SWP", Note.DEBUG);
+  }
+
+  private static final int SLOTS = 64;
+
+  // the slot being filled: the slots before it have been swept
+  private long cursor;
+
+  private final long emptyMaxAge;
+
+  // sessions evicted for capacity since the last sweep: reported once per
+  // sweep, as at capacity each new session evicts another one
+  private int evictions;
+
+  private final long idleTimeout;
+
+  private final InstantSource instantSource;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  // the time at which the slot at the cursor is due
+  private volatile long nextSweep;
+
+  private final Note.Sink noteSink;
+
+  private final Map<HttpToken, SessionPojo> sessions;
+
+  private final int sessionsMax;
+
+  private final long tick;
+
+  private final List<ArrayDeque<HttpToken>> wheel;
+
+  SessionMap(
+      long emptyMaxAge,
+
+      long idleTimeout,
+
+      InstantSource instantSource,
+
+      Note.Sink noteSink,
+
+      Map<HttpToken, SessionPojo> sessions,
+
+      int sessionsMax) {
+    this.emptyMaxAge = emptyMaxAge;
+
+    this.idleTimeout = idleTimeout;
+
+    this.instantSource = instantSource;
+
+    this.noteSink = noteSink;
+
+    this.sessions = sessions;
+
+    this.sessionsMax = sessionsMax;
+
+    tick = Math.max(emptyMaxAge, idleTimeout) / (SLOTS - 2) + 1;
+
+    wheel = new ArrayList<>(SLOTS);
+
+    for (int idx = 0; idx < SLOTS; idx++) {
+      wheel.add(new ArrayDeque<>());
+    }
+
+    cursor = instantSource.millis() / tick;
+
+    nextSweep = (cursor + 1) * tick;
+
+    // sessions already present, if any, are checked on the first sweep
+    wheel.get(slot(cursor)).addAll(sessions.keySet());
+  }
+
+  /// Creates an unbounded instance whose sessions effectively never expire;
+  /// typically used in test cases.
+  static SessionMap of(InstantSource instantSource, Map<HttpToken, SessionPojo> sessions) {
+    return new SessionMap(Long.MAX_VALUE / 2, Long.MAX_VALUE / 2, instantSource, NoOpSinkSingleton.INSTANCE, sessions, Integer.MAX_VALUE);
+  }
+
+  /// Returns the session associated to the specified id, or `null` if there is
+  /// no such session. Sweeps the expired sessions if required.
+  @Override
+  public final SessionPojo get(HttpToken id) {
+    sweepIfNecessary();
+
+    return sessions.get(id);
+  }
+
+  /// Associates the specified session to the specified id, unless the id is
+  /// already in use. Returns the existing session in the latter case; returns
+  /// `null` otherwise. Evicts the least recently accessed sessions if the
+  /// maximum number of sessions is exceeded.
+  @Override
+  public final SessionPojo putIfAbsent(HttpToken id, SessionPojo session) {
+    sweepIfNecessary();
+
+    final SessionPojo existing;
+    existing = sessions.putIfAbsent(id, session);
+
+    if (existing != null) {
+      return existing;
+    }
+
+    lock.lock();
+    try {
+      schedule(id, session.expiration(emptyMaxAge, idleTimeout));
+
+      if (sessions.size() > sessionsMax) {
+        evict();
+      }
+    } finally {
+      lock.unlock();
+    }
+
+    return null;
+  }
+
+  /// Returns the number of sessions.
+  final int size() {
+    return sessions.size();
+  }
+
+  private void sweepIfNecessary() {
+    final long now;
+    now = instantSource.millis();
+
+    if (now < nextSweep) {
+      return;
+    }
+
+    // some other request is already sweeping
+    if (!lock.tryLock()) {
+      return;
+    }
+
+    try {
+      sweep(now);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void sweep(long now) {
+    final long due;
+    due = now / tick;
+
+    // if the wheel has been idle for a full turn,
+    // each slot needs to be swept only once
+    final long first;
+    first = Math.max(cursor, due - SLOTS);
+
+    int evicted;
+    evicted = 0;
+
+    for (long t = first; t < due; t++) {
+      final ArrayDeque<HttpToken> slot;
+      slot = wheel.set(slot(t), new ArrayDeque<>());
+
+      for (HttpToken id : slot) {
+        final SessionPojo session;
+        session = sessions.get(id);
+
+        if (session == null) {
+          continue;
+        }
+
+        final long expiration;
+        expiration = session.expiration(emptyMaxAge, idleTimeout);
+
+        if (expiration <= now) {
+          if (sessions.remove(id, session)) {
+            evicted++;
+          }
+        } else {
+          schedule(id, expiration);
+        }
+      }
+    }
+
+    cursor = due;
+
+    nextSweep = (due + 1) * tick;
+
+    noteSink.send(SWEPT, evicted, sessions.size());
+
+    if (evictions > 0) {
+      noteSink.send(EVICTED, evictions, sessions.size());
+
+      evictions = 0;
+    }
+  }
+
+  // evicts the sessions closest to expiring: within the granularity of a
+  // slot, these are the least recently accessed ones
+  private void evict() {
+    for (long t = cursor; t < cursor + SLOTS && sessions.size() > sessionsMax; t++) {
+      final ArrayDeque<HttpToken> slot;
+      slot = wheel.get(slot(t));
+
+      while (!slot.isEmpty() && sessions.size() > sessionsMax) {
+        final HttpToken id;
+        id = slot.removeFirst();
+
+        final SessionPojo session;
+        session = sessions.get(id);
+
+        if (session == null) {
+          continue;
+        }
+
+        final long expiration;
+        expiration = session.expiration(emptyMaxAge, idleTimeout);
+
+        if (expiration / tick > t) {
+          // accessed since it was scheduled
+          schedule(id, expiration);
+        } else if (sessions.remove(id, session)) {
+          evictions++;
+        }
+      }
+    }
+  }
+
+  private void schedule(HttpToken id, long expiration) {
+    // never schedule in a slot which has already been swept
+    final long t;
+    t = Math.max(expiration / tick, cursor);
+
+    wheel.get(slot(t)).add(id);
+  }
+
+  private int slot(long t) {
+    return (int) (t % SLOTS);
+  }
+
+}
@@ -17,12 +17,20 @@ package objectox.http.session;
 
 import java.time.Instant;
 import java.time.InstantSource;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import objectos.lang.Key;
 
+/// A server-side session.
+///
+/// Sessions are read-mostly and a single session is often accessed by
+/// concurrent requests of the same browser: reads do not acquire any lock.
+/// The attributes are kept in a copy-on-write map: a published map is never
+/// modified; writers, serialized by a lock, publish a modified copy through a
+/// volatile field instead.
 public final class SessionPojo implements Session {
 
   private enum Private {
@@ -33,27 +41,47 @@ public final class SessionPojo implements Session {
 
   static final int SESSION_LENGTH = 32;
 
-  private Instant accessTime;
+  // null if the session has been invalidated
+  private volatile Instant accessTime;
 
-  private final Map<Object, Object> attributes;
+  private volatile Map<Object, Object> attributes;
 
+  // serializes the writers only
   private final Lock lock = new ReentrantLock();
 
   public SessionPojo(Map<Object, Object> attributes) {
+    this.attributes = attributes.isEmpty() ? Map.of() : new HashMap<>(attributes);
+  }
+
+  private SessionPojo(Map<Object, Object> attributes, Instant accessTime) {
+    this.accessTime = accessTime;
+
     this.attributes = attributes;
   }
 
+  /// Recreates a session from a snapshot. The specified map is not copied:
+  /// it must not be modified afterwards.
+  static SessionPojo restore(Map<Object, Object> attributes, Instant accessTime) {
+    return new SessionPojo(attributes, accessTime);
+  }
+
   public final Instant accessTime() {
     return accessTime;
   }
 
+  /// Returns the current attributes. The returned map is never modified: a
+  /// distinct instance is returned once the attributes are modified.
+  final Map<Object, Object> attributes() {
+    return attributes;
+  }
+
   @SuppressWarnings("unchecked")
   @Override
   public final <T> T attr(Class<T> key) {
     final String name;
     name = key.getName();
 
-    return (T) get0(name);
+    return (T) attributes.get(name);
   }
 
   @SuppressWarnings("unchecked")
@@ -61,7 +89,7 @@ public final class SessionPojo implements Session {
   public final <T> T attr(Key<T> key) {
     Objects.requireNonNull(key, "key == null");
 
-    return (T) get0(key);
+    return (T) attributes.get(key);
   }
 
   @SuppressWarnings("unchecked")
@@ -81,15 +109,30 @@ public final class SessionPojo implements Session {
     return (T) set0(key, value);
   }
 
+  /// Returns the time, in milliseconds from the epoch, at which this session
+  /// expires: sessions without attributes expire sooner. Returns
+  /// `Long.MIN_VALUE` if this session has been invalidated.
+  public final long expiration(long emptyMaxAge, long idleTimeout) {
+    final Instant time;
+    time = accessTime;
+
+    if (time == null) {
+      return Long.MIN_VALUE;
+    }
+
+    final long maxAge;
+    maxAge = attributes.isEmpty() ? emptyMaxAge : idleTimeout;
+
+    return time.toEpochMilli() + maxAge;
+  }
+
   @Override
   public final void invalidate() {
     lock.lock();
     try {
       accessTime = null;
 
-      attributes.clear();
-
-      attributes.put(Private.UNSET_COOKIE, Private.UNSET_COOKIE);
+      attributes = Map.of(Private.UNSET_COOKIE, Private.UNSET_COOKIE);
     } finally {
       lock.unlock();
     }
@@ -100,41 +143,80 @@ public final class SessionPojo implements Session {
     return true;
   }
 
-  public final boolean shouldUnset() {
-    return attributes.remove(Private.UNSET_COOKIE) == Private.UNSET_COOKIE;
-  }
-
-  public final void touch(InstantSource source) {
+  /// Replaces the attributes of this session with the specified ones, as
+  /// stored by another server.
+  final void reload(Map<Object, Object> values) {
     lock.lock();
     try {
-      accessTime = source.instant();
+      if (accessTime != null) {
+        attributes = values.isEmpty() ? Map.of() : new HashMap<>(values);
+      }
     } finally {
       lock.unlock();
     }
   }
 
-  public final boolean valid() {
-    lock.lock();
-    try {
-      return accessTime != null;
-    } finally {
-      lock.unlock();
+  public final boolean shouldUnset() {
+    // fast path: the session has not been invalidated
+    if (!attributes.containsKey(Private.UNSET_COOKIE)) {
+      return false;
     }
-  }
 
-  private Object get0(Object key) {
     lock.lock();
     try {
-      return attributes.get(key);
+      final Map<Object, Object> current;
+      current = attributes;
+
+      if (!current.containsKey(Private.UNSET_COOKIE)) {
+        return false;
+      }
+
+      final Map<Object, Object> copy;
+      copy = new HashMap<>(current);
+
+      copy.remove(Private.UNSET_COOKIE);
+
+      attributes = copy;
+
+      return true;
     } finally {
       lock.unlock();
     }
   }
 
+  public final void touch(InstantSource source) {
+    accessTime = source.instant();
+  }
+
+  public final boolean valid() {
+    return accessTime != null;
+  }
+
   private Object set0(Object key, Object value) {
     lock.lock();
     try {
-      return attributes.put(key, value);
+      final Map<Object, Object> current;
+      current = attributes;
+
+      final Object previous;
+      previous = current.get(key);
+
+      if (previous == value) {
+        return previous;
+      }
+
+      final Map<Object, Object> copy;
+      copy = new HashMap<>(current);
+
+      if (value != null) {
+        copy.put(key, value);
+      } else {
+        copy.remove(key);
+      }
+
+      attributes = copy;
+
+      return previous;
     } finally {
       lock.unlock();
     }
@@ -0,0 +1,405 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import objectos.way.Note;
+import objectox.http.HttpToken;
+
+/// Keeps the in-memory sessions across restarts: writes the live sessions to
+/// a file when closed, typically by a shutdown hook, and reads them back
+/// when the sessions of a host are created.
+///
+/// The file starts with a header: a magic number, the format version, the
+/// number of sessions, and the names of the codecs registered when it was
+/// written. The sessions follow, up to the end of the file: the id, the
+/// access time and the attributes of each one; an attribute refers to its
+/// codec by its index in the header.
+///
+/// The file is memory mapped while read, then deleted: sessions invalidated
+/// after a restore must never be restored again.
+final class SessionSnapshot implements AutoCloseable {
+
+  private static final Note.Ref1<Exception> DECODE;
+  private static final Note.Ref1<Exception> ENCODE;
+  private static final Note.Ref1<Exception> FAILED;
+  private static final Note.Int2 READ;
+  private static final Note.Int2 WRITTEN;
+
+  static {
+    final Class<?> s;
+    s = SessionSnapshot.class;
+
+    DECODE = Note.Ref1.create(s, "DEC", Note.ERROR);
+    ENCODE = Note.Ref1.create(s, "ENC", Note.ERROR);
+    FAILED = Note.Ref1.create(s, "THR", Note.ERROR);
+    READ = Note.Int2.create(s, "RED", Note.INFO);
+    WRITTEN = Note.Int2.create(s, "WRT", Note.INFO);
+  }
+
+  private static final int MAGIC = 0x57415953;
+
+  // id, access time and attributes count
+  private static final int SESSION_MIN = 32 + 8 + 2;
+
+  private static final int VERSION = 1;
+
+  private final SessionCodecs codecs;
+
+  private final long emptyMaxAge;
+
+  private final Path file;
+
+  private final long idleTimeout;
+
+  private final InstantSource instantSource;
+
+  private final Note.Sink noteSink;
+
+  private Map<HttpToken, SessionPojo> sessions;
+
+  SessionSnapshot(
+      SessionCodecs codecs,
+
+      long emptyMaxAge,
+
+      Path file,
+
+      long idleTimeout,
+
+      InstantSource instantSource,
+
+      Note.Sink noteSink) {
+    this.codecs = codecs;
+
+    this.emptyMaxAge = emptyMaxAge;
+
+    this.file = file;
+
+    this.idleTimeout = idleTimeout;
+
+    this.instantSource = instantSource;
+
+    this.noteSink = noteSink;
+  }
+
+  /// Writes the live sessions to the file.
+  @Override
+  public final void close() {
+    if (sessions == null) {
+      return;
+    }
+
+    try {
+      write();
+    } catch (IOException | RuntimeException e) {
+      noteSink.send(FAILED, e);
+    }
+  }
+
+  /// Reads the sessions from the file, if it exists, then deletes it. Sessions
+  /// which expired in the meantime are discarded.
+  ///
+  /// Returns the map holding the restored sessions: it is sized for the
+  /// number of sessions in the file. The sessions of this same map are written
+  /// when this snapshot is closed.
+  final Map<HttpToken, SessionPojo> read() {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size;
+      size = channel.size();
+
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Session snapshot file is too large: " + size + " bytes");
+      }
+
+      final MappedByteBuffer buffer;
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+      read(buffer);
+    } catch (NoSuchFileException e) {
+      sessions = new ConcurrentHashMap<>();
+
+      return sessions;
+    } catch (IOException | RuntimeException e) {
+      // a partial restore is better than none
+      noteSink.send(FAILED, e);
+    }
+
+    if (sessions == null) {
+      sessions = new ConcurrentHashMap<>();
+    }
+
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      noteSink.send(FAILED, e);
+    }
+
+    return sessions;
+  }
+
+  private void read(MappedByteBuffer buffer) throws IOException {
+    try {
+      if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+        throw new IOException("Invalid session snapshot file: " + file);
+      }
+
+      final int count;
+      count = buffer.getInt();
+
+      // the count is only a hint: guard against a corrupted file
+      sessions = new ConcurrentHashMap<>(Math.clamp(count, 0, buffer.remaining() / SESSION_MIN));
+
+      // the codecs by their index in the file;
+      // null if no longer registered
+      final SessionCodecs.Entry[] entries;
+      entries = new SessionCodecs.Entry[buffer.getShort() & 0xFFFF];
+
+      for (int idx = 0; idx < entries.length; idx++) {
+        final byte[] name;
+        name = new byte[buffer.getShort() & 0xFFFF];
+
+        buffer.get(name);
+
+        entries[idx] = codecs.byName(new String(name, StandardCharsets.UTF_8));
+      }
+
+      final long now;
+      now = instantSource.millis();
+
+      int discarded;
+      discarded = 0;
+
+      int restored;
+      restored = 0;
+
+      while (buffer.hasRemaining()) {
+        final HttpToken id;
+        id = HttpToken.of32(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+
+        final long accessTime;
+        accessTime = buffer.getLong();
+
+        final int size;
+        size = buffer.getShort() & 0xFFFF;
+
+        // as with the writer, a session is restored in full or not at all:
+        // a partially restored session could be inconsistent
+        boolean complete;
+        complete = size > 0 && accessTime + idleTimeout > now;
+
+        // as the attributes of a session are never modified in place,
+        // a compact immutable map can be used
+        final Map.Entry<?, ?>[] attributes;
+        attributes = complete ? new Map.Entry<?, ?>[size] : null;
+
+        for (int attr = 0; attr < size; attr++) {
+          final SessionCodecs.Entry entry;
+          entry = entries[buffer.getShort() & 0xFFFF];
+
+          final int length;
+          length = buffer.getInt();
+
+          if (!complete || entry == null) {
+            // discarded already, or the codec is no longer registered
+            complete = false;
+
+            buffer.position(buffer.position() + length);
+
+            continue;
+          }
+
+          final byte[] bytes;
+          bytes = new byte[length];
+
+          buffer.get(bytes);
+
+          try {
+            attributes[attr] = Map.entry(entry.key(), entry.codec().decode(bytes));
+          } catch (RuntimeException e) {
+            noteSink.send(DECODE, e);
+
+            complete = false;
+          }
+        }
+
+        if (!complete) {
+          discarded++;
+
+          continue;
+        }
+
+        final Map<Object, Object> map;
+        map = Map.ofEntries(attributes);
+
+        sessions.put(id, SessionPojo.restore(map, Instant.ofEpochMilli(accessTime)));
+
+        restored++;
+      }
+
+      noteSink.send(READ, restored, discarded);
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated session snapshot file: " + file, e);
+    }
+  }
+
+  private void write() throws IOException {
+    final long now;
+    now = instantSource.millis();
+
+    final List<Map.Entry<HttpToken, SessionPojo>> live;
+    live = new ArrayList<>(sessions.size());
+
+    for (Map.Entry<HttpToken, SessionPojo> entry : sessions.entrySet()) {
+      final SessionPojo session;
+      session = entry.getValue();
+
+      // empty sessions are not worth keeping
+      if (session.expiration(emptyMaxAge, idleTimeout) > now && !session.attributes().isEmpty()) {
+        live.add(entry);
+      }
+    }
+
+    final List<SessionCodecs.Entry> entries;
+    entries = codecs.entries();
+
+    final Path tmp;
+    tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+    int skipped;
+    skipped = 0;
+
+    // a session is encoded in full before it is written: a codec failure
+    // skips the session only
+    final ByteArrayOutputStream buffer;
+    buffer = new ByteArrayOutputStream();
+
+    final DataOutputStream attrs;
+    attrs = new DataOutputStream(buffer);
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 64 * 1024))) {
+      out.writeInt(MAGIC);
+
+      out.writeInt(VERSION);
+
+      out.writeInt(live.size());
+
+      out.writeShort(entries.size());
+
+      for (SessionCodecs.Entry entry : entries) {
+        final byte[] name;
+        name = entry.name().getBytes(StandardCharsets.UTF_8);
+
+        out.writeShort(name.length);
+
+        out.write(name);
+      }
+
+      for (Map.Entry<HttpToken, SessionPojo> entry : live) {
+        final SessionPojo session;
+        session = entry.getValue();
+
+        final Instant accessTime;
+        accessTime = session.accessTime();
+
+        final Map<Object, Object> attributes;
+        attributes = session.attributes();
+
+        // invalidated in the meantime, or not encodable
+        if (accessTime == null || !encodable(attributes)) {
+          skipped++;
+
+          continue;
+        }
+
+        buffer.reset();
+
+        try {
+          for (Map.Entry<Object, Object> attribute : attributes.entrySet()) {
+            final SessionCodecs.Entry codec;
+            codec = codecs.byKey(attribute.getKey());
+
+            final byte[] encoded;
+            encoded = codec.codec().encode(attribute.getValue());
+
+            attrs.writeShort(codec.index());
+
+            attrs.writeInt(encoded.length);
+
+            attrs.write(encoded);
+          }
+        } catch (RuntimeException e) {
+          noteSink.send(ENCODE, e);
+
+          skipped++;
+
+          continue;
+        }
+
+        out.write(entry.getKey().toByteArray());
+
+        out.writeLong(accessTime.toEpochMilli());
+
+        out.writeShort(attributes.size());
+
+        buffer.writeTo(out);
+      }
+    } catch (IOException | RuntimeException e) {
+      try {
+        Files.deleteIfExists(tmp);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+
+      throw e;
+    }
+
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+    noteSink.send(WRITTEN, live.size() - skipped, skipped);
+  }
+
+  // sessions with an attribute without a codec are not written at all:
+  // a partially restored session could be inconsistent
+  private boolean encodable(Map<Object, Object> attributes) {
+    for (Object key : attributes.keySet()) {
+      if (codecs.byKey(key) == null) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import objectos.lang.Key;
+
+/// A session whose attributes were decoded from an encrypted session cookie.
+/// An instance belongs to a single request: the session cookie is reissued
+/// by the response if the attributes are modified.
+final class SessionStateless implements Session {
+
+  private final long accessTime;
+
+  private Map<Object, Object> attributes;
+
+  private boolean dirty;
+
+  private boolean invalid;
+
+  private final boolean rotated;
+
+  SessionStateless(long accessTime, Map<Object, Object> attributes, boolean rotated) {
+    this.accessTime = accessTime;
+
+    this.attributes = attributes;
+
+    this.rotated = rotated;
+  }
+
+  /// Returns the time, in milliseconds from the epoch, at which the session
+  /// cookie was issued.
+  final long accessTime() {
+    return accessTime;
+  }
+
+  final Map<Object, Object> attributes() {
+    return attributes;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final <T> T attr(Class<T> key) {
+    final String name;
+    name = key.getName();
+
+    return (T) attributes.get(name);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final <T> T attr(Key<T> key) {
+    Objects.requireNonNull(key, "key == null");
+
+    return (T) attributes.get(key);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final <T> T attr(Class<T> key, T value) {
+    final String name;
+    name = key.getName();
+
+    return (T) set0(name, value);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public final <T> T attr(Key<T> key, T value) {
+    Objects.requireNonNull(key, "key == null");
+
+    return (T) set0(key, value);
+  }
+
+  /// Returns `true` if the attributes have been modified.
+  final boolean dirty() {
+    return dirty;
+  }
+
+  @Override
+  public final void invalidate() {
+    attributes = Map.of();
+
+    invalid = true;
+  }
+
+  /// Returns `true` if the session cookie must be unset.
+  final boolean invalid() {
+    return invalid;
+  }
+
+  @Override
+  public final boolean isPresent() {
+    return true;
+  }
+
+  /// Returns `true` if the session cookie was encrypted with a previous key.
+  final boolean rotated() {
+    return rotated;
+  }
+
+  private Object set0(Object key, Object value) {
+    if (attributes.isEmpty()) {
+      attributes = new HashMap<>();
+    }
+
+    dirty = true;
+
+    return value != null ? attributes.put(key, value) : attributes.remove(key);
+  }
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.InstantSource;
+import java.util.Base64;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/// Encodes session attributes into, and decodes them from, the value of an
+/// encrypted session cookie.
+///
+/// The value is the URL-safe Base64 encoding of a version byte, followed by a
+/// random 96-bit IV and by the AES-GCM encrypted payload. The cookie name is
+/// authenticated along with the payload. The payload holds the time the
+/// cookie was issued followed by the encoded attributes.
+final class SessionStatelessCodec {
+
+  private static final String ALGORITHM = "AES/GCM/NoPadding";
+
+  static final int COOKIE_MAX = 4096;
+
+  private static final int IV_LENGTH = 12;
+
+  private static final int TAG_LENGTH = 128;
+
+  private static final byte VERSION = 1;
+
+  private final byte[] aad;
+
+  private final SessionCodecs codecs;
+
+  private final String cookieName;
+
+  private final long idleTimeout;
+
+  private final InstantSource instantSource;
+
+  // IVs must never repeat under the same key: always a CSPRNG, regardless of
+  // the configured random generator
+  private final SecureRandom ivGenerator;
+
+  // the first key is the current one
+  private final SecretKey[] keys;
+
+  SessionStatelessCodec(
+      SessionCodecs codecs,
+
+      String cookieName,
+
+      long idleTimeout,
+
+      InstantSource instantSource,
+
+      SecretKey[] keys) {
+    aad = cookieName.getBytes(StandardCharsets.US_ASCII);
+
+    this.codecs = codecs;
+
+    this.cookieName = cookieName;
+
+    this.idleTimeout = idleTimeout;
+
+    this.instantSource = instantSource;
+
+    ivGenerator = new SecureRandom();
+
+    this.keys = keys;
+  }
+
+  /// Returns the session represented by the specified cookie value, or `null`
+  /// if the value cannot be authenticated or if the session has expired.
+  public final SessionStateless decode(String value) {
+    final byte[] bytes;
+
+    try {
+      bytes = Base64.getUrlDecoder().decode(value);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+
+    if (bytes.length < 1 + IV_LENGTH || bytes[0] != VERSION) {
+      return null;
+    }
+
+    for (int idx = 0; idx < keys.length; idx++) {
+      final byte[] payload;
+      payload = decrypt(keys[idx], bytes);
+
+      if (payload != null) {
+        return decode(payload, idx > 0);
+      }
+    }
+
+    return null;
+  }
+
+  private SessionStateless decode(byte[] payload, boolean rotated) {
+    try {
+      final DataInputStream in;
+      in = new DataInputStream(new ByteArrayInputStream(payload));
+
+      final long accessTime;
+      accessTime = in.readLong();
+
+      if (instantSource.millis() - accessTime > idleTimeout) {
+        return null;
+      }
+
+      final Map<Object, Object> attributes;
+      attributes = codecs.read(in);
+
+      return new SessionStateless(accessTime, attributes, rotated);
+    } catch (IOException | RuntimeException e) {
+      // authenticated but not well-formed, or rejected by an attribute codec:
+      // the cookie is treated as absent
+      return null;
+    }
+  }
+
+  private byte[] decrypt(SecretKey key, byte[] bytes) {
+    try {
+      final Cipher cipher;
+      cipher = Cipher.getInstance(ALGORITHM);
+
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, bytes, 1, IV_LENGTH));
+
+      cipher.updateAAD(aad);
+
+      final int offset;
+      offset = 1 + IV_LENGTH;
+
+      return cipher.doFinal(bytes, offset, bytes.length - offset);
+    } catch (GeneralSecurityException e) {
+      return null;
+    }
+  }
+
+  /// Returns the cookie value representing the specified attributes, as of
+  /// now.
+  ///
+  /// @throws IllegalStateException if an attribute has no registered codec
+  ///         or if the resulting cookie exceeds 4096 bytes
+  public final String encode(Map<Object, Object> attributes) {
+    final ByteArrayOutputStream bytes;
+    bytes = new ByteArrayOutputStream();
+
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      out.writeLong(instantSource.millis());
+
+      codecs.write(out, attributes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    final String value;
+    value = Base64.getUrlEncoder().withoutPadding().encodeToString(encrypt(bytes.toByteArray()));
+
+    if (cookieName.length() + 1 + value.length() > COOKIE_MAX) {
+      throw new IllegalStateException("Session cookie exceeds " + COOKIE_MAX + " bytes: reduce the size of the session attributes");
+    }
+
+    return value;
+  }
+
+  private byte[] encrypt(byte[] payload) {
+    final byte[] iv;
+    iv = new byte[IV_LENGTH];
+
+    ivGenerator.nextBytes(iv);
+
+    try {
+      final Cipher cipher;
+      cipher = Cipher.getInstance(ALGORITHM);
+
+      cipher.init(Cipher.ENCRYPT_MODE, keys[0], new GCMParameterSpec(TAG_LENGTH, iv));
+
+      cipher.updateAAD(aad);
+
+      final byte[] result;
+      result = new byte[1 + IV_LENGTH + cipher.getOutputSize(payload.length)];
+
+      result[0] = VERSION;
+
+      System.arraycopy(iv, 0, result, 1, IV_LENGTH);
+
+      cipher.doFinal(payload, 0, payload.length, result, 1 + IV_LENGTH);
+
+      return result;
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("Failed to encrypt the session cookie", e);
+    }
+  }
+
+  /// Returns `true` if the cookie of the specified session must be reissued:
+  /// its attributes were modified, it was encrypted with a previous key, or a
+  /// quarter of the idle timeout has elapsed since it was issued.
+  public final boolean reissue(SessionStateless session) {
+    if (session.dirty() || session.rotated()) {
+      return true;
+    }
+
+    final long elapsed;
+    elapsed = instantSource.millis() - session.accessTime();
+
+    return elapsed >= idleTimeout / 4;
+  }
+
+}
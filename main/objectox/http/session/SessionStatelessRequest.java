@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.util.function.Consumer;
+import objectos.http.HeaderName;
+import objectos.http.Request;
+
+final class SessionStatelessRequest implements Consumer<Request> {
+
+  private final SessionStatelessCodec codec;
+
+  private final SessionCookieParser sessionCookieParser;
+
+  SessionStatelessRequest(SessionStatelessCodec codec, SessionCookieParser sessionCookieParser) {
+    this.codec = codec;
+
+    this.sessionCookieParser = sessionCookieParser;
+  }
+
+  @Override
+  public final void accept(Request request) {
+    final String cookieValue;
+    cookieValue = request.header(HeaderName.COOKIE);
+
+    Session session;
+    session = sessionCookieParser.parse(cookieValue, codec::decode);
+
+    if (session == null) {
+      session = new SessionLazy();
+    }
+
+    request.attr(Session.KEY, session);
+  }
+
+}
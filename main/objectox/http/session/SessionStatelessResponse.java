@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import objectos.http.Request;
+import objectox.http.resp.ResponsePojo;
+import objectox.http.resp.StatusEnum;
+
+final class SessionStatelessResponse implements BiConsumer<Request, ResponsePojo> {
+
+  private final SessionStatelessCodec codec;
+
+  private final SessionSetCookie sessionSetCookie;
+
+  private final String sessionUnsetCookie;
+
+  SessionStatelessResponse(SessionStatelessCodec codec, SessionSetCookie sessionSetCookie) {
+    this.codec = codec;
+
+    this.sessionSetCookie = sessionSetCookie;
+
+    sessionUnsetCookie = sessionSetCookie.forInvalid();
+  }
+
+  @Override
+  public final void accept(Request request, ResponsePojo response) {
+    final Session session;
+    session = request.attr(Session.KEY);
+
+    switch (session) {
+      case SessionLazy lazy -> acceptLazy(response, lazy);
+
+      case SessionStateless stateless -> acceptStateless(response, stateless);
+
+      case null, default -> {}
+    }
+  }
+
+  private void acceptLazy(ResponsePojo response, SessionLazy lazy) {
+    final StatusEnum status;
+    status = response.status();
+
+    if (status.isError()) {
+      return;
+    }
+
+    if (!lazy.isPresent()) {
+      return;
+    }
+
+    final String value;
+    value = codec.encode(lazy.attributes());
+
+    response.setCookie(sessionSetCookie.forValid(value));
+  }
+
+  private void acceptStateless(ResponsePojo response, SessionStateless stateless) {
+    final Map<Object, Object> attributes;
+    attributes = stateless.attributes();
+
+    if (stateless.invalid() && attributes.isEmpty()) {
+      response.setCookie(sessionUnsetCookie);
+    }
+
+    else if (codec.reissue(stateless)) {
+      final String value;
+      value = codec.encode(attributes);
+
+      response.setCookie(sessionSetCookie.forValid(value));
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import objectox.http.HttpToken;
+
+/// Stores the server-side sessions of a host.
+sealed interface SessionStore permits SessionMap, SessionStoreJdbc {
+
+  /// Returns the session associated to the specified id, or `null` if there is
+  /// no such session.
+  SessionPojo get(HttpToken id);
+
+  /// Associates the specified session to the specified id, unless the id is
+  /// already in use. Returns the existing session in the latter case; returns
+  /// `null` otherwise.
+  SessionPojo putIfAbsent(HttpToken id, SessionPojo session);
+
+}
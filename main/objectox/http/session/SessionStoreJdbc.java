@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import objectos.way.Note;
+import objectos.way.Sql;
+import objectox.http.HttpToken;
+
+/// Stores the sessions of a host in a database, so they can be shared by the
+/// servers of a cluster.
+///
+/// Reads are served by a near-cache: a session is loaded from the database on
+/// a cache miss; a cached session is checked against the database again once
+/// the sync interval has elapsed since it was last loaded or checked. Writes
+/// are deferred: new and invalidated sessions, modified attributes and access
+/// times are written in batches, at most once per sync interval. As with the
+/// sweeps of the [SessionMap], the writes are performed by the request which
+/// first observes that they are due. Modified attributes are detected by
+/// identity, as the attributes of a session are never modified in place.
+///
+/// Database failures never reach the request: a session which cannot be
+/// loaded or decoded is treated as absent, and a failed batch is retried on
+/// the next sync.
+final class SessionStoreJdbc implements AutoCloseable, SessionStore {
+
+  private static final Note.Ref1<Exception> DECODE;
+  private static final Note.Ref1<Exception> ENCODE;
+  private static final Note.Ref1<Sql.DatabaseException> LOAD;
+  private static final Note.Int3 SYNCED;
+  private static final Note.Ref1<Sql.DatabaseException> SYNC_FAILED;
+
+  static {
+    final Class<?> s;
+    s = SessionStoreJdbc.class;
+
+    DECODE = Note.Ref1.create(s, "DEC", Note.ERROR);
+    ENCODE = Note.Ref1.create(s, "ENC", Note.ERROR);
+    LOAD = Note.Ref1.create(s, "LOD", Note.ERROR);
+    SYNCED = Note.Int3.create(s, "SYN", Note.DEBUG);
+    SYNC_FAILED = Note.Ref1.create(s, "SYF", Note.ERROR);
+  }
+
+  private static final class Entry {
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    final SessionPojo session;
+
+    // the attributes as stored in the database: null if not stored yet
+    Map<Object, Object> stored;
+
+    Instant storedAccessTime;
+
+    // the last time the session was loaded from or checked against the database
+    volatile long validated;
+
+    Entry(SessionPojo session, Map<Object, Object> stored, long validated) {
+      this.session = session;
+
+      this.stored = stored;
+
+      storedAccessTime = session.accessTime();
+
+      this.validated = validated;
+    }
+
+  }
+
+  private record Row(long accessTime, byte[] data) {}
+
+  private record Write(Entry entry, HttpToken id, Map<Object, Object> attributes, Instant accessTime, byte[] data) {}
+
+  private final SessionMap cache;
+
+  private final SessionCodecs codecs;
+
+  private final Sql.Database database;
+
+  private final Map<HttpToken, Entry> entries = new ConcurrentHashMap<>();
+
+  private final long idleTimeout;
+
+  private final InstantSource instantSource;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile long nextSync;
+
+  private final Note.Sink noteSink;
+
+  private final long syncInterval;
+
+  SessionStoreJdbc(
+      SessionMap cache,
+
+      SessionCodecs codecs,
+
+      Sql.Database database,
+
+      long idleTimeout,
+
+      InstantSource instantSource,
+
+      Note.Sink noteSink,
+
+      long syncInterval) {
+    this.cache = cache;
+
+    this.codecs = codecs;
+
+    this.database = database;
+
+    this.idleTimeout = idleTimeout;
+
+    this.instantSource = instantSource;
+
+    this.noteSink = noteSink;
+
+    this.syncInterval = syncInterval;
+
+    nextSync = instantSource.millis() + syncInterval;
+  }
+
+  @Override
+  public final SessionPojo get(HttpToken id) {
+    final long now;
+    now = instantSource.millis();
+
+    syncIfNecessary(now);
+
+    final SessionPojo cached;
+    cached = cache.get(id);
+
+    if (cached == null) {
+      return load(id, now);
+    }
+
+    final Entry entry;
+    entry = entries.get(id);
+
+    if (entry == null || entry.session != cached || now - entry.validated < syncInterval) {
+      return cached;
+    }
+
+    return revalidate(id, entry, now);
+  }
+
+  @Override
+  public final SessionPojo putIfAbsent(HttpToken id, SessionPojo session) {
+    final long now;
+    now = instantSource.millis();
+
+    syncIfNecessary(now);
+
+    final SessionPojo existing;
+    existing = cache.putIfAbsent(id, session);
+
+    if (existing != null) {
+      return existing;
+    }
+
+    entries.put(id, new Entry(session, null, now));
+
+    return null;
+  }
+
+  /// Writes all pending changes to the database; typically invoked by a
+  /// shutdown hook.
+  @Override
+  public final void close() {
+    sync();
+  }
+
+  /// Writes all pending changes to the database now.
+  final void sync() {
+    lock.lock();
+    try {
+      sync(instantSource.millis());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private SessionPojo load(HttpToken id, long now) {
+    final Row row;
+
+    try {
+      row = select(id);
+    } catch (Sql.DatabaseException e) {
+      noteSink.send(LOAD, e);
+
+      return null;
+    }
+
+    if (row == null || now - row.accessTime > idleTimeout) {
+      return null;
+    }
+
+    final Map<Object, Object> attributes;
+
+    try {
+      attributes = decode(row.data);
+    } catch (RuntimeException e) {
+      noteSink.send(DECODE, e);
+
+      return null;
+    }
+
+    final SessionPojo session;
+    session = new SessionPojo(attributes);
+
+    // sessions are scheduled for expiration by their access time
+    session.touch(instantSource);
+
+    final SessionPojo existing;
+    existing = cache.putIfAbsent(id, session);
+
+    if (existing != null) {
+      return existing;
+    }
+
+    entries.put(id, new Entry(session, session.attributes(), now));
+
+    return session;
+  }
+
+  private SessionPojo revalidate(HttpToken id, Entry entry, long now) {
+    final SessionPojo session;
+    session = entry.session;
+
+    entry.lock.lock();
+    try {
+      if (now - entry.validated < syncInterval) {
+        return session;
+      }
+
+      // local changes not written yet: they take precedence
+      if (entry.stored != session.attributes()) {
+        return session;
+      }
+
+      final Row row;
+
+      try {
+        row = select(id);
+      } catch (Sql.DatabaseException e) {
+        noteSink.send(LOAD, e);
+
+        return session;
+      }
+
+      entry.validated = now;
+
+      if (row == null) {
+        // invalidated or expired by another server
+        session.invalidate();
+
+        return null;
+      }
+
+      final Map<Object, Object> attributes;
+
+      try {
+        attributes = decode(row.data);
+      } catch (RuntimeException e) {
+        // keep the local copy, as when the database cannot be reached
+        noteSink.send(DECODE, e);
+
+        return session;
+      }
+
+      session.reload(attributes);
+
+      entry.stored = session.attributes();
+
+      return session;
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+  private Row select(HttpToken id) {
+    try (Sql.Transaction trx = database.connect()) {
+      trx.sql("select ACCESS_TIME, DATA from WAY_SESSION where ID = ?");
+
+      trx.param(id.toString());
+
+      final Optional<Row> row;
+      row = trx.queryOptional((rs, idx) -> new Row(rs.getLong(idx), rs.getBytes(idx + 1)));
+
+      return row.orElse(null);
+    }
+  }
+
+  private Map<Object, Object> decode(byte[] data) {
+    try {
+      final DataInputStream in;
+      in = new DataInputStream(new ByteArrayInputStream(data));
+
+      return codecs.read(in);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private byte[] encode(Map<Object, Object> attributes) {
+    final ByteArrayOutputStream bytes;
+    bytes = new ByteArrayOutputStream();
+
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      codecs.write(out, attributes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return bytes.toByteArray();
+  }
+
+  private void syncIfNecessary(long now) {
+    if (now < nextSync) {
+      return;
+    }
+
+    // some other request is already writing
+    if (!lock.tryLock()) {
+      return;
+    }
+
+    try {
+      sync(now);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void sync(long now) {
+    // pending changes are retried on the next sync, even if this one fails
+    nextSync = now + syncInterval;
+
+    final List<Write> deletes;
+    deletes = new ArrayList<>();
+
+    final List<Write> inserts;
+    inserts = new ArrayList<>();
+
+    final List<Write> touches;
+    touches = new ArrayList<>();
+
+    final List<Write> updates;
+    updates = new ArrayList<>();
+
+    for (Map.Entry<HttpToken, Entry> mapEntry : entries.entrySet()) {
+      final HttpToken id;
+      id = mapEntry.getKey();
+
+      final Entry entry;
+      entry = mapEntry.getValue();
+
+      final SessionPojo session;
+      session = entry.session;
+
+      final Map<Object, Object> attributes;
+      attributes = session.attributes();
+
+      final Instant accessTime;
+      accessTime = session.accessTime();
+
+      if (accessTime == null) {
+        deletes.add(new Write(entry, id, attributes, accessTime, null));
+      }
+
+      else if (attributes != entry.stored) {
+        final byte[] data;
+
+        try {
+          data = encode(attributes);
+        } catch (RuntimeException e) {
+          // the session is kept in the near-cache only
+          noteSink.send(ENCODE, e);
+
+          continue;
+        }
+
+        final Write write;
+        write = new Write(entry, id, attributes, accessTime, data);
+
+        if (entry.stored == null) {
+          inserts.add(write);
+        } else {
+          updates.add(write);
+        }
+      }
+
+      else if (accessTime != entry.storedAccessTime) {
+        touches.add(new Write(entry, id, attributes, accessTime, null));
+      }
+    }
+
+    Sql.Transaction trx;
+    trx = null;
+
+    try {
+      trx = database.beginTransaction(Sql.READ_COMMITED);
+
+      if (!updates.isEmpty()) {
+        trx.sql("update WAY_SESSION set ACCESS_TIME = ?, DATA = ? where ID = ?");
+
+        for (Write w : updates) {
+          trx.param(w.accessTime.toEpochMilli());
+          trx.param(w.data);
+          trx.param(w.id.toString());
+          trx.addBatch();
+        }
+
+        final int[] counts;
+        counts = trx.batchUpdate();
+
+        // removed by another server in the meantime
+        for (int idx = 0; idx < counts.length; idx++) {
+          if (counts[idx] == 0) {
+            inserts.add(updates.get(idx));
+          }
+        }
+      }
+
+      if (!inserts.isEmpty()) {
+        trx.sql("insert into WAY_SESSION (ID, ACCESS_TIME, DATA) values (?, ?, ?)");
+
+        for (Write w : inserts) {
+          trx.param(w.id.toString());
+          trx.param(w.accessTime.toEpochMilli());
+          trx.param(w.data);
+          trx.addBatch();
+        }
+
+        trx.batchUpdate();
+      }
+
+      if (!touches.isEmpty()) {
+        // never move the access time backwards
+        trx.sql("update WAY_SESSION set ACCESS_TIME = ? where ID = ? and ACCESS_TIME < ?");
+
+        for (Write w : touches) {
+          final long time;
+          time = w.accessTime.toEpochMilli();
+
+          trx.param(time);
+          trx.param(w.id.toString());
+          trx.param(time);
+          trx.addBatch();
+        }
+
+        trx.batchUpdate();
+      }
+
+      if (!deletes.isEmpty()) {
+        trx.sql("delete from WAY_SESSION where ID = ?");
+
+        for (Write w : deletes) {
+          trx.param(w.id.toString());
+          trx.addBatch();
+        }
+
+        trx.batchUpdate();
+      }
+
+      trx.sql("delete from WAY_SESSION where ACCESS_TIME < ?");
+
+      trx.param(now - idleTimeout);
+
+      trx.update();
+
+      trx.commit();
+    } catch (Sql.DatabaseException e) {
+      noteSink.send(SYNC_FAILED, trx != null ? trx.rollbackAndSuppress(e) : e);
+
+      return;
+    } finally {
+      if (trx != null) {
+        trx.close();
+      }
+    }
+
+    for (Write w : deletes) {
+      entries.remove(w.id, w.entry);
+    }
+
+    for (Write w : inserts) {
+      stored(w);
+    }
+
+    for (Write w : updates) {
+      stored(w);
+    }
+
+    for (Write w : touches) {
+      stored(w);
+    }
+
+    // sessions evicted from the near-cache no longer need to be tracked:
+    // their last changes have just been written
+    entries.entrySet().removeIf(e -> cache.get(e.getKey()) != e.getValue().session);
+
+    noteSink.send(SYNCED, inserts.size() + updates.size(), touches.size(), deletes.size());
+  }
+
+  private void stored(Write w) {
+    final Entry entry;
+    entry = w.entry;
+
+    entry.lock.lock();
+    try {
+      entry.stored = w.attributes;
+
+      entry.storedAccessTime = w.accessTime;
+    } finally {
+      entry.lock.unlock();
+    }
+  }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import java.time.Duration;
+import objectos.http.SessionOptions;
+import objectos.way.App;
+import objectos.way.Sql;
+
+public sealed interface SessionStoreOption extends SessionOptions.Store {
+
+  record Memory() implements SessionStoreOption {}
+
+  record Database(Sql.Database database, App.ShutdownHook shutdownHook, Duration syncInterval) implements SessionStoreOption {}
+
+}
@@ -15,23 +15,28 @@
  */
 package objectox.http.session;
 
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import objectos.http.Request;
+import objectox.http.resp.ResponsePojo;
+
 public final class SessionSupport {
 
-  private final SessionRequest request;
+  private final Consumer<Request> request;
 
-  private final SessionResponse response;
+  private final BiConsumer<Request, ResponsePojo> response;
 
-  SessionSupport(SessionRequest request, SessionResponse response) {
+  SessionSupport(Consumer<Request> request, BiConsumer<Request, ResponsePojo> response) {
     this.request = request;
 
     this.response = response;
   }
 
-  public final SessionRequest request() {
+  public final Consumer<Request> request() {
     return request;
   }
 
-  public final SessionResponse response() {
+  public final BiConsumer<Request, ResponsePojo> response() {
     return response;
   }
 
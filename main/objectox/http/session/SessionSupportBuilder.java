@@ -15,18 +15,28 @@
  */
 package objectox.http.session;
 
+import java.nio.file.Path;
 import java.security.SecureRandom;
 import java.time.Duration;
 import java.time.InstantSource;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.random.RandomGenerator;
+import javax.crypto.SecretKey;
 import objectos.http.SessionOptions;
+import objectos.internal.NoOpSinkSingleton;
+import objectos.lang.Key;
+import objectos.way.App;
+import objectos.way.Note;
 import objectox.http.HttpToken;
 import objectox.http.SameSite;
+import objectox.lang.KeyPojo;
 
 public final class SessionSupportBuilder implements SessionOptions {
 
+  private final SessionCodecs codecs = new SessionCodecs();
+
   private String cookieDomain;
 
   private final boolean cookieHttpOnly = true;
@@ -43,29 +53,108 @@ public final class SessionSupportBuilder implements SessionOptions {
 
   Duration emptyMaxAge = Duration.ofMinutes(5);
 
+  private Duration idleTimeout = Duration.ofMinutes(30);
+
   private InstantSource instantSource = InstantSource.system();
 
+  private Note.Sink noteSink = NoOpSinkSingleton.INSTANCE;
+
   private RandomGenerator randomGenerator;
 
+  private int sessionsMax = Integer.MAX_VALUE;
+
+  private Path snapshotFile;
+
+  private App.ShutdownHook snapshotHook;
+
+  private SecretKey[] statelessKeys;
+
+  private SessionStoreOption store = new SessionStoreOption.Memory();
+
   public final SessionSupport build() {
     final SessionCookieParser sessionCookieParser;
     sessionCookieParser = new SessionCookieParser(cookieName);
 
-    final ConcurrentHashMap<HttpToken, SessionPojo> sessions;
-    sessions = new ConcurrentHashMap<>();
+    final RandomGenerator _randomGenerator;
+    _randomGenerator = randomGenerator != null ? randomGenerator : new SecureRandom();
+
+    final SessionSetCookie sessionSetCookie;
+    sessionSetCookie = new SessionSetCookie(cookieDomain, cookieHttpOnly, cookieMaxAge, cookieName, cookiePath, cookieSameSite, cookieSecure);
+
+    if (statelessKeys != null) {
+      final SessionStatelessCodec codec;
+      codec = new SessionStatelessCodec(codecs, cookieName, idleTimeout.toMillis(), instantSource, statelessKeys);
+
+      return new SessionSupport(
+          new SessionStatelessRequest(codec, sessionCookieParser),
+
+          new SessionStatelessResponse(codec, sessionSetCookie)
+      );
+    }
+
+    final Map<HttpToken, SessionPojo> map;
+
+    if (snapshotFile != null && store instanceof SessionStoreOption.Memory) {
+      final SessionSnapshot snapshot;
+      snapshot = new SessionSnapshot(codecs, emptyMaxAge.toMillis(), snapshotFile, idleTimeout.toMillis(), instantSource, noteSink);
+
+      map = snapshot.read();
+
+      snapshotHook.register(snapshot);
+    } else {
+      map = new ConcurrentHashMap<>();
+    }
+
+    final SessionMap cache;
+    cache = new SessionMap(
+        emptyMaxAge.toMillis(),
+
+        idleTimeout.toMillis(),
+
+        instantSource,
+
+        noteSink,
+
+        map,
+
+        sessionsMax
+    );
+
+    final SessionStore sessions;
+    sessions = switch (store) {
+      case SessionStoreOption.Memory _ -> cache;
+
+      case SessionStoreOption.Database db -> {
+        final SessionStoreJdbc jdbc;
+        jdbc = new SessionStoreJdbc(
+            cache,
+
+            codecs,
+
+            db.database(),
+
+            idleTimeout.toMillis(),
+
+            instantSource,
+
+            noteSink,
+
+            db.syncInterval().toMillis()
+        );
+
+        // writes the changes deferred since the last batch
+        db.shutdownHook().register(jdbc);
+
+        yield jdbc;
+      }
+    };
 
     final SessionFinder sessionFinder;
     sessionFinder = new SessionFinder(instantSource, sessions);
 
-    final RandomGenerator _randomGenerator;
-    _randomGenerator = randomGenerator != null ? randomGenerator : new SecureRandom();
-
     final SessionFactory sessionFactory;
     sessionFactory = new SessionFactory(instantSource, _randomGenerator, sessions);
 
-    final SessionSetCookie sessionSetCookie;
-    sessionSetCookie = new SessionSetCookie(cookieDomain, cookieHttpOnly, cookieMaxAge, cookieName, cookiePath, cookieSameSite, cookieSecure);
-
     return new SessionSupport(
         new SessionRequest(sessionCookieParser, sessionFinder),
 
@@ -73,6 +162,26 @@ public final class SessionSupportBuilder implements SessionOptions {
     );
   }
 
+  @Override
+  public final <T> void codec(Class<T> key, Codec<T> codec) {
+    final String name;
+    name = key.getName();
+
+    Objects.requireNonNull(codec, "codec == null");
+
+    codecs.add(name, name, codec);
+  }
+
+  @Override
+  public final <T> void codec(Key<T> key, Codec<T> codec) {
+    final KeyPojo<T> pojo;
+    pojo = (KeyPojo<T>) Objects.requireNonNull(key, "key == null");
+
+    Objects.requireNonNull(codec, "codec == null");
+
+    codecs.add(pojo, pojo.unique().toString(), codec);
+  }
+
   @Override
   public final void cookieName(String name) {
     final SessionCookieName sessionCookieName;
@@ -121,11 +230,31 @@ public final class SessionSupportBuilder implements SessionOptions {
     emptyMaxAge = duration;
   }
 
+  @Override
+  public final void idleTimeout(Duration duration) {
+    Objects.requireNonNull(duration, "duration == null");
+
+    if (duration.isZero()) {
+      throw new IllegalArgumentException("idleTimeout must not be zero");
+    }
+
+    if (duration.isNegative()) {
+      throw new IllegalArgumentException("idleTimeout must not be negative");
+    }
+
+    idleTimeout = duration;
+  }
+
   @Override
   public final void instantSource(InstantSource value) {
     instantSource = Objects.requireNonNull(value, "value == null");
   }
 
+  @Override
+  public final void noteSink(Note.Sink value) {
+    noteSink = Objects.requireNonNull(value, "value == null");
+  }
+
   @Override
   public final void randomGenerator(RandomGenerator value) {
     if (randomGenerator != null) {
@@ -135,4 +264,52 @@ public final class SessionSupportBuilder implements SessionOptions {
     randomGenerator = Objects.requireNonNull(value, "value == null");
   }
 
-}
\ No newline at end of file
+  @Override
+  public final void sessionsMax(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid sessions max: value must be greater than zero but found " + value);
+    }
+
+    sessionsMax = value;
+  }
+
+  @Override
+  public final void snapshot(Path file, App.ShutdownHook shutdownHook) {
+    snapshotFile = Objects.requireNonNull(file, "file == null");
+
+    snapshotHook = Objects.requireNonNull(shutdownHook, "shutdownHook == null");
+  }
+
+  @Override
+  public final void store(Store value) {
+    store = (SessionStoreOption) Objects.requireNonNull(value, "value == null");
+  }
+
+  @Override
+  public final void stateless(SecretKey current, SecretKey... previous) {
+    Objects.requireNonNull(current, "current == null");
+    Objects.requireNonNull(previous, "previous == null");
+
+    final SecretKey[] keys;
+    keys = new SecretKey[1 + previous.length];
+
+    keys[0] = statelessKey(current);
+
+    for (int idx = 0; idx < previous.length; idx++) {
+      keys[1 + idx] = statelessKey(previous[idx]);
+    }
+
+    statelessKeys = keys;
+  }
+
+  private SecretKey statelessKey(SecretKey key) {
+    Objects.requireNonNull(key, "key == null");
+
+    if (!"AES".equals(key.getAlgorithm())) {
+      throw new IllegalArgumentException("Invalid key: algorithm must be AES but found " + key.getAlgorithm());
+    }
+
+    return key;
+  }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import objectos.http.Status;
+import objectos.way.Note;
+import objectox.http.Rfc;
+
+/// Limits the number of concurrent connections and of in-flight requests of a
+/// server.
+///
+/// When a limit is reached, the server either sheds the load, by responding
+/// with a pre-serialized `503 Service Unavailable` message, or it waits for
+/// capacity to be freed.
+final class ServerAdmission {
+
+  private static final Note.Int2 OCCUPANCY;
+  private static final Note.Int1 PAUSED;
+  private static final Note.Int2 SHED;
+
+  static {
+    final Class<?> s;
+    s = ServerAdmission.class;
+
+    OCCUPANCY = Note.Int2.create(s, "OCC", Note.DEBUG);
+    PAUSED = Note.Int1.create(s, "PAU", Note.WARN);
+    SHED = Note.Int2.create(s, "SHD", Note.WARN);
+  }
+
+  private final int connectionsMax;
+
+  private final Semaphore connections;
+
+  private final Note.Sink noteSink;
+
+  private final byte[] overloaded;
+
+  private final int requestsMax;
+
+  private final Semaphore requests;
+
+  ServerAdmission(int connectionsMax, Note.Sink noteSink, int requestsMax, Duration retryAfter) {
+    this.connectionsMax = connectionsMax;
+
+    this.connections = new Semaphore(connectionsMax);
+
+    this.noteSink = noteSink;
+
+    this.overloaded = retryAfter != null ? overloaded(retryAfter) : null;
+
+    this.requestsMax = requestsMax;
+
+    this.requests = new Semaphore(requestsMax);
+  }
+
+  static ServerAdmission unlimited(Note.Sink noteSink) {
+    return new ServerAdmission(Integer.MAX_VALUE, noteSink, Integer.MAX_VALUE, null);
+  }
+
+  private static byte[] overloaded(Duration retryAfter) {
+    final Status status;
+    status = Status.SERVICE_UNAVAILABLE;
+
+    // round up: a sub-second duration must not mean 'retry immediately'
+    final long seconds;
+    seconds = Math.max(1, retryAfter.plusNanos(999_999_999).toSeconds());
+
+    final String response;
+    response = "HTTP/1.1 " + status.code() + " " + status.reasonPhrase() + "\r\n"
+        + "Retry-After: " + seconds + "\r\n"
+        + "Connection: close\r\n"
+        + "Content-Length: 0\r\n"
+        + "\r\n";
+
+    return Rfc.utf8(response);
+  }
+
+  /// Acquires a connection slot. Returns `false` if the connection must be
+  /// shed; returns `true` otherwise. It blocks until a slot is freed if the
+  /// server does not shed load.
+  public final boolean acquireConnection() throws InterruptedException {
+    if (!connections.tryAcquire()) {
+      if (overloaded != null) {
+        noteSink.send(SHED, connections(), requests());
+
+        return false;
+      }
+
+      // stop accepting until a connection is closed
+      noteSink.send(PAUSED, connections());
+
+      connections.acquire();
+    }
+
+    noteSink.send(OCCUPANCY, connections(), requests());
+
+    return true;
+  }
+
+  /// Acquires an in-flight request slot. Returns `false` if the request must
+  /// be shed; returns `true` otherwise. It blocks until a slot is freed if the
+  /// server does not shed load.
+  public final boolean acquireRequest() throws InterruptedException {
+    if (requests.tryAcquire()) {
+      return true;
+    }
+
+    if (overloaded != null) {
+      noteSink.send(SHED, connections(), requests());
+
+      return false;
+    }
+
+    requests.acquire();
+
+    return true;
+  }
+
+  public final int connections() {
+    return connectionsMax - connections.availablePermits();
+  }
+
+  /// Returns the pre-serialized response sent to shed connections and
+  /// requests.
+  public final byte[] overloaded() {
+    return overloaded;
+  }
+
+  public final void releaseConnection() {
+    connections.release();
+  }
+
+  public final void releaseRequest() {
+    requests.release();
+  }
+
+  public final int requests() {
+    return requestsMax - requests.availablePermits();
+  }
+
+  /// Acquires an in-flight request slot only if one is available at the time
+  /// of invocation. Returns `true` if the slot was acquired; returns `false`
+  /// otherwise.
+  public final boolean tryAcquireRequest() {
+    return requests.tryAcquire();
+  }
+
+}
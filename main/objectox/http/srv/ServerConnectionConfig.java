@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import java.net.Socket;
+import objectox.http.req.RequestTimeouts;
+
+/// The per-connection limits: timeouts are in milliseconds, a `0` (zero) value
+/// disables the respective timeout. If `retentionCheck` is `true`, request
+/// objects are not reused across the requests of a connection; instead they
+/// are retired once their response has been sent, so that a handler which
+/// illegally retains a request fails on access.
+record ServerConnectionConfig(long bodyTimeout, long headTimeout, long idleTimeout, int requestsMax, boolean retentionCheck) {
+
+  static final ServerConnectionConfig UNLIMITED = new ServerConnectionConfig(0, 0, 0, Integer.MAX_VALUE, false);
+
+  // bound to the socket even if all timeouts are disabled: an idle connection
+  // polls the socket so it can return its buffer to the pool before blocking
+  final RequestTimeouts timeouts(Socket socket) {
+    return new RequestTimeouts(socket, idleTimeout, headTimeout, bodyTimeout);
+  }
+
+}
@@ -16,13 +16,18 @@
 package objectox.http.srv;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
 import java.time.Clock;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import objectos.http.Server;
 import objectos.way.Note;
+import objectox.http.BufferPool;
 import objectox.http.host.HostMap;
 import objectox.http.req.RequestBodyConfig;
 import objectox.http.resp.ResponseDate;
@@ -46,10 +51,23 @@ public final class ServerLoop extends Thread implements Server {
     THROW = Note.Ref1.create(s, "THR", Note.ERROR);
   }
 
+  private static final int SHED_DRAIN_MAX = 64 * 1024;
+
+  private static final int SHED_DRAIN_TIMEOUT = 1000;
+
+  // shed connections being responded to and drained concurrently
+  private static final int SHED_MAX = 16;
+
+  private final ServerAdmission admission;
+
+  private final BufferPool bufferPool;
+
   final int bufferSize;
 
   final Clock clock;
 
+  final ServerConnectionConfig connectionConfig;
+
   private final HostMap hostMap;
 
   private final Note.Sink noteSink;
@@ -58,13 +76,21 @@ public final class ServerLoop extends Thread implements Server {
 
   private final ServerSocket serverSocket;
 
+  private final Semaphore shedding;
+
   private final ThreadFactory threadFactory;
 
   ServerLoop(
+      ServerAdmission admission,
+
+      BufferPool bufferPool,
+
       int bufferSize,
 
       Clock clock,
 
+      ServerConnectionConfig connectionConfig,
+
       HostMap hostMap,
 
       Note.Sink noteSink,
@@ -75,10 +101,16 @@ public final class ServerLoop extends Thread implements Server {
 
       ThreadFactory threadFactory
   ) {
+    this.admission = admission;
+
+    this.bufferPool = bufferPool;
+
     this.bufferSize = bufferSize;
 
     this.clock = clock;
 
+    this.connectionConfig = connectionConfig;
+
     this.hostMap = hostMap;
 
     this.noteSink = noteSink;
@@ -87,6 +119,8 @@ public final class ServerLoop extends Thread implements Server {
 
     this.serverSocket = serverSocket;
 
+    shedding = new Semaphore(SHED_MAX);
+
     this.threadFactory = threadFactory;
   }
 
@@ -121,8 +155,25 @@ public final class ServerLoop extends Thread implements Server {
 
         noteSink.send(ACCEPTED, socket);
 
+        if (!admission.acquireConnection()) {
+          if (!shedding.tryAcquire()) {
+            // shedding must not grow with the load it sheds
+            close(socket);
+
+            continue;
+          }
+
+          // the shedding itself may block: do it off the accept thread
+          final Thread thread;
+          thread = threadFactory.newThread(() -> shed(socket));
+
+          thread.start();
+
+          continue;
+        }
+
         final ServerTask task;
-        task = new ServerTask(bufferSize, hostMap, noteSink, requestBodyConfig, responseDate, socket);
+        task = new ServerTask(admission, bufferPool, bufferSize, connectionConfig, hostMap, noteSink, requestBodyConfig, responseDate, socket);
 
         final Thread thread;
         thread = threadFactory.newThread(task);
@@ -131,11 +182,63 @@ public final class ServerLoop extends Thread implements Server {
       }
     } catch (IOException e) {
       noteSink.send(THROW, e);
+    } catch (InterruptedException e) {
+      // server is being closed
     } finally {
       noteSink.send(STOPPED);
     }
   }
 
+  private void close(Socket socket) {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      noteSink.send(THROW, e);
+    }
+  }
+
+  private void shed(Socket socket) {
+    try (socket) {
+      final OutputStream out;
+      out = socket.getOutputStream();
+
+      out.write(admission.overloaded());
+
+      // closing a socket with unread input makes the kernel reset the
+      // connection, and the client might never see the response:
+      // half-close then briefly drain the request
+      socket.shutdownOutput();
+
+      socket.setSoTimeout(SHED_DRAIN_TIMEOUT);
+
+      final InputStream in;
+      in = socket.getInputStream();
+
+      final byte[] buffer;
+      buffer = new byte[1024];
+
+      int remaining;
+      remaining = SHED_DRAIN_MAX;
+
+      while (remaining > 0) {
+        final int read;
+        read = in.read(buffer);
+
+        if (read < 0) {
+          break;
+        }
+
+        remaining -= read;
+      }
+    } catch (SocketTimeoutException e) {
+      // client did not close its side in time
+    } catch (IOException e) {
+      noteSink.send(THROW, e);
+    } finally {
+      shedding.release();
+    }
+  }
+
   @Override
   public final String toString() {
     final StringBuilder sb;
@@ -18,38 +18,79 @@ package objectox.http.srv;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.function.Consumer;
+import objectos.http.CompressionOptions;
 import objectos.http.HostOptions;
 import objectos.http.RequestBodyOptions;
 import objectos.http.ServerOptions;
 import objectos.internal.NoOpSinkSingleton;
 import objectos.lang.Stage;
 import objectos.way.Note;
+import objectox.http.BufferPool;
 import objectox.http.host.HostGlobals;
 import objectox.http.host.HostMapBuilder;
 import objectox.http.req.RequestBodyConfigBuilder;
 import objectox.http.req.RequestBodyConfig;
+import objectox.http.resp.ResponseCompression;
 
 public final class ServerLoopBuilder
     implements
     ServerOptions {
 
+  private long bodyTimeout;
+
+  private int bufferPoolMax = 1024;
+
   private int bufferSize = 4096;
 
   private Clock clock;
 
+  private ResponseCompression compression;
+
+  private int connectionRequestsMax = Integer.MAX_VALUE;
+
+  private int connectionsMax = Integer.MAX_VALUE;
+
+  private long headTimeout = 30_000;
+
   private final HostMapBuilder hostMapBuilder = new HostMapBuilder();
 
+  private long idleTimeout = 60_000;
+
   private Note.Sink noteSink = NoOpSinkSingleton.INSTANCE;
 
   private RequestBodyConfig requestBodyConfig;
 
+  private int requestsMax = Integer.MAX_VALUE;
+
+  private Duration retryAfter;
+
   private final ServerSocketBuilder serverSocketBuilder = new ServerSocketBuilder();
 
   @SuppressWarnings("unused")
   private Stage stage = Stage.PROD;
 
+  @Override
+  public final void backlog(int value) {
+    serverSocketBuilder.backlog(value);
+  }
+
+  @Override
+  public final void bodyTimeout(Duration value) {
+    bodyTimeout = timeout(value);
+  }
+
+  @Override
+  public final void bufferPoolMax(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Invalid buffer pool max: value must not be negative but found " + value);
+    }
+
+    bufferPoolMax = value;
+  }
+
   @Override
   public final void bufferSize(int value) {
     if (value < 128) {
@@ -67,11 +108,44 @@ public final class ServerLoopBuilder
     clock = Objects.requireNonNull(value, "value == null");
   }
 
+  @Override
+  public final void compression(Consumer<? super CompressionOptions> opts) {
+    compression = ResponseCompression.create(opts);
+  }
+
+  @Override
+  public final void connectionRequestsMax(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid connection requests max: value must be greater than zero but found " + value);
+    }
+
+    connectionRequestsMax = value;
+  }
+
+  @Override
+  public final void connectionsMax(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid connections max: value must be greater than zero but found " + value);
+    }
+
+    connectionsMax = value;
+  }
+
+  @Override
+  public final void headTimeout(Duration value) {
+    headTimeout = timeout(value);
+  }
+
   @Override
   public final void host(Consumer<? super HostOptions> opts) {
     hostMapBuilder.add(opts);
   }
 
+  @Override
+  public final void idleTimeout(Duration value) {
+    idleTimeout = timeout(value);
+  }
+
   @Override
   public final void noteSink(Note.Sink value) {
     noteSink = Objects.requireNonNull(value, "value == null");
@@ -92,11 +166,41 @@ public final class ServerLoopBuilder
     requestBodyConfig = builder.build();
   }
 
+  @Override
+  public final void requestsMax(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid requests max: value must be greater than zero but found " + value);
+    }
+
+    requestsMax = value;
+  }
+
+  @Override
+  public final void shedLoad(Duration retryAfter) {
+    Objects.requireNonNull(retryAfter, "retryAfter == null");
+
+    if (retryAfter.isNegative()) {
+      throw new IllegalArgumentException("Invalid retry after: duration must not be negative");
+    }
+
+    this.retryAfter = retryAfter;
+  }
+
   @Override
   public final void stage(Stage value) {
     stage = Objects.requireNonNull(value, "value == null");
   }
 
+  private long timeout(Duration value) {
+    Objects.requireNonNull(value, "value == null");
+
+    if (value.isNegative()) {
+      throw new IllegalArgumentException("Invalid timeout: duration must not be negative");
+    }
+
+    return value.toMillis();
+  }
+
   public final ServerLoop build() throws IOException {
     final ServerLoop loop;
     loop = unstarted();
@@ -106,7 +210,7 @@ public final class ServerLoopBuilder
     return loop;
   }
 
-  private record ThisGlobals(int port, Stage stage) implements HostGlobals {}
+  private record ThisGlobals(ResponseCompression compression, int port, Stage stage) implements HostGlobals {}
 
   public final ServerLoop unstarted() throws IOException {
     final ServerSocket serverSocket;
@@ -116,13 +220,19 @@ public final class ServerLoopBuilder
     port = serverSocket.getLocalPort();
 
     final HostGlobals hostGlobals;
-    hostGlobals = new ThisGlobals(port, stage);
+    hostGlobals = new ThisGlobals(compression, port, stage);
 
     return new ServerLoop(
+        new ServerAdmission(connectionsMax, noteSink, requestsMax, retryAfter),
+
+        new BufferPool(bufferPoolMax),
+
         bufferSize,
 
         clock != null ? clock : Clock.systemUTC(),
 
+        new ServerConnectionConfig(bodyTimeout, headTimeout, idleTimeout, connectionRequestsMax, stage != Stage.PROD),
+
         hostMapBuilder.build(hostGlobals),
 
         noteSink,
@@ -20,11 +20,14 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.SocketAddress;
+import java.nio.channels.ServerSocketChannel;
 
 final class ServerSocketBuilder {
 
   private InetAddress address;
 
+  private int backlog;
+
   private int port;
 
   public final ServerSocket build() throws IOException {
@@ -39,14 +42,27 @@ final class ServerSocketBuilder {
     final SocketAddress socketAddress;
     socketAddress = new InetSocketAddress(a, port);
 
+    // sockets accepted by a channel backed server socket expose their channels
+    // => allows for gathering writes and file transfers
+    final ServerSocketChannel channel;
+    channel = ServerSocketChannel.open();
+
     final ServerSocket serverSocket;
-    serverSocket = new ServerSocket();
+    serverSocket = channel.socket();
 
-    serverSocket.bind(socketAddress);
+    serverSocket.bind(socketAddress, backlog);
 
     return serverSocket;
   }
 
+  public final void backlog(int value) {
+    if (value < 1) {
+      throw new IllegalArgumentException("Invalid backlog: value must be greater than zero but found " + value);
+    }
+
+    this.backlog = value;
+  }
+
   public final int port() {
     return port;
   }
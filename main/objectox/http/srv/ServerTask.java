@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.net.Socket;
 import objectos.internal.VisibleForTesting;
 import objectos.way.Note;
+import objectox.http.BufferPool;
 import objectox.http.host.HostMap;
 import objectox.http.req.RequestBodyConfig;
 import objectox.http.req.RequestBodySupport;
@@ -28,8 +29,14 @@ final class ServerTask implements Runnable {
 
   private static final Note.Ref1<Throwable> THROW = Note.Ref1.create(ServerTask.class, "THR", Note.ERROR);
 
+  private final ServerAdmission admission;
+
+  private final BufferPool bufferPool;
+
   private final int bufferSize;
 
+  private final ServerConnectionConfig connectionConfig;
+
   @VisibleForTesting
   final HostMap hostMap;
 
@@ -43,8 +50,14 @@ final class ServerTask implements Runnable {
   final Socket socket;
 
   ServerTask(
+      ServerAdmission admission,
+
+      BufferPool bufferPool,
+
       int bufferSize,
 
+      ServerConnectionConfig connectionConfig,
+
       HostMap hostMap,
 
       Note.Sink noteSink,
@@ -55,8 +68,14 @@ final class ServerTask implements Runnable {
 
       Socket socket
   ) {
+    this.admission = admission;
+
+    this.bufferPool = bufferPool;
+
     this.bufferSize = bufferSize;
 
+    this.connectionConfig = connectionConfig;
+
     this.hostMap = hostMap;
 
     this.noteSink = noteSink;
@@ -74,7 +93,7 @@ final class ServerTask implements Runnable {
     requestBodySupport = new RequestBodySupport(requestBodyConfig);
 
     final ServerTaskStage stage;
-    stage = new ServerTaskStage(bufferSize, hostMap, noteSink, requestBodySupport, responseDate, socket);
+    stage = new ServerTaskStage(admission, bufferPool, bufferSize, connectionConfig, hostMap, noteSink, requestBodySupport, responseDate, socket);
 
     try (stage) {
       final ServerTaskLoop loop;
@@ -85,6 +104,8 @@ final class ServerTask implements Runnable {
       }
     } catch (IOException e) {
       noteSink.send(THROW, e);
+    } finally {
+      admission.releaseConnection();
     }
   }
 
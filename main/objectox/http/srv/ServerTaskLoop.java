@@ -18,6 +18,7 @@ package objectox.http.srv;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import objectos.http.Content;
 import objectos.http.HeaderName;
 import objectos.http.MediaType;
@@ -31,37 +32,83 @@ import objectox.http.host.Host;
 import objectox.http.host.HostMap;
 import objectox.http.req.RequestParser;
 import objectox.http.req.RequestPojo;
+import objectox.http.req.RequestTimeouts;
 import objectox.http.resp.ResponsePojo;
 import objectox.http.resp.ResponseSender;
 
 final class ServerTaskLoop {
 
+  private static final Note.Int1 IDLE = Note.Int1.create(ServerTaskLoop.class, "IDL", Note.DEBUG);
+
+  private static final Note.Ref1<RequestTimeouts.Phase> TIMEOUT = Note.Ref1.create(ServerTaskLoop.class, "TMO", Note.INFO);
+
   private static final Note.Ref1<Throwable> THROW = Note.Ref1.create(ServerTaskLoop.class, "THR", Note.ERROR);
 
+  private static final Note.Long2 WRITES = Note.Long2.create(ServerTaskLoop.class, "WRT", Note.TRACE);
+
+  private final ServerAdmission admission;
+
   private final HostMap hostMap;
 
   private final Note.Sink noteSink;
 
   private final RequestParser requestParser;
 
+  private int requests;
+
+  private final int requestsMax;
+
   private final ResponseSender responseSender;
 
   private boolean stop;
 
-  ServerTaskLoop(HostMap hostMap, Note.Sink noteSink, RequestParser requestParser, ResponseSender responseSender) {
+  private final RequestTimeouts timeouts;
+
+  ServerTaskLoop(
+      ServerAdmission admission,
+
+      HostMap hostMap,
+
+      Note.Sink noteSink,
+
+      RequestParser requestParser,
+
+      int requestsMax,
+
+      ResponseSender responseSender,
+
+      RequestTimeouts timeouts
+  ) {
+    this.admission = admission;
+
     this.hostMap = hostMap;
 
     this.noteSink = noteSink;
 
     this.requestParser = requestParser;
 
+    this.requestsMax = requestsMax;
+
     this.responseSender = responseSender;
+
+    this.timeouts = timeouts;
   }
 
   public final void executeOne() throws IOException {
+    if (!requestParser.hasBuffered()) {
+      // the connection is about to wait for the next request:
+      // return the response buffer to the pool in the meantime
+      responseSender.release();
+    }
+
     if (requestParser.hasNext()) {
       execute0();
     } else {
+      if (timeouts.expired()) {
+        // keep-alive connection was idle for too long
+        noteSink.send(IDLE, requests);
+      }
+
       stop = true;
     }
   }
@@ -70,12 +117,18 @@ final class ServerTaskLoop {
     try {
       execute1();
     } catch (HttpClientException | HttpServerException e) {
-      noteSink.send(THROW, e);
+      if (timeouts.expired()) {
+        noteSink.send(TIMEOUT, timeouts.phase());
+      } else {
+        noteSink.send(THROW, e);
+      }
 
       final ResponsePojo response;
       response = error(e.status(), e.message());
 
-      responseSender.send(response);
+      responseSender.send(response, ResponseSender.Flush.IMMEDIATE);
+
+      sent();
 
       stop = true;
     }
@@ -85,19 +138,80 @@ final class ServerTaskLoop {
     final RequestPojo request;
     request = requestParser.parse();
 
-    final ResponsePojo response;
+    try {
+      if (!admission.tryAcquireRequest() && !acquireRequest()) {
+        responseSender.send(admission.overloaded());
+
+        sent();
+
+        stop = true;
+
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      stop = true;
+
+      return;
+    }
+
+    try {
+      execute2(request);
+    } finally {
+      admission.releaseRequest();
+
+      requestParser.release();
+    }
+  }
+
+  private boolean acquireRequest() throws IOException, InterruptedException {
+    // we are about to either shed or wait for capacity:
+    // do not hold the responses of pipelined requests in the meantime
+    responseSender.flush();
+
+    return admission.acquireRequest();
+  }
+
+  private void execute2(RequestPojo request) throws IOException {
+    ResponsePojo response;
     response = handle(request);
 
+    requests += 1;
+
+    stop = request.closeConnection() || response.closeConnection();
+
+    if (!stop && !requestParser.finish(request)) {
+      // the handler left too many unread bytes of a lazily read body
+      response = response.closing();
+
+      stop = true;
+    }
+
+    if (!stop && requests >= requestsMax) {
+      // this connection has served its maximum number of requests
+      response = response.closing();
+
+      stop = true;
+    }
+
+    // if the client has pipelined the next request
+    // we batch this response with the next one
+    final ResponseSender.Flush flush;
+    flush = !stop && requestParser.hasBuffered()
+        ? ResponseSender.Flush.DEFERRED
+        : ResponseSender.Flush.IMMEDIATE;
+
     final RequestMethod method;
     method = request.method();
 
     if (method == RequestMethodEnum.HEAD) {
-      responseSender.head(response);
+      responseSender.head(response, flush);
     } else {
-      responseSender.send(response);
+      responseSender.send(response, flush);
     }
 
-    stop = request.closeConnection() || response.closeConnection();
+    sent();
   }
 
   private ResponsePojo handle(RequestPojo request) {
@@ -116,22 +230,35 @@ final class ServerTaskLoop {
 
     try {
       return host.handle(request);
-    } catch (Throwable e) {
-      final StringWriter out;
-      out = new StringWriter();
+    } catch (UncheckedIOException e) {
+      // a lazily read body may fail while the handler consumes it
+      if (e.getCause() instanceof HttpClientException client) {
+        noteSink.send(THROW, client);
 
-      final PrintWriter printWriter;
-      printWriter = new PrintWriter(out);
-
-      e.printStackTrace(printWriter);
+        return error(client.status(), client.message());
+      }
 
+      return error(Status.INTERNAL_SERVER_ERROR, stackTrace(e));
+    } catch (Throwable e) {
       final String msg;
-      msg = out.toString();
+      msg = stackTrace(e);
 
       return error(Status.INTERNAL_SERVER_ERROR, msg);
     }
   }
 
+  private String stackTrace(Throwable e) {
+    final StringWriter out;
+    out = new StringWriter();
+
+    final PrintWriter printWriter;
+    printWriter = new PrintWriter(out);
+
+    e.printStackTrace(printWriter);
+
+    return out.toString();
+  }
+
   private ResponsePojo error(Status status, String message) {
     return ResponsePojo.create0(opts -> {
       opts.status(status);
@@ -144,6 +271,11 @@ final class ServerTaskLoop {
     });
   }
 
+  private void sent() {
+    // number of write operations (syscalls) and bytes used by the response
+    noteSink.send(WRITES, responseSender.writes(), responseSender.bytes());
+  }
+
   public final boolean shouldExecute() {
     return !Thread.currentThread().isInterrupted()
         && !stop;
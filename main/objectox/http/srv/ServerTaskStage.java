@@ -18,20 +18,27 @@ package objectox.http.srv;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.net.Socket;
 import objectos.way.Note;
+import objectox.http.BufferPool;
 import objectox.http.host.HostMap;
 import objectox.http.req.RequestBodySupport;
 import objectox.http.req.RequestInputStream;
 import objectox.http.req.RequestParser;
+import objectox.http.req.RequestTimeouts;
 import objectox.http.resp.ResponseDate;
 import objectox.http.resp.ResponseSender;
 
 final class ServerTaskStage implements Closeable {
 
+  private final ServerAdmission admission;
+
+  private final BufferPool bufferPool;
+
   private final int bufferSize;
 
+  private final ServerConnectionConfig connectionConfig;
+
   private final HostMap hostMap;
 
   private final Note.Sink noteSink;
@@ -42,9 +49,19 @@ final class ServerTaskStage implements Closeable {
 
   private final Socket socket;
 
+  private RequestInputStream requestInputStream;
+
+  private ResponseSender responseSender;
+
   ServerTaskStage(
+      ServerAdmission admission,
+
+      BufferPool bufferPool,
+
       int bufferSize,
 
+      ServerConnectionConfig connectionConfig,
+
       HostMap hostMap,
 
       Note.Sink noteSink,
@@ -55,8 +72,14 @@ final class ServerTaskStage implements Closeable {
 
       Socket socket
   ) {
+    this.admission = admission;
+
+    this.bufferPool = bufferPool;
+
     this.bufferSize = bufferSize;
 
+    this.connectionConfig = connectionConfig;
+
     this.hostMap = hostMap;
 
     this.noteSink = noteSink;
@@ -74,36 +97,53 @@ final class ServerTaskStage implements Closeable {
       socket.close();
     } finally {
       requestBodySupport.close();
+
+      release();
+    }
+  }
+
+  private void release() {
+    if (requestInputStream != null) {
+      requestInputStream.release();
+    }
+
+    if (responseSender != null) {
+      responseSender.discard();
     }
   }
 
   public final ServerTaskLoop toLoop() throws IOException {
-    final byte[] buffer;
-    buffer = new byte[bufferSize];
+    // requests and responses use distinct buffers:
+    // the request buffer may hold the bytes of pipelined requests
+    // while a response is being assembled.
+    // Both are borrowed from the pool only while the connection is active
+    responseSender = ResponseSender.of(bufferPool, bufferSize, responseDate, socket);
 
     final InputStream inputStream;
     inputStream = socket.getInputStream();
 
-    final RequestInputStream requestInputStream;
-    requestInputStream = new RequestInputStream(buffer, inputStream);
+    final RequestTimeouts timeouts;
+    timeouts = connectionConfig.timeouts(socket);
 
-    final RequestParser requestParser;
-    requestParser = new RequestParser(requestBodySupport, requestInputStream);
+    requestInputStream = new RequestInputStream(bufferPool, bufferSize, responseSender, inputStream, timeouts);
 
-    final OutputStream outputStream;
-    outputStream = socket.getOutputStream();
-
-    final ResponseSender responseSender;
-    responseSender = new ResponseSender(buffer, responseDate, outputStream);
+    final RequestParser requestParser;
+    requestParser = new RequestParser(requestBodySupport, requestInputStream, connectionConfig.retentionCheck());
 
     return new ServerTaskLoop(
+        admission,
+
         hostMap,
 
         noteSink,
 
         requestParser,
 
-        responseSender
+        connectionConfig.requestsMax(),
+
+        responseSender,
+
+        timeouts
     );
   }
 
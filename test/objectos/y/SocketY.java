@@ -35,6 +35,8 @@ public final class SocketY extends Socket {
 
   private final OutputStream outputStream;
 
+  private int soTimeout;
+
   private SocketY(InputStream inputStream, OutputStream outputStream) {
     this.inputStream = inputStream;
 
@@ -70,6 +72,16 @@ public final class SocketY extends Socket {
     return outputStream;
   }
 
+  @Override
+  public final int getSoTimeout() {
+    return soTimeout;
+  }
+
+  @Override
+  public final void setSoTimeout(int timeout) {
+    soTimeout = timeout;
+  }
+
   @Override
   public final String toString() {
     return outputStream.toString();
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.Test;
+
+public class BufferPoolTest {
+
+  @Test(description = "size classes are powers of two")
+  public void borrow01() {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    assertEquals(pool.borrow(1).length, 128);
+    assertEquals(pool.borrow(128).length, 128);
+    assertEquals(pool.borrow(129).length, 256);
+    assertEquals(pool.borrow(4096).length, 4096);
+    assertEquals(pool.borrow(5000).length, 8192);
+  }
+
+  @Test(description = "larger than the largest class")
+  public void borrow02() {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    final byte[] array;
+    array = pool.borrow(3 * 1024 * 1024);
+
+    assertEquals(array.length, 3 * 1024 * 1024);
+
+    pool.release(array);
+
+    assertEquals(pool.retained(3 * 1024 * 1024), 0);
+  }
+
+  @Test
+  public void release01() {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    final byte[] a;
+    a = pool.borrow(1024);
+
+    pool.release(a);
+
+    assertEquals(pool.retained(1024), 1);
+
+    assertSame(pool.borrow(1000), a);
+
+    assertEquals(pool.retained(1024), 0);
+
+    assertNotSame(pool.borrow(1024), a);
+  }
+
+  @Test(description = "retains at most retainMax arrays per class")
+  public void release02() {
+    final BufferPool pool;
+    pool = new BufferPool(2);
+
+    pool.release(new byte[256]);
+    pool.release(new byte[256]);
+    pool.release(new byte[256]);
+
+    assertEquals(pool.retained(256), 2);
+  }
+
+  @Test(description = "ignores foreign arrays")
+  public void release03() {
+    final BufferPool pool;
+    pool = new BufferPool(2);
+
+    pool.release(new byte[64]);
+    pool.release(new byte[300]);
+
+    assertEquals(pool.retained(128), 0);
+    assertEquals(pool.retained(300), 0);
+  }
+
+}
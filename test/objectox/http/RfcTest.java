@@ -17,10 +17,36 @@ package objectox.http;
 
 import static org.testng.Assert.assertEquals;
 
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 public class RfcTest {
 
+  @DataProvider
+  public Object[][] acceptEncodingQualityProvider() {
+    return new Object[][] {
+        {null, "gzip", 0.0},
+        {"", "gzip", 0.0},
+        {"gzip", "gzip", 1.0},
+        {"x-gzip", "gzip", 1.0},
+        {"gzip", "br", 0.0},
+        {"gzip, deflate, br", "br", 1.0},
+        {"br;q=0.5, gzip", "br", 0.5},
+        {"BR; Q=0.8", "br", 0.8},
+        {"gzip;q=0.2, x-gzip;q=0.7", "gzip", 0.7},
+        {"*", "br", 1.0},
+        {"br;q=0, *", "br", 0.0},
+        {"*, br;q=0", "br", 0.0},
+        {"*;q=0.3, gzip", "br", 0.3},
+        {"br;q=abc", "br", 0.0}
+    };
+  }
+
+  @Test(dataProvider = "acceptEncodingQualityProvider")
+  public void acceptEncodingQuality(String acceptEncoding, String coding, double expected) {
+    assertEquals(Rfc.acceptEncodingQuality(acceptEncoding, coding), expected);
+  }
+
   @Test
   public void requiredHexDigits() {
     assertEquals(Rfc.requiredHexDigits(0b0000), 1);
@@ -19,7 +19,6 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
 import java.util.List;
-import java.util.Map;
 import objectos.http.Content;
 import objectos.http.Handler;
 import objectos.http.MediaType;
@@ -86,7 +85,7 @@ public class HandlerRouteTest {
     final Result res;
     res = subject.handle(req);
 
-    assertEquals(req.attr(RequestPojo.PATH_PARAMS), Map.of("foo", "abc"));
+    assertEquals(req.attr(RequestPojo.PATH_PARAMS).toString(), "{foo=abc}");
 
     assertSame(res, content);
   }
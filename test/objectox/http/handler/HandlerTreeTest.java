@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.handler;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import objectos.http.Content;
+import objectos.http.Handler;
+import objectos.http.MediaType;
+import objectos.http.PathParam;
+import objectos.http.Request;
+import objectos.http.RequestMethod;
+import objectos.http.Result;
+import objectox.http.req.RequestPojo;
+import org.testng.annotations.Test;
+
+public class HandlerTreeTest {
+
+  private final Content c01 = Content.of(MediaType.TEXT_PLAIN, "C01");
+
+  private final Content c02 = Content.of(MediaType.TEXT_PLAIN, "C02");
+
+  private final Content c03 = Content.of(MediaType.TEXT_PLAIN, "C03");
+
+  private final Content c04 = Content.of(MediaType.TEXT_PLAIN, "C04");
+
+  @Test(description = "exact segments")
+  public void handle01() {
+    final Handler subject;
+    subject = RoutingPojo.create0(r -> {
+      r.at("/", c01);
+      r.at("/a", c02);
+      r.at("/b", c03);
+      r.at("/a/b", c04);
+    });
+
+    assertTrue(subject instanceof HandlerTree);
+
+    assertSame(handle(subject, "/"), c01);
+    assertSame(handle(subject, "/a"), c02);
+    assertSame(handle(subject, "/b"), c03);
+    assertSame(handle(subject, "/a/b"), c04);
+
+    final Request req;
+    req = Request.create(opts -> opts.path("/c"));
+
+    assertSame(subject.handle(req), req);
+  }
+
+  @Test(description = "exact segments: same hash code")
+  public void handle02() {
+    // "Aa".hashCode() == "BB".hashCode()
+    final Handler subject;
+    subject = RoutingPojo.create0(r -> {
+      r.at("/Aa", c01);
+      r.at("/BB", c02);
+    });
+
+    assertSame(handle(subject, "/Aa"), c01);
+    assertSame(handle(subject, "/BB"), c02);
+
+    final Request req;
+    req = Request.create(opts -> opts.path("/Ab"));
+
+    assertSame(subject.handle(req), req);
+  }
+
+  @Test(description = "overlapping expressions: registration order")
+  public void handle03() {
+    final Handler subject1;
+    subject1 = RoutingPojo.create0(r -> {
+      r.at("/users/{id}", c01);
+      r.at("/users/new", c02);
+    });
+
+    assertSame(handle(subject1, "/users/new"), c01);
+    assertSame(handle(subject1, "/users/123"), c01);
+
+    final Handler subject2;
+    subject2 = RoutingPojo.create0(r -> {
+      r.at("/users/new", c02);
+      r.at("/users/{id}", c01);
+    });
+
+    assertSame(handle(subject2, "/users/new"), c02);
+    assertSame(handle(subject2, "/users/123"), c01);
+  }
+
+  @Test(description = "overlapping expressions: fall through to the next matching route")
+  public void handle04() {
+    final Handler subject;
+    subject = RoutingPojo.create0(r -> {
+      r.at("/items/{id}", RequestMethod.GET, new HandlerResult(c01));
+      r.at("/items/new", RequestMethod.POST, new HandlerResult(c02));
+      r.at("/items/{name}", RequestMethod.POST, new HandlerResult(c03));
+    });
+
+    final Request get;
+    get = Request.create(opts -> {
+      opts.method(RequestMethod.GET);
+      opts.path("/items/new");
+    });
+
+    assertSame(subject.handle(get), c01);
+    assertEquals(get.attr(RequestPojo.PATH_PARAMS).toString(), "{id=new}");
+
+    final Request post1;
+    post1 = Request.create(opts -> {
+      opts.method(RequestMethod.POST);
+      opts.path("/items/new");
+    });
+
+    assertSame(subject.handle(post1), c02);
+
+    final Request post2;
+    post2 = Request.create(opts -> {
+      opts.method(RequestMethod.POST);
+      opts.path("/items/abc");
+    });
+
+    assertSame(subject.handle(post2), c03);
+    assertEquals(post2.attr(RequestPojo.PATH_PARAMS).toString(), "{name=abc}");
+
+    final Request put;
+    put = Request.create(opts -> {
+      opts.method(RequestMethod.PUT);
+      opts.path("/items/abc");
+    });
+
+    assertSame(subject.handle(put), put);
+  }
+
+  @Test(description = "params: delimiters and conditions")
+  public void handle05() {
+    final Handler subject;
+    subject = RoutingPojo.create0(r -> {
+      r.at("/movie/{id}/{slug}", PathParam.digits("id"), c01);
+      r.at("/movie/{slug}", c02);
+      r.at("/file/{name}.{ext}", c03);
+    });
+
+    final Request req1;
+    req1 = Request.create(opts -> opts.path("/movie/123/the-title"));
+
+    assertSame(subject.handle(req1), c01);
+    assertEquals(req1.attr(RequestPojo.PATH_PARAMS).toString(), "{id=123, slug=the-title}");
+
+    final Request req2;
+    req2 = Request.create(opts -> opts.path("/movie/abc/the-title"));
+
+    assertSame(subject.handle(req2), c02);
+    assertEquals(req2.attr(RequestPojo.PATH_PARAMS).toString(), "{slug=abc/the-title}");
+
+    final Request req3;
+    req3 = Request.create(opts -> opts.path("/file/index.html"));
+
+    assertSame(subject.handle(req3), c03);
+    assertEquals(req3.attr(RequestPojo.PATH_PARAMS).toString(), "{name=index, ext=html}");
+  }
+
+  @Test(description = "diagnostic dump")
+  public void toString01() {
+    final Handler subject;
+    subject = RoutingPojo.create0(r -> {
+      r.at("/", c01);
+      r.at("/movie/{id}/{slug}", PathParam.digits("id"), c02);
+      r.at("/movie/{id}/edit", PathParam.digits("id"), c03);
+      r.at("/movie/new", c04);
+    });
+
+    assertEquals(
+        subject.toString(),
+
+        """
+        HandlerTree
+          exact "/" => #0
+          exact "/movie/new" => #3
+          region "/movie/"
+            param {id} '/' DIGITS
+              exact "edit" => #2
+              region ""
+                last {slug} => #1"""
+    );
+  }
+
+  private Result handle(Handler subject, String path) {
+    final Request req;
+    req = Request.create(opts -> opts.path(path));
+
+    return subject.handle(req);
+  }
+
+}
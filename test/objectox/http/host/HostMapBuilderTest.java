@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.util.function.Consumer;
 import objectos.http.HostOptions;
 import objectos.lang.Stage;
+import objectox.http.resp.ResponseCompression;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -52,6 +53,9 @@ public class HostMapBuilderTest {
 
     final HostGlobals globals;
     globals = new HostGlobals() {
+      @Override
+      public final ResponseCompression compression() { return null; }
+
       @Override
       public final int port() { return 1234; }
 
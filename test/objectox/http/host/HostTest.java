@@ -17,6 +17,7 @@ package objectox.http.host;
 
 import static org.testng.Assert.assertEquals;
 
+import java.util.List;
 import objectos.http.Content;
 import objectos.http.Handler;
 import objectos.http.HeaderName;
@@ -25,6 +26,7 @@ import objectos.http.MediaType;
 import objectos.http.Request;
 import objectos.http.Response;
 import objectos.way.Y;
+import objectox.http.Header;
 import objectox.http.RequestMethodEnum;
 import objectox.http.resp.ResponsePojo;
 import org.testng.annotations.Test;
@@ -84,4 +86,38 @@ public class HostTest {
     );
   }
 
+  @Test(description = "host compression is applied to the response")
+  public void compression01() {
+    final Host host;
+    host = HostY.create(opts -> {
+      opts.compression = c -> c.minLength(0);
+
+      opts.handler = _ -> Content.of(MediaType.TEXT_PLAIN, "OK\n".repeat(100));
+
+      opts.name = "test.localhost";
+    });
+
+    final Request request;
+    request = Request.create(opts -> {
+      opts.method(RequestMethodEnum.GET);
+
+      opts.header(HeaderName.HOST, "test.localhost");
+
+      opts.header(HeaderName.ACCEPT_ENCODING, "gzip");
+    });
+
+    final ResponsePojo resp;
+    resp = host.handle(request);
+
+    assertEquals(
+        resp.headers(),
+
+        List.of(
+            Header.DATE,
+            new Header(HeaderName.VARY, "Accept-Encoding"),
+            new Header(HeaderName.CONTENT_ENCODING, "gzip")
+        )
+    );
+  }
+
 }
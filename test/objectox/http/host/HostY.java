@@ -18,13 +18,17 @@ package objectox.http.host;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.function.Consumer;
+import objectos.http.CompressionOptions;
 import objectos.http.Handler;
 import objectos.http.SessionOptions;
 import objectos.http.StaticFilesOptions;
 import objectos.lang.Stage;
+import objectox.http.resp.ResponseCompression;
 
 public final class HostY implements HostGlobals {
 
+  public Consumer<? super CompressionOptions> compression;
+
   public Handler handler;
 
   public String name;
@@ -49,6 +53,10 @@ public final class HostY implements HostGlobals {
       final HostStageBuilder builder;
       builder = new HostStageBuilder();
 
+      if (compression != null) {
+        builder.compression(compression);
+      }
+
       if (handler != null) {
         builder.handler(handler);
       }
@@ -72,6 +80,11 @@ public final class HostY implements HostGlobals {
     }
   }
 
+  @Override
+  public final ResponseCompression compression() {
+    return null;
+  }
+
   @Override
   public final int port() {
     return 80;
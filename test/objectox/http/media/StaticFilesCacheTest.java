@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import objectos.way.Note;
+import objectos.way.Y;
+import objectos.y.PathY;
+import objectox.http.resp.ResponseY;
+import org.testng.annotations.Test;
+
+public class StaticFilesCacheTest {
+
+  private final Note.Sink noteSink = Y.noteSink();
+
+  @Test(description = "put then get")
+  public void get01() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(1024, 8, false);
+
+    final Path file;
+    file = file("get01.txt", "GET01\n");
+
+    final StaticFilesCache.Entry entry;
+    entry = subject.put("/get01.txt", file, attributes(file), "foo-bar");
+
+    assertNotNull(entry);
+    assertSame(subject.get("/get01.txt"), entry);
+    assertNull(subject.get("/other.txt"));
+
+    assertEquals(
+        ResponseY.toString(entry.response()),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        ETag: foo-bar\r
+        Accept-Ranges: bytes\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 6\r
+        \r
+        GET01
+        """
+    );
+  }
+
+  @Test(description = "disabled")
+  public void get02() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(0, 8, false);
+
+    final Path file;
+    file = file("get02.txt", "GET02\n");
+
+    assertNull(subject.put("/get02.txt", file, attributes(file), "foo-bar"));
+    assertNull(subject.get("/get02.txt"));
+  }
+
+  @Test(description = "bounded by bytes and by entries: oldest entries are evicted")
+  public void put01() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(10, 2, false);
+
+    final Path a;
+    a = file("a.txt", "AAAA");
+
+    final Path b;
+    b = file("b.txt", "BBBBBBBB");
+
+    final Path c;
+    c = file("c.txt", "CC");
+
+    final Path d;
+    d = file("d.txt", "DD");
+
+    assertNotNull(subject.put("/a.txt", a, attributes(a), "a"));
+    // 4 + 8 > 10: a is evicted
+    assertNotNull(subject.put("/b.txt", b, attributes(b), "b"));
+    assertNull(subject.get("/a.txt"));
+    assertNotNull(subject.put("/c.txt", c, attributes(c), "c"));
+    // 2 entries: b is evicted
+    assertNotNull(subject.put("/d.txt", d, attributes(d), "d"));
+    assertNull(subject.get("/b.txt"));
+    assertNotNull(subject.get("/c.txt"));
+    assertNotNull(subject.get("/d.txt"));
+  }
+
+  @Test(description = "recently hit entries are spared")
+  public void put02() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(1024, 2, false);
+
+    final Path a;
+    a = file("a.txt", "AA");
+
+    final Path b;
+    b = file("b.txt", "BB");
+
+    final Path c;
+    c = file("c.txt", "CC");
+
+    assertNotNull(subject.put("/a.txt", a, attributes(a), "a"));
+    assertNotNull(subject.put("/b.txt", b, attributes(b), "b"));
+
+    // a is hot
+    assertNotNull(subject.get("/a.txt"));
+
+    assertNotNull(subject.put("/c.txt", c, attributes(c), "c"));
+    assertNotNull(subject.get("/a.txt"));
+    assertNull(subject.get("/b.txt"));
+    assertNotNull(subject.get("/c.txt"));
+  }
+
+  @Test(description = "files larger than the cache are not admitted")
+  public void put03() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(4, 2, false);
+
+    final Path a;
+    a = file("a.txt", "AA");
+
+    final Path b;
+    b = file("b.txt", "BBBBBB");
+
+    assertNotNull(subject.put("/a.txt", a, attributes(a), "a"));
+    assertNull(subject.put("/b.txt", b, attributes(b), "b"));
+    assertNotNull(subject.get("/a.txt"));
+  }
+
+  @Test(description = "revalidate: modified file is dropped")
+  public void revalidate01() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(1024, 8, true);
+
+    final Path file;
+    file = file("revalidate01.txt", "REVALIDATE01\n");
+
+    final StaticFilesCache.Entry entry;
+    entry = subject.put("/revalidate01.txt", file, attributes(file), "foo-bar");
+
+    assertSame(subject.get("/revalidate01.txt"), entry);
+
+    Files.setLastModifiedTime(file, FileTime.fromMillis(entry.lastModified() + 1000));
+
+    assertNull(subject.get("/revalidate01.txt"));
+
+    assertNotNull(subject.put("/revalidate01.txt", file, attributes(file), "foo-bar"));
+  }
+
+  @Test(description = "no revalidation: PROD")
+  public void revalidate02() throws IOException {
+    final StaticFilesCache subject;
+    subject = create(1024, 8, false);
+
+    final Path file;
+    file = file("revalidate02.txt", "REVALIDATE02\n");
+
+    final StaticFilesCache.Entry entry;
+    entry = subject.put("/revalidate02.txt", file, attributes(file), "foo-bar");
+
+    Files.delete(file);
+
+    assertSame(subject.get("/revalidate02.txt"), entry);
+  }
+
+  @Test(description = "revalidate: file which gained a precompressed sibling is dropped")
+  public void revalidate03() throws IOException {
+    final Path file;
+    file = file("revalidate03.txt", "REVALIDATE03\n");
+
+    final StaticFilesRoot staticFilesRoot;
+    staticFilesRoot = new StaticFilesRoot(file.getParent(), noteSink, List.of());
+
+    final StaticFilesCache subject;
+    subject = create(1024, 8, true, staticFilesRoot, true);
+
+    final StaticFilesCache.Entry entry;
+    entry = subject.put("/revalidate03.txt", file, attributes(file), "foo-bar");
+
+    assertSame(subject.get("/revalidate03.txt"), entry);
+
+    PathY.write(file.getParent(), "revalidate03.txt.gz", "GZ");
+
+    assertNull(subject.get("/revalidate03.txt"));
+  }
+
+  private StaticFilesCache create(long maxBytes, int maxEntries, boolean revalidate) {
+    return create(maxBytes, maxEntries, revalidate, null, false);
+  }
+
+  private StaticFilesCache create(long maxBytes, int maxEntries, boolean revalidate, StaticFilesRoot root, boolean precompressed) {
+    final StaticFilesAttributes staticFilesAttributes;
+    staticFilesAttributes = new StaticFilesAttributes(noteSink, StaticFilesCacheTest::attributes);
+
+    final StaticFilesExtension staticFilesExtension;
+    staticFilesExtension = new StaticFilesExtension("*");
+
+    final StaticFilesTypes staticFilesTypes;
+    staticFilesTypes = new StaticFilesTypes("application/octet-stream", Map.of(".txt", "text/plain; charset=utf-8"));
+
+    final StaticFilesResponses staticFilesResponses;
+    staticFilesResponses = new StaticFilesResponses("BOUNDARY", staticFilesExtension, staticFilesTypes);
+
+    final StaticFilesVariants staticFilesVariants;
+    staticFilesVariants = new StaticFilesVariants(precompressed, staticFilesAttributes);
+
+    return new StaticFilesCache(
+        maxBytes, maxEntries, noteSink, revalidate, staticFilesAttributes, staticFilesResponses, root, staticFilesVariants
+    );
+  }
+
+  private Path file(String name, String contents) {
+    final Path dir;
+    dir = PathY.nextDir();
+
+    PathY.write(dir, name, contents);
+
+    return dir.resolve(name);
+  }
+
+  private static BasicFileAttributes attributes(Path file) throws IOException {
+    return Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+  }
+
+}
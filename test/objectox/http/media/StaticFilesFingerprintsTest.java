@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import objectos.y.PathY;
+import org.testng.annotations.Test;
+
+public class StaticFilesFingerprintsTest {
+
+  @Test(description = "content hash before the extension")
+  public void init01() throws IOException {
+    final Path dir;
+    dir = PathY.nextDir();
+
+    PathY.write(dir, "a.js", "A");
+    PathY.write(dir, "css/b.css", "B");
+    PathY.write(dir, "c.txt", "C");
+
+    final StaticFilesFingerprints subject;
+    subject = new StaticFilesFingerprints();
+
+    subject.init(List.of(dir), Set.of(".js", ".css"));
+
+    assertEquals(subject.path("/a.js"), "/a.559aead0.js");
+    assertEquals(subject.path("/css/b.css"), "/css/b.df7e70e5.css");
+    assertEquals(subject.path("/c.txt"), "/c.txt");
+    assertEquals(subject.path("/missing.js"), "/missing.js");
+
+    assertEquals(subject.original("/a.559aead0.js"), "/a.js");
+    assertEquals(subject.original("/css/b.df7e70e5.css"), "/css/b.css");
+    assertEquals(subject.original("/a.js"), null);
+    assertEquals(subject.original("/a.00000000.js"), null);
+  }
+
+  @Test(description = "first directory wins")
+  public void init02() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    PathY.write(a, "x.js", "A");
+
+    final Path b;
+    b = PathY.nextDir();
+
+    PathY.write(b, "x.js", "B");
+
+    final StaticFilesFingerprints subject;
+    subject = new StaticFilesFingerprints();
+
+    subject.init(List.of(a, b), Set.of(".js"));
+
+    assertEquals(subject.path("/x.js"), "/x.559aead0.js");
+    assertEquals(subject.original("/x.df7e70e5.js"), null);
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.media;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class StaticFilesRangesTest {
+
+  private final StaticFilesRanges subject = new StaticFilesRanges(3);
+
+  @DataProvider
+  public Object[][] validProvider() {
+    return new Object[][] {
+        {"bytes=0-0", new long[] {0, 0}},
+        {"bytes=0-9", new long[] {0, 9}},
+        {"bytes=10-19", new long[] {10, 19}},
+        {"bytes=90-", new long[] {90, 99}},
+        {"bytes=90-200", new long[] {90, 99}},
+        {"bytes=-10", new long[] {90, 99}},
+        {"bytes=-200", new long[] {0, 99}},
+        {"bytes=0-9, 20-29", new long[] {0, 9, 20, 29}},
+        {"bytes=0-9,200-300,-5", new long[] {0, 9, 95, 99}},
+        {"bytes=20-29, 0-9", new long[] {20, 29, 0, 9}},
+        {"bytes=0-,0-,0-", new long[] {0, 99}},
+        {"bytes=0-9,10-19", new long[] {0, 19}},
+        {"bytes=20-29, 0-9, 5-15", new long[] {0, 15, 20, 29}},
+        {"bytes=50-59, 0-, -10", new long[] {0, 99}}
+    };
+  }
+
+  @Test(dataProvider = "validProvider")
+  public void parse01(String value, long[] expected) {
+    assertEquals(subject.parse(value, 100), expected);
+  }
+
+  @DataProvider
+  public Object[][] ignoredProvider() {
+    return new Object[][] {
+        {null},
+        {""},
+        {"items=0-9"},
+        {"bytes="},
+        {"bytes=9"},
+        {"bytes=9-0"},
+        {"bytes=a-9"},
+        {"bytes=0-9x"},
+        {"bytes=-"},
+        {"bytes=0-1,2-3,4-5,6-7"}
+    };
+  }
+
+  @Test(dataProvider = "ignoredProvider")
+  public void parse02(String value) {
+    assertEquals(subject.parse(value, 100), null);
+  }
+
+  @DataProvider
+  public Object[][] unsatisfiableProvider() {
+    return new Object[][] {
+        {"bytes=100-", 100L},
+        {"bytes=100-200", 100L},
+        {"bytes=-0", 100L},
+        {"bytes=100-,200-", 100L},
+        {"bytes=0-", 0L},
+        {"bytes=-5", 0L}
+    };
+  }
+
+  @Test(dataProvider = "unsatisfiableProvider")
+  public void parse03(String value, long size) {
+    assertSame(subject.parse(value, size), StaticFilesRanges.UNSATISFIABLE);
+  }
+
+}
@@ -38,7 +38,7 @@ public class StaticFilesResponsesTest {
     final StaticFilesTypes staticFilesTypes;
     staticFilesTypes = new StaticFilesTypes("application/octet-stream", Map.of(".txt", "text/plain; charset=utf-8"));
 
-    subject = new StaticFilesResponses(staticFilesExtension, staticFilesTypes);
+    subject = new StaticFilesResponses("BOUNDARY", staticFilesExtension, staticFilesTypes);
   }
 
   @Test
@@ -95,6 +95,7 @@ public class StaticFilesResponsesTest {
         HTTP/1.1 200 OK\r
         Date: Wed, 28 Jun 2023 12:08:43 GMT\r
         ETag: foo-bar\r
+        Accept-Ranges: bytes\r
         Content-Type: text/plain; charset=utf-8\r
         Content-Length: 3\r
         \r
@@ -121,6 +122,7 @@ public class StaticFilesResponsesTest {
         HTTP/1.1 200 OK\r
         Date: Wed, 28 Jun 2023 12:08:43 GMT\r
         ETag: foo-bar\r
+        Accept-Ranges: bytes\r
         Content-Type: application/octet-stream\r
         Content-Length: 3\r
         \r
@@ -22,6 +22,8 @@ import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -40,7 +42,7 @@ public class StaticFilesRootBuilderTest {
     directories = Set.of();
 
     final StaticFilesRootBuilder subject;
-    subject = new StaticFilesRootBuilder(directories, noteSink);
+    subject = new StaticFilesRootBuilder(directories, false, noteSink, Set.of());
 
     final Path res;
     res = subject.create();
@@ -70,7 +72,7 @@ public class StaticFilesRootBuilderTest {
     directories = Set.of(fileAtRoot, fileAtSub);
 
     final StaticFilesRootBuilder subject;
-    subject = new StaticFilesRootBuilder(directories, noteSink);
+    subject = new StaticFilesRootBuilder(directories, false, noteSink, Set.of());
 
     final Path res;
     res = subject.create();
@@ -90,6 +92,120 @@ public class StaticFilesRootBuilderTest {
     assertEquals(Files.readString(res.resolve("sub/file02.txt")), "file 02");
   }
 
+  @Test(description = "precompress: skips existing, small and other files")
+  public void create03() throws IOException {
+    final Path source;
+    source = PathY.nextDir();
+
+    createFile(source, "a.js", "const a = 'a';\n".repeat(32));
+    createFile(source, "b.js", "b");
+    createFile(source, "c.js", "const c = 'c';\n".repeat(32));
+    createFile(source, "c.js.gz", "supplied");
+    createFile(source, "d.txt", "d\n".repeat(128));
+
+    final StaticFilesRootBuilder subject;
+    subject = new StaticFilesRootBuilder(Set.of(source), false, noteSink, Set.of(".js"));
+
+    final Path res;
+    res = subject.create();
+
+    assertEquals(
+        ls(res),
+
+        """
+
+        a.js
+        a.js.gz
+        b.js
+        c.js
+        c.js.gz
+        d.txt
+        """
+    );
+
+    assertEquals(Files.readString(res.resolve("c.js.gz")), "supplied");
+  }
+
+  @Test(description = "in place: nothing is copied, compressed files go to the temporary directory")
+  public void build01() throws IOException {
+    final Path source;
+    source = PathY.nextDir();
+
+    createFile(source, "sub/a.js", "const a = 'a';\n".repeat(32));
+
+    final StaticFilesRootBuilder subject;
+    subject = new StaticFilesRootBuilder(Set.of(source), true, noteSink, Set.of(".js"));
+
+    try (StaticFilesRoot root = subject.build()) {
+      assertEquals(root.resolve("/sub/a.js"), source.resolve("sub/a.js"));
+
+      final Path gz;
+      gz = root.resolve("/sub/a.js.gz");
+
+      assertEquals(gz.startsWith(source), false);
+      assertEquals(Files.exists(gz), true);
+    }
+
+    assertEquals(
+        ls(source),
+
+        """
+
+        sub
+        sub/a.js
+        """
+    );
+  }
+
+  @Test(description = "in place: a shadowed file is not compressed")
+  public void build02() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final Path b;
+    b = PathY.nextDir();
+
+    // not worth compressing
+    createFile(a, "a.js", "a");
+    createFile(b, "a.js", "const a = 'a';\n".repeat(32));
+
+    final StaticFilesRootBuilder subject;
+    subject = new StaticFilesRootBuilder(new LinkedHashSet<>(List.of(a, b)), true, noteSink, Set.of(".js"));
+
+    try (StaticFilesRoot root = subject.build()) {
+      final Path file;
+      file = root.resolve("/a.js");
+
+      assertEquals(file, a.resolve("a.js"));
+      assertEquals(root.sibling(file, ".gz"), null);
+    }
+  }
+
+  @Test(description = "in place: symbolic links are not compressed")
+  public void build03() throws IOException {
+    final Path source;
+    source = PathY.nextDir();
+
+    final Path outside;
+    outside = PathY.nextDir();
+
+    createFile(source, "a.js", "const a = 'a';\n".repeat(32));
+    createFile(outside, "secret.js", "const s = 's';\n".repeat(32));
+    createFile(outside, "dir/b.js", "const b = 'b';\n".repeat(32));
+
+    Files.createSymbolicLink(source.resolve("link.js"), outside.resolve("secret.js"));
+    Files.createSymbolicLink(source.resolve("linked"), outside.resolve("dir"));
+
+    final StaticFilesRootBuilder subject;
+    subject = new StaticFilesRootBuilder(Set.of(source), true, noteSink, Set.of(".js"));
+
+    try (StaticFilesRoot root = subject.build()) {
+      assertEquals(Files.exists(root.resolve("/a.js.gz")), true);
+      assertEquals(Files.exists(root.resolve("/link.js.gz")), false);
+      assertEquals(Files.exists(root.resolve("/linked/b.js.gz")), false);
+    }
+  }
+
   private void createFile(Path directory, String other, String contents) throws IOException {
     final Path file;
     file = directory.resolve(other);
@@ -18,7 +18,9 @@ package objectox.http.media;
 import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import objectos.way.Note;
 import objectos.way.Y;
 import objectos.y.PathY;
@@ -34,7 +36,7 @@ public class StaticFilesRootTest {
   @Test(description = "root is resolvable")
   public void resolve01() throws IOException {
     final StaticFilesRoot root;
-    root = new StaticFilesRoot(directory, noteSink);
+    root = new StaticFilesRoot(directory, noteSink, List.of());
 
     final Path res;
     res = root.resolve("/");
@@ -45,7 +47,7 @@ public class StaticFilesRootTest {
   @Test(description = "file @ root is resolvable")
   public void resolve02() throws IOException {
     final StaticFilesRoot root;
-    root = new StaticFilesRoot(directory, noteSink);
+    root = new StaticFilesRoot(directory, noteSink, List.of());
 
     final Path res;
     res = root.resolve("/at-root.txt");
@@ -56,7 +58,7 @@ public class StaticFilesRootTest {
   @Test(description = "dir @ root is resolvable")
   public void resolve03() throws IOException {
     final StaticFilesRoot root;
-    root = new StaticFilesRoot(directory, noteSink);
+    root = new StaticFilesRoot(directory, noteSink, List.of());
 
     final Path res;
     res = root.resolve("/subdir");
@@ -67,7 +69,7 @@ public class StaticFilesRootTest {
   @Test(description = "root parent is not resolvable")
   public void resolve04() throws IOException {
     final StaticFilesRoot root;
-    root = new StaticFilesRoot(directory, noteSink);
+    root = new StaticFilesRoot(directory, noteSink, List.of());
 
     final Path res;
     res = root.resolve("/subdir/../../forbidden.txt");
@@ -78,7 +80,7 @@ public class StaticFilesRootTest {
   @Test(description = "file @ root is resolvable, even if /.. are used")
   public void resolve05() throws IOException {
     final StaticFilesRoot root;
-    root = new StaticFilesRoot(directory, noteSink);
+    root = new StaticFilesRoot(directory, noteSink, List.of());
 
     final Path res;
     res = root.resolve("/subdir/../accessible.txt");
@@ -86,4 +88,103 @@ public class StaticFilesRootTest {
     assertEquals(res, directory.resolve("accessible.txt"));
   }
 
+  @Test(description = "overlay: first existing file wins")
+  public void overlay01() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final Path b;
+    b = PathY.nextDir();
+
+    PathY.write(a, "both.txt", "A");
+    PathY.write(b, "both.txt", "B");
+    PathY.write(b, "sub/only-b.txt", "B");
+
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(directory, noteSink, List.of(a, b));
+
+    assertEquals(root.resolve("/both.txt"), a.resolve("both.txt"));
+    assertEquals(root.resolve("/sub/only-b.txt"), b.resolve("sub/only-b.txt"));
+  }
+
+  @Test(description = "overlay: missing files resolve to the root directory")
+  public void overlay02() throws IOException {
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(directory, noteSink, List.of(PathY.nextDir()));
+
+    assertEquals(root.resolve("/generated.txt"), directory.resolve("generated.txt"));
+  }
+
+  @Test(description = "overlay: traversal is rejected")
+  public void overlay03() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(directory, noteSink, List.of(a));
+
+    assertEquals(root.resolve("/sub/../../x.txt"), null);
+  }
+
+  @Test(description = "overlay: symbolic links are not followed")
+  public void overlay04() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final Path outside;
+    outside = PathY.nextDir();
+
+    PathY.write(outside, "secret.txt", "S");
+
+    Files.createSymbolicLink(a.resolve("linked"), outside);
+    Files.createSymbolicLink(a.resolve("file.txt"), outside.resolve("secret.txt"));
+
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(directory, noteSink, List.of(a));
+
+    assertEquals(root.resolve("/linked/secret.txt"), directory.resolve("linked/secret.txt"));
+    assertEquals(root.resolve("/file.txt"), directory.resolve("file.txt"));
+  }
+
+  @Test(description = "sibling: resolved in the directory of the file only")
+  public void sibling01() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final Path b;
+    b = PathY.nextDir();
+
+    PathY.write(a, "app.js", "A");
+    PathY.write(b, "app.js", "B");
+    PathY.write(b, "app.js.gz", "B");
+
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(directory, noteSink, List.of(a, b));
+
+    final Path file;
+    file = root.resolve("/app.js");
+
+    assertEquals(file, a.resolve("app.js"));
+    assertEquals(root.sibling(file, ".gz"), null);
+    assertEquals(root.sibling(b.resolve("app.js"), ".gz"), b.resolve("app.js.gz"));
+  }
+
+  @Test(description = "sibling: compressed at startup into the root directory")
+  public void sibling02() throws IOException {
+    final Path a;
+    a = PathY.nextDir();
+
+    final Path dir;
+    dir = PathY.nextDir();
+
+    PathY.write(a, "sub/app.js", "A");
+    PathY.write(dir, "sub/app.js.gz", "GZ");
+
+    final StaticFilesRoot root;
+    root = new StaticFilesRoot(dir, noteSink, List.of(a));
+
+    assertEquals(root.sibling(a.resolve("sub/app.js"), ".gz"), dir.resolve("sub/app.js.gz"));
+    assertEquals(root.sibling(a.resolve("sub/app.js"), ".br"), null);
+  }
+
 }
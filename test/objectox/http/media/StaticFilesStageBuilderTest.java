@@ -81,4 +81,63 @@ public class StaticFilesStageBuilderTest {
     assertEquals(res.directories(), Set.of(dir));
   }
 
+  @Test(description = "reject invalid extension")
+  public void precompress01() {
+    final StaticFilesStageBuilder subject;
+    subject = new StaticFilesStageBuilder();
+
+    try {
+      subject.precompress("js");
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      final String msg;
+      msg = expected.getMessage();
+
+      assertEquals(msg, "Invalid extension: value must be a '.' followed by at least one character but found js");
+    }
+  }
+
+  @Test(description = "accept extension")
+  public void precompress02() {
+    final StaticFilesStageBuilder subject;
+    subject = new StaticFilesStageBuilder();
+
+    subject.precompress(".js");
+    subject.precompress(".css");
+
+    final StaticFilesStage res;
+    res = subject.build();
+
+    assertEquals(res.precompress(), Set.of(".js", ".css"));
+  }
+
+  @Test(description = "reject negative cache max bytes")
+  public void cacheMaxBytes01() {
+    final StaticFilesStageBuilder subject;
+    subject = new StaticFilesStageBuilder();
+
+    try {
+      subject.cacheMaxBytes(-1);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      assertEquals(expected.getMessage(), "Invalid cache max bytes: value must not be negative but found -1");
+    }
+  }
+
+  @Test(description = "reject non-positive cache max entries")
+  public void cacheMaxEntries01() {
+    final StaticFilesStageBuilder subject;
+    subject = new StaticFilesStageBuilder();
+
+    try {
+      subject.cacheMaxEntries(0);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      assertEquals(expected.getMessage(), "Invalid cache max entries: value must be positive but found 0");
+    }
+  }
+
 }
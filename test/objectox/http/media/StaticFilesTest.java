@@ -19,6 +19,8 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
@@ -28,8 +30,10 @@ import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 import objectos.http.Content;
 import objectos.http.ContentProvider;
+import objectos.http.Fingerprints;
 import objectos.http.HeaderName;
 import objectos.http.Status;
 import objectos.lang.Stage;
@@ -187,6 +191,7 @@ public class StaticFilesTest {
           HTTP/1.1 200 OK\r
           Date: Wed, 28 Jun 2023 12:08:43 GMT\r
           ETag: 18901e7e8f8-4\r
+          Accept-Ranges: bytes\r
           Content-Type: text/plain; charset=utf-8\r
           Content-Length: 4\r
           \r
@@ -282,6 +287,7 @@ public class StaticFilesTest {
           HTTP/1.1 200 OK\r
           Date: Wed, 28 Jun 2023 12:08:43 GMT\r
           ETag: foo-bar\r
+          Accept-Ranges: bytes\r
           Content-Type: text/plain; charset=utf-8\r
           Content-Length: 8\r
           \r
@@ -342,4 +348,647 @@ public class StaticFilesTest {
     }
   }
 
-}
\ No newline at end of file
+  @Test(description = "precompressed: best accepted variant")
+  public void apply09() throws IOException {
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc09.txt", "TC09");
+      PathY.write(root, "tc09.txt.br", "BR");
+      PathY.write(root, "tc09.txt.gz", "GZ");
+
+      opts.addDirectory(root);
+
+      opts.precompressed(true);
+
+      opts.withDefaultContentTypes();
+    })) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, precompressed("/tc09.txt", "gzip, deflate, br"))),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-2-br\r
+          Vary: Accept-Encoding\r
+          Content-Encoding: br\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 2\r
+          \r
+          BR\
+          """
+      );
+
+      assertEquals(
+          ResponseY.toString(subject.apply(null, precompressed("/tc09.txt", "gzip, br;q=0.5"))),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-2-gzip\r
+          Vary: Accept-Encoding\r
+          Content-Encoding: gzip\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 2\r
+          \r
+          GZ\
+          """
+      );
+
+      assertEquals(
+          ResponseY.toString(subject.apply(null, precompressed("/tc09.txt", null))),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-4\r
+          Vary: Accept-Encoding\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          TC09\
+          """
+      );
+    }
+  }
+
+  @Test(description = "precompressed: 304 is per encoding")
+  public void apply10() throws IOException {
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc10.txt", "TC10");
+      PathY.write(root, "tc10.txt.gz", "GZ");
+
+      opts.addDirectory(root);
+
+      opts.precompressed(true);
+
+      opts.withDefaultContentTypes();
+    })) {
+      final Request gzip;
+      gzip = Request.create(opts -> {
+        opts.path("/tc10.txt");
+
+        opts.header(HeaderName.ACCEPT_ENCODING, "gzip");
+
+        opts.header(HeaderName.IF_NONE_MATCH, "18901e7e8f8-2-gzip");
+      });
+
+      assertEquals(
+          ResponseY.toString(subject.apply(gzip, gzip)),
+
+          """
+          HTTP/1.1 304 Not Modified\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-2-gzip\r
+          Vary: Accept-Encoding\r
+          Content-Length: 0\r
+          \r
+          """
+      );
+
+      final Request identity;
+      identity = Request.create(opts -> {
+        opts.path("/tc10.txt");
+
+        opts.header(HeaderName.IF_NONE_MATCH, "18901e7e8f8-2-gzip");
+      });
+
+      assertEquals(
+          ResponseY.toString(subject.apply(identity, identity)),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-4\r
+          Vary: Accept-Encoding\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          TC10\
+          """
+      );
+    }
+  }
+
+  @Test(description = "precompressed: disabled by default")
+  public void apply11() throws IOException {
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc11.txt", "TC11");
+      PathY.write(root, "tc11.txt.gz", "GZ");
+
+      opts.addDirectory(root);
+
+      opts.withDefaultContentTypes();
+    })) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, precompressed("/tc11.txt", "gzip"))),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-4\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          TC11\
+          """
+      );
+    }
+  }
+
+  @Test(description = "precompress: gzip generated at startup")
+  public void apply12() throws IOException {
+    final String text;
+    text = "TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12 TC12\n";
+
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc12.txt", text);
+
+      opts.addDirectory(root);
+
+      opts.precompress(".txt");
+
+      opts.withDefaultContentTypes();
+    })) {
+      final Path gz;
+      gz = subject.resolve("/tc12.txt.gz");
+
+      assertEquals(Files.exists(gz), true);
+
+      try (InputStream in = new GZIPInputStream(Files.newInputStream(gz))) {
+        assertEquals(new String(in.readAllBytes(), StandardCharsets.UTF_8), text);
+      }
+
+      final Result res;
+      res = subject.apply(null, precompressed("/tc12.txt", "gzip"));
+
+      final String s;
+      s = ResponseY.toString(res);
+
+      assertEquals(s.contains("Content-Encoding: gzip\r\n"), true);
+      assertEquals(s.contains("ETag: 18901e7e8f8-" + Long.toHexString(Files.size(gz)) + "-gzip\r\n"), true);
+    }
+  }
+
+  @Test(description = "cache: hit requires no file system access")
+  public void apply13() throws IOException {
+    final Path root;
+    root = PathY.nextDir();
+
+    PathY.write(root, "tc13.txt", "TC13");
+
+    try (StaticFiles subject = create(opts -> {
+      opts.addDirectory(root);
+
+      opts.cacheMaxBytes(1024);
+
+      opts.withDefaultContentTypes();
+    })) {
+      final Request req;
+      req = Request.create(opts -> {
+        opts.path("/tc13.txt");
+      });
+
+      final String expected;
+      expected = """
+      HTTP/1.1 200 OK\r
+      Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+      ETag: 18901e7e8f8-4\r
+      Accept-Ranges: bytes\r
+      Content-Type: text/plain; charset=utf-8\r
+      Content-Length: 4\r
+      \r
+      TC13\
+      """;
+
+      assertEquals(ResponseY.toString(subject.apply(req, req)), expected);
+
+      Files.delete(subject.resolve("/tc13.txt"));
+
+      assertEquals(ResponseY.toString(subject.apply(req, req)), expected);
+
+      final Request notModified;
+      notModified = Request.create(opts -> {
+        opts.path("/tc13.txt");
+
+        opts.header(HeaderName.IF_NONE_MATCH, "18901e7e8f8-4");
+      });
+
+      assertEquals(
+          ResponseY.toString(subject.apply(notModified, notModified)),
+
+          """
+          HTTP/1.1 304 Not Modified\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-4\r
+          Content-Length: 0\r
+          \r
+          """
+      );
+
+      final Request post;
+      post = Request.create(opts -> {
+        opts.method(RequestMethodEnum.POST);
+
+        opts.path("/tc13.txt");
+      });
+
+      assertEquals(ResponseY.toString(subject.apply(post, post)).startsWith("HTTP/1.1 405 Method Not Allowed\r\n"), true);
+    }
+  }
+
+  @Test(description = "range: single")
+  public void apply14() throws IOException {
+    try (StaticFiles subject = ranges("tc14.txt", "0123456789")) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc14.txt", "bytes=2-5", null))),
+
+          """
+          HTTP/1.1 206 Partial Content\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Accept-Ranges: bytes\r
+          Content-Range: bytes 2-5/10\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          2345\
+          """
+      );
+    }
+  }
+
+  @Test(description = "range: multiple")
+  public void apply15() throws IOException {
+    try (StaticFiles subject = ranges("tc15.txt", "0123456789")) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc15.txt", "bytes=0-1, -2", null))),
+
+          """
+          HTTP/1.1 206 Partial Content\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Accept-Ranges: bytes\r
+          Content-Type: multipart/byteranges; boundary=BOUNDARY\r
+          Content-Length: 192\r
+          \r
+          \r
+          --BOUNDARY\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Range: bytes 0-1/10\r
+          \r
+          01\r
+          --BOUNDARY\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Range: bytes 8-9/10\r
+          \r
+          89\r
+          --BOUNDARY--\r
+          """
+      );
+    }
+  }
+
+  @Test(description = "range: not satisfiable")
+  public void apply16() throws IOException {
+    try (StaticFiles subject = ranges("tc16.txt", "0123456789")) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc16.txt", "bytes=10-", null))),
+
+          """
+          HTTP/1.1 416 Range Not Satisfiable\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          Content-Range: bytes */10\r
+          Content-Length: 0\r
+          \r
+          """
+      );
+    }
+  }
+
+  @Test(description = "range: If-Range")
+  public void apply17() throws IOException {
+    try (StaticFiles subject = ranges("tc17.txt", "0123456789")) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc17.txt", "bytes=8-", "18901e7e8f8-a"))),
+
+          """
+          HTTP/1.1 206 Partial Content\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Accept-Ranges: bytes\r
+          Content-Range: bytes 8-9/10\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 2\r
+          \r
+          89\
+          """
+      );
+
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc17.txt", "bytes=8-", "stale"))),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 10\r
+          \r
+          0123456789\
+          """
+      );
+    }
+  }
+
+  @Test(description = "range: slice larger than the buffer")
+  public void apply18() throws IOException {
+    final String text;
+    text = "0123456789".repeat(300);
+
+    try (StaticFiles subject = ranges("tc18.txt", text)) {
+      final String res;
+      res = ResponseY.toString(subject.apply(null, range("/tc18.txt", "bytes=5-2994", null)));
+
+      assertEquals(res.contains("Content-Range: bytes 5-2994/3000\r\n"), true);
+      assertEquals(res.endsWith("\r\n\r\n" + text.substring(5, 2995)), true);
+    }
+  }
+
+  @Test(description = "in place: serve from the directory, create in the temporary directory")
+  public void apply19() throws IOException {
+    final Path root;
+    root = PathY.nextDir();
+
+    PathY.write(root, "tc19.txt", "TC19");
+
+    try (StaticFiles subject = create(opts -> {
+      opts.addDirectory(root);
+
+      opts.inPlace(true);
+
+      opts.etag(_ -> "foo-bar");
+
+      opts.withDefaultContentTypes();
+    })) {
+      assertEquals(subject.resolve("/tc19.txt"), root.resolve("tc19.txt"));
+
+      final Request req;
+      req = Request.create(opts -> {
+        opts.path("/tc19.txt");
+      });
+
+      assertEquals(
+          ResponseY.toString(subject.apply(req, req)),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: foo-bar\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          TC19\
+          """
+      );
+
+      final Request generated;
+      generated = Request.create(opts -> {
+        opts.path("/tc19-generated.txt");
+      });
+
+      subject.apply(generated, StaticFile.of(Content.of(MediaType.TEXT_PLAIN, "GENERATED\n")));
+
+      final Path created;
+      created = subject.resolve("/tc19-generated.txt");
+
+      assertEquals(Files.exists(created), true);
+      assertEquals(created.startsWith(root), false);
+    }
+
+    assertEquals(Files.exists(root.resolve("tc19.txt")), true);
+  }
+
+  @Test(description = "fingerprint: immutable in PROD")
+  public void apply20() throws IOException {
+    final Fingerprints fingerprints;
+    fingerprints = Fingerprints.create();
+
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc20.js", "TC20");
+
+      opts.addDirectory(root);
+
+      opts.fingerprint(".js");
+
+      opts.fingerprints(fingerprints);
+
+      opts.withDefaultContentTypes();
+    })) {
+      assertEquals(fingerprints.path("/tc20.js"), "/tc20.3a74b71e.js");
+
+      final Request req;
+      req = Request.create(opts -> {
+        opts.path("/tc20.3a74b71e.js");
+      });
+
+      assertEquals(
+          ResponseY.toString(subject.apply(req, req)),
+
+          """
+          HTTP/1.1 200 OK\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          Cache-Control: public, max-age=31536000, immutable\r
+          ETag: 18901e7e8f8-4\r
+          Accept-Ranges: bytes\r
+          Content-Type: text/javascript; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          TC20\
+          """
+      );
+
+      final Request original;
+      original = Request.create(opts -> {
+        opts.path("/tc20.js");
+      });
+
+      assertEquals(ResponseY.toString(subject.apply(original, original)).contains("Cache-Control"), false);
+    }
+  }
+
+  @Test(description = "fingerprint: not immutable outside of PROD")
+  public void apply21() throws IOException {
+    final Fingerprints fingerprints;
+    fingerprints = Fingerprints.create();
+
+    try (StaticFiles subject = stage(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc21.js", "TC20");
+
+      opts.addDirectory(root);
+
+      opts.fingerprint(".js");
+
+      opts.fingerprints(fingerprints);
+
+      opts.withDefaultContentTypes();
+    }).toStaticFiles(Stage.DEV)) {
+      final Request req;
+      req = Request.create(opts -> {
+        opts.path("/tc21.3a74b71e.js");
+      });
+
+      final String res;
+      res = ResponseY.toString(subject.apply(req, req));
+
+      assertEquals(res.startsWith("HTTP/1.1 200 OK\r\n"), true);
+      assertEquals(res.contains("Cache-Control"), false);
+    }
+  }
+
+  @Test(description = "precompressed: a rebuilt sibling is tagged after its own attributes")
+  public void apply22() throws IOException {
+    final Path root;
+    root = PathY.nextDir();
+
+    PathY.write(root, "tc22.txt", "TC22");
+    PathY.write(root, "tc22.txt.gz", "GZ");
+
+    try (StaticFiles subject = create(opts -> {
+      opts.addDirectory(root);
+
+      opts.inPlace(true);
+
+      opts.precompressed(true);
+
+      opts.withDefaultContentTypes();
+    })) {
+      final String before;
+      before = ResponseY.toString(subject.apply(null, precompressed("/tc22.txt", "gzip")));
+
+      assertEquals(before.contains("ETag: 18901e7e8f8-2-gzip\r\n"), true);
+
+      // the original is unchanged
+      PathY.write(root, "tc22.txt.gz", "GZIP");
+
+      final String after;
+      after = ResponseY.toString(subject.apply(null, precompressed("/tc22.txt", "gzip")));
+
+      assertEquals(after.contains("ETag: 18901e7e8f8-4-gzip\r\n"), true);
+    }
+  }
+
+  @Test(description = "range: overlapping ranges are coalesced")
+  public void apply23() throws IOException {
+    try (StaticFiles subject = ranges("tc23.txt", "0123456789")) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc23.txt", "bytes=0-,0-,0-,2-5", null))),
+
+          """
+          HTTP/1.1 206 Partial Content\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Accept-Ranges: bytes\r
+          Content-Range: bytes 0-9/10\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 10\r
+          \r
+          0123456789\
+          """
+      );
+    }
+  }
+
+  @Test(description = "range: original file having precompressed siblings")
+  public void apply24() throws IOException {
+    try (StaticFiles subject = create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, "tc24.txt", "0123456789");
+      PathY.write(root, "tc24.txt.gz", "GZ");
+
+      opts.addDirectory(root);
+
+      opts.precompressed(true);
+
+      opts.withDefaultContentTypes();
+    })) {
+      assertEquals(
+          ResponseY.toString(subject.apply(null, range("/tc24.txt", "bytes=2-5", null))),
+
+          """
+          HTTP/1.1 206 Partial Content\r
+          Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+          ETag: 18901e7e8f8-a\r
+          Vary: Accept-Encoding\r
+          Accept-Ranges: bytes\r
+          Content-Range: bytes 2-5/10\r
+          Content-Type: text/plain; charset=utf-8\r
+          Content-Length: 4\r
+          \r
+          2345\
+          """
+      );
+    }
+  }
+
+  private StaticFiles ranges(String name, String contents) throws IOException {
+    return create(opts -> {
+      final Path root;
+      root = PathY.nextDir();
+
+      PathY.write(root, name, contents);
+
+      opts.addDirectory(root);
+
+      opts.rangeBoundary("BOUNDARY");
+
+      opts.withDefaultContentTypes();
+    });
+  }
+
+  private Request range(String path, String range, String ifRange) {
+    return Request.create(opts -> {
+      opts.path(path);
+
+      opts.header(HeaderName.RANGE, range);
+
+      if (ifRange != null) {
+        opts.header(HeaderName.IF_RANGE, ifRange);
+      }
+    });
+  }
+
+  private Request precompressed(String path, String acceptEncoding) {
+    return Request.create(opts -> {
+      opts.path(path);
+
+      if (acceptEncoding != null) {
+        opts.header(HeaderName.ACCEPT_ENCODING, acceptEncoding);
+      }
+    });
+  }
+
+}
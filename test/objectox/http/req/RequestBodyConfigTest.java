@@ -31,7 +31,10 @@ public class RequestBodyConfigTest {
     final RequestBodyConfig pojo;
     pojo = RequestBodyConfig.create(_ -> {});
 
+    assertEquals(pojo.lazy(), false);
     assertEquals(pojo.memoryMax(), 32 * 1024);
+    assertEquals(pojo.multipartStream(), false);
+    assertEquals(pojo.partMax(), 10 * 1024 * 1024);
     assertEquals(pojo.sizeMax(), 10 * 1024 * 1024);
   }
 
@@ -39,12 +42,21 @@ public class RequestBodyConfigTest {
   public void testCase02() throws IOException {
     final RequestBodyConfig pojo;
     pojo = RequestBodyConfig.create(opts -> {
+      opts.lazy(true);
+
       opts.memoryMax(64 * 1024);
 
+      opts.multipartStream(true);
+
+      opts.partMax(5 * 1024 * 1024);
+
       opts.sizeMax(20 * 1024 * 1024);
     });
 
+    assertEquals(pojo.lazy(), true);
     assertEquals(pojo.memoryMax(), 64 * 1024);
+    assertEquals(pojo.multipartStream(), true);
+    assertEquals(pojo.partMax(), 5 * 1024 * 1024);
     assertEquals(pojo.sizeMax(), 20 * 1024 * 1024);
   }
 
@@ -52,6 +64,7 @@ public class RequestBodyConfigTest {
   public Object[][] testCase03Provider() {
     return new Object[][] {
         {opts(opts -> opts.memoryMax(-1)), "memoryMax value must not be negative"},
+        {opts(opts -> opts.partMax(-1)), "partMax value must not be negative"},
         {opts(opts -> opts.sizeMax(-1)), "sizeMax value must not be negative"}
     };
   }
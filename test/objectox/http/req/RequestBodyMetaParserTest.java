@@ -18,6 +18,7 @@ package objectox.http.req;
 import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import objectos.http.HeaderName;
 import objectox.http.HttpClientException;
@@ -81,6 +82,15 @@ public class RequestBodyMetaParserTest {
             RequestBodyMeta.of(Long.MAX_VALUE, RequestBodyMeta.TypeKind.NONE),
             "fixed: long max value"
         },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.CONTENT_LENGTH, List.of("123", "123")
+            ),
+
+            RequestBodyMeta.of(123, RequestBodyMeta.TypeKind.NONE),
+            "fixed: repeated identical values"
+        },
         {
             Map.of(
                 HeaderName.HOST, "www.example.com",
@@ -110,6 +120,55 @@ public class RequestBodyMetaParserTest {
 
             RequestBodyMeta.of(1209830, RequestBodyMeta.TypeKind.APPLICATION_FORM_URLENCODED),
             "fixed: form no standard but ok..."
+        },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.TRANSFER_ENCODING, "chunked"
+            ),
+
+            RequestBodyMeta.ofChunked(RequestBodyMeta.TypeKind.NONE),
+            "chunked: no type"
+        },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.TRANSFER_ENCODING, "Chunked",
+                HeaderName.CONTENT_TYPE, "application/x-www-form-urlencoded"
+            ),
+
+            RequestBodyMeta.ofChunked(RequestBodyMeta.TypeKind.APPLICATION_FORM_URLENCODED),
+            "chunked: form"
+        },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.CONTENT_LENGTH, "1024",
+                HeaderName.CONTENT_TYPE, "multipart/form-data; boundary=----WebKitFormBoundaryX3bY6PBMcxB1vCan"
+            ),
+
+            RequestBodyMeta.of(1024, new RequestBodyMeta.Multipart("----WebKitFormBoundaryX3bY6PBMcxB1vCan")),
+            "fixed: multipart"
+        },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.TRANSFER_ENCODING, "chunked",
+                HeaderName.CONTENT_TYPE, "Multipart/Form-Data;charset=utf-8; boundary=\"simple boundary\""
+            ),
+
+            RequestBodyMeta.ofChunked(new RequestBodyMeta.Multipart("simple boundary")),
+            "chunked: multipart quoted boundary"
+        },
+        {
+            Map.of(
+                HeaderName.HOST, "www.example.com",
+                HeaderName.CONTENT_LENGTH, "1024",
+                HeaderName.CONTENT_TYPE, "multipart/mixed; boundary=abc"
+            ),
+
+            RequestBodyMeta.of(1024, RequestBodyMeta.TypeKind.NONE),
+            "fixed: multipart but not form-data"
         }
     };
   }
@@ -161,6 +220,57 @@ public class RequestBodyMetaParserTest {
 
             HttpClientException.Kind.LENGTH_REQUIRED,
             "Invalid request headers: expected Content-Length"
+        },
+        {
+            Map.of(
+                HeaderName.TRANSFER_ENCODING, "chunked, gzip"
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Transfer-Encoding: chunked must be the final transfer coding"
+        },
+        {
+            Map.of(
+                HeaderName.TRANSFER_ENCODING, List.of("chunked", "gzip")
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Transfer-Encoding: chunked must be the final transfer coding"
+        },
+        {
+            Map.of(
+                HeaderName.CONTENT_LENGTH, List.of("5", "6")
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Content-Length: multiple field lines with differing values"
+        },
+        {
+            Map.of(
+                HeaderName.CONTENT_LENGTH, "234",
+                HeaderName.CONTENT_TYPE, "multipart/form-data"
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Content-Type: multipart/form-data requires a boundary parameter"
+        },
+        {
+            Map.of(
+                HeaderName.CONTENT_LENGTH, "234",
+                HeaderName.CONTENT_TYPE, "multipart/form-data; boundary=" + "x".repeat(71)
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Content-Type: invalid multipart boundary"
+        },
+        {
+            Map.of(
+                HeaderName.CONTENT_LENGTH, "234",
+                HeaderName.CONTENT_TYPE, "multipart/form-data; boundary=a{b}"
+            ),
+
+            HttpClientException.Kind.INVALID_REQUEST_HEADERS,
+            "Invalid Content-Type: invalid multipart boundary"
         }
     };
   }
@@ -0,0 +1,226 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import objectos.y.PathY;
+import objectox.http.HttpClientException;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class RequestBodyMultipartParserTest {
+
+  private RequestBodySupport support;
+
+  private RequestBodyForm parse(String body) throws IOException {
+    return parse(body, 8192);
+  }
+
+  private RequestBodyForm parse(String body, int chunk) throws IOException {
+    final RequestBodyConfig config;
+    config = new RequestBodyConfig(() -> PathY.nextFile(), false, 64, false, 128, 4096);
+
+    support = new RequestBodySupport(config);
+
+    final byte[] bytes;
+    bytes = body.getBytes(StandardCharsets.UTF_8);
+
+    // delivers at most `chunk` bytes per read
+    final InputStream input;
+    input = new ByteArrayInputStream(bytes) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, chunk));
+      }
+    };
+
+    final RequestBodyMultipartParser parser;
+    parser = new RequestBodyMultipartParser(support, "xyz", input);
+
+    return parser.parse();
+  }
+
+  @Test(description = "text fields become form params")
+  public void fields01() throws IOException {
+    final RequestBodyForm form;
+    form = parse("""
+    --xyz\r
+    Content-Disposition: form-data; name="a"\r
+    \r
+    1\r
+    --xyz\r
+    Content-Disposition: form-data; name="b"\r
+    \r
+    line 1\r
+    line 2\r
+    --xyz\r
+    Content-Disposition: form-data; name="a"\r
+    \r
+    ação\r
+    --xyz--\r
+    """);
+
+    assertEquals(form.params(), Map.of("a", List.of("1", "ação"), "b", "line 1\r\nline 2"));
+    assertEquals(form.files(), List.of());
+  }
+
+  @DataProvider
+  public Object[][] chunkProvider() {
+    return new Object[][] {{1}, {2}, {3}, {7}, {8192}};
+  }
+
+  @Test(dataProvider = "chunkProvider", description = "delimiter split across reads; preamble and epilogue ignored")
+  public void fields02(int chunk) throws IOException {
+    final RequestBodyForm form;
+    form = parse("""
+    preamble\r
+    --xyz\r
+    Content-Disposition: form-data; name=a\r
+    \r
+    --xy\r
+    --xyz   \r
+    Content-Disposition: form-data; name="b"\r
+    \r
+    \r
+    --xyz--\r
+    epilogue""", chunk);
+
+    assertEquals(form.params(), Map.of("a", "--xy", "b", ""));
+  }
+
+  @Test(description = "file parts are written to files")
+  public void files01() throws IOException {
+    final RequestBodyForm form;
+    form = parse("""
+    --xyz\r
+    Content-Disposition: form-data; name="title"\r
+    \r
+    Hello\r
+    --xyz\r
+    Content-Disposition: form-data; name="upload"; filename="a \\"b\\".txt"\r
+    Content-Type: text/csv\r
+    \r
+    1,2,3\r
+    4,5,6\r
+    --xyz\r
+    content-disposition: form-data; name="upload"; filename=""\r
+    \r
+    \r
+    --xyz--""");
+
+    assertEquals(form.params(), Map.of("title", "Hello"));
+
+    final List<RequestBodyFile> files;
+    files = form.files();
+
+    assertEquals(files.size(), 2);
+
+    final RequestBodyFile file0;
+    file0 = files.get(0);
+
+    assertEquals(file0.name(), "upload");
+    assertEquals(file0.filename(), "a \"b\".txt");
+    assertEquals(file0.contentType(), "text/csv");
+    assertEquals(file0.size(), 12L);
+    assertEquals(Files.readString(file0.file()), "1,2,3\r\n4,5,6");
+
+    final RequestBodyFile file1;
+    file1 = files.get(1);
+
+    assertEquals(file1.filename(), "");
+    assertEquals(file1.contentType(), "text/plain");
+    assertEquals(file1.size(), 0L);
+
+    assertEquals(form.formFile("upload"), file0);
+    assertEquals(form.formFileAll("upload"), List.of(file0, file1));
+    assertEquals(form.formFile("title"), null);
+
+    support.deleteParts();
+
+    assertFalse(Files.exists(file0.file()));
+    assertFalse(Files.exists(file1.file()));
+  }
+
+  @DataProvider
+  public Object[][] invalidProvider() {
+    return new Object[][] {
+        {"""
+        --xyz\r
+        Content-Disposition: form-data; name="a"\r
+        \r
+        1""", HttpClientException.Kind.INVALID_MULTIPART, "closing delimiter not found"},
+        {"""
+        --xyz\r
+        Content-Type: text/plain\r
+        \r
+        1\r
+        --xyz--""", HttpClientException.Kind.INVALID_MULTIPART, "missing disposition"},
+        {"""
+        --xyz\r
+        Content-Disposition: form-data\r
+        \r
+        1\r
+        --xyz--""", HttpClientException.Kind.INVALID_MULTIPART, "missing name"},
+        {"""
+        --xyz\r
+        Content-Disposition: attachment; name="a"\r
+        \r
+        1\r
+        --xyz--""", HttpClientException.Kind.INVALID_MULTIPART, "not form-data"},
+        {"""
+        --xyzContent-Disposition: form-data; name="a"\r
+        \r
+        1\r
+        --xyz--""", HttpClientException.Kind.INVALID_MULTIPART, "no CRLF after delimiter"},
+        {"""
+        --xyz\r
+        Content-Disposition: form-data; name="a"\r
+        \r
+        %s\r
+        --xyz--""".formatted("x".repeat(65)), HttpClientException.Kind.CONTENT_TOO_LARGE, "field > memoryMax"},
+        {"""
+        --xyz\r
+        Content-Disposition: form-data; name="a"; filename="a.txt"\r
+        \r
+        %s\r
+        --xyz--""".formatted("x".repeat(129)), HttpClientException.Kind.CONTENT_TOO_LARGE, "file > partMax"}
+    };
+  }
+
+  @Test(dataProvider = "invalidProvider")
+  public void invalid(String body, HttpClientException.Kind kind, String description) throws IOException {
+    try {
+      parse(body);
+
+      Assert.fail("It should have thrown");
+    } catch (HttpClientException expected) {
+      assertEquals(expected.kind, kind);
+    } finally {
+      support.close();
+    }
+  }
+
+}
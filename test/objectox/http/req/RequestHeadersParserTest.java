@@ -46,7 +46,41 @@ public class RequestHeadersParserTest {
     final RequestHeadersParser parser;
     parser = new RequestHeadersParser(input);
 
-    return parser.parse();
+    final RequestHeaders headers;
+    headers = parser.parse();
+
+    return headers.headers();
+  }
+
+  @Test(description = "lookup of standard and non-standard names")
+  public void header01() throws IOException {
+    final Socket socket;
+    socket = SocketY.of("""
+    Host: www.example.com\r
+    X-Foo: foo1\r
+    ACCEPT-ENCODING: gzip\r
+    x-foo: foo2\r
+    Host: other\r
+    \r
+    """);
+
+    final RequestInputStream input;
+    input = RequestInputStream.of(256, socket);
+
+    final RequestHeadersParser parser;
+    parser = new RequestHeadersParser(input);
+
+    final RequestHeaders headers;
+    headers = parser.parse();
+
+    assertEquals(headers.header(HeaderName.HOST), "www.example.com");
+    assertEquals(headers.headerAll(HeaderName.HOST), List.of("www.example.com", "other"));
+    assertEquals(headers.header(HeaderName.ACCEPT_ENCODING), "gzip");
+    assertEquals(headers.header(HeaderName.of("X-Foo")), "foo1");
+    assertEquals(headers.headerAll(HeaderName.of("x-FOO")), List.of("foo1", "foo2"));
+    assertEquals(headers.header(HeaderName.of("X-Bar")), null);
+    assertEquals(headers.header(HeaderName.USER_AGENT), null);
+    assertEquals(headers.headerAll(HeaderName.USER_AGENT), List.of());
   }
 
   @DataProvider
@@ -16,11 +16,14 @@
 package objectox.http.req;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 import static org.testng.Assert.assertSame;
 
 import module java.base;
 import objectos.lang.Throwables;
+import objectos.y.InputStreamY;
 import objectos.y.SocketY;
+import objectox.http.BufferPool;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -158,6 +161,197 @@ public class RequestInputStreamTest {
     assertEquals(readByte0(input, 64), in2);
   }
 
+  @Test(description = "start should keep bytes of a pipelined request")
+  public void start03() throws IOException {
+    final String in1;
+    in1 = "1".repeat(32);
+
+    final String in2;
+    in2 = "2".repeat(32);
+
+    final RequestInputStream input;
+    input = input(64, in1 + in2);
+
+    assertEquals(input.start(), true);
+
+    assertEquals(readByte0(input, 32), in1);
+
+    assertEquals(input.buffered(), true);
+
+    assertEquals(input.start(), true);
+
+    assertEquals(input.bufferIndex(), 0);
+
+    assertEquals(readByte0(input, 32), in2);
+
+    assertEquals(input.buffered(), false);
+
+    assertEquals(input.start(), false);
+  }
+
+  @Test(description = "flushes before reading from the input stream")
+  public void start04() throws IOException {
+    final List<String> log;
+    log = new ArrayList<>();
+
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> log.add("flush"), InputStreamY.of("12"));
+
+    assertEquals(input.start(), true);
+
+    assertEquals(log, List.of("flush"));
+
+    assertEquals(readByte0(input, 2), "12");
+
+    assertEquals(input.start(), false);
+
+    assertEquals(log, List.of("flush", "flush"));
+  }
+
+  @Test(description = "pooled: buffer is held while requests arrive and returned at the end")
+  public void start05() throws IOException {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(pool, 128, () -> {}, InputStreamY.of("12", "34"), RequestTimeouts.NONE);
+
+    assertEquals(input.start(), true);
+    assertEquals(pool.retained(128), 0);
+
+    assertEquals(readByte0(input, 2), "12");
+
+    assertEquals(input.start(), true);
+    // requests keep coming: the buffer is kept
+    assertEquals(pool.retained(128), 0);
+
+    assertEquals(readByte0(input, 2), "34");
+
+    assertEquals(input.start(), false);
+    assertEquals(pool.retained(128), 1);
+  }
+
+  @Test(description = "pooled: buffer is returned while the connection is idle")
+  public void start06() throws IOException {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    final List<String> log;
+    log = new ArrayList<>();
+
+    final InputStream idle;
+    idle = new InputStream() {
+      private boolean polled;
+
+      @Override
+      public final int read() throws IOException {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public final int read(byte[] b, int off, int len) throws IOException {
+        if (!polled) {
+          polled = true;
+
+          log.add("poll");
+
+          throw new SocketTimeoutException();
+        }
+
+        log.add("read len=" + len + " retained=" + pool.retained(128));
+
+        b[off] = '1';
+
+        return 1;
+      }
+    };
+
+    final Socket socket;
+    socket = SocketY.create(opts -> opts.inputStream = idle);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(pool, 128, () -> {}, idle, new RequestTimeouts(socket, 0, 0, 0));
+
+    assertEquals(input.start(), true);
+    assertEquals(pool.retained(128), 0);
+    assertEquals(log, List.of("poll", "read len=1 retained=1"));
+
+    assertEquals(readByte0(input, 1), "1");
+  }
+
+  @Test(description = "pinned head is not overwritten by body reads")
+  public void unpin01() throws IOException {
+    final RequestInputStream input;
+    input = input(128, "HEAD1", "BODY1", "HEAD2");
+
+    assertEquals(input.start(), true);
+    assertEquals(readByte0(input, 5), "HEAD1");
+
+    final RequestHead head;
+    head = input.head();
+
+    input.startBody();
+
+    assertEquals(input.readForBody(), 5);
+    assertEquals(read0(input, 5), "BODY1");
+    assertEquals(head.string(0, 5), "HEAD1");
+
+    input.unpin();
+
+    // the same head is retargeted to the next request
+    assertEquals(input.start(), true);
+    assertEquals(readByte0(input, 5), "HEAD2");
+    assertSame(input.head(), head);
+    assertEquals(head.string(0, 5), "HEAD2");
+  }
+
+  @Test(description = "retired head fails on access")
+  public void retire01() throws IOException {
+    final RequestInputStream input;
+    input = input(128, "HEAD1", "HEAD2");
+
+    assertEquals(input.start(), true);
+    assertEquals(readByte0(input, 5), "HEAD1");
+
+    final RequestHead head;
+    head = input.head();
+
+    input.retire();
+
+    try {
+      head.string(0, 5);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalStateException expected) {
+      assertEquals(expected.getMessage(), "Request accessed after its response was sent");
+    }
+
+    assertEquals(input.start(), true);
+    assertEquals(readByte0(input, 5), "HEAD2");
+    assertNotSame(input.head(), head);
+  }
+
+  @Test(description = "large pinned head is detached before body reads")
+  public void unpin02() throws IOException {
+    final String large;
+    large = "H".repeat(100);
+
+    final RequestInputStream input;
+    input = input(128, large, "BODY1");
+
+    assertEquals(input.start(), true);
+    assertEquals(readByte0(input, 100), large);
+
+    final RequestHead head;
+    head = input.head();
+
+    input.startBody();
+
+    assertEquals(input.readForBody(), 5);
+    assertEquals(read0(input, 5), "BODY1");
+    assertEquals(head.string(0, 100), large);
+  }
+
   private String read0(RequestInputStream socket, int len) throws IOException {
     final byte[] bytes;
     bytes = new byte[len];
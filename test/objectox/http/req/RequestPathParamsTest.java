@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+public class RequestPathParamsTest {
+
+  @Test(description = "values are materialized once")
+  public void get01() {
+    final RequestPathParams subject;
+    subject = new RequestPathParams("/movie/123/the-title", 2);
+
+    subject.add("id", 7, 10);
+    subject.add("slug", 11, 20);
+
+    final String id;
+    id = subject.get("id");
+
+    assertEquals(id, "123");
+    assertSame(subject.get("id"), id);
+    assertEquals(subject.get("slug"), "the-title");
+    assertNull(subject.get("other"));
+  }
+
+  @Test(description = "grows beyond the initial capacity")
+  public void get02() {
+    final RequestPathParams subject;
+    subject = new RequestPathParams("/a/b/c", 0);
+
+    subject.add("x", 1, 2);
+    subject.add("y", 3, 4);
+    subject.add("z", 5, 6);
+
+    assertEquals(subject.size(), 3);
+    assertEquals(subject.toString(), "{x=a, y=b, z=c}");
+  }
+
+  @Test(description = "ints are parsed in place")
+  public void getAsInt01() {
+    final RequestPathParams subject;
+    subject = new RequestPathParams("/123/-45/abc//99999999999", 5);
+
+    subject.add("a", 1, 4);
+    subject.add("b", 5, 8);
+    subject.add("c", 9, 12);
+    subject.add("d", 13, 13);
+    subject.add("e", 14, 25);
+
+    assertEquals(subject.getAsInt("a", 0), 123);
+    assertEquals(subject.getAsInt("b", 0), -45);
+    assertEquals(subject.getAsInt("c", 0), 0);
+    assertEquals(subject.getAsInt("d", 1), 1);
+    assertEquals(subject.getAsInt("e", 2), 2);
+    assertEquals(subject.getAsInt("f", 3), 3);
+  }
+
+  @Test(description = "capture: an instance is reused across requests")
+  public void capture01() {
+    final RequestPathParams subject;
+    subject = new RequestPathParams("", 0);
+
+    final String[] one;
+    one = new String[] {"id"};
+
+    subject.capture("/movie/123", 1);
+
+    final int[] offsets1;
+    offsets1 = subject.captureOffsets();
+
+    offsets1[0] = 7;
+    offsets1[1] = 10;
+
+    subject.captureBest(1);
+
+    subject.captureNames(one);
+
+    assertEquals(subject.get("id"), "123");
+
+    final String[] three;
+    three = new String[] {"a", "b", "c"};
+
+    subject.capture("/x/y/z", 3);
+
+    final int[] offsets2;
+    offsets2 = subject.captureOffsets();
+
+    offsets2[0] = 1;
+    offsets2[1] = 2;
+    offsets2[2] = 3;
+    offsets2[3] = 4;
+    offsets2[4] = 5;
+    offsets2[5] = 6;
+
+    subject.captureBest(3);
+
+    subject.captureNames(three);
+
+    assertEquals(subject.toString(), "{a=x, b=y, c=z}");
+    assertEquals(subject.get("a"), "x");
+    assertEquals(subject.get("c"), "z");
+    assertNull(subject.get("id"));
+
+    // the names of the route are shared, never written to
+    subject.add("d", 0, 1);
+
+    assertEquals(three, new String[] {"a", "b", "c"});
+    assertEquals(subject.get("d"), "/");
+  }
+
+  @Test(description = "of(map)")
+  public void of01() {
+    final Map<String, String> map;
+    map = new LinkedHashMap<>();
+
+    map.put("id", "123");
+    map.put("empty", "");
+    map.put("slug", "the-title");
+
+    final RequestPathParams subject;
+    subject = RequestPathParams.of(map);
+
+    assertEquals(subject.get("id"), "123");
+    assertEquals(subject.get("empty"), "");
+    assertEquals(subject.get("slug"), "the-title");
+    assertEquals(subject.getAsInt("id", 0), 123);
+  }
+
+}
@@ -36,6 +36,13 @@ public class RequestQueryParserTest {
   private final String validString = Rfc.unreserved() + Rfc.subDelims() + ":@/?";
 
   private Map<String, Object> parse(Object... data) throws IOException {
+    final RequestQueryParams params;
+    params = parseParams(data);
+
+    return params.map();
+  }
+
+  private RequestQueryParams parseParams(Object... data) throws IOException {
     final Socket socket;
     socket = SocketY.of(data);
 
@@ -438,10 +445,10 @@ public class RequestQueryParserTest {
 
   private Request queryOf(String q) {
     try {
-      final Map<String, Object> map;
-      map = parse("?" + q + " HTTP/1.1");
+      final RequestQueryParams params;
+      params = parseParams("?" + q + " HTTP/1.1");
 
-      return new RequestPojo(null, null, null, map, null, null, null, null);
+      return new RequestPojo(null, null, null, params, null, null, null, null);
     } catch (IOException e) {
       throw new AssertionError("failed", e);
     }
@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.req;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import objectos.y.InputStreamY;
+import objectos.y.SocketY;
+import objectox.http.HttpClientException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class RequestTimeoutsTest {
+
+  @Test(description = "idle timeout is reported as EOF")
+  public void idle01() throws IOException {
+    final Socket socket;
+    socket = SocketY.of();
+
+    final RequestTimeouts timeouts;
+    timeouts = new RequestTimeouts(socket, 5000, 1000, 2000);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> {}, InputStreamY.of(new SocketTimeoutException()), timeouts);
+
+    assertFalse(input.start());
+    assertTrue(timeouts.expired());
+    assertEquals(timeouts.phase(), RequestTimeouts.Phase.IDLE);
+
+    final int soTimeout;
+    soTimeout = socket.getSoTimeout();
+
+    assertTrue(soTimeout > 0 && soTimeout <= 5000, "soTimeout=" + soTimeout);
+  }
+
+  @Test(description = "head timeout throws 408")
+  public void head01() throws IOException {
+    final RequestTimeouts timeouts;
+    timeouts = new RequestTimeouts(SocketY.of(), 5000, 1000, 2000);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> {}, InputStreamY.of("GE", new SocketTimeoutException()), timeouts);
+
+    assertTrue(input.start());
+    assertEquals(timeouts.phase(), RequestTimeouts.Phase.HEAD);
+
+    input.readByte();
+    input.readByte();
+
+    try {
+      input.readByte();
+
+      Assert.fail("It should have thrown");
+    } catch (HttpClientException expected) {
+      assertEquals(expected.kind, HttpClientException.Kind.REQUEST_TIMEOUT);
+      assertTrue(timeouts.expired());
+    }
+  }
+
+  @Test(description = "body deadline starts on the first body read")
+  public void body01() throws IOException, InterruptedException {
+    final RequestTimeouts timeouts;
+    timeouts = new RequestTimeouts(SocketY.of(), 0, 0, 1);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> {}, InputStreamY.of("a", "b"), timeouts);
+
+    assertTrue(input.start());
+    assertEquals(input.readByte(), 'a');
+
+    input.startBody();
+
+    // e.g. the handler takes a while before reading a lazy body
+    Thread.sleep(5);
+
+    assertEquals(input.readByte(), 'b');
+    assertEquals(timeouts.phase(), RequestTimeouts.Phase.BODY);
+    assertFalse(timeouts.expired());
+  }
+
+  @Test(description = "expired deadline does not read")
+  public void body02() throws IOException {
+    final RequestTimeouts timeouts;
+    timeouts = new RequestTimeouts(SocketY.of(), 0, 0, 1);
+
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> {}, InputStreamY.of("a", "b", "c"), timeouts);
+
+    assertTrue(input.start());
+    assertEquals(input.readByte(), 'a');
+
+    input.startBody();
+
+    assertEquals(input.readByte(), 'b');
+
+    try {
+      Thread.sleep(5);
+
+      input.readByte();
+
+      Assert.fail("It should have thrown");
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    } catch (HttpClientException expected) {
+      assertEquals(expected.kind, HttpClientException.Kind.REQUEST_TIMEOUT);
+      assertEquals(timeouts.phase(), RequestTimeouts.Phase.BODY);
+    }
+  }
+
+  @Test(description = "NONE does not set socket timeouts")
+  public void none01() throws IOException {
+    final RequestInputStream input;
+    input = new RequestInputStream(new byte[64], () -> {}, InputStreamY.of("a"), RequestTimeouts.NONE);
+
+    assertTrue(input.start());
+    assertFalse(RequestTimeouts.NONE.expired());
+  }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.resp;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import objectos.http.Content;
+import objectos.http.HeaderName;
+import objectos.http.MediaType;
+import objectos.http.Request;
+import objectos.http.Response;
+import objectox.http.Header;
+import objectox.http.media.ContentBinaryObject;
+import objectox.http.media.ContentBytes;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ResponseCompressionTest {
+
+  private static final String TEXT = "The quick brown fox jumps over the lazy dog.\n".repeat(64);
+
+  @DataProvider
+  public Object[][] negotiateProvider() {
+    return new Object[][] {
+        {null, null},
+        {"", null},
+        {"identity", null},
+        {"br", null},
+        {"gzip", ResponseCompression.Coding.GZIP},
+        {"x-gzip", ResponseCompression.Coding.GZIP},
+        {"deflate", ResponseCompression.Coding.DEFLATE},
+        {"gzip, deflate, br", ResponseCompression.Coding.GZIP},
+        {"deflate, gzip", ResponseCompression.Coding.GZIP},
+        {"gzip;q=0.5, deflate", ResponseCompression.Coding.DEFLATE},
+        {"GZIP; Q=0.8, deflate;q=0.9", ResponseCompression.Coding.DEFLATE},
+        {"gzip;q=0", null},
+        {"*", ResponseCompression.Coding.GZIP},
+        {"gzip;q=0, *", ResponseCompression.Coding.DEFLATE},
+        {"*;q=0", null}
+    };
+  }
+
+  @Test(dataProvider = "negotiateProvider")
+  public void negotiate(String acceptEncoding, ResponseCompression.Coding expected) {
+    assertEquals(ResponseCompression.negotiate(acceptEncoding), expected);
+  }
+
+  @Test
+  public void compressible01() {
+    final ResponseCompression compression;
+    compression = ResponseCompression.create(opts -> {
+      opts.mediaType(MediaType.TEXT_CSS, false);
+
+      opts.mediaType(MediaType.of("application/wasm"), true);
+    });
+
+    assertEquals(compression.compressible(MediaType.TEXT_HTML), true);
+    assertEquals(compression.compressible(MediaType.TEXT_CSS), false);
+    assertEquals(compression.compressible(MediaType.IMAGE_SVG), true);
+    assertEquals(compression.compressible(MediaType.IMAGE_PNG), false);
+    assertEquals(compression.compressible(MediaType.of("application/ld+json")), true);
+    assertEquals(compression.compressible(MediaType.of("application/wasm")), true);
+    assertEquals(compression.compressible(MediaType.APPLICATION_OCTET_STREAM), false);
+  }
+
+  @Test(description = "bytes: gzip")
+  public void apply01() throws IOException {
+    final ResponsePojo res;
+    res = apply("gzip", Content.of(MediaType.TEXT_HTML, TEXT));
+
+    assertEquals(res.headers(), List.of(
+        Header.DATE,
+        new Header(HeaderName.VARY, "Accept-Encoding"),
+        new Header(HeaderName.CONTENT_ENCODING, "gzip")
+    ));
+
+    final ContentBytes bytes;
+    bytes = (ContentBytes) content(res);
+
+    assertEquals(bytes.contentType(), MediaType.TEXT_HTML);
+    assertTrue(bytes.bytes().length < TEXT.length());
+    assertEquals(decode(new GZIPInputStream(new ByteArrayInputStream(bytes.bytes()))), TEXT);
+  }
+
+  @Test(description = "bytes: deflate")
+  public void apply02() throws IOException {
+    final ResponsePojo res;
+    res = apply("deflate", Content.of(MediaType.TEXT_PLAIN, TEXT));
+
+    final ContentBytes bytes;
+    bytes = (ContentBytes) content(res);
+
+    assertEquals(decode(new InflaterInputStream(new ByteArrayInputStream(bytes.bytes()))), TEXT);
+  }
+
+  @Test(description = "streamed: gzip")
+  public void apply03() throws IOException {
+    final ResponsePojo res;
+    res = apply("gzip", Content.of(MediaType.TEXT_PLAIN, out -> out.write(TEXT.getBytes(StandardCharsets.UTF_8))));
+
+    final ContentBinaryObject object;
+    object = (ContentBinaryObject) content(res);
+
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream();
+
+    object.binaryTo(out);
+
+    assertEquals(decode(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))), TEXT);
+  }
+
+  @Test(description = "eligible but not accepted: Vary only")
+  public void apply04() {
+    final Content content;
+    content = Content.of(MediaType.TEXT_PLAIN, TEXT);
+
+    final ResponsePojo res;
+    res = apply(null, content);
+
+    assertEquals(res.headers(), List.of(
+        Header.DATE,
+        new Header(HeaderName.VARY, "Accept-Encoding")
+    ));
+
+    assertEquals(content(res), content);
+  }
+
+  @Test(description = "not eligible: untouched")
+  public void apply05() {
+    final ResponseCompression compression;
+    compression = ResponseCompression.create(_ -> {});
+
+    final Request request;
+    request = request("gzip");
+
+    final ResponsePojo small;
+    small = response(Content.of(MediaType.TEXT_PLAIN, "OK\n"));
+
+    assertSame(compression.apply(request, small), small);
+
+    final ResponsePojo image;
+    image = response(Content.of(MediaType.IMAGE_PNG, new byte[2048]));
+
+    assertSame(compression.apply(request, image), image);
+
+    final ResponsePojo encoded;
+    encoded = (ResponsePojo) Response.create(opts -> {
+      opts.header(HeaderName.CONTENT_ENCODING, "br");
+
+      opts.send(Content.of(MediaType.TEXT_PLAIN, TEXT));
+    });
+
+    assertSame(compression.apply(request, encoded), encoded);
+  }
+
+  private ResponsePojo apply(String acceptEncoding, Content content) {
+    final ResponseCompression compression;
+    compression = ResponseCompression.create(_ -> {});
+
+    return compression.apply(request(acceptEncoding), response(content));
+  }
+
+  private Request request(String acceptEncoding) {
+    return Request.create(opts -> {
+      if (acceptEncoding != null) {
+        opts.header(HeaderName.ACCEPT_ENCODING, acceptEncoding);
+      }
+    });
+  }
+
+  private ResponsePojo response(Content content) {
+    return (ResponsePojo) Response.create(opts -> {
+      opts.date();
+
+      opts.send(content);
+    });
+  }
+
+  private Content content(ResponsePojo res) {
+    final ResponseEntity.OfContent entity;
+    entity = (ResponseEntity.OfContent) res.entity();
+
+    return entity.content();
+  }
+
+  private String decode(InputStream in) throws IOException {
+    try (in) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+}
@@ -16,6 +16,7 @@
 package objectox.http.resp;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.Clock;
 import java.time.ZoneId;
@@ -49,4 +50,27 @@ public class ResponseDateTest {
     assertEquals(date.now(), "Wed, 28 Jun 2023 12:08:43 GMT");
   }
 
+  @Test(description = "value is cached within the same second")
+  public void bytes01() {
+    final ResponseDate date;
+    date = new ResponseDate(Y.clockFixed());
+
+    final byte[] first;
+    first = date.bytes();
+
+    assertSame(date.bytes(), first);
+  }
+
+  @Test(description = "value is refreshed when the second changes")
+  public void bytes02() {
+    final Clock clock;
+    clock = Y.clockIncMinutes(2023, 6, 28);
+
+    final ResponseDate date;
+    date = new ResponseDate(clock);
+
+    assertEquals(date.now(), "Wed, 28 Jun 2023 13:00:00 GMT");
+    assertEquals(date.now(), "Wed, 28 Jun 2023 13:01:00 GMT");
+  }
+
 }
@@ -18,9 +18,19 @@ package objectox.http.resp;
 import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import objectos.http.HeaderName;
 import objectos.http.Status;
+import objectos.way.Y;
 import objectos.y.OutputStreamY;
+import objectos.y.PathY;
 import org.testng.annotations.Test;
 
 public class ResponseSenderTest {
@@ -76,4 +86,211 @@ public class ResponseSenderTest {
     );
   }
 
+  @Test(description = "head + small body => single write")
+  public void writes01() throws IOException {
+    final ResponseSender sender;
+    sender = ResponseSenderY.create(opts -> {
+      opts.bufferSize = 64;
+
+      opts.outputStream = OutputStreamY.create();
+    });
+
+    sender.send(ResponsePojo.create0(opts -> {
+      opts.status(Status.OK);
+
+      opts.send("send(bytes)".getBytes(StandardCharsets.US_ASCII));
+    }));
+
+    assertEquals(sender.writes(), 1);
+    assertEquals(sender.bytes(), 50L);
+  }
+
+  @Test(description = "body does not fit in buffer => head + body writes")
+  public void writes02() throws IOException {
+    final OutputStream outputStream;
+    outputStream = OutputStreamY.create();
+
+    final ResponseSender sender;
+    sender = ResponseSenderY.create(opts -> {
+      opts.bufferSize = 64;
+
+      opts.outputStream = outputStream;
+    });
+
+    final byte[] bytes;
+    bytes = ".".repeat(100).getBytes(StandardCharsets.US_ASCII);
+
+    sender.send(ResponsePojo.create0(opts -> {
+      opts.status(Status.OK);
+
+      opts.send(bytes);
+    }));
+
+    assertEquals(sender.writes(), 2);
+    assertEquals(
+        outputStream.toString(),
+
+        """
+        HTTP/1.1 200 OK\r
+        Content-Length: 100\r
+        \r
+        """ + ".".repeat(100)
+    );
+  }
+
+  @Test(description = "headers larger than the buffer")
+  public void writes03() throws IOException {
+    final OutputStream outputStream;
+    outputStream = OutputStreamY.create();
+
+    final ResponseSender sender;
+    sender = ResponseSenderY.create(opts -> {
+      opts.bufferSize = 16;
+
+      opts.outputStream = outputStream;
+    });
+
+    sender.send(ResponsePojo.create0(opts -> {
+      opts.status(Status.OK);
+
+      opts.header(HeaderName.CONTENT_TYPE, "text/plain; charset=utf-8");
+
+      opts.send("abc".getBytes(StandardCharsets.US_ASCII));
+    }));
+
+    assertEquals(
+        outputStream.toString(),
+
+        """
+        HTTP/1.1 200 OK\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 3\r
+        \r
+        abc\
+        """
+    );
+  }
+
+  @Test(description = "Flush.DEFERRED keeps the response in the buffer")
+  public void flush01() throws IOException {
+    final OutputStream outputStream;
+    outputStream = OutputStreamY.create();
+
+    final ResponseSender sender;
+    sender = ResponseSenderY.create(opts -> {
+      opts.bufferSize = 128;
+
+      opts.outputStream = outputStream;
+    });
+
+    final ResponsePojo pojo;
+    pojo = ResponsePojo.create0(opts -> {
+      opts.status(Status.OK);
+
+      opts.send("x".getBytes(StandardCharsets.US_ASCII));
+    });
+
+    sender.send(pojo, ResponseSender.Flush.DEFERRED);
+
+    assertEquals(sender.writes(), 0);
+    assertEquals(outputStream.toString(), "");
+
+    sender.send(pojo, ResponseSender.Flush.DEFERRED);
+
+    sender.flush();
+
+    assertEquals(sender.writes(), 1);
+    assertEquals(
+        outputStream.toString(),
+
+        """
+        HTTP/1.1 200 OK\r
+        Content-Length: 1\r
+        \r
+        xHTTP/1.1 200 OK\r
+        Content-Length: 1\r
+        \r
+        x\
+        """
+    );
+  }
+
+  @Test(description = "file fits in buffer => coalesced with the head")
+  public void file01() throws IOException {
+    final Path file;
+    file = PathY.nextFile("file01", StandardCharsets.US_ASCII);
+
+    final OutputStream outputStream;
+    outputStream = OutputStreamY.create();
+
+    final ResponseSender sender;
+    sender = ResponseSenderY.create(opts -> {
+      opts.bufferSize = 64;
+
+      opts.outputStream = outputStream;
+    });
+
+    sender.send(ResponsePojo.create0(opts -> {
+      opts.status(Status.OK);
+
+      opts.send(file);
+    }));
+
+    assertEquals(sender.writes(), 1);
+    assertEquals(
+        outputStream.toString(),
+
+        """
+        HTTP/1.1 200 OK\r
+        Content-Length: 6\r
+        \r
+        file01\
+        """
+    );
+  }
+
+  @Test(description = "file larger than the buffer => transferred from the file channel")
+  public void file02() throws IOException {
+    final String contents;
+    contents = "0123456789".repeat(1000);
+
+    final Path file;
+    file = PathY.nextFile(contents, StandardCharsets.US_ASCII);
+
+    try (ServerSocketChannel server = ServerSocketChannel.open()) {
+      server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+      try (SocketChannel client = SocketChannel.open(server.getLocalAddress()); SocketChannel accepted = server.accept()) {
+        final ResponseSender sender;
+        sender = ResponseSender.of(new byte[64], new ResponseDate(Y.clockFixed()), accepted.socket());
+
+        sender.send(ResponsePojo.create0(opts -> {
+          opts.status(Status.OK);
+
+          opts.send(file);
+        }));
+
+        assertEquals(sender.bytes(), 10042L);
+
+        accepted.shutdownOutput();
+
+        final InputStream in;
+        in = client.socket().getInputStream();
+
+        final byte[] bytes;
+        bytes = in.readAllBytes();
+
+        assertEquals(
+            new String(bytes, StandardCharsets.US_ASCII),
+
+            """
+            HTTP/1.1 200 OK\r
+            Content-Length: 10000\r
+            \r
+            """ + contents
+        );
+      }
+    }
+  }
+
 }
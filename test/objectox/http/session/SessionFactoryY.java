@@ -46,7 +46,7 @@ final class SessionFactoryY {
 
         randomGenerator,
 
-        sessions
+        SessionMap.of(instantSource, sessions != null ? sessions : Map.of())
     );
   }
 
@@ -48,7 +48,7 @@ final class SessionFinderY {
     return new SessionFinder(
         instantSource,
 
-        sessions
+        SessionMap.of(instantSource, sessions != null ? sessions : Map.of())
     );
   }
 
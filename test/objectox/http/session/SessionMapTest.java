@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import objectos.way.Note;
+import objectox.http.HttpToken;
+import org.testng.annotations.Test;
+
+public class SessionMapTest {
+
+  private static final long MINUTE = 60_000;
+
+  private static final class ThisClock implements InstantSource {
+    long millis;
+
+    @Override
+    public final Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  private static final class ThisSink extends Note.NoOpSink {
+    final List<String> notes = new ArrayList<>();
+
+    @Override
+    public final void send(Note.Int2 note, int value1, int value2) {
+      notes.add(note.key() + " " + value1 + " " + value2);
+    }
+  }
+
+  // test methods may run concurrently: each one has its own instance
+  private static final class ThisY {
+    final ThisClock clock = new ThisClock();
+
+    final ThisSink sink = new ThisSink();
+
+    final SessionMap subject;
+
+    ThisY(int sessionsMax) {
+      subject = new SessionMap(5 * MINUTE, 30 * MINUTE, clock, sink, new ConcurrentHashMap<>(), sessionsMax);
+    }
+
+    final SessionPojo session(String value) {
+      final Map<Object, Object> attributes;
+      attributes = new HashMap<>();
+
+      if (value != null) {
+        attributes.put(String.class.getName(), value);
+      }
+
+      final SessionPojo session;
+      session = new SessionPojo(attributes);
+
+      session.touch(clock);
+
+      return session;
+    }
+  }
+
+  @Test(description = "idle sessions are evicted")
+  public void sweep01() {
+    final ThisY y;
+    y = new ThisY(Integer.MAX_VALUE);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    assertNull(subject.putIfAbsent(id, y.session("foo")));
+
+    y.clock.millis = 29 * MINUTE;
+
+    assertEquals(subject.get(id) != null, true);
+
+    y.clock.millis = 31 * MINUTE;
+
+    assertNull(subject.get(id));
+    assertEquals(subject.size(), 0);
+    assertEquals(y.sink.notes.getLast(), "SWP 1 0");
+  }
+
+  @Test(description = "accessed sessions are kept")
+  public void sweep02() {
+    final ThisY y;
+    y = new ThisY(Integer.MAX_VALUE);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    final SessionPojo session;
+    session = y.session("foo");
+
+    subject.putIfAbsent(id, session);
+
+    for (int minute = 10; minute <= 90; minute += 10) {
+      y.clock.millis = minute * MINUTE;
+
+      assertSame(subject.get(id), session);
+
+      session.touch(y.clock);
+    }
+
+    y.clock.millis = 121 * MINUTE;
+
+    assertNull(subject.get(id));
+  }
+
+  @Test(description = "empty sessions are evicted sooner")
+  public void sweep03() {
+    final ThisY y;
+    y = new ThisY(Integer.MAX_VALUE);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    final HttpToken empty;
+    empty = HttpToken.of32(1, 1, 1, 1);
+
+    subject.putIfAbsent(empty, y.session(null));
+
+    final HttpToken invalid;
+    invalid = HttpToken.of32(2, 2, 2, 2);
+
+    final SessionPojo session;
+    session = y.session("foo");
+
+    subject.putIfAbsent(invalid, session);
+
+    session.invalidate();
+
+    final HttpToken other;
+    other = HttpToken.of32(3, 3, 3, 3);
+
+    subject.putIfAbsent(other, y.session("foo"));
+
+    y.clock.millis = 6 * MINUTE;
+
+    assertNull(subject.get(empty));
+    assertEquals(subject.size(), 2);
+    assertEquals(y.sink.notes, List.of("SWP 1 2"));
+
+    final SessionPojo existing;
+    existing = subject.get(other);
+
+    existing.touch(y.clock);
+
+    y.clock.millis = 31 * MINUTE;
+
+    assertNull(subject.get(invalid));
+    assertSame(subject.get(other), existing);
+    assertEquals(y.sink.notes.getLast(), "SWP 1 1");
+  }
+
+  @Test(description = "idle for longer than a full turn of the wheel")
+  public void sweep04() {
+    final ThisY y;
+    y = new ThisY(Integer.MAX_VALUE);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    for (int i = 0; i < 10; i++) {
+      y.clock.millis = i * MINUTE;
+
+      subject.putIfAbsent(HttpToken.of32(i, i, i, i), y.session("foo"));
+    }
+
+    y.clock.millis = 24 * 60 * MINUTE;
+
+    assertNull(subject.get(HttpToken.of32(0, 0, 0, 0)));
+    assertEquals(subject.size(), 0);
+  }
+
+  @Test(description = "sessions max: least recently accessed are evicted")
+  public void sessionsMax01() {
+    final ThisY y;
+    y = new ThisY(2);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    final HttpToken id1;
+    id1 = HttpToken.of32(1, 1, 1, 1);
+
+    final SessionPojo session1;
+    session1 = y.session("foo");
+
+    subject.putIfAbsent(id1, session1);
+
+    y.clock.millis = 1 * MINUTE;
+
+    final HttpToken id2;
+    id2 = HttpToken.of32(2, 2, 2, 2);
+
+    subject.putIfAbsent(id2, y.session("foo"));
+
+    y.clock.millis = 2 * MINUTE;
+
+    // session1 is now more recent than session2
+    session1.touch(y.clock);
+
+    final HttpToken id3;
+    id3 = HttpToken.of32(3, 3, 3, 3);
+
+    subject.putIfAbsent(id3, y.session("foo"));
+
+    assertEquals(subject.size(), 2);
+    assertSame(subject.get(id1), session1);
+    assertNull(subject.get(id2));
+    assertEquals(subject.get(id3) != null, true);
+
+    // reported on the next sweep
+    assertEquals(y.sink.notes.contains("EVI 1 2"), false);
+
+    y.clock.millis = 3 * MINUTE;
+
+    assertSame(subject.get(id1), session1);
+    assertEquals(y.sink.notes.getLast(), "EVI 1 2");
+  }
+
+  @Test(description = "existing id is not replaced")
+  public void putIfAbsent01() {
+    final ThisY y;
+    y = new ThisY(Integer.MAX_VALUE);
+
+    final SessionMap subject;
+    subject = y.subject;
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    final SessionPojo session;
+    session = y.session("foo");
+
+    assertNull(subject.putIfAbsent(id, session));
+    assertSame(subject.putIfAbsent(id, y.session("bar")), session);
+    assertSame(subject.get(id), session);
+  }
+
+}
@@ -17,6 +17,8 @@ package objectox.http.session;
 
 import static org.testng.Assert.assertEquals;
 
+import java.time.Instant;
+import java.time.InstantSource;
 import java.util.HashMap;
 import java.util.Map;
 import org.testng.annotations.Test;
@@ -46,4 +48,45 @@ public class SessionPojoTest {
     assertEquals(session.attr(String.class), null);
   }
 
+  @Test(description = "removing the last attribute makes the session empty")
+  public void set1() {
+    final Map<Object, Object> attributes;
+    attributes = new HashMap<>();
+
+    attributes.put(String.class.getName(), "A");
+
+    final SessionPojo session;
+    session = new SessionPojo(attributes);
+
+    session.touch(InstantSource.fixed(Instant.ofEpochMilli(1000)));
+
+    assertEquals(session.expiration(10, 20), 1020);
+
+    assertEquals(session.attr(String.class, null), "A");
+
+    assertEquals(session.expiration(10, 20), 1010);
+
+    // the original map is not modified
+    assertEquals(attributes.get(String.class.getName()), "A");
+  }
+
+  @Test
+  public void invalidate01() {
+    final SessionPojo session;
+    session = SessionPojoY.of();
+
+    session.attr(String.class, "A");
+
+    assertEquals(session.valid(), true);
+    assertEquals(session.shouldUnset(), false);
+
+    session.invalidate();
+
+    assertEquals(session.valid(), false);
+    assertEquals(session.attr(String.class), null);
+    assertEquals(session.expiration(10, 20), Long.MIN_VALUE);
+    assertEquals(session.shouldUnset(), true);
+    assertEquals(session.shouldUnset(), false);
+  }
+
 }
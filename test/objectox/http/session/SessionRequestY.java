@@ -46,7 +46,7 @@ final class SessionRequestY {
     return new SessionRequest(
         new SessionCookieParser(cookieName),
 
-        new SessionFinder(instantSource, sessions)
+        new SessionFinder(instantSource, SessionMap.of(instantSource, sessions))
     );
   }
 
@@ -0,0 +1,354 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import objectos.http.SessionOptions;
+import objectos.lang.Key;
+import objectos.way.Note;
+import objectos.y.PathY;
+import objectox.http.HttpToken;
+import org.testng.annotations.Test;
+
+public class SessionSnapshotTest {
+
+  private static final long MINUTE = 60_000;
+
+  private static final Key<String> BROKEN = Key.of("broken");
+
+  private static final Key<Integer> COUNT = Key.of("count");
+
+  private static final SessionOptions.Codec<String> STRING = SessionOptions.Codec.of(
+      s -> s.getBytes(StandardCharsets.UTF_8),
+      b -> new String(b, StandardCharsets.UTF_8)
+  );
+
+  private static final SessionOptions.Codec<String> FAILING = SessionOptions.Codec.of(
+      s -> { throw new IllegalStateException("broken"); },
+      b -> new String(b, StandardCharsets.UTF_8)
+  );
+
+  private static final SessionOptions.Codec<Integer> INTEGER = SessionOptions.Codec.of(
+      i -> Integer.toString(i).getBytes(StandardCharsets.US_ASCII),
+      b -> Integer.valueOf(new String(b, StandardCharsets.US_ASCII))
+  );
+
+  private static final class ThisClock implements InstantSource {
+    long millis;
+
+    @Override
+    public final Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  private static final class ThisSink extends Note.NoOpSink {
+    final List<String> notes = new ArrayList<>();
+
+    @Override
+    public final void send(Note.Int2 note, int value1, int value2) {
+      notes.add(note.key() + " " + value1 + " " + value2);
+    }
+
+    @Override
+    public final <T1> void send(Note.Ref1<T1> note, T1 value) {
+      notes.add(note.key() + " " + value);
+    }
+  }
+
+  // test methods may run concurrently: each one has its own instance
+  private static final class ThisY {
+    final ThisClock clock = new ThisClock();
+
+    final Path file = PathY.nextDir().resolve("sessions");
+
+    final ThisSink sink = new ThisSink();
+
+    final SessionSnapshot snapshot(boolean count) {
+      return snapshot(count ? INTEGER : null);
+    }
+
+    final SessionSnapshot snapshot(SessionOptions.Codec<Integer> count) {
+      final SessionCodecs codecs;
+      codecs = new SessionCodecs();
+
+      codecs.add(String.class.getName(), String.class.getName(), STRING);
+
+      codecs.add(BROKEN, "broken", FAILING);
+
+      if (count != null) {
+        codecs.add(COUNT, "count", count);
+      }
+
+      return new SessionSnapshot(codecs, 5 * MINUTE, file, 30 * MINUTE, clock, sink);
+    }
+
+    // writes the specified sessions as if they had been created after a read
+    final void write(Map<HttpToken, SessionPojo> sessions, boolean count) {
+      final SessionSnapshot snapshot;
+      snapshot = snapshot(count);
+
+      snapshot.read().putAll(sessions);
+
+      snapshot.close();
+    }
+
+    final SessionPojo session(Object... pairs) {
+      final Map<Object, Object> attributes;
+      attributes = new HashMap<>();
+
+      for (int idx = 0; idx < pairs.length; idx += 2) {
+        attributes.put(pairs[idx], pairs[idx + 1]);
+      }
+
+      final SessionPojo session;
+      session = new SessionPojo(attributes);
+
+      session.touch(clock);
+
+      return session;
+    }
+  }
+
+  @Test(description = "sessions are restored with their access times")
+  public void roundTrip01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    final HttpToken id1;
+    id1 = HttpToken.of32(1, 2, 3, 4);
+
+    before.put(id1, y.session(String.class.getName(), "foo", COUNT, 123));
+
+    y.clock.millis = 1 * MINUTE;
+
+    final HttpToken id2;
+    id2 = HttpToken.of32(-1, -2, -3, -4);
+
+    before.put(id2, y.session(String.class.getName(), "bar"));
+
+    y.write(before, true);
+
+    y.clock.millis = 10 * MINUTE;
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(true).read();
+
+    assertEquals(after.size(), 2);
+
+    final SessionPojo session1;
+    session1 = after.get(id1);
+
+    assertEquals(session1.attr(String.class), "foo");
+    assertEquals(session1.attr(COUNT), Integer.valueOf(123));
+    assertEquals(session1.accessTime(), Instant.ofEpochMilli(0));
+
+    final SessionPojo session2;
+    session2 = after.get(id2);
+
+    assertEquals(session2.attr(String.class), "bar");
+    assertEquals(session2.attr(COUNT), null);
+    assertEquals(session2.accessTime(), Instant.ofEpochMilli(1 * MINUTE));
+
+    assertEquals(y.sink.notes, List.of("WRT 2 0", "RED 2 0"));
+
+    // the file is read once
+    assertEquals(Files.exists(y.file), false);
+  }
+
+  @Test(description = "expired, empty and invalidated sessions are discarded")
+  public void discard01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "old"));
+
+    final SessionPojo invalid;
+    invalid = y.session(String.class.getName(), "invalid");
+
+    invalid.invalidate();
+
+    before.put(HttpToken.of32(2, 2, 2, 2), invalid);
+
+    y.clock.millis = 10 * MINUTE;
+
+    before.put(HttpToken.of32(3, 3, 3, 3), y.session());
+
+    before.put(HttpToken.of32(4, 4, 4, 4), y.session(String.class.getName(), "new"));
+
+    y.write(before, true);
+
+    // the first session expires during the restart
+    y.clock.millis = 31 * MINUTE;
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(true).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(after.get(HttpToken.of32(4, 4, 4, 4)).attr(String.class), "new");
+    assertEquals(y.sink.notes, List.of("WRT 2 0", "RED 1 1"));
+  }
+
+  @Test(description = "sessions with an attribute without a codec are not written")
+  public void codec01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "foo", COUNT, 1));
+
+    before.put(HttpToken.of32(2, 2, 2, 2), y.session(String.class.getName(), "bar"));
+
+    y.write(before, false);
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(false).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(after.get(HttpToken.of32(2, 2, 2, 2)).attr(String.class), "bar");
+    assertEquals(y.sink.notes, List.of("WRT 1 1", "RED 1 0"));
+  }
+
+  @Test(description = "sessions with an attribute whose codec is no longer registered are discarded")
+  public void codec02() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "foo", COUNT, 1));
+
+    before.put(HttpToken.of32(2, 2, 2, 2), y.session(String.class.getName(), "bar"));
+
+    y.write(before, true);
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(false).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(after.get(HttpToken.of32(2, 2, 2, 2)).attr(String.class), "bar");
+    assertEquals(y.sink.notes, List.of("WRT 2 0", "RED 1 1"));
+  }
+
+  @Test(description = "sessions whose codec fails are not written")
+  public void codec03() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "foo", BROKEN, "x"));
+
+    before.put(HttpToken.of32(2, 2, 2, 2), y.session(String.class.getName(), "bar"));
+
+    y.write(before, false);
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(false).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(after.get(HttpToken.of32(2, 2, 2, 2)).attr(String.class), "bar");
+    assertEquals(y.sink.notes, List.of("ENC java.lang.IllegalStateException: broken", "WRT 1 1", "RED 1 0"));
+  }
+
+  @Test(description = "sessions with an attribute which fails to decode are discarded")
+  public void codec04() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "foo", COUNT, 1));
+
+    before.put(HttpToken.of32(2, 2, 2, 2), y.session(String.class.getName(), "bar"));
+
+    y.write(before, true);
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(SessionOptions.Codec.<Integer> of(
+        i -> Integer.toString(i).getBytes(StandardCharsets.US_ASCII),
+        b -> { throw new IllegalStateException("changed"); }
+    )).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(after.get(HttpToken.of32(2, 2, 2, 2)).attr(String.class), "bar");
+    assertEquals(y.sink.notes, List.of("WRT 2 0", "DEC java.lang.IllegalStateException: changed", "RED 1 1"));
+  }
+
+  @Test(description = "no snapshot file")
+  public void read01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(true).read();
+
+    assertEquals(after.size(), 0);
+    assertEquals(y.sink.notes, List.of());
+  }
+
+  @Test(description = "truncated file: sessions read so far are kept")
+  public void read02() throws IOException {
+    final ThisY y;
+    y = new ThisY();
+
+    final Map<HttpToken, SessionPojo> before;
+    before = new ConcurrentHashMap<>();
+
+    before.put(HttpToken.of32(1, 1, 1, 1), y.session(String.class.getName(), "foo"));
+
+    before.put(HttpToken.of32(2, 2, 2, 2), y.session(String.class.getName(), "bar"));
+
+    y.write(before, true);
+
+    final byte[] bytes;
+    bytes = Files.readAllBytes(y.file);
+
+    Files.write(y.file, Arrays.copyOf(bytes, bytes.length - 2));
+
+    final Map<HttpToken, SessionPojo> after;
+    after = y.snapshot(true).read();
+
+    assertEquals(after.size(), 1);
+    assertEquals(y.sink.notes.getLast(), "THR java.io.IOException: Truncated session snapshot file: " + y.file);
+    assertEquals(Files.exists(y.file), false);
+  }
+
+}
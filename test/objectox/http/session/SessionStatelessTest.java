@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.List;
+import java.util.function.Consumer;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import objectos.http.HeaderName;
+import objectos.http.Request;
+import objectos.http.SessionOptions;
+import objectos.http.Status;
+import objectos.lang.Key;
+import objectox.http.Header;
+import objectox.http.resp.ResponsePojo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class SessionStatelessTest {
+
+  private static final long MINUTE = 60_000;
+
+  private static final Key<Integer> COUNT = Key.of("count");
+
+  private static final SessionOptions.Codec<String> STRING = SessionOptions.Codec.of(
+      s -> s.getBytes(StandardCharsets.UTF_8),
+      b -> new String(b, StandardCharsets.UTF_8)
+  );
+
+  private static final SessionOptions.Codec<Integer> INTEGER = SessionOptions.Codec.of(
+      i -> Integer.toString(i).getBytes(StandardCharsets.US_ASCII),
+      b -> Integer.valueOf(new String(b, StandardCharsets.US_ASCII))
+  );
+
+  private static final class ThisClock implements InstantSource {
+    long millis;
+
+    @Override
+    public final Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  // test methods may run concurrently: each one has its own instance
+  private static final class ThisY {
+    final ThisClock clock = new ThisClock();
+
+    final SessionSupport subject;
+
+    ThisY(SecretKey current, SecretKey... previous) {
+      this(opts -> opts.stateless(current, previous));
+    }
+
+    ThisY(Consumer<SessionOptions> more) {
+      final SessionSupportBuilder builder;
+      builder = new SessionSupportBuilder();
+
+      builder.codec(String.class, STRING);
+
+      builder.codec(COUNT, INTEGER);
+
+      builder.instantSource(clock);
+
+      more.accept(builder);
+
+      subject = builder.build();
+    }
+
+    final Request request(String cookie) {
+      final Request request;
+      request = Request.create(opts -> {
+        if (cookie != null) {
+          opts.header(HeaderName.COOKIE, cookie);
+        }
+      });
+
+      subject.request().accept(request);
+
+      return request;
+    }
+
+    // returns the cookie set by the response, or null
+    final String response(Request request, Status status) {
+      final ResponsePojo response;
+      response = ResponsePojo.create0(opts -> {
+        opts.status(status);
+      });
+
+      subject.response().accept(request, response);
+
+      final List<Header> headers;
+      headers = response.headers();
+
+      if (headers.isEmpty()) {
+        return null;
+      }
+
+      final Header header;
+      header = headers.getFirst();
+
+      assertEquals(header.name(), HeaderName.SET_COOKIE);
+
+      final String value;
+      value = header.value();
+
+      return value.substring(0, value.indexOf(';'));
+    }
+  }
+
+  private static SecretKey key(int seed) {
+    final byte[] bytes;
+    bytes = new byte[16];
+
+    for (int idx = 0; idx < bytes.length; idx++) {
+      bytes[idx] = (byte) (seed + idx);
+    }
+
+    return new SecretKeySpec(bytes, "AES");
+  }
+
+  @Test(description = "attributes round trip through the cookie")
+  public void roundTrip01() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req1;
+    req1 = y.request(null);
+
+    assertEquals(req1.sessionPresent(), false);
+
+    req1.sessionAttr(String.class, "foo");
+    req1.sessionAttr(COUNT, 123);
+
+    final String cookie;
+    cookie = y.response(req1, Status.OK);
+
+    assertTrue(cookie.startsWith("WAY="));
+
+    final Request req2;
+    req2 = y.request(cookie);
+
+    assertEquals(req2.sessionPresent(), true);
+    assertEquals(req2.sessionAttr(String.class), "foo");
+    assertEquals(req2.sessionAttr(COUNT), Integer.valueOf(123));
+
+    // not modified: not reissued
+    assertNull(y.response(req2, Status.OK));
+  }
+
+  @Test(description = "lazy session is not initialized -> no cookie")
+  public void roundTrip02() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req;
+    req = y.request(null);
+
+    assertNull(y.response(req, Status.OK));
+  }
+
+  @Test(description = "modified session is reissued; invalidated session is unset")
+  public void roundTrip03() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req1;
+    req1 = y.request(null);
+
+    req1.sessionAttr(COUNT, 1);
+
+    final Request req2;
+    req2 = y.request(y.response(req1, Status.OK));
+
+    req2.sessionAttr(COUNT, req2.sessionAttr(COUNT) + 1);
+
+    final Request req3;
+    req3 = y.request(y.response(req2, Status.OK));
+
+    assertEquals(req3.sessionAttr(COUNT), Integer.valueOf(2));
+
+    req3.sessionInvalidate();
+
+    assertEquals(y.response(req3, Status.OK), "WAY=");
+  }
+
+  @Test(description = "tampered or foreign cookies are ignored")
+  public void tamper01() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req1;
+    req1 = y.request(null);
+
+    req1.sessionAttr(String.class, "foo");
+
+    final String cookie;
+    cookie = y.response(req1, Status.OK);
+
+    // the last character may carry padding bits only
+    final int idx;
+    idx = cookie.length() / 2;
+
+    final char c;
+    c = cookie.charAt(idx);
+
+    final String tampered;
+    tampered = cookie.substring(0, idx) + (c == 'A' ? 'B' : 'A') + cookie.substring(idx + 1);
+
+    assertEquals(y.request(tampered).sessionPresent(), false);
+    assertEquals(y.request("WAY=not-base64!").sessionPresent(), false);
+    assertEquals(y.request("WAY=").sessionPresent(), false);
+
+    final ThisY other;
+    other = new ThisY(key(2));
+
+    assertEquals(other.request(cookie).sessionPresent(), false);
+  }
+
+  @Test(description = "previous keys decrypt; such cookies are reissued with the current key")
+  public void rotation01() {
+    final ThisY before;
+    before = new ThisY(key(1));
+
+    final Request req1;
+    req1 = before.request(null);
+
+    req1.sessionAttr(String.class, "foo");
+
+    final String cookie1;
+    cookie1 = before.response(req1, Status.OK);
+
+    final ThisY after;
+    after = new ThisY(key(2), key(1));
+
+    final Request req2;
+    req2 = after.request(cookie1);
+
+    assertEquals(req2.sessionAttr(String.class), "foo");
+
+    final String cookie2;
+    cookie2 = after.response(req2, Status.OK);
+
+    final ThisY current;
+    current = new ThisY(key(2));
+
+    assertEquals(current.request(cookie2).sessionAttr(String.class), "foo");
+  }
+
+  @Test(description = "idle sessions expire; used sessions are reissued")
+  public void idleTimeout01() {
+    final ThisY y;
+    y = new ThisY(opts -> {
+      opts.idleTimeout(Duration.ofMinutes(20));
+
+      opts.stateless(key(1));
+    });
+
+    final Request req1;
+    req1 = y.request(null);
+
+    req1.sessionAttr(String.class, "foo");
+
+    final String cookie1;
+    cookie1 = y.response(req1, Status.OK);
+
+    y.clock.millis = 4 * MINUTE;
+
+    assertNull(y.response(y.request(cookie1), Status.OK));
+
+    y.clock.millis = 5 * MINUTE;
+
+    final String cookie2;
+    cookie2 = y.response(y.request(cookie1), Status.OK);
+
+    y.clock.millis = 21 * MINUTE;
+
+    assertEquals(y.request(cookie1).sessionPresent(), false);
+    assertEquals(y.request(cookie2).sessionAttr(String.class), "foo");
+  }
+
+  @Test(description = "attribute without a codec")
+  public void codec01() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req;
+    req = y.request(null);
+
+    req.sessionAttr(Key.of("no-codec"), "foo");
+
+    try {
+      y.response(req, Status.OK);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalStateException expected) {
+      assertEquals(expected.getMessage(), "No codec registered for the session attribute Key[no-codec]");
+    }
+  }
+
+  @Test(description = "cookie too large")
+  public void codec02() {
+    final ThisY y;
+    y = new ThisY(key(1));
+
+    final Request req;
+    req = y.request(null);
+
+    req.sessionAttr(String.class, "x".repeat(4096));
+
+    try {
+      y.response(req, Status.OK);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalStateException expected) {
+      assertEquals(expected.getMessage(), "Session cookie exceeds 4096 bytes: reduce the size of the session attributes");
+    }
+  }
+
+  @Test(description = "attribute codec fails to decode -> cookie is ignored")
+  public void codec03() {
+    final Key<String> broken;
+    broken = Key.of("broken");
+
+    final ThisY y;
+    y = new ThisY(opts -> {
+      opts.codec(broken, SessionOptions.Codec.of(
+          s -> s.getBytes(StandardCharsets.UTF_8),
+          b -> { throw new IllegalArgumentException("broken"); }
+      ));
+
+      opts.stateless(key(1));
+    });
+
+    final Request req1;
+    req1 = y.request(null);
+
+    req1.sessionAttr(broken, "foo");
+
+    final String cookie;
+    cookie = y.response(req1, Status.OK);
+
+    assertEquals(y.request(cookie).sessionPresent(), false);
+  }
+
+  @Test(description = "only AES keys")
+  public void stateless01() {
+    final SessionSupportBuilder builder;
+    builder = new SessionSupportBuilder();
+
+    try {
+      builder.stateless(new SecretKeySpec(new byte[16], "HmacSHA256"));
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      assertEquals(expected.getMessage(), "Invalid key: algorithm must be AES but found HmacSHA256");
+    }
+  }
+
+}
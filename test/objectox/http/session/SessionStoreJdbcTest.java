@@ -0,0 +1,423 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.session;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import javax.sql.DataSource;
+import objectos.http.SessionOptions;
+import objectos.internal.NoOpSinkSingleton;
+import objectos.way.Sql;
+import objectox.http.HttpToken;
+import org.h2.jdbcx.JdbcDataSource;
+import org.testng.annotations.Test;
+
+public class SessionStoreJdbcTest {
+
+  private static final long SECOND = 1_000;
+
+  private static final long MINUTE = 60 * SECOND;
+
+  private static final AtomicInteger DB_COUNT = new AtomicInteger();
+
+  private static final class ThisClock implements InstantSource {
+    volatile long millis;
+
+    @Override
+    public final Instant instant() {
+      return Instant.ofEpochMilli(millis);
+    }
+  }
+
+  // test methods may run concurrently: each one has its own instance
+  private static final class ThisY {
+    final ThisClock clock = new ThisClock();
+
+    final SessionCodecs codecs = new SessionCodecs();
+
+    final Sql.Database db;
+
+    ThisY() {
+      this(UnaryOperator.identity());
+    }
+
+    ThisY(UnaryOperator<DataSource> wrapper) {
+      final JdbcDataSource ds;
+      ds = new JdbcDataSource();
+
+      ds.setUrl("jdbc:h2:mem:SessionStoreJdbcTest" + DB_COUNT.incrementAndGet() + ";DB_CLOSE_DELAY=-1");
+
+      ds.setUser("sa");
+
+      ds.setPassword("");
+
+      db = Sql.Database.create(opts -> opts.dataSource(wrapper.apply(ds)));
+
+      final Sql.Transaction trx;
+      trx = db.connect();
+
+      try {
+        trx.sql("create table WAY_SESSION (ID varchar(64) not null primary key, ACCESS_TIME bigint not null, DATA blob not null)");
+
+        trx.update();
+      } finally {
+        trx.close();
+      }
+
+      codecs.add(String.class.getName(), String.class.getName(), SessionOptions.Codec.<String> of(
+          s -> s.getBytes(StandardCharsets.UTF_8),
+          b -> new String(b, StandardCharsets.UTF_8)
+      ));
+    }
+
+    // each store represents a distinct server
+    final SessionStoreJdbc store() {
+      final SessionMap cache;
+      cache = new SessionMap(5 * MINUTE, 30 * MINUTE, clock, NoOpSinkSingleton.INSTANCE, new ConcurrentHashMap<>(), Integer.MAX_VALUE);
+
+      return new SessionStoreJdbc(cache, codecs, db, 30 * MINUTE, clock, NoOpSinkSingleton.INSTANCE, 5 * SECOND);
+    }
+
+    final SessionPojo session(String value) {
+      final SessionPojo session;
+      session = new SessionPojo(Map.of(String.class.getName(), value));
+
+      session.touch(clock);
+
+      return session;
+    }
+
+    final int rows() {
+      final Sql.Transaction trx;
+      trx = db.connect();
+
+      try {
+        trx.sql("select count(*) from WAY_SESSION");
+
+        return trx.querySingleInt();
+      } finally {
+        trx.close();
+      }
+    }
+
+    final long accessTime(HttpToken id) {
+      final Sql.Transaction trx;
+      trx = db.connect();
+
+      try {
+        trx.sql("select ACCESS_TIME from WAY_SESSION where ID = ?");
+
+        trx.param(id.toString());
+
+        return trx.querySingleLong();
+      } finally {
+        trx.close();
+      }
+    }
+  }
+
+  @Test(description = "new sessions are written behind, in batches")
+  public void writeBehind01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    final HttpToken id1;
+    id1 = HttpToken.of32(1, 1, 1, 1);
+
+    final HttpToken id2;
+    id2 = HttpToken.of32(2, 2, 2, 2);
+
+    final SessionPojo session1;
+    session1 = y.session("foo");
+
+    assertNull(a.putIfAbsent(id1, session1));
+    assertNull(a.putIfAbsent(id2, y.session("bar")));
+
+    // served by the near-cache
+    assertSame(a.get(id1), session1);
+    assertEquals(y.rows(), 0);
+
+    y.clock.millis = 5 * SECOND;
+
+    // the first request after the interval writes the pending changes
+    assertSame(a.get(id1), session1);
+    assertEquals(y.rows(), 2);
+
+    final SessionStoreJdbc b;
+    b = y.store();
+
+    final SessionPojo loaded;
+    loaded = b.get(id1);
+
+    assertNotNull(loaded);
+    assertNotSame(loaded, session1);
+    assertEquals(loaded.attr(String.class), "foo");
+    assertEquals(b.get(id2).attr(String.class), "bar");
+    assertNull(b.get(HttpToken.of32(3, 3, 3, 3)));
+  }
+
+  @Test(description = "modified attributes are visible to other servers")
+  public void writeBehind02() {
+    final ThisY y;
+    y = new ThisY();
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    final SessionStoreJdbc b;
+    b = y.store();
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    a.putIfAbsent(id, y.session("foo"));
+
+    a.sync();
+
+    final SessionPojo sessionB;
+    sessionB = b.get(id);
+
+    assertEquals(sessionB.attr(String.class), "foo");
+
+    final SessionPojo sessionA;
+    sessionA = a.get(id);
+
+    sessionA.attr(String.class, "bar");
+
+    a.sync();
+
+    // b's copy is still fresh
+    y.clock.millis = 4 * SECOND;
+
+    assertEquals(b.get(id).attr(String.class), "foo");
+
+    y.clock.millis = 5 * SECOND;
+
+    assertSame(b.get(id), sessionB);
+    assertEquals(sessionB.attr(String.class), "bar");
+  }
+
+  @Test(description = "access times are written; never backwards")
+  public void writeBehind03() {
+    final ThisY y;
+    y = new ThisY();
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    final SessionStoreJdbc b;
+    b = y.store();
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    a.putIfAbsent(id, y.session("foo"));
+
+    a.sync();
+
+    assertEquals(y.accessTime(id), 0L);
+
+    y.clock.millis = 1 * MINUTE;
+
+    final SessionPojo sessionA;
+    sessionA = a.get(id);
+
+    sessionA.touch(y.clock);
+
+    y.clock.millis = 2 * MINUTE;
+
+    b.get(id).touch(y.clock);
+
+    b.sync();
+
+    assertEquals(y.accessTime(id), 2 * MINUTE);
+
+    a.sync();
+
+    assertEquals(y.accessTime(id), 2 * MINUTE);
+  }
+
+  @Test(description = "invalidated sessions are deleted")
+  public void invalidate01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    final SessionStoreJdbc b;
+    b = y.store();
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    final SessionPojo sessionA;
+    sessionA = y.session("foo");
+
+    a.putIfAbsent(id, sessionA);
+
+    a.sync();
+
+    final SessionPojo sessionB;
+    sessionB = b.get(id);
+
+    sessionA.invalidate();
+
+    a.sync();
+
+    assertEquals(y.rows(), 0);
+
+    y.clock.millis = 5 * SECOND;
+
+    assertNull(b.get(id));
+    assertEquals(sessionB.valid(), false);
+  }
+
+  @Test(description = "idle sessions are deleted")
+  public void expire01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    a.putIfAbsent(id, y.session("foo"));
+
+    a.sync();
+
+    assertEquals(y.rows(), 1);
+
+    y.clock.millis = 31 * MINUTE;
+
+    final SessionStoreJdbc b;
+    b = y.store();
+
+    assertNull(b.get(id));
+
+    a.sync();
+
+    assertEquals(y.rows(), 0);
+  }
+
+  @Test(description = "undecodable sessions are treated as absent")
+  public void failure01() {
+    final ThisY y;
+    y = new ThisY();
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    final Sql.Transaction trx;
+    trx = y.db.connect();
+
+    try {
+      trx.sql("insert into WAY_SESSION (ID, ACCESS_TIME, DATA) values (?, ?, ?)");
+
+      trx.param(id.toString());
+      trx.param(0L);
+      trx.param(new byte[] {1, 2, 3});
+
+      trx.update();
+    } finally {
+      trx.close();
+    }
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    assertNull(a.get(id));
+  }
+
+  @Test(description = "database failures do not reach the request; the sync is retried later")
+  public void failure02() {
+    final AtomicBoolean down;
+    down = new AtomicBoolean();
+
+    final ThisY y;
+    y = new ThisY(ds -> (DataSource) Proxy.newProxyInstance(
+        DataSource.class.getClassLoader(),
+
+        new Class<?>[] {DataSource.class},
+
+        (proxy, method, args) -> {
+          if (down.get() && method.getName().equals("getConnection")) {
+            throw new SQLException("database is down");
+          }
+
+          try {
+            return method.invoke(ds, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+        }
+    ));
+
+    final SessionStoreJdbc a;
+    a = y.store();
+
+    down.set(true);
+
+    final HttpToken id;
+    id = HttpToken.of32(1, 1, 1, 1);
+
+    final SessionPojo session;
+    session = y.session("foo");
+
+    assertNull(a.putIfAbsent(id, session));
+
+    y.clock.millis = 5 * SECOND;
+
+    assertSame(a.get(id), session);
+    assertNull(a.get(HttpToken.of32(2, 2, 2, 2)));
+
+    down.set(false);
+
+    // retried once the interval elapses again
+    y.clock.millis = 9 * SECOND;
+
+    a.get(id);
+
+    assertEquals(y.rows(), 0);
+
+    y.clock.millis = 10 * SECOND;
+
+    a.get(id);
+
+    assertEquals(y.rows(), 1);
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import objectos.way.Y;
+import org.testng.annotations.Test;
+
+public class ServerAdmissionTest {
+
+  @Test(description = "shed connection")
+  public void acquireConnection01() throws InterruptedException {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(2, Y.noteSink(), 10, Duration.ofSeconds(5));
+
+    assertTrue(admission.acquireConnection());
+    assertTrue(admission.acquireConnection());
+    assertEquals(admission.connections(), 2);
+
+    assertFalse(admission.acquireConnection());
+    assertEquals(admission.connections(), 2);
+
+    admission.releaseConnection();
+    assertEquals(admission.connections(), 1);
+
+    assertTrue(admission.acquireConnection());
+    assertEquals(admission.connections(), 2);
+  }
+
+  @Test(description = "wait for capacity")
+  public void acquireConnection02() throws InterruptedException {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(1, Y.noteSink(), 10, null);
+
+    assertTrue(admission.acquireConnection());
+
+    final Thread releaser;
+    releaser = Thread.ofVirtual().start(admission::releaseConnection);
+
+    assertTrue(admission.acquireConnection());
+
+    releaser.join();
+
+    assertEquals(admission.connections(), 1);
+  }
+
+  @Test
+  public void acquireRequest01() throws InterruptedException {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 1, Duration.ofSeconds(5));
+
+    assertTrue(admission.acquireRequest());
+    assertEquals(admission.requests(), 1);
+
+    assertFalse(admission.acquireRequest());
+
+    admission.releaseRequest();
+    assertEquals(admission.requests(), 0);
+  }
+
+  @Test
+  public void overloaded01() {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 10, Duration.ofSeconds(30));
+
+    assertEquals(
+        new String(admission.overloaded(), StandardCharsets.US_ASCII),
+
+        """
+        HTTP/1.1 503 Service Unavailable\r
+        Retry-After: 30\r
+        Connection: close\r
+        Content-Length: 0\r
+        \r
+        """
+    );
+  }
+
+  @Test(description = "sub-second durations are rounded up")
+  public void overloaded03() {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 10, Duration.ofMillis(1500));
+
+    assertTrue(new String(admission.overloaded(), StandardCharsets.US_ASCII).contains("Retry-After: 2\r\n"));
+
+    final ServerAdmission zero;
+    zero = new ServerAdmission(10, Y.noteSink(), 10, Duration.ZERO);
+
+    assertTrue(new String(zero.overloaded(), StandardCharsets.US_ASCII).contains("Retry-After: 1\r\n"));
+  }
+
+  @Test
+  public void overloaded02() {
+    final ServerAdmission admission;
+    admission = ServerAdmission.unlimited(Y.noteSink());
+
+    assertNull(admission.overloaded());
+  }
+
+}
@@ -19,6 +19,7 @@ import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
 import java.time.Clock;
+import java.time.Duration;
 import objectos.way.Y;
 import objectox.http.req.RequestBodyConfig;
 import org.testng.Assert;
@@ -104,6 +105,57 @@ public class ServerLoopBuilderTest {
     }
   }
 
+  @Test
+  public void connectionsMax01() {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    try {
+      builder.connectionsMax(0);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      final String msg;
+      msg = expected.getMessage();
+
+      assertEquals(msg, "Invalid connections max: value must be greater than zero but found 0");
+    }
+  }
+
+  @Test
+  public void requestsMax01() {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    try {
+      builder.requestsMax(-1);
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      final String msg;
+      msg = expected.getMessage();
+
+      assertEquals(msg, "Invalid requests max: value must be greater than zero but found -1");
+    }
+  }
+
+  @Test
+  public void shedLoad01() {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    try {
+      builder.shedLoad(Duration.ofSeconds(-1));
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      final String msg;
+      msg = expected.getMessage();
+
+      assertEquals(msg, "Invalid retry after: duration must not be negative");
+    }
+  }
+
   @Test
   public void requestBody01() {
     final ServerLoopBuilder builder;
@@ -154,4 +206,46 @@ public class ServerLoopBuilderTest {
     }
   }
 
+  @Test
+  public void timeouts01() {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    try {
+      builder.idleTimeout(Duration.ofMillis(-1));
+
+      Assert.fail("It should have thrown");
+    } catch (IllegalArgumentException expected) {
+      final String msg;
+      msg = expected.getMessage();
+
+      assertEquals(msg, "Invalid timeout: duration must not be negative");
+    }
+  }
+
+  @Test
+  public void timeouts02() throws IOException {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    try (var subject = builder.unstarted()) {
+      assertEquals(subject.connectionConfig, new ServerConnectionConfig(0, 30_000, 60_000, Integer.MAX_VALUE, false));
+    }
+  }
+
+  @Test
+  public void timeouts03() throws IOException {
+    final ServerLoopBuilder builder;
+    builder = new ServerLoopBuilder();
+
+    builder.bodyTimeout(Duration.ofSeconds(3));
+    builder.headTimeout(Duration.ofSeconds(2));
+    builder.idleTimeout(Duration.ZERO);
+    builder.connectionRequestsMax(100);
+
+    try (var subject = builder.unstarted()) {
+      assertEquals(subject.connectionConfig, new ServerConnectionConfig(3000, 2000, 0, 100, false));
+    }
+  }
+
 }
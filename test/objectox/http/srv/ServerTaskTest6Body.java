@@ -94,6 +94,46 @@ public class ServerTaskTest6Body {
 
             ascii(frag + frag + frag + frag),
             "memory: content-length == limit"
+        },
+        {
+            """
+            Transfer-Encoding: chunked\r
+            \r
+            0\r
+            \r
+            """,
+
+            EMPTY_BYTE_ARRAY,
+            "chunked: last-chunk only"
+        },
+        {
+            """
+            Transfer-Encoding: chunked\r
+            \r
+            64\r
+            %s\r
+            9c;name=value\r
+            %s\r
+            0\r
+            X-Trailer: foo\r
+            \r
+            """.formatted(frag.substring(0, 100), frag.substring(100)),
+
+            ascii(frag),
+            "chunked: 2 chunks, extension and trailer"
+        },
+        {
+            """
+            Transfer-Encoding: chunked\r
+            \r
+            300\r
+            %s\r
+            0\r
+            \r
+            """.formatted(frag + frag + frag),
+
+            ascii(frag + frag + frag),
+            "chunked: chunk > buffer size"
         }
     };
   }
@@ -248,6 +288,127 @@ public class ServerTaskTest6Body {
     assertFalse(Files.exists(file));
   }
 
+  @Test
+  public void fileChunked() {
+    final Path directory;
+    directory = PathY.nextDir();
+
+    final Path file;
+    file = directory.resolve("chunked.tmp");
+
+    final String chunk;
+    chunk = ".".repeat(512);
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", req -> {
+            assertEquals(bytes(req), ascii(chunk + chunk + chunk));
+
+            assertTrue(Files.exists(file));
+
+            return ok;
+          });
+
+          opts.requestBodyConfig(file);
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Transfer-Encoding: chunked\r
+          \r
+          200\r
+          %s\r
+          200\r
+          %s\r
+          200\r
+          %s\r
+          0\r
+          \r
+          """.formatted(chunk, chunk, chunk));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 3\r
+        \r
+        OK
+        """
+    );
+
+    assertFalse(Files.exists(file));
+  }
+
+  @Test(description = "pipelined request after a chunked body")
+  public void chunkedPipelined() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, new String(bytes(req), StandardCharsets.US_ASCII)));
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Transfer-Encoding: chunked\r
+          \r
+          3\r
+          abc\r
+          0\r
+          \r
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Length: 2\r
+          \r
+          de""");
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 3\r
+        \r
+        abc\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 2\r
+        \r
+        de\
+        """
+    );
+  }
+
+  @Test
+  public void chunkedInvalid() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.socket = SocketY.of("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Transfer-Encoding: chunked\r
+          \r
+          3\r
+          abcd\r
+          0\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 400 Bad Request\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 30\r
+        \r
+        Invalid chunked request body.
+        """
+    );
+  }
+
   @DataProvider
 
   public Object[][] ioExceptionProvider() {
@@ -278,6 +439,16 @@ public class ServerTaskTest6Body {
             """.formatted(".".repeat(768)),
 
             "memory: content-length == limit"
+        },
+        {
+            """
+            Transfer-Encoding: chunked\r
+            \r
+            100\r
+            %s\
+            """.formatted(".".repeat(128)),
+
+            "chunked: incomplete chunk"
         }
     };
   }
@@ -439,6 +610,20 @@ public class ServerTaskTest6Body {
             """,
 
             "Content-Length exceeds configured limit"
+        },
+        {
+            """
+            POST / HTTP/1.1\r
+            Host: www.example.com\r
+            Connection: close\r
+            Transfer-Encoding: chunked\r
+            \r
+            800\r
+            %s\r
+            801\r
+            """.formatted(".".repeat(2048)),
+
+            "chunked: sum of chunk sizes exceeds configured limit"
         }
     };
   }
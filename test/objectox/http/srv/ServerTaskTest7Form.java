@@ -18,6 +18,9 @@ package objectox.http.srv;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -26,6 +29,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import objectos.http.Content;
+import objectos.http.FormFile;
 import objectos.http.HttpY;
 import objectos.http.MediaType;
 import objectos.way.Y;
@@ -687,4 +691,217 @@ public class ServerTaskTest7Form {
     );
   }
 
-}
\ No newline at end of file
+  private static final String MULTIPART = """
+  --xyz\r
+  Content-Disposition: form-data; name="title"\r
+  \r
+  Hello\r
+  --xyz\r
+  Content-Disposition: form-data; name="upload"; filename="a.txt"\r
+  Content-Type: text/plain\r
+  \r
+  file contents\r
+  --xyz--\r
+  """;
+
+  @Test(description = "multipart/form-data: fields and files")
+  public void multipart01() {
+    final List<Path> files;
+    files = new ArrayList<>();
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", req -> {
+            final FormFile upload;
+            upload = req.formFile("upload");
+
+            files.add(upload.file());
+
+            final String contents;
+
+            try {
+              contents = Files.readString(upload.file());
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+
+            return Content.of(MediaType.TEXT_PLAIN, req.formParam("title") + " " + upload.filename() + " " + contents);
+          });
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Type: multipart/form-data; boundary=xyz\r
+          Content-Length: %d\r
+          \r
+          %s\
+          """.formatted(MULTIPART.length(), MULTIPART));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 25\r
+        \r
+        Hello a.txt file contents\
+        """
+    );
+
+    // part files are deleted once the response is sent
+    assertEquals(files.size(), 1);
+    assertFalse(Files.exists(files.get(0)));
+  }
+
+  @Test(description = "multipart/form-data: lazy + chunked")
+  public void multipart02() {
+    final String half1;
+    half1 = MULTIPART.substring(0, 60);
+
+    final String half2;
+    half2 = MULTIPART.substring(60);
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, req.formParam("title") + " " + req.formFile("upload").size()));
+
+          opts.socket(Y.slowStream(3, """
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Type: multipart/form-data; boundary=xyz\r
+          Transfer-Encoding: chunked\r
+          \r
+          %x\r
+          %s\r
+          %x\r
+          %s\r
+          0\r
+          \r
+          """.formatted(half1.length(), half1, half2.length(), half2)));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 8\r
+        \r
+        Hello 13\
+        """
+    );
+  }
+
+  @Test(description = "multipart/form-data: invalid content")
+  public void multipart03() {
+    final String payload;
+    payload = MULTIPART.replace("--xyz--", "--abc--");
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", _ -> ok);
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Type: multipart/form-data; boundary=xyz\r
+          Content-Length: %d\r
+          \r
+          %s\
+          """.formatted(payload.length(), payload));
+        }),
+
+        """
+        HTTP/1.1 400 Bad Request\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 53\r
+        \r
+        Invalid multipart/form-data content in request body.
+        """
+    );
+  }
+
+  @Test(description = "multipart/form-data: raw body remains available by default")
+  public void multipart04() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", req -> {
+            final String raw;
+
+            try (InputStream in = req.bodyInputStream()) {
+              raw = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+
+            return Content.of(MediaType.TEXT_PLAIN, req.formParam("title") + " " + raw.equals(MULTIPART));
+          });
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Type: multipart/form-data; boundary=xyz\r
+          Content-Length: %d\r
+          \r
+          %s\
+          """.formatted(MULTIPART.length(), MULTIPART));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 10\r
+        \r
+        Hello true\
+        """
+    );
+  }
+
+  @Test(description = "multipart/form-data: single pass does not keep the raw body")
+  public void multipart05() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyMultipartStream();
+
+          opts.host("www.example.com", req -> {
+            final int length;
+
+            try (InputStream in = req.bodyInputStream()) {
+              length = in.readAllBytes().length;
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+
+            return Content.of(MediaType.TEXT_PLAIN, req.formParam("title") + " " + req.formFile("upload").size() + " " + length);
+          });
+
+          opts.socket("""
+          POST / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Type: multipart/form-data; boundary=xyz\r
+          Content-Length: %d\r
+          \r
+          %s\
+          """.formatted(MULTIPART.length(), MULTIPART));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 10\r
+        \r
+        Hello 13 0\
+        """
+    );
+  }
+
+}
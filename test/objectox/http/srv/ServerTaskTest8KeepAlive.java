@@ -16,13 +16,22 @@
 package objectox.http.srv;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import objectos.http.Content;
 import objectos.http.HeaderName;
 import objectos.http.Status;
 import objectos.http.MediaType;
+import objectos.http.Request;
 import objectos.http.Response;
 import objectos.y.SocketY;
+import objectox.http.BufferPool;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
 public class ServerTaskTest8KeepAlive {
@@ -254,7 +263,7 @@ public class ServerTaskTest8KeepAlive {
           opts.socket = SocketY.of("""
           POST /1 HTTP/1.1\r
           Host: www.example.com\r
-          Transfer-Encoding: chunked\r
+          Transfer-Encoding: gzip, chunked\r
           \r
           x
           """);
@@ -272,4 +281,268 @@ public class ServerTaskTest8KeepAlive {
     );
   }
 
-}
\ No newline at end of file
+  @Test(description = "pipelined requests read in a single chunk")
+  public void pipelined01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          GET /3 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        3\
+        """
+    );
+  }
+
+  @Test(description = "pipelined request split across reads")
+  public void pipelined02() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          GET /2 HTTP/1.1\r
+          Host: www.ex\
+          """, """
+          ample.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+  }
+
+  @Test(description = "pipelined request after a request body")
+  public void pipelined03() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.method().name()));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 3\r
+          \r
+          abcGET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 4\r
+        \r
+        POSTHTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 3\r
+        \r
+        GET\
+        """
+    );
+  }
+
+  @Test(description = "buffers are returned to the pool")
+  public void bufferPool01() {
+    final BufferPool pool;
+    pool = new BufferPool(4);
+
+    ServerTaskY.run(opts -> {
+      opts.bufferPool = pool;
+
+      opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+      opts.socket("""
+      GET /1 HTTP/1.1\r
+      Host: www.example.com\r
+      \r
+      """, """
+      GET /2 HTTP/1.1\r
+      Host: www.example.com\r
+      \r
+      """);
+    });
+
+    // one request buffer, one response buffer
+    assertEquals(pool.retained(1024), 2);
+  }
+
+  @Test(description = "request objects are reused across the requests of a connection")
+  public void reuse01() {
+    final List<Request> requests;
+    requests = new ArrayList<>();
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", http -> {
+            requests.add(http);
+
+            final String value;
+            value = http.queryParam("x") + "," + http.header(HeaderName.FROM);
+
+            return Content.of(MediaType.TEXT_PLAIN, value);
+          });
+
+          opts.socket("""
+          GET /?x=1 HTTP/1.1\r
+          Host: www.example.com\r
+          From: me@example.com\r
+          \r
+          """, """
+          GET / HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 16\r
+        \r
+        1,me@example.comHTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 9\r
+        \r
+        null,null\
+        """
+    );
+
+    assertEquals(requests.size(), 2);
+    assertSame(requests.get(0), requests.get(1));
+  }
+
+  @Test(description = "reused request: a later request has more field lines than the first")
+  public void reuse03() {
+    final String more;
+    more = IntStream.range(0, 20).mapToObj(i -> "X-Header-" + i + ": " + i + "\r\n").collect(Collectors.joining());
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, String.valueOf(http.header(HeaderName.FROM))));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          From: first@example.com\r
+          \r
+          """, """
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          %sFrom: second@example.com\r
+          Connection: close\r
+          \r
+          """.formatted(more));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 17\r
+        \r
+        first@example.comHTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 18\r
+        \r
+        second@example.com\
+        """
+    );
+  }
+
+  @Test(description = "retention check: a retained request fails on access")
+  public void reuse02() {
+    final List<Request> requests;
+    requests = new ArrayList<>();
+
+    ServerTaskY.run(opts -> {
+      opts.connectionConfig = new ServerConnectionConfig(0, 0, 0, Integer.MAX_VALUE, true);
+
+      opts.host("www.example.com", http -> {
+        requests.add(http);
+
+        return Content.of(MediaType.TEXT_PLAIN, http.path().substring(1));
+      });
+
+      opts.socket("""
+      GET /1 HTTP/1.1\r
+      Host: www.example.com\r
+      \r
+      """, """
+      GET /2 HTTP/1.1\r
+      Host: www.example.com\r
+      \r
+      """);
+    });
+
+    assertEquals(requests.size(), 2);
+    assertNotSame(requests.get(0), requests.get(1));
+
+    for (Request request : requests) {
+      try {
+        request.header(HeaderName.HOST);
+
+        Assert.fail("It should have thrown");
+      } catch (IllegalStateException expected) {
+        assertEquals(expected.getMessage(), "Request accessed after its response was sent: it must not be retained");
+      }
+    }
+  }
+
+}
@@ -231,6 +231,8 @@ public class ServerTaskTest9ResultContent {
 
     // buffer length
     mediaLength += 256;
+    // headers are buffered along with the first chunk
+    mediaLength -= TEXT_RESP_LEN;
     // 4 = chunk-size + CR + LF
     mediaLength -= 4;
     // 2 = CR + LF (after data)
@@ -250,15 +252,12 @@ public class ServerTaskTest9ResultContent {
     Content-Type: text/plain; charset=utf-8\r
     Transfer-Encoding: chunked\r
     \r
-    FA\r
-    .................................................
-    .................................................
+    7D\r
     .................................................
     .................................................
-    .................................................
-    \r
+    1234567890123456789012345\r
     01\r
-    1\r
+    6\r
     0\r
     \r
     """;
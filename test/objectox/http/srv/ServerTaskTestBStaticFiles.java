@@ -85,6 +85,7 @@ public class ServerTaskTestBStaticFiles {
         HTTP/1.1 200 OK\r
         Date: Wed, 28 Jun 2023 12:08:43 GMT\r
         ETag: 18901e7e8f8-5\r
+        Accept-Ranges: bytes\r
         Content-Type: text/plain; charset=utf-8\r
         Content-Length: 5\r
         \r
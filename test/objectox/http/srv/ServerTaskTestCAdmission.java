@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import objectos.http.Content;
+import objectos.http.MediaType;
+import objectos.way.Y;
+import objectos.y.InputStreamY;
+import objectos.y.PathY;
+import objectos.y.SocketY;
+import objectox.http.req.RequestBodyConfig;
+import org.testng.annotations.Test;
+
+public class ServerTaskTestCAdmission {
+
+  @Test(description = "in-flight requests limit reached: shed")
+  public void requestsMax01() throws InterruptedException {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 1, Duration.ofSeconds(2));
+
+    // simulates an in-flight request
+    admission.acquireRequest();
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.admission = admission;
+
+          opts.host("www.example.com", _ -> Content.of(MediaType.TEXT_PLAIN, "1"));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 503 Service Unavailable\r
+        Retry-After: 2\r
+        Connection: close\r
+        Content-Length: 0\r
+        \r
+        """
+    );
+
+    assertEquals(admission.requests(), 1);
+  }
+
+  @Test(description = "in-flight request slot is released after each request")
+  public void requestsMax02() {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 1, Duration.ofSeconds(2));
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.admission = admission;
+
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """, """
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+
+    assertEquals(admission.requests(), 0);
+  }
+
+  @Test(description = "pipelined responses are flushed before waiting for capacity", timeOut = 10_000)
+  public void requestsMax03() {
+    final ServerAdmission admission;
+    admission = new ServerAdmission(10, Y.noteSink(), 1, null);
+
+    // frees the in-flight slot when the first response reaches the client
+    final ByteArrayOutputStream out;
+    out = new ByteArrayOutputStream() {
+      @Override
+      public final synchronized void write(byte[] b, int off, int len) {
+        super.write(b, off, len);
+
+        admission.releaseRequest();
+      }
+    };
+
+    final String body;
+    body = "x".repeat(1100);
+
+    ServerTaskY.resp(opts -> {
+      opts.admission = admission;
+
+      opts.bufferSize = 8192;
+
+      opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+      // the body of the second request is written to a file: it happens
+      // after the first request completes. Use it to fill the in-flight limit
+      opts.requestBodyConfig = new RequestBodyConfig(() -> {
+        if (admission.requests() == 0) {
+          assertTrue(admission.tryAcquireRequest());
+        }
+
+        return PathY.nextFile();
+      }, 1024, 4096);
+
+      opts.socket = SocketY.create(s -> {
+        s.inputStream = InputStreamY.of("""
+        GET /1 HTTP/1.1\r
+        Host: www.example.com\r
+        \r
+        POST /2 HTTP/1.1\r
+        Host: www.example.com\r
+        Content-Length: 1100\r
+        Connection: close\r
+        \r
+        %s""".formatted(body));
+
+        s.outputStream = out;
+      });
+    });
+
+    assertEquals(
+        out.toString(StandardCharsets.US_ASCII),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+  }
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import static org.testng.Assert.assertEquals;
+
+import java.net.SocketTimeoutException;
+import objectos.http.Content;
+import objectos.http.MediaType;
+import org.testng.annotations.Test;
+
+public class ServerTaskTestDTimeouts {
+
+  private static final ServerConnectionConfig TIMEOUTS = new ServerConnectionConfig(1000, 1000, 1000, Integer.MAX_VALUE, false);
+
+  @Test(description = "idle keep-alive connection is closed")
+  public void idleTimeout01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.connectionConfig = TIMEOUTS;
+
+          opts.host("www.example.com", _ -> Content.of(MediaType.TEXT_PLAIN, "1"));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """, new SocketTimeoutException());
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        """
+    );
+  }
+
+  @Test(description = "request head does not arrive in time")
+  public void headTimeout01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.connectionConfig = TIMEOUTS;
+
+          opts.host("www.example.com", _ -> Content.of(MediaType.TEXT_PLAIN, "1"));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Ho""", new SocketTimeoutException());
+        }),
+
+        """
+        HTTP/1.1 408 Request Timeout\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 46\r
+        \r
+        The server timed out waiting for the request.
+        """
+    );
+  }
+
+  @Test(description = "request body does not arrive in time")
+  public void bodyTimeout01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.connectionConfig = TIMEOUTS;
+
+          opts.host("www.example.com", _ -> Content.of(MediaType.TEXT_PLAIN, "1"));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 10\r
+          \r
+          abc""", new SocketTimeoutException());
+        }),
+
+        """
+        HTTP/1.1 408 Request Timeout\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 46\r
+        \r
+        The server timed out waiting for the request.
+        """
+    );
+  }
+
+  @Test(description = "connection is closed after the max number of requests")
+  public void requestsMax01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.connectionConfig = new ServerConnectionConfig(0, 0, 0, 2, false);
+
+          opts.host("www.example.com", http -> Content.of(MediaType.TEXT_PLAIN, http.path().substring(1)));
+
+          opts.socket("""
+          GET /1 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """, """
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """, """
+          GET /3 HTTP/1.1\r
+          Host: www.example.com\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+  }
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright (C) 2023-2026 Objectos Software LTDA.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package objectox.http.srv;
+
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import objectos.http.Content;
+import objectos.http.MediaType;
+import objectos.http.Request;
+import objectos.way.Y;
+import org.testng.annotations.Test;
+
+public class ServerTaskTestELazyBody {
+
+  @Test(description = "handler consumes the body")
+  public void read01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, text(req)));
+
+          opts.socket(Y.slowStream(1, """
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 5\r
+          \r
+          abcdePOST /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Transfer-Encoding: chunked\r
+          \r
+          2\r
+          fg\r
+          1\r
+          h\r
+          0\r
+          \r
+          """));
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 5\r
+        \r
+        abcde\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 3\r
+        \r
+        fgh\
+        """
+    );
+  }
+
+  @Test(description = "unread small body is discarded: connection is reused")
+  public void discard01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, req.path().substring(1)));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 5\r
+          \r
+          abcde""", """
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+  }
+
+  @Test(description = "handler time does not count against the body timeout")
+  public void discard03() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.connectionConfig = new ServerConnectionConfig(1, 0, 0, Integer.MAX_VALUE, false);
+
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> {
+            try {
+              Thread.sleep(5);
+            } catch (InterruptedException e) {
+              throw new AssertionError(e);
+            }
+
+            return Content.of(MediaType.TEXT_PLAIN, req.path().substring(1));
+          });
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 5\r
+          \r
+          """, """
+          abcdeGET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        2\
+        """
+    );
+  }
+
+  @Test(description = "unread large body: connection is closed")
+  public void discard02() {
+    final String large;
+    large = ".".repeat(2048);
+
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, req.path().substring(1)));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 2048\r
+          \r
+          %s""".formatted(large), """
+          GET /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        """
+    );
+  }
+
+  @Test(description = "form is parsed on first access")
+  public void form01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, req.formParam("a") + req.formParam("b")));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Connection: close\r
+          Content-Type: application/x-www-form-urlencoded\r
+          Content-Length: 7\r
+          \r
+          a=1&b=2""");
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 2\r
+        \r
+        12\
+        """
+    );
+  }
+
+  @Test(description = "invalid form is reported on access only")
+  public void form02() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", req -> Content.of(MediaType.TEXT_PLAIN, req.path().equals("/1") ? "1" : req.formParam("a")));
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Type: application/x-www-form-urlencoded\r
+          Content-Length: 3\r
+          \r
+          a=%""", """
+          POST /2 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Type: application/x-www-form-urlencoded\r
+          Content-Length: 3\r
+          \r
+          a=%""");
+        }),
+
+        """
+        HTTP/1.1 200 OK\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 1\r
+        \r
+        1\
+        HTTP/1.1 400 Bad Request\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 67\r
+        \r
+        Invalid application/x-www-form-urlencoded content in request body.
+        """
+    );
+  }
+
+  @Test(description = "Content-Length exceeds limit: rejected before the handler runs")
+  public void contentTooLarge01() {
+    assertEquals(
+        ServerTaskY.resp(opts -> {
+          opts.requestBodyLazy();
+
+          opts.host("www.example.com", _ -> {
+            throw new AssertionError("handler should not run");
+          });
+
+          opts.socket("""
+          POST /1 HTTP/1.1\r
+          Host: www.example.com\r
+          Content-Length: 5000\r
+          \r
+          """);
+        }),
+
+        """
+        HTTP/1.1 413 Content Too Large\r
+        Date: Wed, 28 Jun 2023 12:08:43 GMT\r
+        Connection: close\r
+        Content-Type: text/plain; charset=utf-8\r
+        Content-Length: 69\r
+        \r
+        The request message body exceeds the server's maximum allowed limit.
+        """
+    );
+  }
+
+  private String text(Request req) {
+    try (InputStream in = req.bodyInputStream()) {
+      return new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
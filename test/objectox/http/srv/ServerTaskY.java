@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.function.Consumer;
 import objectos.http.Handler;
 import objectos.way.Note;
+import objectox.http.BufferPool;
 import objectos.way.Y;
 import objectos.y.PathY;
 import objectos.y.SocketY;
@@ -34,10 +35,16 @@ import objectox.http.resp.ResponseDate;
 
 final class ServerTaskY {
 
+  ServerAdmission admission;
+
+  BufferPool bufferPool = new BufferPool(16);
+
   int bufferSize = 1024;
 
   Clock clock = Y.clockFixed();
 
+  ServerConnectionConfig connectionConfig = ServerConnectionConfig.UNLIMITED;
+
   private final List<Host> hosts = new ArrayList<>();
 
   Note.Sink noteSink = Y.noteSink();
@@ -122,14 +129,62 @@ final class ServerTaskY {
     );
   }
 
+  public final void requestBodyLazy() {
+    requestBodyConfig = new RequestBodyConfig(
+        () -> PathY.nextFile(),
+
+        true,
+
+        1024,
+
+        false,
+
+        4096,
+
+        4096
+    );
+  }
+
+  public final void requestBodyMultipartStream() {
+    requestBodyConfig = new RequestBodyConfig(
+        () -> PathY.nextFile(),
+
+        false,
+
+        1024,
+
+        true,
+
+        4096,
+
+        4096
+    );
+  }
+
   public final void socket(Object... data) {
     socket = SocketY.of(data);
   }
 
   private ServerTask build() {
+    final ServerAdmission a;
+    a = admission != null ? admission : ServerAdmission.unlimited(noteSink);
+
+    // the server loop acquires the connection before creating the task
+    try {
+      a.acquireConnection();
+    } catch (InterruptedException e) {
+      throw new AssertionError(e);
+    }
+
     return new ServerTask(
+        a,
+
+        bufferPool,
+
         bufferSize,
 
+        connectionConfig,
+
         HostMap.of(hosts),
 
         noteSink,